@@ -1,8 +1,23 @@
-import React from 'react';
+import React, {useEffect} from 'react';
 import {StatusBar} from 'react-native';
 import Router from './components_ivan/router';
+import {databaseService} from './services/databaseService';
 
 function App(): JSX.Element {
+  useEffect(() => {
+    // Relatório do cold start (spans nativos), depois da primeira renderização
+    databaseService.getStartupReport().then(result => {
+      if (!result.success) {
+        return;
+      }
+      const {version, onCreateMs, jsReadyMs, spans} = result.data;
+      console.log(`⏱️ Startup ${version}: onCreate ${onCreateMs.toFixed(1)}ms, JS pronto em ${jsReadyMs.toFixed(1)}ms`);
+      spans.forEach((span: {name: string; startMs: number; durationMs: number}) =>
+        console.log(`   ${span.name}: +${span.startMs.toFixed(1)}ms (${span.durationMs.toFixed(1)}ms)`),
+      );
+    });
+  }, []);
+
   return (
     <>
       <StatusBar barStyle="light-content" backgroundColor="#373b3f" />
@@ -0,0 +1,431 @@
+package com.noiton2_frontend;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.noiton2_frontend.database.DatabaseContract;
+import com.noiton2_frontend.database.DatabaseHelper;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cache local de anexos endereçado por conteúdo.
+ *
+ * Cada arquivo é gravado uma única vez em anexos_cache/&lt;sha256&gt;.&lt;ext&gt;; a tabela
+ * anexos_cache liga id_anexo → hash. Quando o total passa do orçamento, os arquivos
+ * acessados há mais tempo são removidos (LRU), exceto os das tarefas abertas recentemente.
+ */
+public class AttachmentCache {
+    private static final String TAG = "AttachmentCache";
+
+    private static final String CACHE_DIR = "anexos_cache";
+    private static final long DEFAULT_BUDGET_BYTES = 100L * 1024 * 1024;
+    // Tarefas abertas recentemente cujos anexos nunca são despejados
+    private static final int MAX_PINNED_TASKS = 5;
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private static AttachmentCache instance;
+
+    private final DatabaseHelper databaseHelper;
+    private final File cacheDir;
+    private final LinkedHashSet<Integer> pinnedTasks = new LinkedHashSet<>();
+    private long budgetBytes = DEFAULT_BUDGET_BYTES;
+    private boolean orphansPruned = false;
+
+    private AttachmentCache(Context context) {
+        this.databaseHelper = DatabaseHelper.getInstance(context);
+        this.cacheDir = new File(context.getFilesDir(), CACHE_DIR);
+    }
+
+    public static synchronized AttachmentCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new AttachmentCache(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    public static String getDirectoryName() {
+        return CACHE_DIR;
+    }
+
+    public synchronized void setBudget(long bytes) {
+        budgetBytes = bytes > 0 ? bytes : DEFAULT_BUDGET_BYTES;
+        evictToBudget(null);
+    }
+
+    /**
+     * Marca a tarefa como aberta recentemente: seus anexos ficam protegidos do despejo
+     */
+    public synchronized void pinTask(int idTarefa) {
+        pinnedTasks.remove(idTarefa);
+        pinnedTasks.add(idTarefa);
+        while (pinnedTasks.size() > MAX_PINNED_TASKS) {
+            Iterator<Integer> it = pinnedTasks.iterator();
+            it.next();
+            it.remove();
+        }
+    }
+
+    /**
+     * Retorna o arquivo em cache do anexo (atualizando o acesso), ou null se não houver
+     */
+    public synchronized File lookup(int idAnexo) {
+        pruneOrphansOnce();
+        SQLiteDatabase db = databaseHelper.getWritableDatabase();
+        Cursor cursor = null;
+        try {
+            cursor = db.query(DatabaseContract.AttachmentCacheEntry.TABLE_NAME,
+                    new String[]{
+                            DatabaseContract.AttachmentCacheEntry.COLUMN_HASH,
+                            DatabaseContract.AttachmentCacheEntry.COLUMN_EXTENSAO
+                    },
+                    DatabaseContract.AttachmentCacheEntry.COLUMN_ID_ANEXO + " = ?",
+                    new String[]{String.valueOf(idAnexo)},
+                    null, null, null);
+            if (!cursor.moveToFirst()) {
+                return null;
+            }
+            File file = blobFile(cursor.getString(0), cursor.getString(1));
+            if (!file.exists()) {
+                // Arquivo sumiu (limpeza do sistema/usuário): esquecer a entrada
+                db.delete(DatabaseContract.AttachmentCacheEntry.TABLE_NAME,
+                        DatabaseContract.AttachmentCacheEntry.COLUMN_ID_ANEXO + " = ?",
+                        new String[]{String.valueOf(idAnexo)});
+                return null;
+            }
+            touch(db, idAnexo);
+            return file;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * Baixa o anexo para o cache (se ainda não estiver lá) e retorna o arquivo local.
+     * Arquivos maiores que o orçamento não entram no cache (TooLargeException, antes
+     * de baixar quando o servidor informa o Content-Length).
+     * Faz I/O de rede: nunca chamar na main thread.
+     */
+    public File fetch(int idAnexo, int idTarefa, String url, String fileName, String authToken) throws Exception {
+        if (idTarefa > 0) {
+            pinTask(idTarefa);
+        }
+        File cached = lookup(idAnexo);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (!cacheDir.exists()) {
+            cacheDir.mkdirs();
+        }
+        File temp = File.createTempFile("download", ".part", cacheDir);
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            if (authToken != null && !authToken.isEmpty()) {
+                connection.setRequestProperty("Authorization", "Bearer " + authToken);
+            }
+            int status = connection.getResponseCode();
+            if (status < 200 || status >= 300) {
+                throw new Exception("HTTP " + status);
+            }
+            long budget = getBudget();
+            long declared = contentLength(connection);
+            if (declared > budget) {
+                throw new TooLargeException(idAnexo, declared, budget);
+            }
+
+            // Hash calculado durante o download, sem reler o arquivo
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+            InputStream in = connection.getInputStream();
+            OutputStream out = new FileOutputStream(temp);
+            try {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > budget) {
+                        // Sem Content-Length (chunked): desiste assim que passar do orçamento
+                        throw new TooLargeException(idAnexo, size, budget);
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            } finally {
+                in.close();
+                out.close();
+            }
+
+            String hash = toHex(digest.digest());
+            String extension = extensionOf(fileName);
+            return store(idAnexo, idTarefa, hash, extension, size, temp);
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            if (temp.exists()) {
+                temp.delete();
+            }
+        }
+    }
+
+    private synchronized File store(int idAnexo, int idTarefa, String hash, String extension, long size, File temp) {
+        File blob = blobFile(hash, extension);
+        if (blob.exists()) {
+            // Mesmo conteúdo já em cache por outro anexo: só referenciar
+            Log.d(TAG, "♻️ Conteúdo do anexo " + idAnexo + " já estava em cache (" + hash + ")");
+        } else if (!temp.renameTo(blob)) {
+            Log.w(TAG, "⚠️ Não foi possível mover o download para o cache");
+            return null;
+        }
+
+        ContentValues values = new ContentValues();
+        values.put(DatabaseContract.AttachmentCacheEntry.COLUMN_ID_ANEXO, idAnexo);
+        values.put(DatabaseContract.AttachmentCacheEntry.COLUMN_ID_TAREFA, idTarefa);
+        values.put(DatabaseContract.AttachmentCacheEntry.COLUMN_HASH, hash);
+        values.put(DatabaseContract.AttachmentCacheEntry.COLUMN_EXTENSAO, extension);
+        values.put(DatabaseContract.AttachmentCacheEntry.COLUMN_TAMANHO, size);
+        values.put(DatabaseContract.AttachmentCacheEntry.COLUMN_ULTIMO_ACESSO, System.currentTimeMillis());
+        databaseHelper.getWritableDatabase().insertWithOnConflict(
+                DatabaseContract.AttachmentCacheEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+
+        // O anexo recém-gravado é o que o usuário vai abrir agora: nunca despejado nesta passada
+        evictToBudget(hash);
+        return blob.exists() ? blob : null;
+    }
+
+    /**
+     * Content-Length da resposta, ou -1 se o servidor não informar
+     * (getContentLengthLong só existe a partir da API 24)
+     */
+    private static long contentLength(HttpURLConnection connection) {
+        String header = connection.getHeaderField("Content-Length");
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Tamanho ocupado: cada hash conta uma vez, mesmo com vários anexos apontando para ele
+     */
+    public synchronized long getUsedBytes() {
+        Cursor cursor = null;
+        try {
+            cursor = databaseHelper.getReadableDatabase().rawQuery(
+                    "SELECT SUM(tamanho) FROM (SELECT MAX(" + DatabaseContract.AttachmentCacheEntry.COLUMN_TAMANHO + ") AS tamanho" +
+                    " FROM " + DatabaseContract.AttachmentCacheEntry.TABLE_NAME +
+                    " GROUP BY " + DatabaseContract.AttachmentCacheEntry.COLUMN_HASH + ")", null);
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    public synchronized int getEntryCount() {
+        Cursor cursor = null;
+        try {
+            cursor = databaseHelper.getReadableDatabase().rawQuery(
+                    "SELECT COUNT(*) FROM " + DatabaseContract.AttachmentCacheEntry.TABLE_NAME, null);
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    public synchronized long getBudget() {
+        return budgetBytes;
+    }
+
+    public synchronized Set<Integer> getPinnedTasks() {
+        return new LinkedHashSet<>(pinnedTasks);
+    }
+
+    public synchronized void clear() {
+        databaseHelper.getWritableDatabase().delete(DatabaseContract.AttachmentCacheEntry.TABLE_NAME, null, null);
+        File[] files = cacheDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        Log.i(TAG, "🧹 Cache de anexos limpo");
+    }
+
+    /**
+     * Remove hashes do menos para o mais recentemente acessado até caber no orçamento.
+     * Hashes usados por tarefas fixadas e keepHash (o que acabou de ser gravado) são pulados.
+     */
+    private void evictToBudget(String keepHash) {
+        long used = getUsedBytes();
+        if (used <= budgetBytes) {
+            return;
+        }
+
+        SQLiteDatabase db = databaseHelper.getWritableDatabase();
+        Set<String> pinnedHashes = getPinnedHashes(db);
+        List<String[]> candidates = new ArrayList<>();
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery(
+                    "SELECT " + DatabaseContract.AttachmentCacheEntry.COLUMN_HASH + ", " +
+                    "MAX(" + DatabaseContract.AttachmentCacheEntry.COLUMN_EXTENSAO + "), " +
+                    "MAX(" + DatabaseContract.AttachmentCacheEntry.COLUMN_TAMANHO + "), " +
+                    "MAX(" + DatabaseContract.AttachmentCacheEntry.COLUMN_ULTIMO_ACESSO + ") AS acesso" +
+                    " FROM " + DatabaseContract.AttachmentCacheEntry.TABLE_NAME +
+                    " GROUP BY " + DatabaseContract.AttachmentCacheEntry.COLUMN_HASH +
+                    " ORDER BY acesso ASC", null);
+            while (cursor.moveToNext()) {
+                candidates.add(new String[]{cursor.getString(0), cursor.getString(1), String.valueOf(cursor.getLong(2))});
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        int evicted = 0;
+        for (String[] candidate : candidates) {
+            if (used <= budgetBytes) {
+                break;
+            }
+            if (pinnedHashes.contains(candidate[0]) || candidate[0].equals(keepHash)) {
+                continue;
+            }
+            blobFile(candidate[0], candidate[1]).delete();
+            db.delete(DatabaseContract.AttachmentCacheEntry.TABLE_NAME,
+                    DatabaseContract.AttachmentCacheEntry.COLUMN_HASH + " = ?",
+                    new String[]{candidate[0]});
+            used -= Long.parseLong(candidate[2]);
+            evicted++;
+        }
+        Log.i(TAG, "🗑️ " + evicted + " arquivos removidos do cache de anexos (" + used + "/" + budgetBytes + " bytes)");
+    }
+
+    private Set<String> getPinnedHashes(SQLiteDatabase db) {
+        Set<String> hashes = new HashSet<>();
+        if (pinnedTasks.isEmpty()) {
+            return hashes;
+        }
+        StringBuilder placeholders = new StringBuilder();
+        String[] args = new String[pinnedTasks.size()];
+        int i = 0;
+        for (Integer idTarefa : pinnedTasks) {
+            placeholders.append(i == 0 ? "?" : ",?");
+            args[i++] = String.valueOf(idTarefa);
+        }
+        Cursor cursor = null;
+        try {
+            cursor = db.query(true, DatabaseContract.AttachmentCacheEntry.TABLE_NAME,
+                    new String[]{DatabaseContract.AttachmentCacheEntry.COLUMN_HASH},
+                    DatabaseContract.AttachmentCacheEntry.COLUMN_ID_TAREFA + " IN (" + placeholders + ")",
+                    args, null, null, null, null);
+            while (cursor.moveToNext()) {
+                hashes.add(cursor.getString(0));
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return hashes;
+    }
+
+    private void touch(SQLiteDatabase db, int idAnexo) {
+        ContentValues values = new ContentValues();
+        values.put(DatabaseContract.AttachmentCacheEntry.COLUMN_ULTIMO_ACESSO, System.currentTimeMillis());
+        db.update(DatabaseContract.AttachmentCacheEntry.TABLE_NAME, values,
+                DatabaseContract.AttachmentCacheEntry.COLUMN_ID_ANEXO + " = ?",
+                new String[]{String.valueOf(idAnexo)});
+    }
+
+    /**
+     * Apaga arquivos sem entrada na tabela (ex.: banco recriado num upgrade) e downloads interrompidos
+     */
+    private void pruneOrphansOnce() {
+        if (orphansPruned) {
+            return;
+        }
+        orphansPruned = true;
+        File[] files = cacheDir.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        Set<String> known = new HashSet<>();
+        Cursor cursor = null;
+        try {
+            cursor = databaseHelper.getReadableDatabase().query(true, DatabaseContract.AttachmentCacheEntry.TABLE_NAME,
+                    new String[]{DatabaseContract.AttachmentCacheEntry.COLUMN_HASH, DatabaseContract.AttachmentCacheEntry.COLUMN_EXTENSAO},
+                    null, null, null, null, null, null);
+            while (cursor.moveToNext()) {
+                known.add(blobFile(cursor.getString(0), cursor.getString(1)).getName());
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        for (File file : files) {
+            if (!known.contains(file.getName())) {
+                file.delete();
+            }
+        }
+    }
+
+    private File blobFile(String hash, String extension) {
+        return new File(cacheDir, extension != null && !extension.isEmpty() ? hash + "." + extension : hash);
+    }
+
+    /**
+     * Anexo maior que o orçamento do cache: quem chama usa o download comum
+     */
+    public static class TooLargeException extends Exception {
+        public TooLargeException(int idAnexo, long size, long budget) {
+            super("Anexo " + idAnexo + " (" + size + " bytes) maior que o cache (" + budget + " bytes)");
+        }
+    }
+
+    private static String extensionOf(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && dot < fileName.length() - 1 ? fileName.substring(dot + 1).toLowerCase() : "";
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -1,23 +1,58 @@
 package com.noiton2_frontend;
 
+import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
 import android.content.ContentResolver;
 import android.content.ContentValues;
 import android.content.Context;
 import android.content.Intent;
+import android.content.OperationApplicationException;
+import android.database.ContentObserver;
 import android.database.Cursor;
 import android.net.Uri;
+import android.os.RemoteException;
 import android.provider.CalendarContract;
+import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.Promise;
-import java.util.Calendar;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import java.util.ArrayList;
 import java.util.TimeZone;
 
 public class CalendarModule extends ReactContextBaseJavaModule {
+    public static final String NAME = "CalendarModule";
+    
+    // Calendário editável e sincronizado
+    private static final String WRITABLE_SELECTION =
+        CalendarContract.Calendars.VISIBLE + " = 1 AND " +
+        CalendarContract.Calendars.SYNC_EVENTS + " = 1 AND " +
+        CalendarContract.Calendars.CALENDAR_ACCESS_LEVEL + " >= " + CalendarContract.Calendars.CAL_ACCESS_CONTRIBUTOR;
+    
+    // Preferência: calendário pessoal do Google (sem o de feriados)
+    private static final String GOOGLE_SELECTION = WRITABLE_SELECTION + " AND (" +
+        CalendarContract.Calendars.ACCOUNT_TYPE + " = 'com.google' OR " +
+        CalendarContract.Calendars.OWNER_ACCOUNT + " LIKE '%@gmail.com') AND " +
+        CalendarContract.Calendars.OWNER_ACCOUNT + " NOT LIKE '%#holiday@%'";
+    
+    // Eventos por applyBatch (cada um vira 2 operações, 400 no lote): abaixo do limite de
+    // 500 operações por transação do provedor e da transação do binder (1 MB) mesmo com
+    // descrições longas
+    private static final int MAX_EVENTS_PER_BATCH = 200;
     
     private static ReactApplicationContext reactContext;
     
+    // Calendário de destino resolvido (-1: resolver de novo). O ContentObserver só marca
+    // como "stale": o provedor avisa a raiz do CalendarContract a cada evento inserido,
+    // então depois de um aviso o ID em cache é só conferido pelo _ID antes do próximo uso.
+    private long cachedCalendarId = -1;
+    private boolean calendarStale = false;
+    private ContentObserver calendarsObserver;
+    
     public CalendarModule(ReactApplicationContext context) {
         super(context);
         reactContext = context;
@@ -25,133 +60,27 @@ public class CalendarModule extends ReactContextBaseJavaModule {
     
     @Override
     public String getName() {
-        return "CalendarModule";
+        return NAME;
+    }
+    
+    @Override
+    public void onCatalystInstanceDestroy() {
+        super.onCatalystInstanceDestroy();
+        synchronized (this) {
+            if (calendarsObserver != null) {
+                getReactApplicationContext().getContentResolver().unregisterContentObserver(calendarsObserver);
+                calendarsObserver = null;
+            }
+        }
     }
     
     @ReactMethod
     public void createEvent(String title, String description, double startTime, double endTime, String location, Promise promise) {
         try {
-            android.util.Log.d("CalendarModule", "🔍 DEBUG: Iniciando createEvent");
-            android.util.Log.d("CalendarModule", "📝 Title: " + title);
-            android.util.Log.d("CalendarModule", "📝 Description: " + description.substring(0, Math.min(50, description.length())));
-            android.util.Log.d("CalendarModule", "📝 StartTime: " + new java.util.Date((long)startTime).toString());
-            android.util.Log.d("CalendarModule", "📝 EndTime: " + new java.util.Date((long)endTime).toString());
-            
             Context context = getReactApplicationContext();
             ContentResolver cr = context.getContentResolver();
             
-            // Buscar o primeiro calendário disponível
-            String[] projection = new String[]{
-                CalendarContract.Calendars._ID,
-                CalendarContract.Calendars.CALENDAR_DISPLAY_NAME,
-                CalendarContract.Calendars.OWNER_ACCOUNT
-            };
-            
-            // Buscar calendário pessoal do Google (evitar calendários somente leitura)
-            String[] fullProjection = new String[]{
-                CalendarContract.Calendars._ID,
-                CalendarContract.Calendars.CALENDAR_DISPLAY_NAME,
-                CalendarContract.Calendars.OWNER_ACCOUNT,
-                CalendarContract.Calendars.CALENDAR_ACCESS_LEVEL,
-                CalendarContract.Calendars.ACCOUNT_TYPE
-            };
-            
-            Cursor cursor = cr.query(
-                CalendarContract.Calendars.CONTENT_URI,
-                fullProjection,
-                CalendarContract.Calendars.VISIBLE + " = 1 AND " + 
-                CalendarContract.Calendars.SYNC_EVENTS + " = 1 AND " +
-                CalendarContract.Calendars.CALENDAR_ACCESS_LEVEL + " >= " + CalendarContract.Calendars.CAL_ACCESS_CONTRIBUTOR + " AND (" +
-                CalendarContract.Calendars.ACCOUNT_TYPE + " = 'com.google' OR " +
-                CalendarContract.Calendars.OWNER_ACCOUNT + " LIKE '%@gmail.com') AND " +
-                CalendarContract.Calendars.OWNER_ACCOUNT + " NOT LIKE '%#holiday@%'",
-                null,
-                CalendarContract.Calendars.IS_PRIMARY + " DESC"
-            );
-            
-            android.util.Log.d("CalendarModule", "🔍 Buscando calendário do Google primeiro...");
-            
-            long calendarId = -1;
-            String selectedCalendarName = "";
-            String selectedAccount = "";
-            
-            // Listar todos os calendários encontrados
-            if (cursor != null && cursor.getCount() > 0) {
-                android.util.Log.d("CalendarModule", "📋 Total de calendários do Google encontrados: " + cursor.getCount());
-                
-                while (cursor.moveToNext()) {
-                    int idIndex = cursor.getColumnIndex(CalendarContract.Calendars._ID);
-                    int nameIndex = cursor.getColumnIndex(CalendarContract.Calendars.CALENDAR_DISPLAY_NAME);
-                    int accountIndex = cursor.getColumnIndex(CalendarContract.Calendars.OWNER_ACCOUNT);
-                    int accessIndex = cursor.getColumnIndex(CalendarContract.Calendars.CALENDAR_ACCESS_LEVEL);
-                    int typeIndex = cursor.getColumnIndex(CalendarContract.Calendars.ACCOUNT_TYPE);
-                    
-                    if (idIndex >= 0) {
-                        long currentId = cursor.getLong(idIndex);
-                        String calendarName = nameIndex >= 0 ? cursor.getString(nameIndex) : "Desconhecido";
-                        String account = accountIndex >= 0 ? cursor.getString(accountIndex) : "Desconhecido";
-                        int accessLevel = accessIndex >= 0 ? cursor.getInt(accessIndex) : 0;
-                        String accountType = typeIndex >= 0 ? cursor.getString(typeIndex) : "Desconhecido";
-                        
-                        android.util.Log.d("CalendarModule", "📅 Calendário " + (cursor.getPosition() + 1) + ":");
-                        android.util.Log.d("CalendarModule", "   ID: " + currentId);
-                        android.util.Log.d("CalendarModule", "   Nome: " + calendarName);
-                        android.util.Log.d("CalendarModule", "   Conta: " + account);
-                        android.util.Log.d("CalendarModule", "   Acesso: " + accessLevel + " (mín. " + CalendarContract.Calendars.CAL_ACCESS_CONTRIBUTOR + ")");
-                        android.util.Log.d("CalendarModule", "   Tipo: " + accountType);
-                        
-                        // Selecionar o primeiro calendário editável encontrado
-                        if (calendarId == -1 && accessLevel >= CalendarContract.Calendars.CAL_ACCESS_CONTRIBUTOR) {
-                            calendarId = currentId;
-                            selectedCalendarName = calendarName;
-                            selectedAccount = account;
-                            android.util.Log.d("CalendarModule", "✅ Calendário selecionado (editável)!");
-                        }
-                    }
-                }
-                cursor.close();
-                
-                if (calendarId != -1) {
-                    android.util.Log.d("CalendarModule", "✅ Calendário selecionado:");
-                    android.util.Log.d("CalendarModule", "   ID: " + calendarId);
-                    android.util.Log.d("CalendarModule", "   Nome: " + selectedCalendarName);
-                    android.util.Log.d("CalendarModule", "   Conta: " + selectedAccount);
-                }
-            }
-            
-            // Se não encontrou calendário do Google, buscar qualquer calendário sincronizável
-            if (calendarId == -1) {
-                android.util.Log.d("CalendarModule", "⚠️ Calendário do Google não encontrado, buscando qualquer calendário...");
-                
-                Cursor fallbackCursor = cr.query(
-                    CalendarContract.Calendars.CONTENT_URI,
-                    fullProjection,
-                    CalendarContract.Calendars.VISIBLE + " = 1 AND " + 
-                    CalendarContract.Calendars.SYNC_EVENTS + " = 1 AND " +
-                    CalendarContract.Calendars.CALENDAR_ACCESS_LEVEL + " >= " + CalendarContract.Calendars.CAL_ACCESS_CONTRIBUTOR,
-                    null,
-                    null
-                );
-                
-                if (fallbackCursor != null && fallbackCursor.moveToFirst()) {
-                    int idIndex = fallbackCursor.getColumnIndex(CalendarContract.Calendars._ID);
-                    int nameIndex = fallbackCursor.getColumnIndex(CalendarContract.Calendars.CALENDAR_DISPLAY_NAME);
-                    int accountIndex = fallbackCursor.getColumnIndex(CalendarContract.Calendars.OWNER_ACCOUNT);
-                    
-                    if (idIndex >= 0) {
-                        calendarId = fallbackCursor.getLong(idIndex);
-                        selectedCalendarName = nameIndex >= 0 ? fallbackCursor.getString(nameIndex) : "Desconhecido";
-                        selectedAccount = accountIndex >= 0 ? fallbackCursor.getString(accountIndex) : "Desconhecido";
-                        
-                        android.util.Log.d("CalendarModule", "📅 Calendário fallback selecionado:");
-                        android.util.Log.d("CalendarModule", "   ID: " + calendarId);
-                        android.util.Log.d("CalendarModule", "   Nome: " + selectedCalendarName);
-                        android.util.Log.d("CalendarModule", "   Conta: " + selectedAccount);
-                    }
-                    fallbackCursor.close();
-                }
-            }
-            
+            long calendarId = resolveCalendarId(cr);
             if (calendarId == -1) {
                 android.util.Log.e("CalendarModule", "❌ Nenhum calendário encontrado");
                 promise.reject("NO_CALENDAR", "Nenhum calendário encontrado - verifique se há contas Google configuradas");
@@ -159,26 +88,14 @@ public class CalendarModule extends ReactContextBaseJavaModule {
             }
             
             // Criar o evento
-            ContentValues values = new ContentValues();
-            values.put(CalendarContract.Events.DTSTART, (long)startTime);
-            values.put(CalendarContract.Events.DTEND, (long)endTime);
-            values.put(CalendarContract.Events.TITLE, title);
-            values.put(CalendarContract.Events.DESCRIPTION, description);
-            values.put(CalendarContract.Events.CALENDAR_ID, calendarId);
-            values.put(CalendarContract.Events.EVENT_TIMEZONE, TimeZone.getDefault().getID());
-            
-            if (location != null && !location.isEmpty()) {
-                values.put(CalendarContract.Events.EVENT_LOCATION, location);
-            }
-            
+            ContentValues values = eventValues(calendarId, title, description, (long)startTime, (long)endTime, location);
             Uri uri = cr.insert(CalendarContract.Events.CONTENT_URI, values);
             
             if (uri != null) {
                 // Criar lembrete
                 long eventId = Long.parseLong(uri.getLastPathSegment());
-                android.util.Log.d("CalendarModule", "✅ Evento criado com ID: " + eventId);
                 createReminder(cr, eventId);
-                android.util.Log.d("CalendarModule", "✅ Evento e lembrete criados com sucesso");
+                android.util.Log.d("CalendarModule", "✅ Evento criado com ID: " + eventId);
                 promise.resolve(true);
             } else {
                 android.util.Log.e("CalendarModule", "❌ Falha ao inserir evento no calendário");
@@ -192,6 +109,89 @@ public class CalendarModule extends ReactContextBaseJavaModule {
         }
     }
     
+    /**
+     * Exporta vários eventos de uma vez: cada evento e seu lembrete viram
+     * ContentProviderOperations (o lembrete aponta para o evento por back-reference)
+     * aplicadas num único applyBatch por lote. Sem pontos de yield, cada lote é atômico:
+     * ou todos os eventos dele são criados, ou nenhum (e a próxima exportação tenta de novo).
+     *
+     * events: [{ taskId, title, description, startTime, endTime, location? }]
+     * Resolve { success, created, failed, events: [{ taskId, eventId }] } na ordem de
+     * entrada; eventId é null quando o lote daquele evento falhou.
+     */
+    @ReactMethod
+    public void createEvents(ReadableArray events, Promise promise) {
+        try {
+            Context context = getReactApplicationContext();
+            ContentResolver cr = context.getContentResolver();
+            
+            long calendarId = resolveCalendarId(cr);
+            if (calendarId == -1) {
+                android.util.Log.e("CalendarModule", "❌ Nenhum calendário encontrado");
+                promise.reject("NO_CALENDAR", "Nenhum calendário encontrado - verifique se há contas Google configuradas");
+                return;
+            }
+            
+            WritableArray results = Arguments.createArray();
+            int created = 0;
+            int failed = 0;
+            for (int start = 0; start < events.size(); start += MAX_EVENTS_PER_BATCH) {
+                int end = Math.min(start + MAX_EVENTS_PER_BATCH, events.size());
+                ArrayList<ContentProviderOperation> operations = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    ReadableMap event = events.getMap(i);
+                    String location = event.hasKey("location") && !event.isNull("location") ? event.getString("location") : null;
+                    int eventIndex = operations.size();
+                    ContentValues values = eventValues(calendarId, event.getString("title"), event.getString("description"),
+                        (long) event.getDouble("startTime"), (long) event.getDouble("endTime"), location);
+                    values.put(CalendarContract.Events.HAS_ALARM, 1);
+                    operations.add(ContentProviderOperation.newInsert(CalendarContract.Events.CONTENT_URI)
+                        .withValues(values)
+                        .build());
+                    operations.add(ContentProviderOperation.newInsert(CalendarContract.Reminders.CONTENT_URI)
+                        .withValues(reminderValues())
+                        .withValueBackReference(CalendarContract.Reminders.EVENT_ID, eventIndex)
+                        .build());
+                }
+                
+                ContentProviderResult[] applied = null;
+                try {
+                    applied = cr.applyBatch(CalendarContract.AUTHORITY, operations);
+                } catch (RemoteException | OperationApplicationException e) {
+                    android.util.Log.e("CalendarModule", "❌ Erro no lote de eventos " + start + "-" + (end - 1) + ": " + e.getMessage());
+                }
+                
+                // Dois resultados por evento: o do evento é o primeiro
+                for (int i = start; i < end; i++) {
+                    WritableMap result = Arguments.createMap();
+                    result.putInt("taskId", events.getMap(i).getInt("taskId"));
+                    Uri uri = applied != null ? applied[(i - start) * 2].uri : null;
+                    if (uri != null) {
+                        result.putDouble("eventId", Long.parseLong(uri.getLastPathSegment()));
+                        created++;
+                    } else {
+                        result.putNull("eventId");
+                        failed++;
+                    }
+                    results.pushMap(result);
+                }
+            }
+            
+            android.util.Log.d("CalendarModule", "✅ " + created + " evento(s) exportados, " + failed + " com erro");
+            WritableMap response = Arguments.createMap();
+            response.putBoolean("success", failed == 0);
+            response.putInt("created", created);
+            response.putInt("failed", failed);
+            response.putArray("events", results);
+            promise.resolve(response);
+            
+        } catch (SecurityException e) {
+            promise.reject("PERMISSION_DENIED", "Permissão negada para acessar o calendário");
+        } catch (Exception e) {
+            promise.reject("ERROR", "Erro ao criar eventos: " + e.getMessage());
+        }
+    }
+    
     @ReactMethod
     public void openCalendarApp(Promise promise) {
         try {
@@ -219,12 +219,90 @@ public class CalendarModule extends ReactContextBaseJavaModule {
         }
     }
     
+    /**
+     * Calendário onde os eventos são criados: o primeiro do Google editável (o principal
+     * primeiro) ou, sem conta Google, qualquer calendário editável. -1 se não houver.
+     */
+    private synchronized long resolveCalendarId(ContentResolver cr) {
+        watchCalendars(cr);
+        if (cachedCalendarId != -1 && calendarStale) {
+            calendarStale = false;
+            if (queryFirstCalendar(cr, WRITABLE_SELECTION + " AND " + CalendarContract.Calendars._ID + " = " + cachedCalendarId, null) == -1) {
+                cachedCalendarId = -1; // removido ou não é mais editável
+            }
+        }
+        if (cachedCalendarId == -1) {
+            cachedCalendarId = queryFirstCalendar(cr, GOOGLE_SELECTION, CalendarContract.Calendars.IS_PRIMARY + " DESC");
+            if (cachedCalendarId == -1) {
+                android.util.Log.d("CalendarModule", "⚠️ Calendário do Google não encontrado, usando qualquer calendário editável");
+                cachedCalendarId = queryFirstCalendar(cr, WRITABLE_SELECTION, null);
+            }
+            if (cachedCalendarId != -1) {
+                android.util.Log.d("CalendarModule", "📅 Calendário de destino: " + cachedCalendarId);
+            }
+        }
+        return cachedCalendarId;
+    }
+    
+    private long queryFirstCalendar(ContentResolver cr, String selection, String sortOrder) {
+        Cursor cursor = null;
+        try {
+            cursor = cr.query(CalendarContract.Calendars.CONTENT_URI,
+                new String[]{CalendarContract.Calendars._ID}, selection, null, sortOrder);
+            return cursor != null && cursor.moveToFirst() ? cursor.getLong(0) : -1;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+    
+    /**
+     * Registrado no primeiro uso (precisa da permissão de calendário já concedida)
+     */
+    private void watchCalendars(ContentResolver cr) {
+        if (calendarsObserver != null) {
+            return;
+        }
+        ContentObserver observer = new ContentObserver(null) {
+            @Override
+            public void onChange(boolean selfChange) {
+                synchronized (CalendarModule.this) {
+                    calendarStale = true;
+                }
+            }
+        };
+        cr.registerContentObserver(CalendarContract.Calendars.CONTENT_URI, true, observer);
+        calendarsObserver = observer;
+    }
+    
+    private static ContentValues eventValues(long calendarId, String title, String description, long startTime, long endTime, String location) {
+        ContentValues values = new ContentValues();
+        values.put(CalendarContract.Events.DTSTART, startTime);
+        values.put(CalendarContract.Events.DTEND, endTime);
+        values.put(CalendarContract.Events.TITLE, title);
+        values.put(CalendarContract.Events.DESCRIPTION, description);
+        values.put(CalendarContract.Events.CALENDAR_ID, calendarId);
+        values.put(CalendarContract.Events.EVENT_TIMEZONE, TimeZone.getDefault().getID());
+        
+        if (location != null && !location.isEmpty()) {
+            values.put(CalendarContract.Events.EVENT_LOCATION, location);
+        }
+        return values;
+    }
+    
+    // Sem EVENT_ID: quem chama informa (insert direto ou back-reference no lote)
+    private static ContentValues reminderValues() {
+        ContentValues reminderValues = new ContentValues();
+        reminderValues.put(CalendarContract.Reminders.MINUTES, 60); // 1 hora antes
+        reminderValues.put(CalendarContract.Reminders.METHOD, CalendarContract.Reminders.METHOD_ALERT);
+        return reminderValues;
+    }
+    
     private void createReminder(ContentResolver cr, long eventId) {
         try {
-            ContentValues reminderValues = new ContentValues();
-            reminderValues.put(CalendarContract.Reminders.MINUTES, 60); // 1 hora antes
+            ContentValues reminderValues = reminderValues();
             reminderValues.put(CalendarContract.Reminders.EVENT_ID, eventId);
-            reminderValues.put(CalendarContract.Reminders.METHOD, CalendarContract.Reminders.METHOD_ALERT);
             
             cr.insert(CalendarContract.Reminders.CONTENT_URI, reminderValues);
         } catch (Exception e) {
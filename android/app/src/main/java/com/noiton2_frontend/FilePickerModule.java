@@ -10,6 +10,7 @@ import android.os.Environment;
 import android.provider.OpenableColumns;
 import android.widget.Toast;
 import androidx.annotation.Nullable;
+import androidx.core.content.FileProvider;
 
 import com.facebook.react.bridge.ActivityEventListener;
 import com.facebook.react.bridge.Promise;
@@ -26,12 +27,18 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class FilePickerModule extends ReactContextBaseJavaModule implements ActivityEventListener {
+    public static final String NAME = "FilePickerModule";
 
     private static final int FILE_PICKER_REQUEST_CODE = 999;
     private Promise pickerPromise;
 
+    // Downloads do cache de anexos fora da thread dos módulos nativos
+    private final ExecutorService attachmentExecutor = Executors.newSingleThreadExecutor();
+
     public FilePickerModule(ReactApplicationContext reactContext) {
         super(reactContext);
         reactContext.addActivityEventListener(this);
@@ -39,7 +46,7 @@ public class FilePickerModule extends ReactContextBaseJavaModule implements Acti
 
     @Override
     public String getName() {
-        return "FilePickerModule";
+        return NAME;
     }
 
     @ReactMethod
@@ -173,6 +180,133 @@ public class FilePickerModule extends ReactContextBaseJavaModule implements Acti
         }
     }
 
+    // =====================================================
+    // 📎 CACHE LOCAL DE ANEXOS
+    // =====================================================
+
+    /**
+     * Consulta o cache pelo id_anexo, sem rede
+     */
+    @ReactMethod
+    public void getCachedAttachment(int idAnexo, Promise promise) {
+        attachmentExecutor.execute(() -> {
+            try {
+                File file = AttachmentCache.getInstance(getReactApplicationContext()).lookup(idAnexo);
+                promise.resolve(cachedFileResult(file, true));
+            } catch (Exception e) {
+                android.util.Log.e("FilePickerModule", "Erro ao consultar cache de anexos: " + e.getMessage());
+                promise.reject("CACHE_ERROR", "Erro ao consultar cache: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Retorna o anexo do cache ou baixa para o cache (uma única vez por conteúdo)
+     */
+    @ReactMethod
+    public void fetchAttachment(int idAnexo, int idTarefa, String url, String fileName, String authToken, Promise promise) {
+        attachmentExecutor.execute(() -> {
+            try {
+                AttachmentCache cache = AttachmentCache.getInstance(getReactApplicationContext());
+                boolean wasCached = cache.lookup(idAnexo) != null;
+                File file = cache.fetch(idAnexo, idTarefa, url, fileName, authToken);
+                if (file == null) {
+                    promise.reject("CACHE_ERROR", "Não foi possível gravar o anexo no cache");
+                    return;
+                }
+                android.util.Log.d("FilePickerModule", (wasCached ? "📎 Anexo servido do cache: " : "📥 Anexo baixado para o cache: ") + file.getName());
+                promise.resolve(cachedFileResult(file, wasCached));
+            } catch (AttachmentCache.TooLargeException e) {
+                android.util.Log.w("FilePickerModule", "⚠️ " + e.getMessage());
+                promise.reject("ATTACHMENT_TOO_LARGE", e.getMessage());
+            } catch (Exception e) {
+                android.util.Log.e("FilePickerModule", "Erro ao baixar anexo para o cache: " + e.getMessage());
+                promise.reject("DOWNLOAD_ERROR", "Erro ao baixar anexo: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Abre um anexo já em cache no visualizador do sistema
+     */
+    @ReactMethod
+    public void openCachedAttachment(int idAnexo, String mimeType, Promise promise) {
+        attachmentExecutor.execute(() -> {
+            try {
+                Context context = getReactApplicationContext();
+                File file = AttachmentCache.getInstance(context).lookup(idAnexo);
+                if (file == null) {
+                    promise.reject("NOT_CACHED", "Anexo não está em cache");
+                    return;
+                }
+
+                Uri uri = FileProvider.getUriForFile(context, context.getPackageName() + ".fileprovider", file);
+                Intent intent = new Intent(Intent.ACTION_VIEW);
+                intent.setDataAndType(uri, mimeType);
+                intent.addFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION | Intent.FLAG_ACTIVITY_NEW_TASK);
+                context.startActivity(intent);
+                promise.resolve(true);
+            } catch (Exception e) {
+                android.util.Log.e("FilePickerModule", "Erro ao abrir anexo: " + e.getMessage());
+                promise.reject("OPEN_ERROR", "Erro ao abrir anexo: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Protege do despejo os anexos de uma tarefa aberta recentemente
+     */
+    @ReactMethod
+    public void pinTaskAttachments(int idTarefa) {
+        AttachmentCache.getInstance(getReactApplicationContext()).pinTask(idTarefa);
+    }
+
+    @ReactMethod
+    public void setAttachmentCacheBudget(double bytes) {
+        attachmentExecutor.execute(() ->
+                AttachmentCache.getInstance(getReactApplicationContext()).setBudget((long) bytes));
+    }
+
+    @ReactMethod
+    public void getAttachmentCacheStats(Promise promise) {
+        attachmentExecutor.execute(() -> {
+            try {
+                AttachmentCache cache = AttachmentCache.getInstance(getReactApplicationContext());
+                WritableMap result = Arguments.createMap();
+                result.putDouble("usedBytes", cache.getUsedBytes());
+                result.putDouble("budgetBytes", cache.getBudget());
+                result.putInt("entries", cache.getEntryCount());
+                result.putInt("pinnedTasks", cache.getPinnedTasks().size());
+                promise.resolve(result);
+            } catch (Exception e) {
+                promise.reject("CACHE_ERROR", "Erro ao ler cache: " + e.getMessage());
+            }
+        });
+    }
+
+    @ReactMethod
+    public void clearAttachmentCache(Promise promise) {
+        attachmentExecutor.execute(() -> {
+            try {
+                AttachmentCache.getInstance(getReactApplicationContext()).clear();
+                promise.resolve(true);
+            } catch (Exception e) {
+                promise.reject("CACHE_ERROR", "Erro ao limpar cache: " + e.getMessage());
+            }
+        });
+    }
+
+    private WritableMap cachedFileResult(@Nullable File file, boolean cached) {
+        WritableMap result = Arguments.createMap();
+        result.putBoolean("cached", file != null && cached);
+        if (file != null) {
+            result.putString("uri", "file://" + file.getAbsolutePath());
+            result.putString("path", file.getAbsolutePath());
+            result.putDouble("size", file.length());
+        }
+        return result;
+    }
+
     @ReactMethod
     public void saveTextToFile(String content, String fileName, Promise promise) {
         android.util.Log.d("FilePickerModule", "Salvando arquivo: " + fileName);
@@ -23,7 +23,7 @@ import com.google.android.gms.tasks.Task;
 
 public class GoogleSignInModule extends ReactContextBaseJavaModule {
     
-    private static final String MODULE_NAME = "GoogleSignInModule";
+    public static final String MODULE_NAME = "GoogleSignInModule";
     private static final int RC_SIGN_IN = 9001;
     private static final String TAG = "GoogleSignInModule";
     
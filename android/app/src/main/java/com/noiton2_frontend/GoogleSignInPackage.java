@@ -1,25 +1,41 @@
 package com.noiton2_frontend;
 
-import com.facebook.react.ReactPackage;
+import com.facebook.react.TurboReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+
+// Lazy: o módulo só é construído quando o JS o acessa pela primeira vez
+public class GoogleSignInPackage extends TurboReactPackage {
 
-public class GoogleSignInPackage implements ReactPackage {
-    
     @Override
-    public List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
-        return Collections.emptyList();
+    public NativeModule getModule(String name, ReactApplicationContext reactContext) {
+        if (GoogleSignInModule.MODULE_NAME.equals(name)) {
+            try (StartupTrace.Span span = StartupTrace.begin("module:" + name)) {
+                return new GoogleSignInModule(reactContext);
+            }
+        }
+        return null;
     }
 
     @Override
-    public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-        List<NativeModule> modules = new ArrayList<>();
-        modules.add(new GoogleSignInModule(reactContext));
-        return modules;
+    public ReactModuleInfoProvider getReactModuleInfoProvider() {
+        return () -> {
+            Map<String, ReactModuleInfo> modules = new HashMap<>();
+            modules.put(GoogleSignInModule.MODULE_NAME, new ReactModuleInfo(
+                    GoogleSignInModule.MODULE_NAME,
+                    GoogleSignInModule.class.getName(),
+                    false, // canOverrideExistingModule
+                    false, // needsEagerInit
+                    false, // hasConstants
+                    false, // isCxxModule
+                    false  // isTurboModule
+            ));
+            return modules;
+        };
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.noiton2_frontend;
 
 import android.app.Application;
+import android.util.Log;
 import com.facebook.react.PackageList;
 import com.facebook.react.ReactApplication;
 import com.facebook.react.ReactNativeHost;
@@ -22,6 +23,9 @@ import com.noiton2_frontend.GoogleSignInPackage;
 
 // 2. IMPORTAR DATABASE HELPER E SYNC PACKAGE
 import com.noiton2_frontend.database.DatabaseHelper;
+import com.noiton2_frontend.sync.BootSnapshot;
+import com.noiton2_frontend.sync.MaintenanceJobService;
+import com.noiton2_frontend.reminders.ReminderScheduler;
 import com.noiton2_frontend.SyncPackage;
 
 public class MainApplication extends Application implements ReactApplication {
@@ -73,17 +77,43 @@ public class MainApplication extends Application implements ReactApplication {
 
   @Override
   public void onCreate() {
+    StartupTrace.markApplicationStart();
+    StartupTrace.Span onCreateSpan = StartupTrace.begin("MainApplication.onCreate");
     super.onCreate();
-    SoLoader.init(this, /* native exopackage */ false);
+    try (StartupTrace.Span span = StartupTrace.begin("SoLoader.init")) {
+      SoLoader.init(this, /* native exopackage */ false);
+    }
     if (BuildConfig.IS_NEW_ARCHITECTURE_ENABLED) {
       // If you opted-in for the New Architecture, we load the native entry point for this app.
-      DefaultNewArchitectureEntryPoint.load();
+      try (StartupTrace.Span span = StartupTrace.begin("DefaultNewArchitectureEntryPoint.load")) {
+        DefaultNewArchitectureEntryPoint.load();
+      }
     }
     
-    // 5. INICIALIZAR O BANCO DE DADOS SQLITE
-    DatabaseHelper dbHelper = new DatabaseHelper(this);
-    // Isso criará o banco na primeira vez
+    // 5. AQUECER SNAPSHOT E BANCO FORA DA MAIN THREAD (enquanto o bundle JS carrega)
+    final Application app = this;
+    new Thread(() -> {
+      // Snapshot primeiro: é o que a tela inicial lê antes de qualquer consulta
+      try (StartupTrace.Span span = StartupTrace.begin("BootSnapshot.preload")) {
+        BootSnapshot.preload(app);
+      }
+      try (StartupTrace.Span span = StartupTrace.begin("DatabaseHelper.prewarm")) {
+        // Cria/atualiza o banco na primeira vez e deixa a conexão aberta e aquecida
+        DatabaseHelper.getInstance(app).prewarm();
+      } catch (Exception e) {
+        Log.e("MainApplication", "Erro ao aquecer o banco: " + e.getMessage());
+      }
+      // Lembretes de prazo: carrega o heap e arma o próximo alarme
+      try (StartupTrace.Span span = StartupTrace.begin("ReminderScheduler.start")) {
+        ReminderScheduler.getInstance(app).start();
+      }
+      // Arquivamento + incremental_vacuum nas janelas ociosas
+      try (StartupTrace.Span span = StartupTrace.begin("MaintenanceJobService.schedule")) {
+        MaintenanceJobService.schedule(app);
+      }
+    }, "noiton-startup").start();
     
     // ReactNativeFlipper.initializeFlipper(this, getReactNativeHost().getReactInstanceManager());
+    onCreateSpan.close();
   }
 }
\ No newline at end of file
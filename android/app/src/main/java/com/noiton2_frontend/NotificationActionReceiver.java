@@ -3,6 +3,9 @@ package com.noiton2_frontend;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 import android.widget.Toast;
 
 import com.facebook.react.bridge.WritableMap;
@@ -12,44 +15,112 @@ import com.facebook.react.ReactApplication;
 import com.facebook.react.ReactInstanceManager;
 import com.facebook.react.bridge.ReactContext;
 
+import com.noiton2_frontend.reminders.NotificationRegistry;
+import com.noiton2_frontend.reminders.ReminderScheduler;
+import com.noiton2_frontend.reminders.TaskActions;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Concluir/Adiar das notificações. A ação é aplicada direto no SQLite numa
+ * thread de fundo (goAsync), então funciona com o app fechado; o evento para
+ * o JS só avisa as telas quando há um contexto React vivo.
+ */
 public class NotificationActionReceiver extends BroadcastReceiver {
+    private static final String TAG = "NotificationAction";
+
+    // Uma thread: toques seguidos em "Concluir" são aplicados em ordem
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "noiton-notification-actions"));
 
     @Override
     public void onReceive(Context context, Intent intent) {
-        String action = intent.getAction();
-        int taskId = intent.getIntExtra("taskId", -1);
-
-        if (action != null) {
-            switch (action) {
-                case "COMPLETE_TASK":
-                    handleCompleteTask(context, taskId);
-                    break;
-                case "SNOOZE_TASK":
-                    handleSnoozeTask(context, taskId);
-                    break;
-            }
+        final String action = intent.getAction();
+        final int taskId = intent.getIntExtra("taskId", -1);
+
+        if (action == null || taskId < 0) {
+            return;
+        }
+
+        // Ações não fecham a notificação sozinhas
+        NotificationRegistry.getInstance(context).cancelTask(taskId);
+
+        final Context appContext = context.getApplicationContext();
+        final PendingResult pendingResult = goAsync();
+        switch (action) {
+            case NotificationRegistry.ACTION_COMPLETE:
+                executor.execute(() -> {
+                    try {
+                        handleCompleteTask(appContext, taskId);
+                    } catch (Exception e) {
+                        Log.e(TAG, "Erro ao concluir a tarefa " + taskId + ": " + e.getMessage());
+                        showToast(appContext, "Não foi possível atualizar a tarefa");
+                    } finally {
+                        pendingResult.finish();
+                    }
+                });
+                break;
+            case NotificationRegistry.ACTION_SNOOZE:
+                handleSnoozeTask(appContext, taskId, pendingResult);
+                break;
+            default:
+                pendingResult.finish();
+                break;
         }
     }
 
     private void handleCompleteTask(Context context, int taskId) {
-        // Enviar evento para o React Native
+        if (!TaskActions.complete(context, taskId)) {
+            showToast(context, "Tarefa não encontrada");
+            return;
+        }
+
+        // Telas abertas já recebem DATABASE_CHANGED; o evento é só um aviso para o JS
         sendEventToReactNative(context, "onTaskCompleteFromNotification", taskId);
-        
-        // Mostrar feedback ao usuário
-        Toast.makeText(context, "Tarefa marcada como concluída!", Toast.LENGTH_SHORT).show();
+        showToast(context, "Tarefa marcada como concluída!");
+    }
+
+    /**
+     * Adiamento e novo alarme ficam no ReminderScheduler (na thread dele)
+     */
+    private void handleSnoozeTask(Context context, int taskId, PendingResult pendingResult) {
+        ReminderScheduler scheduler = ReminderScheduler.getInstance(context);
+        final int minutes = scheduler.getSnoozeMinutes();
+        scheduler.snoozeTask(taskId, minutes, remindAt -> {
+            try {
+                if (remindAt < 0) {
+                    showToast(context, "Tarefa não encontrada");
+                    return;
+                }
+                sendEventToReactNative(context, "onTaskSnoozeFromNotification", taskId);
+                showToast(context, "Tarefa adiada por " + formatMinutes(minutes));
+            } finally {
+                pendingResult.finish();
+            }
+        });
     }
 
-    private void handleSnoozeTask(Context context, int taskId) {
-        // Enviar evento para o React Native
-        sendEventToReactNative(context, "onTaskSnoozeFromNotification", taskId);
-        
-        // Mostrar feedback ao usuário
-        Toast.makeText(context, "Tarefa adiada por 1 hora", Toast.LENGTH_SHORT).show();
+    private static String formatMinutes(int minutes) {
+        if (minutes < 60) {
+            return minutes + " min";
+        }
+        int hours = minutes / 60;
+        String text = hours == 1 ? "1 hora" : hours + " horas";
+        return minutes % 60 == 0 ? text : text + " e " + (minutes % 60) + " min";
+    }
+
+    private void showToast(Context context, String message) {
+        new Handler(Looper.getMainLooper()).post(() ->
+                Toast.makeText(context, message, Toast.LENGTH_SHORT).show());
     }
 
     private void sendEventToReactNative(Context context, String eventName, int taskId) {
         try {
             ReactApplication app = (ReactApplication) context.getApplicationContext();
+            if (!app.getReactNativeHost().hasInstance()) {
+                return; // JS não está rodando: não inicializar só para o aviso
+            }
             ReactInstanceManager reactInstanceManager = app.getReactNativeHost().getReactInstanceManager();
             ReactContext reactContext = reactInstanceManager.getCurrentReactContext();
 
@@ -66,4 +137,4 @@ public class NotificationActionReceiver extends BroadcastReceiver {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+}
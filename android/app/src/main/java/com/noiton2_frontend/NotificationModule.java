@@ -14,36 +14,58 @@ import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.Arguments;
 
-import java.util.Random;
+import com.noiton2_frontend.reminders.NotificationBatcher;
+import com.noiton2_frontend.reminders.NotificationRegistry;
+import com.noiton2_frontend.reminders.ReminderScheduler;
 
 public class NotificationModule extends ReactContextBaseJavaModule {
+    public static final String NAME = "NotificationModule";
     
-    private static final String CHANNEL_ID = "NOITON_TASK_CHANNEL";
+    public static final String CHANNEL_ID = "NOITON_TASK_CHANNEL";
     private static final String CHANNEL_NAME = "Noiton Task Notifications";
     private static final String CHANNEL_DESCRIPTION = "Notificações de tarefas do Noiton";
     
     private ReactApplicationContext reactContext;
     private NotificationManager notificationManager;
+    private boolean channelCreated = false;
+
+    private static volatile boolean channelReady = false;
 
     public NotificationModule(ReactApplicationContext reactContext) {
         super(reactContext);
         this.reactContext = reactContext;
         this.notificationManager = (NotificationManager) reactContext.getSystemService(Context.NOTIFICATION_SERVICE);
-        createNotificationChannel();
     }
 
     @Override
     public String getName() {
-        return "NotificationModule";
+        return NAME;
     }
 
     /**
-     * Criar canal de notificação (necessário para Android 8.0+)
+     * Criar canal de notificação (necessário para Android 8.0+).
+     * Feito na primeira notificação, fora do caminho de inicialização.
      */
-    private void createNotificationChannel() {
+    private synchronized void createNotificationChannel() {
+        if (channelCreated) {
+            return;
+        }
+        channelCreated = true;
+        ensureChannel(reactContext);
+    }
+
+    /**
+     * Cria o canal de tarefas uma vez por processo. Também usado pelos lembretes
+     * nativos, que postam sem o módulo (e sem o JS) carregado.
+     */
+    public static void ensureChannel(Context context) {
+        if (channelReady) {
+            return;
+        }
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
             NotificationChannel channel = new NotificationChannel(
                 CHANNEL_ID,
@@ -54,8 +76,36 @@ public class NotificationModule extends ReactContextBaseJavaModule {
             channel.enableVibration(true);
             channel.enableLights(true);
             
-            notificationManager.createNotificationChannel(channel);
+            NotificationManager manager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+            manager.createNotificationChannel(channel);
         }
+        channelReady = true;
+    }
+
+    /**
+     * Lembrete de tarefa (abrir, Concluir, Adiar) sem depender de ReadableMap.
+     * idTarefa < 0: sem tarefa associada.
+     */
+    public static NotificationCompat.Builder taskReminderBuilder(Context context, int idTarefa, String titulo, String message) {
+        // PendingIntents estáveis por tarefa (reaproveitados a cada atualização)
+        PendingIntent pendingIntent = NotificationRegistry.getInstance(context).openIntent(idTarefa);
+        
+        ensureChannel(context);
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+            .setSmallIcon(R.drawable.ic_notification) // Você precisa adicionar este ícone
+            .setContentTitle("📋 " + titulo)
+            .setContentText(message)
+            .setStyle(new NotificationCompat.BigTextStyle().bigText(message))
+            .setPriority(NotificationCompat.PRIORITY_HIGH)
+            .setAutoCancel(true)
+            .setVibrate(new long[]{0, 500, 200, 500})
+            // Mesma tarefa de novo: atualiza a notificação na bandeja sem tocar outra vez
+            .setOnlyAlertOnce(true)
+            .setContentIntent(pendingIntent);
+        
+        // Adicionar ações na notificação
+        addTaskNotificationActions(context, builder, idTarefa);
+        return builder;
     }
 
     /**
@@ -116,37 +166,15 @@ public class NotificationModule extends ReactContextBaseJavaModule {
                 message = "Prazo: " + taskData.getString("data_fim");
             }
             
-            // Criar intent para abrir a tarefa específica
-            Intent intent = new Intent(reactContext, MainActivity.class);
-            intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
-            
-            if (taskData.hasKey("id_tarefa")) {
-                intent.putExtra("taskId", taskData.getInt("id_tarefa"));
-                intent.putExtra("openTask", true);
-            }
-            
-            PendingIntent pendingIntent = PendingIntent.getActivity(
-                reactContext, 
-                new Random().nextInt(), 
-                intent, 
-                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
-            );
-            
-            NotificationCompat.Builder builder = new NotificationCompat.Builder(reactContext, CHANNEL_ID)
-                .setSmallIcon(R.drawable.ic_notification) // Você precisa adicionar este ícone
-                .setContentTitle("📋 " + title)
-                .setContentText(message)
-                .setStyle(new NotificationCompat.BigTextStyle().bigText(message))
-                .setPriority(NotificationCompat.PRIORITY_HIGH)
-                .setAutoCancel(true)
-                .setVibrate(new long[]{0, 500, 200, 500})
-                .setContentIntent(pendingIntent);
+            int idTarefa = taskData.hasKey("id_tarefa") ? taskData.getInt("id_tarefa") : -1;
+            int idWorkspace = taskData.hasKey("id_workspace") ? taskData.getInt("id_workspace") : NotificationBatcher.NO_WORKSPACE;
+            NotificationCompat.Builder builder = taskReminderBuilder(reactContext, idTarefa, title, message);
             
-            // Adicionar ações na notificação
-            addTaskNotificationActions(builder, taskData);
-            
-            int notificationId = new Random().nextInt();
-            NotificationManagerCompat.from(reactContext).notify(notificationId, builder.build());
+            // Agrupado por workspace e com limite de taxa (NotificationBatcher);
+            // ID = id_tarefa, então lembrar a mesma tarefa atualiza no lugar
+            int notificationId = idTarefa >= 0 ? idTarefa : NotificationRegistry.getInstance(reactContext).nextAnonymousId();
+            NotificationBatcher.getInstance(reactContext).enqueue(new NotificationBatcher.Item(
+                NotificationBatcher.TAG_TAREFA, notificationId, idWorkspace, null, title + " — " + message, builder));
             
             WritableMap result = Arguments.createMap();
             result.putBoolean("success", true);
@@ -159,12 +187,71 @@ public class NotificationModule extends ReactContextBaseJavaModule {
         }
     }
 
+    /**
+     * Antecedência (minutos antes de data_fim) dos lembretes agendados no Java
+     */
+    @ReactMethod
+    public void setReminderLeadMinutes(int minutes) {
+        ReminderScheduler.getInstance(reactContext).setLeadMinutes(minutes);
+    }
+
+    /**
+     * Duração padrão do "Adiar" das notificações
+     */
+    @ReactMethod
+    public void setSnoozeMinutes(int minutes) {
+        ReminderScheduler.getInstance(reactContext).setSnoozeMinutes(minutes);
+    }
+
+    /**
+     * Adiar pelo app: move o prazo e lembra de novo daqui a minutes (mesmo caminho do botão da notificação)
+     */
+    @ReactMethod
+    public void snoozeTask(int idTarefa, int minutes, Promise promise) {
+        NotificationRegistry.getInstance(reactContext).cancelTask(idTarefa);
+        ReminderScheduler.getInstance(reactContext).snoozeTask(idTarefa, Math.max(1, minutes), remindAt -> {
+            WritableMap result = Arguments.createMap();
+            if (remindAt < 0) {
+                result.putBoolean("success", false);
+                result.putString("error", "Tarefa não encontrada no banco local");
+            } else {
+                result.putBoolean("success", true);
+                result.putDouble("remindAt", remindAt);
+            }
+            promise.resolve(result);
+        });
+    }
+
+    /**
+     * Estado do agendador nativo: lembretes pendentes e próximo disparo
+     */
+    @ReactMethod
+    public void getScheduledReminders(Promise promise) {
+        final ReminderScheduler scheduler = ReminderScheduler.getInstance(reactContext);
+        scheduler.getState((pending, nextTriggerAt) -> {
+            WritableMap result = Arguments.createMap();
+            result.putBoolean("success", true);
+            result.putInt("pending", pending);
+            if (nextTriggerAt == Long.MAX_VALUE) {
+                result.putNull("nextTriggerAt");
+            } else {
+                result.putDouble("nextTriggerAt", nextTriggerAt);
+            }
+            result.putInt("leadMinutes", scheduler.getLeadMinutes());
+            result.putInt("snoozeMinutes", scheduler.getSnoozeMinutes());
+            promise.resolve(result);
+        });
+    }
+
     /**
      * Cancelar notificação específica
      */
     @ReactMethod
     public void cancelNotification(int notificationId, Promise promise) {
         try {
+            // As notificações são postadas com tag pelo NotificationBatcher
+            notificationManager.cancel(NotificationBatcher.TAG_TAREFA, notificationId);
+            notificationManager.cancel(NotificationBatcher.TAG_GERAL, notificationId);
             notificationManager.cancel(notificationId);
             
             WritableMap result = Arguments.createMap();
@@ -177,6 +264,55 @@ public class NotificationModule extends ReactContextBaseJavaModule {
         }
     }
 
+    /**
+     * Cancelar as notificações de uma tarefa (lembrete e notificações gerais dela)
+     */
+    @ReactMethod
+    public void cancelTaskNotifications(int idTarefa, Promise promise) {
+        try {
+            int cancelled = NotificationRegistry.getInstance(reactContext).cancelTask(idTarefa);
+            
+            WritableMap result = Arguments.createMap();
+            result.putBoolean("success", true);
+            result.putInt("cancelled", cancelled);
+            promise.resolve(result);
+            
+        } catch (Exception e) {
+            promise.reject("CANCEL_ERROR", "Erro ao cancelar notificações da tarefa: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Notificações na bandeja: [{ tag, id, idTarefa, group, postedAt }]
+     */
+    @ReactMethod
+    public void getActiveNotifications(Promise promise) {
+        try {
+            WritableArray notifications = Arguments.createArray();
+            for (NotificationRegistry.Entry entry : NotificationRegistry.getInstance(reactContext).activeEntries()) {
+                WritableMap item = Arguments.createMap();
+                item.putString("tag", entry.tag);
+                item.putInt("id", entry.id);
+                if (entry.idTarefa >= 0) {
+                    item.putInt("idTarefa", entry.idTarefa);
+                } else {
+                    item.putNull("idTarefa");
+                }
+                item.putString("group", entry.group);
+                item.putDouble("postedAt", entry.postedAt);
+                notifications.pushMap(item);
+            }
+            
+            WritableMap result = Arguments.createMap();
+            result.putBoolean("success", true);
+            result.putArray("notifications", notifications);
+            promise.resolve(result);
+            
+        } catch (Exception e) {
+            promise.reject("ACTIVE_NOTIFICATIONS_ERROR", "Erro ao listar notificações: " + e.getMessage());
+        }
+    }
+
     /**
      * Cancelar todas as notificações
      */
@@ -184,6 +320,7 @@ public class NotificationModule extends ReactContextBaseJavaModule {
     public void cancelAllNotifications(Promise promise) {
         try {
             notificationManager.cancelAll();
+            NotificationRegistry.getInstance(reactContext).forgetAll();
             
             WritableMap result = Arguments.createMap();
             result.putBoolean("success", true);
@@ -246,62 +383,45 @@ public class NotificationModule extends ReactContextBaseJavaModule {
      * Método auxiliar para mostrar notificação com dados
      */
     private void showNotificationWithData(String title, String message, ReadableMap data) {
-        Intent intent = new Intent(reactContext, MainActivity.class);
-        intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        NotificationRegistry registry = NotificationRegistry.getInstance(reactContext);
         
-        PendingIntent pendingIntent = PendingIntent.getActivity(
-            reactContext, 
-            0, 
-            intent, 
-            PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
-        );
+        // Com taskId a notificação fica com o ID da tarefa (atualiza no lugar, cancelável por tarefa)
+        int idTarefa = -1;
+        if (data != null && data.hasKey("taskId") && data.getString("taskId") != null) {
+            try {
+                idTarefa = Integer.parseInt(data.getString("taskId"));
+            } catch (NumberFormatException ignored) {
+                // taskId não numérico: notificação avulsa
+            }
+        }
+        int notificationId = idTarefa >= 0 ? idTarefa : registry.nextAnonymousId();
+        PendingIntent pendingIntent = registry.openIntent(idTarefa);
         
+        createNotificationChannel();
         NotificationCompat.Builder builder = new NotificationCompat.Builder(reactContext, CHANNEL_ID)
             .setSmallIcon(R.drawable.ic_notification)
             .setContentTitle(title)
             .setContentText(message)
             .setPriority(NotificationCompat.PRIORITY_DEFAULT)
             .setAutoCancel(true)
+            .setOnlyAlertOnce(true)
             .setContentIntent(pendingIntent);
         
-        int notificationId = new Random().nextInt();
-        NotificationManagerCompat.from(reactContext).notify(notificationId, builder.build());
+        NotificationBatcher.getInstance(reactContext).enqueue(new NotificationBatcher.Item(
+            NotificationBatcher.TAG_GERAL, notificationId, NotificationBatcher.NO_WORKSPACE, null,
+            title + ": " + message, builder));
     }
 
     /**
      * Adicionar ações específicas para notificações de tarefa
      */
-    private void addTaskNotificationActions(NotificationCompat.Builder builder, ReadableMap taskData) {
-        // Ação: Marcar como concluída
-        Intent completeIntent = new Intent(reactContext, NotificationActionReceiver.class);
-        completeIntent.setAction("COMPLETE_TASK");
-        if (taskData.hasKey("id_tarefa")) {
-            completeIntent.putExtra("taskId", taskData.getInt("id_tarefa"));
-        }
+    private static void addTaskNotificationActions(Context context, NotificationCompat.Builder builder, int idTarefa) {
+        NotificationRegistry registry = NotificationRegistry.getInstance(context);
         
-        PendingIntent completePendingIntent = PendingIntent.getBroadcast(
-            reactContext,
-            new Random().nextInt(),
-            completeIntent,
-            PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
-        );
-        
-        builder.addAction(R.drawable.ic_check, "Concluir", completePendingIntent);
+        // Ação: Marcar como concluída
+        builder.addAction(R.drawable.ic_check, "Concluir", registry.completeIntent(idTarefa));
         
         // Ação: Adiar
-        Intent snoozeIntent = new Intent(reactContext, NotificationActionReceiver.class);
-        snoozeIntent.setAction("SNOOZE_TASK");
-        if (taskData.hasKey("id_tarefa")) {
-            snoozeIntent.putExtra("taskId", taskData.getInt("id_tarefa"));
-        }
-        
-        PendingIntent snoozePendingIntent = PendingIntent.getBroadcast(
-            reactContext,
-            new Random().nextInt(),
-            snoozeIntent,
-            PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
-        );
-        
-        builder.addAction(R.drawable.ic_snooze, "Adiar", snoozePendingIntent);
+        builder.addAction(R.drawable.ic_snooze, "Adiar", registry.snoozeIntent(idTarefa));
     }
 }
\ No newline at end of file
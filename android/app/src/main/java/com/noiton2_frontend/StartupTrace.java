@@ -0,0 +1,184 @@
+package com.noiton2_frontend;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rastreamento do cold start: spans nomeados com tempo em nanossegundos
+ * (SystemClock.elapsedRealtimeNanos), exportados também como seções do
+ * android.os.Trace (aparecem no Perfetto/systrace).
+ *
+ * O relatório vai para o JS via SyncService.getStartupReport e um resumo de
+ * cada inicialização fica salvo por versão do app, para comparar releases.
+ */
+public final class StartupTrace {
+    private static final String TAG = "StartupTrace";
+
+    private static final String PREFS_NAME = "noiton_startup";
+    private static final String KEY_HISTORY = "history";
+    private static final int HISTORY_SIZE = 20;
+
+    private static final int MAX_SPANS = 256;
+    private static final int MAX_SECTION_NAME = 127;
+
+    private static final List<Record> records = new ArrayList<>();
+    private static volatile long appStartNs = -1;
+    private static boolean historySaved = false;
+
+    private StartupTrace() {}
+
+    private static final class Record {
+        final String name;
+        final String thread;
+        final long startNs;
+        final long durationNs;
+
+        Record(String name, String thread, long startNs, long durationNs) {
+            this.name = name;
+            this.thread = thread;
+            this.startNs = startNs;
+            this.durationNs = durationNs;
+        }
+    }
+
+    /**
+     * Span aberto por begin(); fechar na mesma thread (a seção do Trace é por thread)
+     */
+    public static final class Span implements AutoCloseable {
+        private final String name;
+        private final long startNs;
+        private boolean closed = false;
+
+        private Span(String name, long startNs) {
+            this.name = name;
+            this.startNs = startNs;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            long durationNs = SystemClock.elapsedRealtimeNanos() - startNs;
+            Trace.endSection();
+            record(name, startNs, durationNs);
+        }
+    }
+
+    /**
+     * Marca o início do Application.onCreate (referência dos offsets do relatório)
+     */
+    public static void markApplicationStart() {
+        if (appStartNs < 0) {
+            appStartNs = SystemClock.elapsedRealtimeNanos();
+        }
+    }
+
+    public static Span begin(String name) {
+        Trace.beginSection(name.length() > MAX_SECTION_NAME ? name.substring(0, MAX_SECTION_NAME) : name);
+        return new Span(name, SystemClock.elapsedRealtimeNanos());
+    }
+
+    private static void record(String name, long startNs, long durationNs) {
+        synchronized (records) {
+            if (records.size() < MAX_SPANS) {
+                records.add(new Record(name, Thread.currentThread().getName(), startNs, durationNs));
+            }
+        }
+    }
+
+    /**
+     * Relatório da inicialização atual. Na primeira chamada do processo, o resumo
+     * (onCreate, JS pronto) entra no histórico por versão.
+     */
+    public static WritableMap report(Context context) {
+        long nowNs = SystemClock.elapsedRealtimeNanos();
+        long originNs = appStartNs >= 0 ? appStartNs : nowNs;
+
+        WritableArray spans = new WritableNativeArray();
+        double onCreateMs = -1;
+        synchronized (records) {
+            for (Record record : records) {
+                WritableMap span = new WritableNativeMap();
+                span.putString("name", record.name);
+                span.putString("thread", record.thread);
+                span.putDouble("startMs", (record.startNs - originNs) / 1e6);
+                span.putDouble("durationMs", record.durationNs / 1e6);
+                spans.pushMap(span);
+                if ("MainApplication.onCreate".equals(record.name)) {
+                    onCreateMs = record.durationNs / 1e6;
+                }
+            }
+        }
+
+        WritableMap report = new WritableNativeMap();
+        report.putString("version", BuildConfig.VERSION_NAME);
+        report.putInt("versionCode", BuildConfig.VERSION_CODE);
+        // Do fork do processo até o Application.onCreate (inclui carga das classes/dex)
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N && appStartNs >= 0) {
+            report.putDouble("processToAppMs", appStartNs / 1e6 - Process.getStartElapsedRealtime());
+        }
+        report.putDouble("onCreateMs", onCreateMs);
+        // Momento em que o JS pediu o relatório: na prática, o JS já está rodando
+        report.putDouble("jsReadyMs", (nowNs - originNs) / 1e6);
+        report.putArray("spans", spans);
+        report.putArray("history", saveHistory(context, onCreateMs, (nowNs - originNs) / 1e6));
+        return report;
+    }
+
+    private static synchronized WritableArray saveHistory(Context context, double onCreateMs, double jsReadyMs) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        WritableArray result = new WritableNativeArray();
+        try {
+            JSONArray history = new JSONArray(prefs.getString(KEY_HISTORY, "[]"));
+            if (!historySaved) {
+                historySaved = true;
+                JSONObject entry = new JSONObject();
+                entry.put("version", BuildConfig.VERSION_NAME);
+                entry.put("versionCode", BuildConfig.VERSION_CODE);
+                entry.put("onCreateMs", onCreateMs);
+                entry.put("jsReadyMs", jsReadyMs);
+                entry.put("at", System.currentTimeMillis());
+
+                JSONArray trimmed = new JSONArray();
+                for (int i = Math.max(0, history.length() - (HISTORY_SIZE - 1)); i < history.length(); i++) {
+                    trimmed.put(history.get(i));
+                }
+                trimmed.put(entry);
+                history = trimmed;
+                prefs.edit().putString(KEY_HISTORY, history.toString()).apply();
+            }
+
+            for (int i = 0; i < history.length(); i++) {
+                JSONObject entry = history.getJSONObject(i);
+                WritableMap item = new WritableNativeMap();
+                item.putString("version", entry.optString("version"));
+                item.putInt("versionCode", entry.optInt("versionCode"));
+                item.putDouble("onCreateMs", entry.optDouble("onCreateMs", -1));
+                item.putDouble("jsReadyMs", entry.optDouble("jsReadyMs", -1));
+                item.putDouble("at", entry.optLong("at", 0));
+                result.pushMap(item);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Erro no histórico de inicialização: " + e.getMessage());
+        }
+        return result;
+    }
+}
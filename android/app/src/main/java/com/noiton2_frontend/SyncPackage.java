@@ -1,27 +1,43 @@
 package com.noiton2_frontend;
 
-import com.facebook.react.ReactPackage;
+import com.facebook.react.TurboReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.noiton2_frontend.sync.SyncService;
 
-public class SyncPackage implements ReactPackage {
+// Lazy: o módulo só é construído quando o JS o acessa pela primeira vez
+public class SyncPackage extends TurboReactPackage {
 
     @Override
-    public List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
-        return Collections.emptyList();
+    public NativeModule getModule(String name, ReactApplicationContext reactContext) {
+        if (SyncService.NAME.equals(name)) {
+            try (StartupTrace.Span span = StartupTrace.begin("module:" + name)) {
+                return new SyncService(reactContext);
+            }
+        }
+        return null;
     }
 
     @Override
-    public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-        List<NativeModule> modules = new ArrayList<>();
-        modules.add(new SyncService(reactContext));
-        return modules;
+    public ReactModuleInfoProvider getReactModuleInfoProvider() {
+        return () -> {
+            Map<String, ReactModuleInfo> modules = new HashMap<>();
+            modules.put(SyncService.NAME, new ReactModuleInfo(
+                    SyncService.NAME,
+                    SyncService.class.getName(),
+                    false, // canOverrideExistingModule
+                    false, // needsEagerInit
+                    false, // hasConstants
+                    false, // isCxxModule
+                    false  // isTurboModule
+            ));
+            return modules;
+        };
     }
-}
\ No newline at end of file
+}
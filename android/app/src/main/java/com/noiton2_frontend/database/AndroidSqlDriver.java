@@ -0,0 +1,152 @@
+package com.noiton2_frontend.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import com.noiton2_frontend.storage.SqlDriver;
+import com.noiton2_frontend.storage.SqlRows;
+import com.noiton2_frontend.storage.SqlStatement;
+
+/**
+ * SqlDriver do app sobre a conexão do DatabaseHelper. A conexão é pedida a cada
+ * operação (getWritableDatabase é barato depois da primeira abertura), então criar
+ * o driver não abre o banco na thread de quem constrói o módulo.
+ */
+public final class AndroidSqlDriver implements SqlDriver {
+
+    private final DatabaseHelper databaseHelper;
+
+    public AndroidSqlDriver(DatabaseHelper databaseHelper) {
+        this.databaseHelper = databaseHelper;
+    }
+
+    private SQLiteDatabase db() {
+        return databaseHelper.getWritableDatabase();
+    }
+
+    @Override
+    public void execSQL(String sql, Object... args) {
+        if (args.length == 0) {
+            db().execSQL(sql);
+        } else {
+            db().execSQL(sql, args);
+        }
+    }
+
+    @Override
+    public SqlRows query(String sql, Object... args) {
+        // rawQuery só aceita texto; a afinidade INTEGER das colunas converte na comparação
+        String[] selectionArgs = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            selectionArgs[i] = String.valueOf(args[i]);
+        }
+        return new CursorRows(db().rawQuery(sql, selectionArgs));
+    }
+
+    @Override
+    public SqlStatement compile(String sql) {
+        return new CompiledStatement(db().compileStatement(sql));
+    }
+
+    @Override
+    public void beginTransaction() {
+        db().beginTransaction();
+    }
+
+    @Override
+    public void setTransactionSuccessful() {
+        db().setTransactionSuccessful();
+    }
+
+    @Override
+    public void endTransaction() {
+        db().endTransaction();
+    }
+
+    private static final class CompiledStatement implements SqlStatement {
+        private final SQLiteStatement statement;
+
+        CompiledStatement(SQLiteStatement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public void bindLong(int index, long value) {
+            statement.bindLong(index, value);
+        }
+
+        @Override
+        public void bindString(int index, String value) {
+            statement.bindString(index, value);
+        }
+
+        @Override
+        public void bindNull(int index) {
+            statement.bindNull(index);
+        }
+
+        @Override
+        public void execute() {
+            statement.execute();
+        }
+
+        @Override
+        public int executeUpdateDelete() {
+            return statement.executeUpdateDelete();
+        }
+
+        @Override
+        public void clearBindings() {
+            statement.clearBindings();
+        }
+
+        @Override
+        public void close() {
+            statement.close();
+        }
+    }
+
+    private static final class CursorRows implements SqlRows {
+        private final Cursor cursor;
+
+        CursorRows(Cursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean moveToNext() {
+            return cursor.moveToNext();
+        }
+
+        @Override
+        public int getColumnIndex(String name) {
+            return cursor.getColumnIndex(name);
+        }
+
+        @Override
+        public boolean isNull(int column) {
+            return cursor.isNull(column);
+        }
+
+        @Override
+        public int getInt(int column) {
+            return cursor.getInt(column);
+        }
+
+        @Override
+        public long getLong(int column) {
+            return cursor.getLong(column);
+        }
+
+        @Override
+        public String getString(int column) {
+            return cursor.getString(column);
+        }
+
+        @Override
+        public void close() {
+            cursor.close();
+        }
+    }
+}
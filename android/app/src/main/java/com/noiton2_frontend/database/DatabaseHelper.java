@@ -2,168 +2,117 @@
 package com.noiton2_frontend.database;
 
 import android.content.Context;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 import android.util.Log;
 
+import com.noiton2_frontend.StartupTrace;
+
+import java.util.List;
+
 public class DatabaseHelper extends SQLiteOpenHelper {
     private static final String TAG = "DatabaseHelper";
     
     private static final String DATABASE_NAME = "offline_cache.db";
-    private static final int DATABASE_VERSION = 1;
+    private static final int DATABASE_VERSION = 7;
+
+    private static DatabaseHelper instance;
 
-    public DatabaseHelper(Context context) {
+    /**
+     * Instância única do processo: módulos, jobs e receivers compartilham a mesma conexão
+     */
+    public static synchronized DatabaseHelper getInstance(Context context) {
+        if (instance == null) {
+            instance = new DatabaseHelper(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private DatabaseHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
     }
 
+    /**
+     * Abre o banco (onCreate/onUpgrade, WAL) e lê as tabelas da tela inicial para o
+     * cache de páginas, assim a primeira consulta do JS não paga a abertura.
+     * Chamar fora da main thread.
+     */
+    public void prewarm() {
+        SQLiteDatabase db;
+        try (StartupTrace.Span span = StartupTrace.begin("DatabaseHelper.open")) {
+            db = getWritableDatabase();
+        }
+        DatabaseUtils.queryNumEntries(db, DatabaseContract.WorkspaceEntry.TABLE_NAME);
+        DatabaseUtils.queryNumEntries(db, DatabaseContract.TaskListEntry.TABLE_NAME);
+        DatabaseUtils.queryNumEntries(db, DatabaseContract.SyncEntry.TABLE_NAME);
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        // WAL: leitores continuam vendo o snapshot confirmado enquanto o sync escreve
+        db.enableWriteAheadLogging();
+    }
+
     @Override
     public void onCreate(SQLiteDatabase db) {
-        createTables(db);
+        try (StartupTrace.Span span = StartupTrace.begin("DatabaseHelper.onCreate")) {
+            createTables(db);
+        }
     }
 
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
         Log.w(TAG, "Upgrading database from version " + oldVersion + " to " + newVersion);
-        dropTables(db);
-        onCreate(db);
+        try (StartupTrace.Span span = StartupTrace.begin("DatabaseHelper.onUpgrade")) {
+            migrate(db, oldVersion);
+        }
+    }
+
+    /**
+     * Migração em passos, só aditiva: exclusoes, alteracoes_pendentes e o arquivo frio
+     * guardam dados que só existem no aparelho e nunca são apagados aqui. Roda dentro da
+     * transação do onUpgrade: se um passo falhar, nada muda e a versão fica a antiga.
+     */
+    private void migrate(SQLiteDatabase db, int oldVersion) {
+        // Sombras de um sync interrompido são recriadas no próximo sync completo, já no esquema novo
+        dropShadowTables(db);
+
+        // v2: cache de anexos baixados
+        if (oldVersion < 2) {
+            execAll(db, StorageSchema.attachmentCacheTables());
+        }
+        // v3: projeção tarefas_lista, montada a partir das tabelas de dados já presentes
+        if (oldVersion < 3) {
+            db.execSQL(StorageSchema.taskListTable(""));
+            TaskListProjection.createIndex(db, "");
+            db.execSQL(StorageSchema.taskListSelectInto("", null));
+        }
+        // v4: arquivo frio
+        if (oldVersion < 4) {
+            execAll(db, StorageSchema.archiveTables());
+        }
+        // v5: exclusões (tombstones)
+        if (oldVersion < 5) {
+            execAll(db, StorageSchema.tombstoneTables());
+        }
+        // v6: alterações locais pendentes
+        if (oldVersion < 6) {
+            execAll(db, StorageSchema.pendingEditTables());
+        }
+        // v7: índice parcial por prazo (a primeira varredura do ReminderScheduler marca as atrasadas)
+        if (oldVersion < 7) {
+            OverdueSweeper.createIndex(db, "");
+        }
     }
 
     private void createTables(SQLiteDatabase db) {
         try {
-            // 1. Tabela usuarios
-            String CREATE_USUARIOS_TABLE = "CREATE TABLE " + DatabaseContract.UsuarioEntry.TABLE_NAME + " (" +
-                    DatabaseContract.UsuarioEntry.COLUMN_ID_USUARIO + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    DatabaseContract.UsuarioEntry.COLUMN_EMAIL + " TEXT UNIQUE NOT NULL," +
-                    DatabaseContract.UsuarioEntry.COLUMN_SENHA + " TEXT NOT NULL," +
-                    DatabaseContract.UsuarioEntry.COLUMN_TELEFONE + " TEXT UNIQUE," +
-                    DatabaseContract.UsuarioEntry.COLUMN_NOME + " TEXT NOT NULL," +
-                    DatabaseContract.UsuarioEntry.COLUMN_PONTOS + " REAL DEFAULT 0.0" +
-                    ");";
-
-            // 2. Tabela workspace
-            String CREATE_WORKSPACE_TABLE = "CREATE TABLE " + DatabaseContract.WorkspaceEntry.TABLE_NAME + " (" +
-                    DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    DatabaseContract.WorkspaceEntry.COLUMN_NOME + " TEXT," +
-                    DatabaseContract.WorkspaceEntry.COLUMN_EQUIPE + " INTEGER DEFAULT 0," + // SQLite não tem BOOLEAN, usa INTEGER
-                    DatabaseContract.WorkspaceEntry.COLUMN_CRIADOR + " TEXT NOT NULL" +
-                    ");";
-
-            // 3. Tabela usuario_workspace (relação)
-            String CREATE_USUARIO_WORKSPACE_TABLE = "CREATE TABLE " + DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME + " (" +
-                    DatabaseContract.UsuarioWorkspaceEntry.COLUMN_ID_USUARIO_WORKSPACE + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    DatabaseContract.UsuarioWorkspaceEntry.COLUMN_EMAIL + " TEXT NOT NULL," +
-                    DatabaseContract.UsuarioWorkspaceEntry.COLUMN_ID_WORKSPACE + " INTEGER NOT NULL," +
-                    "UNIQUE(" + DatabaseContract.UsuarioWorkspaceEntry.COLUMN_EMAIL + ", " + 
-                    DatabaseContract.UsuarioWorkspaceEntry.COLUMN_ID_WORKSPACE + ")," +
-                    "FOREIGN KEY (" + DatabaseContract.UsuarioWorkspaceEntry.COLUMN_EMAIL + ") REFERENCES " +
-                    DatabaseContract.UsuarioEntry.TABLE_NAME + "(" + DatabaseContract.UsuarioEntry.COLUMN_EMAIL + ")," +
-                    "FOREIGN KEY (" + DatabaseContract.UsuarioWorkspaceEntry.COLUMN_ID_WORKSPACE + ") REFERENCES " +
-                    DatabaseContract.WorkspaceEntry.TABLE_NAME + "(" + DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE + ")" +
-                    ");";
-
-            // 4. Tabela categorias
-            String CREATE_CATEGORIAS_TABLE = "CREATE TABLE " + DatabaseContract.CategoriaEntry.TABLE_NAME + " (" +
-                    DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    DatabaseContract.CategoriaEntry.COLUMN_NOME + " TEXT NOT NULL," +
-                    DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE + " INTEGER NOT NULL," +
-                    "UNIQUE(" + DatabaseContract.CategoriaEntry.COLUMN_NOME + ", " + 
-                    DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE + ")," +
-                    "FOREIGN KEY (" + DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE + ") REFERENCES " +
-                    DatabaseContract.WorkspaceEntry.TABLE_NAME + "(" + DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE + ") ON DELETE CASCADE" +
-                    ");";
-
-            // 5. Tabela tarefas
-            String CREATE_TAREFAS_TABLE = "CREATE TABLE " + DatabaseContract.TarefaEntry.TABLE_NAME + " (" +
-                    DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    DatabaseContract.TarefaEntry.COLUMN_TITULO + " TEXT NOT NULL," +
-                    DatabaseContract.TarefaEntry.COLUMN_DESCRICAO + " TEXT," +
-                    DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + " DATETIME," +
-                    DatabaseContract.TarefaEntry.COLUMN_DATA_CRIACAO + " DATETIME DEFAULT CURRENT_TIMESTAMP," +
-                    DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE + " TEXT CHECK(" + DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE + " IN ('alta', 'media', 'baixa', 'urgente')) DEFAULT 'media'," +
-                    DatabaseContract.TarefaEntry.COLUMN_STATUS + " TEXT CHECK(" + DatabaseContract.TarefaEntry.COLUMN_STATUS + " IN ('a_fazer', 'em_andamento', 'concluido', 'atrasada')) DEFAULT 'a_fazer'," +
-                    DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + " INTEGER DEFAULT 0," +
-                    DatabaseContract.TarefaEntry.COLUMN_RECORRENTE + " INTEGER DEFAULT 0," +
-                    DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA + " TEXT CHECK(" + DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA + " IN ('diaria', 'semanal', 'mensal'))," +
-                    DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO + " INTEGER NOT NULL," +
-                    "UNIQUE(" + DatabaseContract.TarefaEntry.COLUMN_TITULO + ", " + DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO + ")," +
-                    "FOREIGN KEY (" + DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO + ") REFERENCES " +
-                    DatabaseContract.UsuarioEntry.TABLE_NAME + "(" + DatabaseContract.UsuarioEntry.COLUMN_ID_USUARIO + ") ON DELETE CASCADE" +
-                    ");";
-
-            // 6. Tabela tarefa_workspace (relação)
-            String CREATE_TAREFA_WORKSPACE_TABLE = "CREATE TABLE " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + " (" +
-                    DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA_WORKSPACE + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + " INTEGER NOT NULL," +
-                    DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + " INTEGER NOT NULL," +
-                    "UNIQUE(" + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + ", " + 
-                    DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + ")," +
-                    "FOREIGN KEY (" + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + ") REFERENCES " +
-                    DatabaseContract.TarefaEntry.TABLE_NAME + "(" + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ") ON DELETE CASCADE," +
-                    "FOREIGN KEY (" + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + ") REFERENCES " +
-                    DatabaseContract.WorkspaceEntry.TABLE_NAME + "(" + DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE + ") ON DELETE CASCADE" +
-                    ");";
-
-            // 7. Tabela tarefa_categoria (relação)
-            String CREATE_TAREFA_CATEGORIA_TABLE = "CREATE TABLE " + DatabaseContract.TarefaCategoriaEntry.TABLE_NAME + " (" +
-                    DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA_CATEGORIA + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA + " INTEGER NOT NULL," +
-                    DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + " INTEGER NOT NULL," +
-                    "UNIQUE(" + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA + ", " + 
-                    DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + ")," +
-                    "FOREIGN KEY (" + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA + ") REFERENCES " +
-                    DatabaseContract.TarefaEntry.TABLE_NAME + "(" + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ") ON DELETE CASCADE," +
-                    "FOREIGN KEY (" + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + ") REFERENCES " +
-                    DatabaseContract.CategoriaEntry.TABLE_NAME + "(" + DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA + ") ON DELETE CASCADE" +
-                    ");";
-
-            // 8. Tabela comentarios
-            String CREATE_COMENTARIOS_TABLE = "CREATE TABLE " + DatabaseContract.ComentarioEntry.TABLE_NAME + " (" +
-                    DatabaseContract.ComentarioEntry.COLUMN_ID_COMENTARIO + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    DatabaseContract.ComentarioEntry.COLUMN_EMAIL + " TEXT NOT NULL," +
-                    DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + " INTEGER NOT NULL," +
-                    DatabaseContract.ComentarioEntry.COLUMN_DESCRICAO + " TEXT NOT NULL," +
-                    DatabaseContract.ComentarioEntry.COLUMN_DATA_CRIACAO + " DATETIME DEFAULT CURRENT_TIMESTAMP," +
-                    DatabaseContract.ComentarioEntry.COLUMN_DATA_ATUALIZACAO + " DATETIME DEFAULT CURRENT_TIMESTAMP," +
-                    "FOREIGN KEY (" + DatabaseContract.ComentarioEntry.COLUMN_EMAIL + ") REFERENCES " +
-                    DatabaseContract.UsuarioEntry.TABLE_NAME + "(" + DatabaseContract.UsuarioEntry.COLUMN_EMAIL + ")," +
-                    "FOREIGN KEY (" + DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + ") REFERENCES " +
-                    DatabaseContract.TarefaEntry.TABLE_NAME + "(" + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ")" +
-                    ");";
-
-            // 9. Tabela anexos_tarefa
-            String CREATE_ANEXOS_TABLE = "CREATE TABLE " + DatabaseContract.AnexoEntry.TABLE_NAME + " (" +
-                    DatabaseContract.AnexoEntry.COLUMN_ID_ANEXO + " INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA + " INTEGER NOT NULL," +
-                    DatabaseContract.AnexoEntry.COLUMN_TIPO_ARQUIVO + " TEXT CHECK(" + DatabaseContract.AnexoEntry.COLUMN_TIPO_ARQUIVO + " IN ('pdf', 'imagem')) NOT NULL," +
-                    DatabaseContract.AnexoEntry.COLUMN_NOME_ARQUIVO + " TEXT NOT NULL," +
-                    DatabaseContract.AnexoEntry.COLUMN_NOME_ORIGINAL + " TEXT NOT NULL," +
-                    DatabaseContract.AnexoEntry.COLUMN_TAMANHO_ARQUIVO + " INTEGER NOT NULL," +
-                    DatabaseContract.AnexoEntry.COLUMN_CAMINHO_ARQUIVO + " TEXT NOT NULL," +
-                    DatabaseContract.AnexoEntry.COLUMN_DATA_UPLOAD + " DATETIME DEFAULT CURRENT_TIMESTAMP," +
-                    DatabaseContract.AnexoEntry.COLUMN_DATA_ATUALIZACAO + " DATETIME DEFAULT CURRENT_TIMESTAMP," +
-                    "UNIQUE(" + DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA + ", " + DatabaseContract.AnexoEntry.COLUMN_TIPO_ARQUIVO + ")," +
-                    "FOREIGN KEY (" + DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA + ") REFERENCES " +
-                    DatabaseContract.TarefaEntry.TABLE_NAME + "(" + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ") ON DELETE CASCADE" +
-                    ");";
-
-            // 10. Tabela sync_metadata
-            String CREATE_SYNC_TABLE = "CREATE TABLE " + DatabaseContract.SyncEntry.TABLE_NAME + " (" +
-                    DatabaseContract.SyncEntry.COLUMN_TABLE_NAME + " TEXT PRIMARY KEY," +
-                    DatabaseContract.SyncEntry.COLUMN_LAST_SYNC + " DATETIME," +
-                    DatabaseContract.SyncEntry.COLUMN_PENDING_SYNC + " INTEGER DEFAULT 0" +
-                    ");";
-
-            // Executar todas as criações
-            db.execSQL(CREATE_USUARIOS_TABLE);
-            db.execSQL(CREATE_WORKSPACE_TABLE);
-            db.execSQL(CREATE_USUARIO_WORKSPACE_TABLE);
-            db.execSQL(CREATE_CATEGORIAS_TABLE);
-            db.execSQL(CREATE_TAREFAS_TABLE);
-            db.execSQL(CREATE_TAREFA_WORKSPACE_TABLE);
-            db.execSQL(CREATE_TAREFA_CATEGORIA_TABLE);
-            db.execSQL(CREATE_COMENTARIOS_TABLE);
-            db.execSQL(CREATE_ANEXOS_TABLE);
-            db.execSQL(CREATE_SYNC_TABLE);
+            createDataTables(db, "");
+
+            // 11-15. sync_metadata, anexos_cache, arquivo frio, exclusoes e alteracoes_pendentes:
+            // fora das tabelas sombra, sobrevivem ao sync completo (DDL no StorageSchema)
+            execAll(db, StorageSchema.createLocalTables());
 
             Log.i(TAG, "Todas as tabelas criadas com sucesso");
 
@@ -172,9 +121,29 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         }
     }
 
+    private void execAll(SQLiteDatabase db, List<String> statements) {
+        for (String sql : statements) {
+            db.execSQL(sql);
+        }
+    }
+
+    /**
+     * Cria as tabelas de dados com o sufixo informado ("" para as tabelas reais,
+     * StorageSchema.SHADOW_SUFFIX para as sombras). O DDL fica no módulo storage (StorageSchema),
+     * compartilhado com os benchmarks da JVM.
+     */
+    private void createDataTables(SQLiteDatabase db, String suffix) {
+        // 1-10. usuarios ... anexos_tarefa e a projeção tarefas_lista
+        execAll(db, StorageSchema.createDataTables(suffix));
+        TaskListProjection.createIndex(db, suffix);
+        OverdueSweeper.createIndex(db, suffix);
+    }
+
     private void dropTables(SQLiteDatabase db) {
         try {
-            db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.SyncEntry.TABLE_NAME);
+            dropShadowTables(db);
+            execAll(db, StorageSchema.dropLocalTables());
+            db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.TaskListEntry.TABLE_NAME);
             db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.AnexoEntry.TABLE_NAME);
             db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.ComentarioEntry.TABLE_NAME);
             db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.TarefaCategoriaEntry.TABLE_NAME);
@@ -191,11 +160,25 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         }
     }
 
+    // =====================================================
+    // 🔁 TABELAS SOMBRA (sync completo sem bloquear leitores)
+    // =====================================================
+
+    /**
+     * Descarta sobras de um sync interrompido. Criação e troca das sombras ficam
+     * no SqliteTaskStore (módulo storage).
+     */
+    private void dropShadowTables(SQLiteDatabase db) {
+        for (String sql : StorageSchema.dropShadowTables()) {
+            db.execSQL(sql);
+        }
+    }
+
     public void clearDatabase() {
         SQLiteDatabase db = this.getWritableDatabase();
         dropTables(db);
         createTables(db);
-        db.close();
+        // Sem db.close(): a conexão é compartilhada (getInstance) e pode estar em uso em outra thread
     }
 
     public SQLiteDatabase getReadableDatabase() {
@@ -0,0 +1,149 @@
+// android/app/src/main/java/com/noiton2_frontend/database/OverdueSweeper.java
+package com.noiton2_frontend.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.noiton2_frontend.reminders.ReminderScheduler;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Move para "atrasada" as tarefas abertas cujo prazo venceu desde a última varredura.
+ *
+ * A varredura é incremental: só olha prazos entre a marca anterior (watermark)
+ * e agora. O prazo em epoch ms (ReminderScheduler.deadlineMillisSql) não é
+ * determinístico e não pode ir num índice, então o índice parcial por data_fim
+ * filtra antes por texto, numa faixa de datas com um dia de folga para cada
+ * lado (cobre qualquer fuso), e a comparação exata roda só nessas linhas.
+ * O agendamento (e a marca) fica no ReminderScheduler. O caminho inverso é de
+ * quem move o prazo para o futuro (TaskActions.snooze): volta a tarefa para
+ * STATUS_REABERTA na mesma transação.
+ */
+public final class OverdueSweeper {
+
+    public static final String STATUS_ATRASADA = "atrasada";
+
+    // Status de uma tarefa atrasada cujo prazo voltou para o futuro
+    public static final String STATUS_REABERTA = "a_fazer";
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    // Só status de tarefa em aberto mudam; "concluido" e "atrasada" ficam como estão
+    private static final String OPEN_STATUS = "('a_fazer', 'em_andamento')";
+
+    // rawQuery liga os argumentos como texto, e texto nunca é menor que um inteiro
+    private static final String BOUND_MS = "CAST(? AS INTEGER)";
+
+    private static final String DEADLINE_MS = ReminderScheduler.deadlineMillisSql(DatabaseContract.TarefaEntry.COLUMN_DATA_FIM);
+
+    // Faixa de texto usa o índice parcial (repete o "concluida = 0" dele)
+    private static final String OPEN_IN_RANGE =
+            DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + " = 0" +
+                    " AND " + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + " >= ?" +
+                    " AND " + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + " < ?" +
+                    " AND " + DatabaseContract.TarefaEntry.COLUMN_STATUS + " IN " + OPEN_STATUS;
+
+    private static final String OVERDUE_WHERE =
+            OPEN_IN_RANGE + " AND " + DEADLINE_MS + " > " + BOUND_MS + " AND " + DEADLINE_MS + " <= " + BOUND_MS;
+
+    private OverdueSweeper() {}
+
+    /**
+     * Índice parcial por data_fim das tarefas abertas. Mesma alternância de nomes
+     * do índice da projeção (o nome acompanha a tabela na troca de sombras).
+     */
+    static void createIndex(SQLiteDatabase db, String suffix) {
+        String name = StorageSchema.DEADLINE_INDEX;
+        if (TaskListProjection.indexExists(db, name)) {
+            name = StorageSchema.DEADLINE_INDEX_ALT;
+        }
+        db.execSQL(StorageSchema.deadlineIndex(name, suffix));
+    }
+
+    /**
+     * Marca como atrasadas as tarefas com prazo em (since, now] e atualiza a
+     * projeção da lista. Tudo numa transação: os IDs devolvidos são exatamente
+     * as linhas alteradas, para publicar só elas depois do commit.
+     * since = 0 varre todos os prazos vencidos (primeira execução ou depois do sync completo).
+     */
+    public static List<Integer> sweep(SQLiteDatabase db, long since, long now) {
+        String[] args = {since > 0 ? lowerBound(since) : "",
+                formatDate(now + 2 * DAY_MS), String.valueOf(since), String.valueOf(now)};
+        List<Integer> ids = new ArrayList<>();
+        db.beginTransaction();
+        try {
+            Cursor cursor = null;
+            try {
+                cursor = db.rawQuery("SELECT " + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA +
+                        " FROM " + DatabaseContract.TarefaEntry.TABLE_NAME + " WHERE " + OVERDUE_WHERE, args);
+                while (cursor.moveToNext()) {
+                    ids.add(cursor.getInt(0));
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+
+            if (!ids.isEmpty()) {
+                // Projeção primeiro: depois do UPDATE das tarefas o filtro por status não casa mais
+                db.execSQL("UPDATE " + DatabaseContract.TaskListEntry.TABLE_NAME +
+                        " SET " + DatabaseContract.TaskListEntry.COLUMN_STATUS + " = '" + STATUS_ATRASADA + "'" +
+                        " WHERE " + DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA + " IN (" +
+                        "SELECT " + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA +
+                        " FROM " + DatabaseContract.TarefaEntry.TABLE_NAME + " WHERE " + OVERDUE_WHERE + ")", args);
+                db.execSQL("UPDATE " + DatabaseContract.TarefaEntry.TABLE_NAME +
+                        " SET " + DatabaseContract.TarefaEntry.COLUMN_STATUS + " = '" + STATUS_ATRASADA + "'" +
+                        " WHERE " + OVERDUE_WHERE, args);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return ids;
+    }
+
+    /**
+     * Próximo prazo depois de now entre as tarefas abertas (epoch ms), ou Long.MAX_VALUE
+     */
+    public static long nextDeadline(SQLiteDatabase db, long now) {
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery("SELECT MIN(" + DEADLINE_MS + ") FROM " + DatabaseContract.TarefaEntry.TABLE_NAME +
+                            " WHERE " + DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + " = 0" +
+                            " AND " + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + " >= ?" +
+                            " AND " + DatabaseContract.TarefaEntry.COLUMN_STATUS + " IN " + OPEN_STATUS +
+                            " AND " + DEADLINE_MS + " > " + BOUND_MS,
+                    new String[]{lowerBound(now), String.valueOf(now)});
+            return cursor.moveToFirst() && !cursor.isNull(0) ? cursor.getLong(0) : Long.MAX_VALUE;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * Limite inferior (texto) de data_fim para prazos depois de millis: a data UTC
+     * do dia anterior cobre qualquer fuso. Com "data_fim >= ?" e "concluida = 0" a
+     * consulta usa o índice parcial.
+     */
+    public static String lowerBound(long millis) {
+        return formatDate(millis - DAY_MS);
+    }
+
+    /**
+     * Data (UTC) usada como limite na faixa de texto do índice
+     */
+    private static String formatDate(long millis) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(new Date(millis));
+    }
+}
@@ -0,0 +1,34 @@
+// android/app/src/main/java/com/noiton2_frontend/database/TaskArchiver.java
+package com.noiton2_frontend.database;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+/**
+ * Configuração do arquivo frio de tarefas concluídas.
+ *
+ * Tarefas com concluida = 1 e data (data_fim, ou data_criacao) mais antiga que a
+ * idade configurada saem das tabelas quentes para tarefas_arquivo / comentarios_arquivo
+ * no sync completo e na manutenção. O arquivamento em si fica no SyncStateStore
+ * (módulo storage); aqui só a idade, guardada nas SharedPreferences.
+ */
+public final class TaskArchiver {
+
+    private static final String PREFS_NAME = "noiton_maintenance";
+    private static final String KEY_ARCHIVE_AGE_DAYS = "archive_age_days";
+    public static final int DEFAULT_ARCHIVE_AGE_DAYS = 30;
+
+    private TaskArchiver() {}
+
+    public static int getArchiveAgeDays(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        return prefs.getInt(KEY_ARCHIVE_AGE_DAYS, DEFAULT_ARCHIVE_AGE_DAYS);
+    }
+
+    public static void setArchiveAgeDays(Context context, int days) {
+        context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+                .edit()
+                .putInt(KEY_ARCHIVE_AGE_DAYS, days)
+                .apply();
+    }
+}
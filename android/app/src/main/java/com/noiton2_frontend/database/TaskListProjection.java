@@ -0,0 +1,58 @@
+// android/app/src/main/java/com/noiton2_frontend/database/TaskListProjection.java
+package com.noiton2_frontend.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * Projeção desnormalizada usada pelas telas de lista e kanban.
+ *
+ * Cada linha de tarefas_lista já traz o workspace e as categorias (IDs e nomes)
+ * da tarefa, com chave primária (id_workspace, id_tarefa) numa tabela WITHOUT ROWID:
+ * listar um workspace vira uma única varredura de intervalo, sem JOINs.
+ * É reconstruída no sync completo e atualizada por tarefa nas escritas.
+ */
+public final class TaskListProjection {
+
+    private TaskListProjection() {}
+
+    /**
+     * Cria o índice por id_tarefa (usado na atualização incremental).
+     * O nome do índice acompanha a tabela no RENAME da troca de sombras, então
+     * alternamos entre dois nomes para a sombra nunca colidir com o índice em uso.
+     */
+    static void createIndex(SQLiteDatabase db, String suffix) {
+        String name = StorageSchema.TASK_LIST_INDEX;
+        if (indexExists(db, name)) {
+            name = StorageSchema.TASK_LIST_INDEX_ALT;
+        }
+        db.execSQL(StorageSchema.taskListIndex(name, suffix));
+    }
+
+    static boolean indexExists(SQLiteDatabase db, String name) {
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery(StorageSchema.INDEX_EXISTS, new String[]{name});
+            return cursor.moveToFirst();
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * Atualiza as linhas de uma tarefa (uma por workspace) depois de uma escrita
+     */
+    public static void refresh(SQLiteDatabase db, int idTarefa) {
+        remove(db, idTarefa);
+        db.execSQL(StorageSchema.taskListSelectInto("", "t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = ?"),
+                new Object[]{idTarefa});
+    }
+
+    public static void remove(SQLiteDatabase db, int idTarefa) {
+        db.delete(DatabaseContract.TaskListEntry.TABLE_NAME,
+                DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA + " = ?",
+                new String[]{String.valueOf(idTarefa)});
+    }
+}
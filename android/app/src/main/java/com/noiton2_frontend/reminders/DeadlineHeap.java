@@ -0,0 +1,143 @@
+// android/app/src/main/java/com/noiton2_frontend/reminders/DeadlineHeap.java
+package com.noiton2_frontend.reminders;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heap mínimo de (horário de disparo, id_tarefa) em arrays paralelos.
+ *
+ * Remoção e reagendamento são preguiçosos: o mapa current guarda o horário
+ * válido de cada tarefa e entradas divergentes são descartadas ao chegar no
+ * topo. Quando as entradas obsoletas passam a dominar, o heap é reconstruído.
+ * Não é thread-safe (usado só na thread do ReminderScheduler).
+ */
+final class DeadlineHeap {
+
+    private long[] times = new long[16];
+    private int[] ids = new int[16];
+    private int size;
+    private final Map<Integer, Long> current = new HashMap<>();
+
+    void put(int idTarefa, long triggerAt) {
+        Long previous = current.put(idTarefa, triggerAt);
+        if (previous != null && previous == triggerAt) {
+            return;
+        }
+        push(idTarefa, triggerAt);
+        if (size > 2 * current.size() + 16) {
+            compact();
+        }
+    }
+
+    void remove(int idTarefa) {
+        current.remove(idTarefa);
+    }
+
+    boolean contains(int idTarefa) {
+        return current.containsKey(idTarefa);
+    }
+
+    void clear() {
+        size = 0;
+        current.clear();
+    }
+
+    int size() {
+        return current.size();
+    }
+
+    /**
+     * Próximo disparo válido, ou Long.MAX_VALUE se vazio
+     */
+    long peekTime() {
+        dropStale();
+        return size == 0 ? Long.MAX_VALUE : times[0];
+    }
+
+    /**
+     * Remove e devolve as tarefas com disparo <= limit, em ordem de horário
+     */
+    List<Integer> pollUntil(long limit) {
+        List<Integer> due = new ArrayList<>();
+        while (peekTime() <= limit) {
+            int idTarefa = ids[0];
+            current.remove(idTarefa);
+            pop();
+            due.add(idTarefa);
+        }
+        return due;
+    }
+
+    private void dropStale() {
+        while (size > 0) {
+            Long valid = current.get(ids[0]);
+            if (valid != null && valid == times[0]) {
+                return;
+            }
+            pop();
+        }
+    }
+
+    private void push(int idTarefa, long triggerAt) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (times[parent] <= triggerAt) {
+                break;
+            }
+            times[i] = times[parent];
+            ids[i] = ids[parent];
+            i = parent;
+        }
+        times[i] = triggerAt;
+        ids[i] = idTarefa;
+    }
+
+    private void pop() {
+        size--;
+        if (size > 0) {
+            siftDown(0, times[size], ids[size]);
+        }
+    }
+
+    private void siftDown(int i, long time, int id) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && times[child + 1] < times[child]) {
+                child++;
+            }
+            if (time <= times[child]) {
+                break;
+            }
+            times[i] = times[child];
+            ids[i] = ids[child];
+            i = child;
+        }
+        times[i] = time;
+        ids[i] = id;
+    }
+
+    /**
+     * Refaz o heap só com as entradas válidas (heapify em O(n))
+     */
+    private void compact() {
+        size = 0;
+        for (Map.Entry<Integer, Long> entry : current.entrySet()) {
+            times[size] = entry.getValue();
+            ids[size] = entry.getKey();
+            size++;
+        }
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, times[i], ids[i]);
+        }
+    }
+}
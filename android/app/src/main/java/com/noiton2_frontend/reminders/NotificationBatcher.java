@@ -0,0 +1,326 @@
+// android/app/src/main/java/com/noiton2_frontend/reminders/NotificationBatcher.java
+package com.noiton2_frontend.reminders;
+
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+
+import com.noiton2_frontend.MainActivity;
+import com.noiton2_frontend.NotificationModule;
+import com.noiton2_frontend.R;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entrega de notificações agrupada e com limite de taxa.
+ *
+ * As notificações que chegam dentro de uma janela curta são juntadas e
+ * agrupadas por workspace: cada grupo com mais de uma notificação ganha um
+ * resumo (InboxStyle) e só o resumo toca/vibra. Cada envio passa por um
+ * token bucket abaixo do limite do sistema (~5/s por app), e um grupo mostra
+ * no máximo MAX_CHILDREN_PER_GROUP notificações por rajada — o resto só
+ * aparece na contagem do resumo. O que está na bandeja fica no
+ * NotificationRegistry.
+ */
+public final class NotificationBatcher {
+    private static final String TAG = "NotificationBatcher";
+
+    public static final String TAG_TAREFA = "tarefa";
+    public static final String TAG_GERAL = "geral";
+    public static final String TAG_RESUMO = "resumo";
+
+    // Sem workspace (notificações gerais, lembretes vindos do JS sem id_workspace)
+    public static final int NO_WORKSPACE = -1;
+
+    private static final String GROUP_PREFIX = "noiton_ws_";
+
+    // Janela de agrupamento a partir da primeira notificação pendente
+    private static final long COALESCE_MS = 1000;
+    private static final double POSTS_PER_SECOND = 4;
+    private static final int MAX_CHILDREN_PER_GROUP = 8;
+    private static final int SUMMARY_LINES = 5;
+
+    private static NotificationBatcher instance;
+
+    private final Context context;
+    private final Handler handler;
+    private final NotificationRegistry registry;
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<String, Item> pending = new LinkedHashMap<>();
+    private final List<Runnable> flushCallbacks = new ArrayList<>();
+    private boolean flushScheduled = false;
+
+    // Estado abaixo só é tocado na thread do handler
+    private final ArrayDeque<Post> outbox = new ArrayDeque<>();
+    private final List<Runnable> drainCallbacks = new ArrayList<>();
+    private double tokens = POSTS_PER_SECOND;
+    private long lastRefill = SystemClock.elapsedRealtime();
+    private boolean drainScheduled = false;
+
+    private final Runnable flushRunnable = this::flush;
+    private final Runnable drainRunnable = () -> {
+        drainScheduled = false;
+        drain();
+    };
+
+    /**
+     * Uma notificação a entregar. line: linha usada no resumo do grupo.
+     */
+    public static final class Item {
+        final String tag;
+        final int id;
+        final int idWorkspace;
+        final String workspaceNome;
+        final String line;
+        final NotificationCompat.Builder builder;
+
+        public Item(String tag, int id, int idWorkspace, String workspaceNome, String line, NotificationCompat.Builder builder) {
+            this.tag = tag;
+            this.id = id;
+            this.idWorkspace = idWorkspace;
+            this.workspaceNome = workspaceNome;
+            this.line = line;
+            this.builder = builder;
+        }
+
+        String key() {
+            return NotificationRegistry.key(tag, id);
+        }
+
+        boolean isTask(int idTarefa) {
+            return id == idTarefa && !TAG_RESUMO.equals(tag);
+        }
+    }
+
+    private static final class Post {
+        final String tag;
+        final int id;
+        final NotificationCompat.Builder builder;
+
+        Post(String tag, int id, NotificationCompat.Builder builder) {
+            this.tag = tag;
+            this.id = id;
+            this.builder = builder;
+        }
+
+        boolean isTask(int idTarefa) {
+            return id == idTarefa && !TAG_RESUMO.equals(tag);
+        }
+    }
+
+    public static synchronized NotificationBatcher getInstance(Context context) {
+        if (instance == null) {
+            instance = new NotificationBatcher(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private NotificationBatcher(Context context) {
+        this.context = context;
+        this.registry = NotificationRegistry.getInstance(context);
+        HandlerThread thread = new HandlerThread("noiton-notifications");
+        thread.start();
+        this.handler = new Handler(thread.getLooper());
+    }
+
+    /**
+     * Enfileira para a próxima rajada. A mesma tag+id na mesma janela substitui a anterior.
+     */
+    public void enqueue(Item item) {
+        synchronized (lock) {
+            pending.remove(item.key());
+            pending.put(item.key(), item);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                handler.postDelayed(flushRunnable, COALESCE_MS);
+            }
+        }
+    }
+
+    /**
+     * Entrega o que está pendente sem esperar a janela; onDelivered roda quando a
+     * fila de envio esvaziar (receivers com goAsync terminam nele)
+     */
+    public void flushNow(Runnable onDelivered) {
+        synchronized (lock) {
+            if (onDelivered != null) {
+                flushCallbacks.add(onDelivered);
+            }
+            handler.removeCallbacks(flushRunnable);
+            flushScheduled = true;
+            handler.post(flushRunnable);
+        }
+    }
+
+    /**
+     * Tira a tarefa da fila; afterPurge roda na thread de envio logo depois
+     * (NotificationRegistry.cancelTask cancela a notificação nele)
+     */
+    void cancelPending(final int idTarefa, final Runnable afterPurge) {
+        synchronized (lock) {
+            Iterator<Item> items = pending.values().iterator();
+            while (items.hasNext()) {
+                if (items.next().isTask(idTarefa)) {
+                    items.remove();
+                }
+            }
+        }
+        handler.post(() -> {
+            Iterator<Post> posts = outbox.iterator();
+            while (posts.hasNext()) {
+                if (posts.next().isTask(idTarefa)) {
+                    posts.remove();
+                }
+            }
+            afterPurge.run();
+        });
+    }
+
+    // =====================================================
+    // 📦 AGRUPAMENTO
+    // =====================================================
+
+    private void flush() {
+        List<Item> items;
+        synchronized (lock) {
+            items = new ArrayList<>(pending.values());
+            pending.clear();
+            flushScheduled = false;
+            drainCallbacks.addAll(flushCallbacks);
+            flushCallbacks.clear();
+        }
+
+        if (!items.isEmpty()) {
+            registry.reconcile();
+
+            Map<Integer, List<Item>> byWorkspace = new LinkedHashMap<>();
+            for (Item item : items) {
+                List<Item> group = byWorkspace.get(item.idWorkspace);
+                if (group == null) {
+                    group = new ArrayList<>();
+                    byWorkspace.put(item.idWorkspace, group);
+                }
+                group.add(item);
+            }
+            for (Map.Entry<Integer, List<Item>> entry : byWorkspace.entrySet()) {
+                enqueueGroup(entry.getKey(), entry.getValue());
+            }
+            Log.d(TAG, items.size() + " notificações em " + byWorkspace.size() + " grupo(s)");
+        }
+        drain();
+    }
+
+    private void enqueueGroup(int idWorkspace, List<Item> items) {
+        String groupKey = GROUP_PREFIX + idWorkspace;
+
+        // Rajada grande: mostra só as mais recentes, o resto entra na contagem do resumo
+        int skipped = Math.max(0, items.size() - MAX_CHILDREN_PER_GROUP);
+        List<Item> shown = items.subList(skipped, items.size());
+
+        int alreadyActive = registry.countInGroup(groupKey);
+        for (Item item : shown) {
+            if (groupKey.equals(registry.groupOf(item.tag, item.id))) {
+                alreadyActive--; // atualização no lugar de uma que já está na bandeja
+            }
+        }
+        int total = alreadyActive + items.size();
+        boolean summarize = alreadyActive + shown.size() > 1 || skipped > 0;
+
+        for (Item item : shown) {
+            item.builder.setGroup(groupKey);
+            if (summarize) {
+                // Só o resumo toca/vibra: uma rajada vira um único alerta
+                item.builder.setGroupAlertBehavior(NotificationCompat.GROUP_ALERT_SUMMARY);
+            }
+            outbox.add(new Post(item.tag, item.id, item.builder));
+            registry.track(item.tag, item.id, groupKey);
+        }
+
+        if (summarize) {
+            outbox.add(new Post(TAG_RESUMO, idWorkspace, summaryBuilder(groupKey, items, total)));
+            registry.track(TAG_RESUMO, idWorkspace, groupKey);
+        }
+    }
+
+    private NotificationCompat.Builder summaryBuilder(String groupKey, List<Item> items, int total) {
+        String workspaceNome = items.get(items.size() - 1).workspaceNome;
+        String title = workspaceNome != null ? workspaceNome : "Noiton";
+        String text = total + (total == 1 ? " notificação" : " notificações");
+
+        NotificationCompat.InboxStyle style = new NotificationCompat.InboxStyle().setBigContentTitle(title);
+        int first = Math.max(0, items.size() - SUMMARY_LINES);
+        for (int i = items.size() - 1; i >= first; i--) {
+            style.addLine(items.get(i).line);
+        }
+        if (total > items.size() - first) {
+            style.setSummaryText("+" + (total - (items.size() - first)) + " no grupo");
+        }
+
+        Intent intent = new Intent(context, MainActivity.class);
+        intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        PendingIntent pendingIntent = PendingIntent.getActivity(context, 0, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+
+        NotificationModule.ensureChannel(context);
+        return new NotificationCompat.Builder(context, NotificationModule.CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_notification)
+                .setContentTitle(title)
+                .setContentText(text)
+                .setStyle(style)
+                .setNumber(total)
+                .setGroup(groupKey)
+                .setGroupSummary(true)
+                .setGroupAlertBehavior(NotificationCompat.GROUP_ALERT_SUMMARY)
+                .setPriority(NotificationCompat.PRIORITY_HIGH)
+                .setAutoCancel(true)
+                .setContentIntent(pendingIntent);
+    }
+
+    // =====================================================
+    // 🚦 LIMITE DE TAXA
+    // =====================================================
+
+    private void drain() {
+        long now = SystemClock.elapsedRealtime();
+        tokens = Math.min(POSTS_PER_SECOND, tokens + (now - lastRefill) * POSTS_PER_SECOND / 1000.0);
+        lastRefill = now;
+
+        NotificationManagerCompat manager = NotificationManagerCompat.from(context);
+        while (!outbox.isEmpty() && tokens >= 1) {
+            Post post = outbox.poll();
+            try {
+                manager.notify(post.tag, post.id, post.builder.build());
+            } catch (Exception e) {
+                Log.e(TAG, "Erro ao mostrar notificação " + post.tag + ":" + post.id + ": " + e.getMessage());
+            }
+            tokens -= 1;
+        }
+
+        if (!outbox.isEmpty()) {
+            if (!drainScheduled) {
+                drainScheduled = true;
+                long waitMs = (long) Math.ceil((1 - tokens) * 1000 / POSTS_PER_SECOND);
+                handler.postDelayed(drainRunnable, waitMs);
+            }
+            return;
+        }
+
+        for (Runnable callback : drainCallbacks) {
+            callback.run();
+        }
+        drainCallbacks.clear();
+    }
+}
@@ -0,0 +1,272 @@
+// android/app/src/main/java/com/noiton2_frontend/reminders/NotificationRegistry.java
+package com.noiton2_frontend.reminders;
+
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+import android.service.notification.StatusBarNotification;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.core.app.NotificationManagerCompat;
+
+import com.noiton2_frontend.MainActivity;
+import com.noiton2_frontend.NotificationActionReceiver;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * IDs estáveis e índice das notificações ativas.
+ *
+ * Notificações de tarefa usam (tag, id_tarefa): notificar de novo a mesma
+ * tarefa atualiza a notificação na bandeja em vez de empilhar outra. IDs
+ * negativos são das notificações sem tarefa. Os PendingIntents (abrir,
+ * Concluir, Adiar) usam id_tarefa como request code e ficam em cache, então
+ * são reaproveitados entre atualizações.
+ */
+public final class NotificationRegistry {
+    private static final String TAG = "NotificationRegistry";
+
+    public static final String ACTION_OPEN = "OPEN_TASK";
+    public static final String ACTION_COMPLETE = "COMPLETE_TASK";
+    public static final String ACTION_SNOOZE = "SNOOZE_TASK";
+
+    private static final int INTENT_CACHE_SIZE = 256;
+    // Entradas recém-registradas podem ainda estar na fila do NotificationBatcher
+    private static final long RECONCILE_GRACE_MS = 10_000;
+    private static final int OPEN = 0;
+    private static final int COMPLETE = 1;
+    private static final int SNOOZE = 2;
+
+    private static NotificationRegistry instance;
+
+    private final Context context;
+    // "tag:id" -> entrada, em ordem de postagem
+    private final Map<String, Entry> active = new LinkedHashMap<>();
+    private final LruCache<Integer, PendingIntent[]> intentsByTask = new LruCache<>(INTENT_CACHE_SIZE);
+    private int nextAnonymousId = -1;
+
+    /**
+     * Notificação na bandeja. idTarefa = -1 quando não é de uma tarefa.
+     */
+    public static final class Entry {
+        public final String tag;
+        public final int id;
+        public final int idTarefa;
+        public final String group;
+        public final long postedAt;
+
+        Entry(String tag, int id, int idTarefa, String group, long postedAt) {
+            this.tag = tag;
+            this.id = id;
+            this.idTarefa = idTarefa;
+            this.group = group;
+            this.postedAt = postedAt;
+        }
+    }
+
+    public static synchronized NotificationRegistry getInstance(Context context) {
+        if (instance == null) {
+            instance = new NotificationRegistry(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private NotificationRegistry(Context context) {
+        this.context = context;
+    }
+
+    static String key(String tag, int id) {
+        return tag + ":" + id;
+    }
+
+    /**
+     * ID para notificação sem tarefa (negativo: não colide com id_tarefa)
+     */
+    public synchronized int nextAnonymousId() {
+        int id = nextAnonymousId--;
+        if (nextAnonymousId == Integer.MIN_VALUE) {
+            nextAnonymousId = -1;
+        }
+        return id;
+    }
+
+    // =====================================================
+    // 📇 ÍNDICE
+    // =====================================================
+
+    /**
+     * Registrada ao entrar na fila de envio do NotificationBatcher
+     */
+    synchronized void track(String tag, int id, String group) {
+        int idTarefa = !NotificationBatcher.TAG_RESUMO.equals(tag) && id >= 0 ? id : -1;
+        // remove + put: a atualização vai para o fim da ordem de postagem
+        active.remove(key(tag, id));
+        active.put(key(tag, id), new Entry(tag, id, idTarefa, group, System.currentTimeMillis()));
+    }
+
+    /**
+     * Grupo em que a notificação está na bandeja, ou null
+     */
+    synchronized String groupOf(String tag, int id) {
+        Entry entry = active.get(key(tag, id));
+        return entry != null ? entry.group : null;
+    }
+
+    public synchronized boolean hasTask(int idTarefa) {
+        for (Entry entry : active.values()) {
+            if (entry.idTarefa == idTarefa) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Filhos ativos no grupo (sem contar o resumo)
+     */
+    synchronized int countInGroup(String group) {
+        int count = 0;
+        for (Entry entry : active.values()) {
+            if (group.equals(entry.group) && !NotificationBatcher.TAG_RESUMO.equals(entry.tag)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Descarta do índice o que o usuário já dispensou (uma chamada de binder)
+     */
+    synchronized void reconcile() {
+        if (active.isEmpty() || Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            return;
+        }
+        NotificationManager manager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        Set<String> shown = new HashSet<>();
+        try {
+            for (StatusBarNotification notification : manager.getActiveNotifications()) {
+                shown.add(key(notification.getTag(), notification.getId()));
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Não foi possível ler notificações ativas: " + e.getMessage());
+            return;
+        }
+        long recent = System.currentTimeMillis() - RECONCILE_GRACE_MS;
+        Iterator<Map.Entry<String, Entry>> entries = active.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Entry> entry = entries.next();
+            if (!shown.contains(entry.getKey()) && entry.getValue().postedAt < recent) {
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * Cópia do índice depois de reconciliar com a bandeja
+     */
+    public synchronized List<Entry> activeEntries() {
+        reconcile();
+        return new ArrayList<>(active.values());
+    }
+
+    /**
+     * Cancela as notificações da tarefa, inclusive as que ainda estão na fila do
+     * NotificationBatcher. Retorna quantas estavam no índice.
+     */
+    public int cancelTask(final int idTarefa) {
+        final List<Entry> removed = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Entry> entries = active.values().iterator();
+            while (entries.hasNext()) {
+                Entry entry = entries.next();
+                if (entry.idTarefa == idTarefa) {
+                    removed.add(entry);
+                    entries.remove();
+                }
+            }
+        }
+
+        // Na thread do batcher: nada da fila é postado depois do cancelamento
+        NotificationBatcher.getInstance(context).cancelPending(idTarefa, () -> {
+            NotificationManagerCompat manager = NotificationManagerCompat.from(context);
+            // A tag padrão sempre, caso o índice tenha se perdido com o processo
+            manager.cancel(NotificationBatcher.TAG_TAREFA, idTarefa);
+            for (Entry entry : removed) {
+                if (!NotificationBatcher.TAG_TAREFA.equals(entry.tag)) {
+                    manager.cancel(entry.tag, entry.id);
+                }
+            }
+        });
+        return removed.size();
+    }
+
+    /**
+     * Depois de um cancelAll
+     */
+    public synchronized void forgetAll() {
+        active.clear();
+    }
+
+    // =====================================================
+    // 🎯 PENDING INTENTS
+    // =====================================================
+
+    public PendingIntent openIntent(int idTarefa) {
+        return taskIntents(idTarefa)[OPEN];
+    }
+
+    public PendingIntent completeIntent(int idTarefa) {
+        return taskIntents(idTarefa)[COMPLETE];
+    }
+
+    public PendingIntent snoozeIntent(int idTarefa) {
+        return taskIntents(idTarefa)[SNOOZE];
+    }
+
+    /**
+     * Request code = id_tarefa: o sistema diferencia as ações pela action do Intent,
+     * então cada tarefa tem exatamente um PendingIntent por ação
+     */
+    private PendingIntent[] taskIntents(int idTarefa) {
+        PendingIntent[] intents = intentsByTask.get(idTarefa);
+        if (intents != null) {
+            return intents;
+        }
+        int requestCode = Math.max(idTarefa, 0);
+        int flags = PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE;
+
+        Intent open = new Intent(context, MainActivity.class);
+        open.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        Intent complete = new Intent(context, NotificationActionReceiver.class);
+        complete.setAction(ACTION_COMPLETE);
+        Intent snooze = new Intent(context, NotificationActionReceiver.class);
+        snooze.setAction(ACTION_SNOOZE);
+        if (idTarefa >= 0) {
+            // Com action própria não se confunde com o PendingIntent do resumo (request code 0)
+            open.setAction(ACTION_OPEN);
+            open.putExtra("taskId", idTarefa);
+            open.putExtra("openTask", true);
+            complete.putExtra("taskId", idTarefa);
+            snooze.putExtra("taskId", idTarefa);
+        }
+
+        intents = new PendingIntent[]{
+                PendingIntent.getActivity(context, requestCode, open, flags),
+                PendingIntent.getBroadcast(context, requestCode, complete, flags),
+                PendingIntent.getBroadcast(context, requestCode, snooze, flags)
+        };
+        if (idTarefa >= 0) {
+            intentsByTask.put(idTarefa, intents);
+        }
+        return intents;
+    }
+}
@@ -0,0 +1,21 @@
+// android/app/src/main/java/com/noiton2_frontend/reminders/ReminderAlarmReceiver.java
+package com.noiton2_frontend.reminders;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+/**
+ * Alarme do ReminderScheduler. O trabalho (SQLite + notificações) roda na
+ * thread do agendador; goAsync mantém o processo vivo até terminar.
+ */
+public class ReminderAlarmReceiver extends BroadcastReceiver {
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        if (!ReminderScheduler.ACTION_FIRE.equals(intent.getAction())) {
+            return;
+        }
+        ReminderScheduler.getInstance(context).fire(goAsync());
+    }
+}
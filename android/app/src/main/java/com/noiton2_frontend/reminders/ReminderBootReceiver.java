@@ -0,0 +1,25 @@
+// android/app/src/main/java/com/noiton2_frontend/reminders/ReminderBootReceiver.java
+package com.noiton2_frontend.reminders;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+/**
+ * Boot e atualização do app apagam os alarmes do AlarmManager. Rearma os
+ * lembretes a partir do SQLite, sem subir o runtime React.
+ */
+public class ReminderBootReceiver extends BroadcastReceiver {
+
+    // Abaixo dos ~10 s que o sistema dá a um receiver com goAsync
+    private static final long BUDGET_MS = 8000;
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        String action = intent.getAction();
+        if (!Intent.ACTION_BOOT_COMPLETED.equals(action) && !Intent.ACTION_MY_PACKAGE_REPLACED.equals(action)) {
+            return;
+        }
+        ReminderScheduler.getInstance(context).restoreAlarms(goAsync(), BUDGET_MS);
+    }
+}
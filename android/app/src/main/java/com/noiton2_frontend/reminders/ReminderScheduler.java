@@ -0,0 +1,676 @@
+// android/app/src/main/java/com/noiton2_frontend/reminders/ReminderScheduler.java
+package com.noiton2_frontend.reminders;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.noiton2_frontend.NotificationModule;
+import com.noiton2_frontend.database.DatabaseContract;
+import com.noiton2_frontend.database.DatabaseHelper;
+import com.noiton2_frontend.database.OverdueSweeper;
+import com.noiton2_frontend.sync.DatabaseChangeNotifier;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lembretes de prazo (tarefas.data_fim) agendados no Java, sem o runtime JS.
+ *
+ * Mantém um heap mínimo com o horário de disparo de cada tarefa pendente
+ * (data_fim - antecedência) e arma só o próximo alarme no AlarmManager. Depois
+ * de cada disparo, ou de mudanças em tarefas vindas do DatabaseChangeNotifier,
+ * o heap é atualizado e o alarme rearmado. Todo o trabalho roda numa thread
+ * própria.
+ *
+ * "Adiar" também passa por aqui: o horário adiado de cada tarefa fica salvo
+ * (SharedPreferences) e substitui o disparo calculado pelo prazo, então volta
+ * a ser armado depois que o processo morre ou o aparelho reinicia.
+ *
+ * O mesmo alarme acorda no próximo prazo vencido para o OverdueSweeper marcar
+ * as tarefas como atrasadas; a marca da última varredura também fica salva.
+ */
+public final class ReminderScheduler implements DatabaseChangeNotifier.Listener {
+    private static final String TAG = "ReminderScheduler";
+
+    static final String ACTION_FIRE = "com.noiton2_frontend.REMINDER_ALARM";
+    private static final int REQUEST_CODE = 4202;
+
+    private static final String PREFS_NAME = "noiton_reminders";
+    private static final String KEY_LEAD_MINUTES = "lead_minutes";
+    // "id:prazo" dos lembretes já mostrados (não repetir depois de reconstruir o heap)
+    private static final String KEY_NOTIFIED = "notified";
+    // "id:horário" dos lembretes adiados
+    private static final String KEY_SNOOZED = "snoozed";
+    private static final String KEY_SNOOZE_MINUTES = "snooze_minutes";
+    // Prazos até aqui já foram varridos pelo OverdueSweeper (0: varrer tudo)
+    private static final String KEY_OVERDUE_WATERMARK = "overdue_watermark";
+
+    // Mesmo padrão do scheduleTaskReminder do JS
+    public static final int DEFAULT_LEAD_MINUTES = 30;
+    public static final int DEFAULT_SNOOZE_MINUTES = 60;
+
+    // Disparos até 1 minuto adiante saem no mesmo alarme
+    private static final long FIRE_SLACK_MS = 60 * 1000;
+
+    // Acima disso a mudança recarrega o heap inteiro (e respeita o limite de variáveis do SQLite)
+    private static final int MAX_INCREMENTAL_IDS = 500;
+
+    private static ReminderScheduler instance;
+
+    private final Context context;
+    private final DatabaseHelper databaseHelper;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "noiton-reminders"));
+
+    // Estado abaixo só é tocado na thread do executor
+    private final DeadlineHeap heap = new DeadlineHeap();
+    private final Map<Integer, Reminder> reminders = new HashMap<>();
+    private Set<String> notified;
+    private final Map<Integer, Long> snoozedUntil = new HashMap<>();
+    private boolean loaded = false;
+    private long armedAt = Long.MAX_VALUE;
+    private long nextOverdueAt = Long.MAX_VALUE;
+    private boolean started = false;
+
+    private static final class Reminder {
+        final int idTarefa;
+        final String titulo;
+        final String dataFim;
+        final long deadline;
+        final int idWorkspace;
+        final String workspaceNome;
+
+        Reminder(int idTarefa, String titulo, String dataFim, long deadline, int idWorkspace, String workspaceNome) {
+            this.idTarefa = idTarefa;
+            this.titulo = titulo;
+            this.dataFim = dataFim;
+            this.deadline = deadline;
+            this.idWorkspace = idWorkspace;
+            this.workspaceNome = workspaceNome;
+        }
+
+        String key() {
+            return idTarefa + ":" + deadline;
+        }
+    }
+
+    public static synchronized ReminderScheduler getInstance(Context context) {
+        if (instance == null) {
+            instance = new ReminderScheduler(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ReminderScheduler(Context context) {
+        this.context = context;
+        this.databaseHelper = DatabaseHelper.getInstance(context);
+    }
+
+    /**
+     * data_fim (texto) em epoch ms. Com fuso (ISO do servidor) é absoluto; sem fuso é
+     * hora local, como o new Date() do JS.
+     */
+    public static String deadlineMillisSql(String column) {
+        return "CAST(ROUND((julianday(CASE WHEN " + column + " GLOB '*[Zz]' " +
+                "OR " + column + " GLOB '*[+-][0-9][0-9]:[0-9][0-9]' " +
+                "THEN " + column + " ELSE datetime(" + column + ", 'utc') END) - 2440587.5) * 86400000) AS INTEGER)";
+    }
+
+    // Workspace (o primeiro, se houver vários) para agrupar as notificações
+    private static final String WORKSPACE_SQL =
+            "(SELECT MIN(tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + ") " +
+                    "FROM " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + " tw " +
+                    "WHERE tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + " = t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ")";
+
+    private static final String PENDING_SQL =
+            "SELECT t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ", " +
+                    "t." + DatabaseContract.TarefaEntry.COLUMN_TITULO + ", " +
+                    "t." + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + ", " +
+                    deadlineMillisSql("t." + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM) + " AS prazo_ms, " +
+                    WORKSPACE_SQL + " AS id_workspace, " +
+                    "(SELECT w." + DatabaseContract.WorkspaceEntry.COLUMN_NOME + " FROM " + DatabaseContract.WorkspaceEntry.TABLE_NAME + " w " +
+                    "WHERE w." + DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE + " = " + WORKSPACE_SQL + ") AS workspace_nome " +
+                    "FROM " + DatabaseContract.TarefaEntry.TABLE_NAME + " t " +
+                    "WHERE t." + DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + " = 0 " +
+                    "AND t." + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + " IS NOT NULL";
+
+    // Faixa no índice parcial de data_fim (argumento: OverdueSweeper.lowerBound)
+    private static final String UPCOMING_SQL =
+            " AND t." + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + " >= ?";
+
+    /**
+     * Carrega o heap, arma o primeiro alarme e passa a ouvir mudanças em tarefas.
+     * Chamado no início do processo (MainApplication); chamadas repetidas são ignoradas.
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        DatabaseChangeNotifier.getInstance().addListener(this);
+        executor.execute(() -> {
+            try {
+                ensureLoaded();
+                sweepOverdue();
+                arm();
+            } catch (Exception e) {
+                Log.e(TAG, "Erro ao iniciar lembretes: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Depois do boot ou de uma atualização do app (ReminderBootReceiver, via goAsync):
+     * os alarmes do AlarmManager se perderam, então recarrega o heap do banco e
+     * rearma. O receiver é liberado quando termina ou, no máximo, em budgetMs; se
+     * estourar, o trabalho segue na thread do agendador enquanto o processo viver.
+     */
+    void restoreAlarms(BroadcastReceiver.PendingResult pendingResult, long budgetMs) {
+        final long startedAt = SystemClock.elapsedRealtime();
+        final AtomicBoolean finished = new AtomicBoolean(false);
+        final Runnable finish = () -> {
+            if (finished.compareAndSet(false, true)) {
+                pendingResult.finish();
+            }
+        };
+        new Handler(Looper.getMainLooper()).postDelayed(() -> {
+            if (!finished.get()) {
+                Log.w(TAG, "Restauração dos lembretes passou de " + budgetMs + " ms");
+            }
+            finish.run();
+        }, budgetMs);
+
+        start();
+        executor.execute(() -> {
+            try {
+                // Processo novo: o start() acima (ou o da MainApplication) já carregou; aqui só se garante
+                ensureLoaded();
+                armedAt = Long.MAX_VALUE; // nada está armado depois do boot
+                arm();
+                Log.i(TAG, "⏰ Lembretes restaurados em " + (SystemClock.elapsedRealtime() - startedAt) + " ms");
+            } catch (Exception e) {
+                Log.e(TAG, "Erro ao restaurar lembretes: " + e.getMessage());
+            } finally {
+                finish.run();
+            }
+        });
+    }
+
+    @Override
+    public void onTablesChanged(DatabaseChangeNotifier.ChangeSet changes) {
+        if (!changes.touches(DatabaseContract.TarefaEntry.TABLE_NAME)) {
+            return;
+        }
+        final boolean whole = changes.isWholeTable(DatabaseContract.TarefaEntry.TABLE_NAME);
+        final Set<Integer> ids = whole ? null : new HashSet<>(changes.getIds(DatabaseContract.TarefaEntry.TABLE_NAME));
+        executor.execute(() -> {
+            try {
+                if (!loaded || whole || ids.size() > MAX_INCREMENTAL_IDS) {
+                    rebuild();
+                } else {
+                    refresh(ids);
+                }
+                if (whole) {
+                    // Sync completo regravou os status do servidor: varre todos os prazos de novo
+                    prefs().edit().putLong(KEY_OVERDUE_WATERMARK, 0).commit();
+                    sweepOverdue();
+                } else {
+                    nextOverdueAt = OverdueSweeper.nextDeadline(db(), System.currentTimeMillis());
+                }
+                arm();
+            } catch (Exception e) {
+                Log.e(TAG, "Erro ao atualizar lembretes: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Alarme disparou (ReminderAlarmReceiver, via goAsync): mostra os lembretes
+     * vencidos, marca as tarefas atrasadas e arma o próximo
+     */
+    void fire(BroadcastReceiver.PendingResult pendingResult) {
+        executor.execute(() -> {
+            boolean finishLater = false;
+            try {
+                armedAt = Long.MAX_VALUE; // o alarme armado foi consumido
+                ensureLoaded();
+                long now = System.currentTimeMillis();
+                List<Integer> due = heap.pollUntil(now + FIRE_SLACK_MS);
+                boolean snoozesChanged = false;
+                for (Integer idTarefa : due) {
+                    Reminder reminder = reminders.remove(idTarefa);
+                    snoozesChanged |= snoozedUntil.remove(idTarefa) != null;
+                    if (reminder != null) {
+                        post(reminder);
+                        notified.add(reminder.key());
+                    }
+                }
+                if (snoozesChanged) {
+                    saveSnoozed();
+                }
+                if (!due.isEmpty()) {
+                    saveNotified();
+                    Log.i(TAG, "🔔 " + due.size() + " lembrete(s) mostrados");
+                }
+                if (nextOverdueAt <= now) {
+                    sweepOverdue();
+                }
+                arm();
+                // Sem esperar a janela de agrupamento: o receiver termina quando tudo for entregue
+                NotificationBatcher.getInstance(context).flushNow(pendingResult != null ? pendingResult::finish : null);
+                finishLater = true;
+            } catch (Exception e) {
+                Log.e(TAG, "Erro ao disparar lembretes: " + e.getMessage());
+            } finally {
+                if (pendingResult != null && !finishLater) {
+                    pendingResult.finish();
+                }
+            }
+        });
+    }
+
+    /**
+     * Antecedência do lembrete em relação ao prazo; recalcula todos os disparos
+     */
+    public void setLeadMinutes(int minutes) {
+        prefs().edit().putInt(KEY_LEAD_MINUTES, Math.max(0, minutes)).apply();
+        executor.execute(() -> {
+            try {
+                rebuild();
+                arm();
+            } catch (Exception e) {
+                Log.e(TAG, "Erro ao reagendar lembretes: " + e.getMessage());
+            }
+        });
+    }
+
+    public int getLeadMinutes() {
+        return prefs().getInt(KEY_LEAD_MINUTES, DEFAULT_LEAD_MINUTES);
+    }
+
+    public interface StateCallback {
+        void onState(int pending, long nextTriggerAt);
+    }
+
+    /**
+     * Lembretes pendentes e próximo disparo (Long.MAX_VALUE se nenhum), lidos na thread do agendador
+     */
+    public void getState(StateCallback callback) {
+        executor.execute(() -> {
+            try {
+                ensureLoaded();
+                callback.onState(heap.size(), heap.peekTime());
+            } catch (Exception e) {
+                Log.e(TAG, "Erro ao ler estado dos lembretes: " + e.getMessage());
+                callback.onState(0, Long.MAX_VALUE);
+            }
+        });
+    }
+
+    public interface SnoozeCallback {
+        /**
+         * remindAt: novo disparo (epoch ms), ou -1 se a tarefa não existe no banco local
+         */
+        void onSnoozed(long remindAt);
+    }
+
+    /**
+     * Adia a tarefa por minutes: move data_fim (TaskActions) e lembra de novo
+     * daqui a minutes, com o horário salvo para sobreviver ao processo
+     */
+    public void snoozeTask(int idTarefa, int minutes, SnoozeCallback callback) {
+        executor.execute(() -> {
+            long remindAt = -1;
+            try {
+                ensureLoaded();
+                if (TaskActions.snooze(context, idTarefa, minutes) >= 0) {
+                    remindAt = System.currentTimeMillis() + minutes * 60L * 1000;
+                    snoozedUntil.put(idTarefa, remindAt);
+                    saveSnoozed();
+                    refresh(Collections.singleton(idTarefa));
+                    arm();
+                    Log.i(TAG, "💤 Tarefa " + idTarefa + " adiada por " + minutes + " min");
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Erro ao adiar tarefa " + idTarefa + ": " + e.getMessage());
+            } finally {
+                callback.onSnoozed(remindAt);
+            }
+        });
+    }
+
+    /**
+     * Duração padrão do "Adiar" das notificações
+     */
+    public void setSnoozeMinutes(int minutes) {
+        prefs().edit().putInt(KEY_SNOOZE_MINUTES, Math.max(1, minutes)).apply();
+    }
+
+    public int getSnoozeMinutes() {
+        return prefs().getInt(KEY_SNOOZE_MINUTES, DEFAULT_SNOOZE_MINUTES);
+    }
+
+    // =====================================================
+    // 🗂️ HEAP
+    // =====================================================
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recarrega todas as tarefas pendentes com prazo futuro (e as adiadas).
+     * Os prazos vêm de uma consulta de faixa no índice parcial de data_fim
+     * (a partir de ontem); as adiadas, pela chave primária.
+     */
+    private void rebuild() {
+        heap.clear();
+        reminders.clear();
+        Set<String> previouslyNotified = loadNotified();
+        notified = new HashSet<>();
+        Map<Integer, Long> previouslySnoozed = loadSnoozed();
+        snoozedUntil.clear();
+
+        long now = System.currentTimeMillis();
+        long leadMs = getLeadMinutes() * 60L * 1000;
+        Set<Integer> seen = new HashSet<>();
+        load(PENDING_SQL + UPCOMING_SQL, new String[]{OverdueSweeper.lowerBound(now)},
+                now, leadMs, previouslyNotified, previouslySnoozed, seen);
+
+        // Adiadas cujo prazo ficou fora da faixa (alterado depois do adiamento)
+        Set<Integer> snoozedLeft = new HashSet<>(previouslySnoozed.keySet());
+        snoozedLeft.removeAll(seen);
+        if (!snoozedLeft.isEmpty()) {
+            load(PENDING_SQL + " AND t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + inClause(snoozedLeft),
+                    idArgs(snoozedLeft), now, leadMs, previouslyNotified, previouslySnoozed, seen);
+        }
+
+        loaded = true;
+        if (notified.size() != previouslyNotified.size()) {
+            saveNotified();
+        }
+        if (snoozedUntil.size() != previouslySnoozed.size()) {
+            saveSnoozed(); // adiadas que foram concluídas ou excluídas
+        }
+        Log.i(TAG, "⏰ " + heap.size() + " lembretes pendentes");
+    }
+
+    private void load(String sql, String[] args, long now, long leadMs,
+                      Set<String> previouslyNotified, Map<Integer, Long> previouslySnoozed, Set<Integer> seen) {
+        Cursor cursor = null;
+        try {
+            cursor = db().rawQuery(sql, args);
+            while (cursor.moveToNext()) {
+                Reminder reminder = readReminder(cursor);
+                if (reminder == null || !seen.add(reminder.idTarefa)) {
+                    continue;
+                }
+                // Adiada: lembra no horário salvo, mesmo com o prazo já vencido
+                Long until = previouslySnoozed.get(reminder.idTarefa);
+                if (until != null) {
+                    snoozedUntil.put(reminder.idTarefa, until);
+                    schedule(reminder, now, leadMs);
+                    continue;
+                }
+                if (reminder.deadline <= now) {
+                    continue;
+                }
+                // Só guarda marcas de tarefas ainda pendentes: o conjunto não cresce sem limite
+                if (previouslyNotified.contains(reminder.key())) {
+                    notified.add(reminder.key());
+                    continue;
+                }
+                schedule(reminder, now, leadMs);
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * Atualiza só as tarefas alteradas: novas/alteradas entram (ou voltam) no heap,
+     * removidas/concluídas saem
+     */
+    private void refresh(Set<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (Integer idTarefa : ids) {
+            heap.remove(idTarefa);
+            reminders.remove(idTarefa);
+        }
+
+        long now = System.currentTimeMillis();
+        long leadMs = getLeadMinutes() * 60L * 1000;
+        Set<Integer> stillPending = new HashSet<>();
+        Cursor cursor = null;
+        try {
+            cursor = db().rawQuery(PENDING_SQL + " AND t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA +
+                    inClause(ids), idArgs(ids));
+            while (cursor.moveToNext()) {
+                stillPending.add(cursor.getInt(0));
+                Reminder reminder = readReminder(cursor);
+                if (reminder == null) {
+                    continue;
+                }
+                if (snoozedUntil.containsKey(reminder.idTarefa)
+                        || (reminder.deadline > now && !notified.contains(reminder.key()))) {
+                    schedule(reminder, now, leadMs);
+                }
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        // Concluída, excluída ou sem prazo: o lembrete na bandeja (e o adiamento) não vale mais
+        NotificationRegistry registry = NotificationRegistry.getInstance(context);
+        boolean snoozesChanged = false;
+        for (Integer idTarefa : ids) {
+            if (!stillPending.contains(idTarefa)) {
+                snoozesChanged |= snoozedUntil.remove(idTarefa) != null;
+                if (registry.hasTask(idTarefa)) {
+                    registry.cancelTask(idTarefa);
+                }
+            }
+        }
+        if (snoozesChanged) {
+            saveSnoozed();
+        }
+    }
+
+    private static String inClause(Collection<Integer> ids) {
+        StringBuilder placeholders = new StringBuilder(" IN (");
+        for (int i = 0; i < ids.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ",?");
+        }
+        return placeholders.append(")").toString();
+    }
+
+    private static String[] idArgs(Collection<Integer> ids) {
+        String[] args = new String[ids.size()];
+        int i = 0;
+        for (Integer idTarefa : ids) {
+            args[i++] = String.valueOf(idTarefa);
+        }
+        return args;
+    }
+
+    private void schedule(Reminder reminder, long now, long leadMs) {
+        Long until = snoozedUntil.get(reminder.idTarefa);
+        // Prazo mais perto que a antecedência (ou adiamento vencido): avisa já
+        long triggerAt = Math.max(until != null ? until : reminder.deadline - leadMs, now);
+        reminders.put(reminder.idTarefa, reminder);
+        heap.put(reminder.idTarefa, triggerAt);
+    }
+
+    private Reminder readReminder(Cursor cursor) {
+        if (cursor.isNull(3)) {
+            return null; // data_fim em formato que o SQLite não entende
+        }
+        int idWorkspace = cursor.isNull(4) ? NotificationBatcher.NO_WORKSPACE : cursor.getInt(4);
+        return new Reminder(cursor.getInt(0), cursor.getString(1), cursor.getString(2), cursor.getLong(3),
+                idWorkspace, cursor.getString(5));
+    }
+
+    // =====================================================
+    // ⌛ ATRASADAS
+    // =====================================================
+
+    /**
+     * Marca como atrasadas as tarefas com prazo vencido desde a última varredura,
+     * avisa só essas linhas e guarda o próximo prazo para o alarme
+     */
+    private void sweepOverdue() {
+        long since = prefs().getLong(KEY_OVERDUE_WATERMARK, 0);
+        long now = System.currentTimeMillis();
+        List<Integer> ids = OverdueSweeper.sweep(databaseHelper.getWritableDatabase(), since, now);
+        prefs().edit().putLong(KEY_OVERDUE_WATERMARK, now).commit();
+        nextOverdueAt = OverdueSweeper.nextDeadline(db(), now);
+
+        if (!ids.isEmpty()) {
+            DatabaseChangeNotifier.ChangeSet changes = new DatabaseChangeNotifier.ChangeSet();
+            for (Integer idTarefa : ids) {
+                changes.row(DatabaseContract.TarefaEntry.TABLE_NAME, idTarefa);
+            }
+            DatabaseChangeNotifier.getInstance().publish(changes);
+            Log.i(TAG, "⌛ " + ids.size() + " tarefa(s) marcadas como atrasadas");
+        }
+    }
+
+    // =====================================================
+    // ⏰ ALARME
+    // =====================================================
+
+    /**
+     * Arma (ou cancela) o único alarme: o topo do heap ou o próximo prazo a vencer
+     */
+    private void arm() {
+        long next = Math.min(heap.peekTime(), nextOverdueAt);
+        if (next == armedAt) {
+            return;
+        }
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        if (alarmManager == null) {
+            return;
+        }
+        PendingIntent alarmIntent = alarmIntent();
+        if (next == Long.MAX_VALUE) {
+            alarmManager.cancel(alarmIntent);
+        } else if (!useExactAlarm(alarmManager)) {
+            // Sem permissão de alarme exato, ou economia de bateria: o sistema pode atrasar alguns minutos
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, next, alarmIntent);
+            } else {
+                alarmManager.set(AlarmManager.RTC_WAKEUP, next, alarmIntent);
+            }
+        } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, next, alarmIntent);
+        } else {
+            alarmManager.setExact(AlarmManager.RTC_WAKEUP, next, alarmIntent);
+        }
+        armedAt = next;
+    }
+
+    /**
+     * Alarme exato só com permissão e fora da economia de bateria (a não ser que o
+     * usuário tenha liberado o app das otimizações de bateria)
+     */
+    private boolean useExactAlarm(AlarmManager alarmManager) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && !alarmManager.canScheduleExactAlarms()) {
+            return false;
+        }
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        if (powerManager == null || !powerManager.isPowerSaveMode()) {
+            return true;
+        }
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.M
+                && powerManager.isIgnoringBatteryOptimizations(context.getPackageName());
+    }
+
+    private PendingIntent alarmIntent() {
+        Intent intent = new Intent(context, ReminderAlarmReceiver.class);
+        intent.setAction(ACTION_FIRE);
+        return PendingIntent.getBroadcast(context, REQUEST_CODE, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    // =====================================================
+    // 🔔 NOTIFICAÇÃO
+    // =====================================================
+
+    private void post(Reminder reminder) {
+        String message = "Prazo: " + reminder.dataFim;
+        NotificationBatcher.getInstance(context).enqueue(new NotificationBatcher.Item(
+                NotificationBatcher.TAG_TAREFA, reminder.idTarefa, reminder.idWorkspace, reminder.workspaceNome,
+                reminder.titulo + " — " + message,
+                NotificationModule.taskReminderBuilder(context, reminder.idTarefa, reminder.titulo, message)));
+    }
+
+    // =====================================================
+    // 💾 ESTADO
+    // =====================================================
+
+    private SharedPreferences prefs() {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    private Set<String> loadNotified() {
+        // Cópia: o Set devolvido pelo SharedPreferences não pode ser alterado
+        return new HashSet<>(prefs().getStringSet(KEY_NOTIFIED, new HashSet<String>()));
+    }
+
+    private void saveNotified() {
+        prefs().edit().putStringSet(KEY_NOTIFIED, new HashSet<>(notified)).apply();
+    }
+
+    private Map<Integer, Long> loadSnoozed() {
+        Map<Integer, Long> snoozed = new HashMap<>();
+        for (String entry : prefs().getStringSet(KEY_SNOOZED, new HashSet<String>())) {
+            int separator = entry.indexOf(':');
+            try {
+                snoozed.put(Integer.parseInt(entry.substring(0, separator)), Long.parseLong(entry.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Adiamento inválido ignorado: " + entry);
+            }
+        }
+        return snoozed;
+    }
+
+    private void saveSnoozed() {
+        Set<String> entries = new HashSet<>();
+        for (Map.Entry<Integer, Long> entry : snoozedUntil.entrySet()) {
+            entries.add(entry.getKey() + ":" + entry.getValue());
+        }
+        // commit: o adiamento tem de estar em disco antes do receiver terminar
+        prefs().edit().putStringSet(KEY_SNOOZED, entries).commit();
+    }
+
+    private SQLiteDatabase db() {
+        return databaseHelper.getReadableDatabase();
+    }
+}
@@ -0,0 +1,142 @@
+// android/app/src/main/java/com/noiton2_frontend/reminders/TaskActions.java
+package com.noiton2_frontend.reminders;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.noiton2_frontend.database.AndroidSqlDriver;
+import com.noiton2_frontend.database.DatabaseContract;
+import com.noiton2_frontend.database.DatabaseHelper;
+import com.noiton2_frontend.database.OverdueSweeper;
+import com.noiton2_frontend.database.TaskListProjection;
+import com.noiton2_frontend.storage.SqliteSyncStateStore;
+import com.noiton2_frontend.storage.SyncStateStore;
+import com.noiton2_frontend.sync.DatabaseChangeNotifier;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Ações das notificações (Concluir, Adiar) aplicadas direto no SQLite, sem o JS.
+ *
+ * Cada ação é uma transação: altera a tarefa, atualiza a projeção da lista e
+ * registra a alteração pendente (SyncStateStore.editTarefa) para o syncManager enviar.
+ * O SyncStateStore usa a mesma conexão, então grava dentro da transação daqui. Depois do
+ * commit publica a mudança (telas abertas e ReminderScheduler reagem a ela).
+ * Chamar fora da thread principal; o "Adiar" completo (com o novo lembrete)
+ * é ReminderScheduler.snoozeTask.
+ */
+public final class TaskActions {
+    private static final String TAG = "TaskActions";
+
+    private static final String DEADLINE_SQL =
+            "SELECT " + ReminderScheduler.deadlineMillisSql(DatabaseContract.TarefaEntry.COLUMN_DATA_FIM) + ", " +
+                    DatabaseContract.TarefaEntry.COLUMN_STATUS +
+                    " FROM " + DatabaseContract.TarefaEntry.TABLE_NAME +
+                    " WHERE " + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = ?";
+
+    private TaskActions() {}
+
+    /**
+     * Marca a tarefa como concluída. false se ela não existe no banco local.
+     */
+    public static boolean complete(Context context, int idTarefa) {
+        DatabaseHelper databaseHelper = DatabaseHelper.getInstance(context);
+        SQLiteDatabase db = databaseHelper.getWritableDatabase();
+        SyncStateStore syncState = new SqliteSyncStateStore(new AndroidSqlDriver(databaseHelper));
+        long now = System.currentTimeMillis();
+        db.beginTransaction();
+        try {
+            if (!exists(db, idTarefa)) {
+                return false;
+            }
+            syncState.editTarefa(idTarefa, DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA, 1, now);
+            syncState.editTarefa(idTarefa, DatabaseContract.TarefaEntry.COLUMN_STATUS, "concluido", now);
+            TaskListProjection.refresh(db, idTarefa);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        publish(idTarefa);
+        Log.i(TAG, "✅ Tarefa " + idTarefa + " concluída pela notificação");
+        return true;
+    }
+
+    /**
+     * Adia o prazo: data_fim = max(prazo atual, agora) + minutes. O novo prazo fica no
+     * futuro, então uma tarefa "atrasada" volta para "a_fazer" (o OverdueSweeper marca de
+     * novo se ele vencer). Retorna o novo prazo (epoch ms), ou -1 se a tarefa não existe
+     * no banco local.
+     */
+    public static long snooze(Context context, int idTarefa, int minutes) {
+        DatabaseHelper databaseHelper = DatabaseHelper.getInstance(context);
+        SQLiteDatabase db = databaseHelper.getWritableDatabase();
+        SyncStateStore syncState = new SqliteSyncStateStore(new AndroidSqlDriver(databaseHelper));
+        long now = System.currentTimeMillis();
+        long newDeadline;
+        db.beginTransaction();
+        try {
+            Cursor cursor = null;
+            long deadline;
+            String status;
+            try {
+                cursor = db.rawQuery(DEADLINE_SQL, new String[]{String.valueOf(idTarefa)});
+                if (!cursor.moveToFirst()) {
+                    return -1;
+                }
+                // Sem prazo (ou em formato que o SQLite não entende): conta a partir de agora
+                deadline = cursor.isNull(0) ? now : cursor.getLong(0);
+                status = cursor.getString(1);
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+
+            newDeadline = Math.max(deadline, now) + minutes * 60L * 1000;
+            syncState.editTarefa(idTarefa, DatabaseContract.TarefaEntry.COLUMN_DATA_FIM, formatIso(newDeadline), now);
+            if (OverdueSweeper.STATUS_ATRASADA.equals(status)) {
+                syncState.editTarefa(idTarefa, DatabaseContract.TarefaEntry.COLUMN_STATUS, OverdueSweeper.STATUS_REABERTA, now);
+            }
+            TaskListProjection.refresh(db, idTarefa);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        publish(idTarefa);
+        Log.i(TAG, "⏰ Tarefa " + idTarefa + " adiada por " + minutes + " min pela notificação");
+        return newDeadline;
+    }
+
+    private static boolean exists(SQLiteDatabase db, int idTarefa) {
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery("SELECT 1 FROM " + DatabaseContract.TarefaEntry.TABLE_NAME +
+                    " WHERE " + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = ?",
+                    new String[]{String.valueOf(idTarefa)});
+            return cursor.moveToFirst();
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    private static void publish(int idTarefa) {
+        DatabaseChangeNotifier.getInstance().publish(new DatabaseChangeNotifier.ChangeSet()
+                .row(DatabaseContract.TarefaEntry.TABLE_NAME, idTarefa));
+    }
+
+    /**
+     * Mesmo formato das datas do servidor (ISO em UTC)
+     */
+    private static String formatIso(long millis) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(new Date(millis));
+    }
+}
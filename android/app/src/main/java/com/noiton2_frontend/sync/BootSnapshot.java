@@ -0,0 +1,332 @@
+// android/app/src/main/java/com/noiton2_frontend/sync/BootSnapshot.java
+package com.noiton2_frontend.sync;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import com.noiton2_frontend.database.DatabaseContract;
+import com.noiton2_frontend.database.DatabaseHelper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot binário dos dados da tela inicial (workspaces + tarefas abertas recentes
+ * e perto de vencer), gravado depois de cada sync e lido por mmap no cold start,
+ * antes de o SQLite ser aberto.
+ *
+ * Formato (big-endian):
+ *   cabeçalho: magic, versão, criado_em, tamanho do payload, CRC32 do payload
+ *   payload:   nº workspaces, [id, equipe, nome]..., nº tarefas,
+ *              [id_tarefa, id_workspace, titulo, status, prioridade, data_fim, data_criacao, concluida]...
+ * Strings: tamanho em bytes (-1 = null) + UTF-8.
+ */
+public final class BootSnapshot {
+    private static final String TAG = "BootSnapshot";
+
+    private static final String FILE_NAME = "boot_snapshot.bin";
+    private static final int MAGIC = 0x4E425331; // "NBS1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 8;
+
+    // Por workspace: as N mais recentes e as N mais próximas do vencimento
+    private static final int TASKS_PER_QUERY = 10;
+
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor();
+    private static final AtomicBoolean writePending = new AtomicBoolean(false);
+
+    // Mapeado no Application.onCreate; descartado quando um novo snapshot é gravado
+    private static volatile MappedByteBuffer mapped;
+
+    private BootSnapshot() {}
+
+    private static File file(Context context) {
+        return new File(context.getFilesDir(), FILE_NAME);
+    }
+
+    // =====================================================
+    // 📖 LEITURA (cold start)
+    // =====================================================
+
+    /**
+     * Mapeia o arquivo e traz as páginas para a memória. Chamado numa thread
+     * no Application.onCreate, enquanto o bundle JS ainda carrega.
+     */
+    public static void preload(Context context) {
+        try {
+            map(context).load();
+        } catch (Exception e) {
+            // Sem snapshot (primeiro uso / após logout): a tela inicial vai direto ao SQLite
+            Log.d(TAG, "Snapshot indisponível: " + e.getMessage());
+        }
+    }
+
+    private static synchronized MappedByteBuffer map(Context context) throws IOException {
+        if (mapped == null) {
+            RandomAccessFile raf = new RandomAccessFile(file(context), "r");
+            try {
+                FileChannel channel = raf.getChannel();
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } finally {
+                // O mapeamento continua válido depois de fechar o arquivo
+                raf.close();
+            }
+        }
+        return mapped;
+    }
+
+    /**
+     * Decodifica o snapshot; null se não existir, estiver corrompido ou em outro formato
+     */
+    public static WritableMap read(Context context) {
+        try {
+            ByteBuffer buffer = map(context).duplicate();
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            long createdAt = buffer.getLong();
+            int payloadLength = buffer.getInt();
+            long crc = buffer.getLong();
+            if (payloadLength != buffer.remaining()) {
+                return null;
+            }
+
+            byte[] payload = new byte[payloadLength];
+            buffer.get(payload);
+            CRC32 check = new CRC32();
+            check.update(payload);
+            if (check.getValue() != crc) {
+                Log.w(TAG, "⚠️ Snapshot corrompido, ignorando");
+                return null;
+            }
+
+            ByteBuffer in = ByteBuffer.wrap(payload);
+            WritableArray workspaces = new WritableNativeArray();
+            int workspaceCount = in.getInt();
+            for (int i = 0; i < workspaceCount; i++) {
+                WritableMap workspace = new WritableNativeMap();
+                workspace.putInt("id_workspace", in.getInt());
+                workspace.putBoolean("equipe", in.get() != 0);
+                putString(workspace, "nome", readString(in));
+                workspaces.pushMap(workspace);
+            }
+
+            WritableArray tarefas = new WritableNativeArray();
+            int taskCount = in.getInt();
+            for (int i = 0; i < taskCount; i++) {
+                WritableMap tarefa = new WritableNativeMap();
+                tarefa.putInt("id_tarefa", in.getInt());
+                tarefa.putInt("id_workspace", in.getInt());
+                putString(tarefa, "titulo", readString(in));
+                putString(tarefa, "status", readString(in));
+                putString(tarefa, "prioridade", readString(in));
+                putString(tarefa, "data_fim", readString(in));
+                putString(tarefa, "data_criacao", readString(in));
+                tarefa.putBoolean("concluida", in.get() != 0);
+                tarefas.pushMap(tarefa);
+            }
+
+            WritableMap result = new WritableNativeMap();
+            result.putDouble("createdAt", createdAt);
+            result.putArray("workspaces", workspaces);
+            result.putArray("tarefas", tarefas);
+            return result;
+        } catch (Exception e) {
+            Log.d(TAG, "Snapshot indisponível: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putString(WritableMap map, String key, String value) {
+        if (value == null) {
+            map.putNull(key);
+        } else {
+            map.putString(key, value);
+        }
+    }
+
+    // =====================================================
+    // 💾 ESCRITA (depois de cada sync)
+    // =====================================================
+
+    /**
+     * Agenda a regravação fora da thread do sync. Pedidos que chegam enquanto
+     * um já está na fila são absorvidos por ele.
+     */
+    public static void scheduleWrite(final Context context, final DatabaseHelper databaseHelper) {
+        if (!writePending.compareAndSet(false, true)) {
+            return;
+        }
+        writer.execute(() -> {
+            writePending.set(false);
+            try {
+                write(context, databaseHelper.getReadableDatabase());
+            } catch (Exception e) {
+                Log.e(TAG, "❌ Erro ao gravar snapshot: " + e.getMessage());
+            }
+        });
+    }
+
+    private static void write(Context context, SQLiteDatabase db) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        Set<Integer> workspaceIds = new HashSet<>();
+        Cursor cursor = db.query(DatabaseContract.WorkspaceEntry.TABLE_NAME,
+                new String[]{
+                        DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE,
+                        DatabaseContract.WorkspaceEntry.COLUMN_EQUIPE,
+                        DatabaseContract.WorkspaceEntry.COLUMN_NOME},
+                null, null, null, null, DatabaseContract.WorkspaceEntry.COLUMN_NOME);
+        try {
+            out.writeInt(cursor.getCount());
+            while (cursor.moveToNext()) {
+                workspaceIds.add(cursor.getInt(0));
+                out.writeInt(cursor.getInt(0));
+                out.writeByte(cursor.getInt(1) != 0 ? 1 : 0);
+                writeString(out, cursor.getString(2));
+            }
+        } finally {
+            cursor.close();
+        }
+
+        ByteArrayOutputStream taskBytes = new ByteArrayOutputStream();
+        DataOutputStream taskOut = new DataOutputStream(taskBytes);
+        int taskCount = 0;
+        for (int idWorkspace : workspaceIds) {
+            Set<Integer> written = new HashSet<>();
+            taskCount += writeTasks(db, taskOut, idWorkspace, written,
+                    "", "t." + DatabaseContract.TarefaEntry.COLUMN_DATA_CRIACAO + " DESC");
+            taskCount += writeTasks(db, taskOut, idWorkspace, written,
+                    " AND t." + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + " IS NOT NULL" +
+                    " AND date(t." + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + ") >= date('now', 'localtime')",
+                    "t." + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + " ASC");
+        }
+        out.writeInt(taskCount);
+        taskOut.flush();
+        taskBytes.writeTo(out);
+        out.flush();
+
+        byte[] payload = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(FORMAT_VERSION);
+        header.putLong(System.currentTimeMillis());
+        header.putInt(payload.length);
+        header.putLong(crc.getValue());
+
+        // Grava num temporário e troca por rename: o leitor nunca vê um arquivo pela metade
+        File target = file(context);
+        File tmp = new File(target.getPath() + ".tmp");
+        FileOutputStream fos = new FileOutputStream(tmp);
+        try {
+            fos.write(header.array());
+            fos.write(payload);
+            fos.getFD().sync();
+        } finally {
+            fos.close();
+        }
+        if (!tmp.renameTo(target)) {
+            throw new IOException("Falha ao substituir " + target.getName());
+        }
+        synchronized (BootSnapshot.class) {
+            mapped = null;
+        }
+        Log.i(TAG, "📸 Snapshot gravado: " + workspaceIds.size() + " workspaces, " + taskCount + " tarefas, " +
+                (HEADER_SIZE + payload.length) + " bytes");
+    }
+
+    private static int writeTasks(SQLiteDatabase db, DataOutputStream out, int idWorkspace, Set<Integer> written,
+                                  String filter, String orderBy) throws IOException {
+        Cursor cursor = db.rawQuery("SELECT t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_TITULO + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_STATUS + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_DATA_CRIACAO + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + " " +
+                "FROM " + DatabaseContract.TarefaEntry.TABLE_NAME + " t " +
+                "INNER JOIN " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + " tw ON tw." +
+                DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + " = t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " " +
+                "WHERE tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + " = ? " +
+                "AND t." + DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + " = 0 " +
+                "AND t." + DatabaseContract.TarefaEntry.COLUMN_STATUS + " != 'concluido'" + filter + " " +
+                "ORDER BY " + orderBy + " LIMIT " + TASKS_PER_QUERY,
+                new String[]{String.valueOf(idWorkspace)});
+        int count = 0;
+        try {
+            while (cursor.moveToNext()) {
+                int idTarefa = cursor.getInt(0);
+                if (!written.add(idTarefa)) {
+                    continue;
+                }
+                out.writeInt(idTarefa);
+                out.writeInt(idWorkspace);
+                writeString(out, cursor.getString(1));
+                writeString(out, cursor.getString(2));
+                writeString(out, cursor.getString(3));
+                writeString(out, cursor.isNull(4) ? null : cursor.getString(4));
+                writeString(out, cursor.isNull(5) ? null : cursor.getString(5));
+                out.writeByte(cursor.getInt(6) != 0 ? 1 : 0);
+                count++;
+            }
+        } finally {
+            cursor.close();
+        }
+        return count;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Remove o snapshot (logout / banco limpo)
+     */
+    public static synchronized void delete(Context context) {
+        mapped = null;
+        if (file(context).exists() && !file(context).delete()) {
+            Log.w(TAG, "⚠️ Não foi possível remover o snapshot");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.noiton2_frontend.sync;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converte os mapas simples do TaskStore em WritableMap/WritableArray para o bridge.
+ * Integer vira putInt (como os cursores faziam); Long e Double, putDouble.
+ */
+final class BridgeMaps {
+
+    private BridgeMaps() {}
+
+    static WritableMap toWritableMap(Map<String, ?> map) {
+        WritableMap result = new WritableNativeMap();
+        for (Map.Entry<String, ?> entry : map.entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            if (value == null) {
+                result.putNull(key);
+            } else if (value instanceof Integer) {
+                result.putInt(key, (Integer) value);
+            } else if (value instanceof Number) {
+                result.putDouble(key, ((Number) value).doubleValue());
+            } else if (value instanceof Boolean) {
+                result.putBoolean(key, (Boolean) value);
+            } else if (value instanceof Map) {
+                result.putMap(key, toWritableMap(asMap(value)));
+            } else if (value instanceof List) {
+                result.putArray(key, toWritableArray((List<?>) value));
+            } else {
+                result.putString(key, value.toString());
+            }
+        }
+        return result;
+    }
+
+    static WritableArray toWritableArray(List<?> list) {
+        WritableArray result = new WritableNativeArray();
+        for (Object value : list) {
+            if (value == null) {
+                result.pushNull();
+            } else if (value instanceof Integer) {
+                result.pushInt((Integer) value);
+            } else if (value instanceof Number) {
+                result.pushDouble(((Number) value).doubleValue());
+            } else if (value instanceof Boolean) {
+                result.pushBoolean((Boolean) value);
+            } else if (value instanceof Map) {
+                result.pushMap(toWritableMap(asMap(value)));
+            } else if (value instanceof List) {
+                result.pushArray(toWritableArray((List<?>) value));
+            } else {
+                result.pushString(value.toString());
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, ?> asMap(Object value) {
+        return (Map<String, ?>) value;
+    }
+
+    /**
+     * { success: true, data: [...] }, formato das consultas do executeDbOperation
+     */
+    static WritableMap success(List<?> data) {
+        WritableMap result = new WritableNativeMap();
+        result.putBoolean("success", true);
+        result.putArray("data", toWritableArray(data));
+        return result;
+    }
+}
@@ -0,0 +1,248 @@
+// android/app/src/main/java/com/noiton2_frontend/sync/DatabaseChangeNotifier.java
+package com.noiton2_frontend.sync;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Publica invalidações de tabelas para o React Native.
+ *
+ * Cada escrita confirmada (ou bloco de sincronização) entrega um {@link ChangeSet}
+ * com as tabelas e IDs afetados. As mudanças que chegam dentro do mesmo frame
+ * (~16ms) são agrupadas num único evento {@link #EVENT_DATABASE_CHANGED}.
+ */
+public class DatabaseChangeNotifier {
+    private static final String TAG = "DatabaseChangeNotifier";
+
+    public static final String EVENT_DATABASE_CHANGED = "DATABASE_CHANGED";
+    public static final String EVENT_NETWORK_CHANGED = "NETWORK_CHANGED";
+
+    // Janela de agrupamento: um frame a 60fps
+    private static final long FRAME_MS = 16;
+
+    private static DatabaseChangeNotifier instance;
+
+    /**
+     * Listener nativo (live queries, agendadores etc.), chamado na main thread
+     * depois de cada flush, com as mesmas mudanças enviadas ao JS.
+     */
+    public interface Listener {
+        void onTablesChanged(ChangeSet changes);
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Listener> listeners = new ArrayList<>();
+    private final Object lock = new Object();
+
+    private ReactApplicationContext reactContext;
+    private ChangeSet pending = new ChangeSet();
+    private boolean flushScheduled = false;
+
+    private final Runnable flushRunnable = this::flush;
+
+    private DatabaseChangeNotifier() {}
+
+    public static synchronized DatabaseChangeNotifier getInstance() {
+        if (instance == null) {
+            instance = new DatabaseChangeNotifier();
+        }
+        return instance;
+    }
+
+    public void attach(ReactApplicationContext context) {
+        synchronized (lock) {
+            this.reactContext = context;
+        }
+    }
+
+    public void detach(ReactApplicationContext context) {
+        synchronized (lock) {
+            if (this.reactContext == context) {
+                this.reactContext = null;
+            }
+        }
+    }
+
+    public void addListener(Listener listener) {
+        synchronized (lock) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        synchronized (lock) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Enfileira as mudanças de uma escrita já confirmada. Nunca chamar antes do commit.
+     */
+    public void publish(ChangeSet changes) {
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            pending.merge(changes);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                mainHandler.postDelayed(flushRunnable, FRAME_MS);
+            }
+        }
+    }
+
+    /**
+     * Notifica mudança de conectividade (substitui o antigo TODO de setOfflineMode).
+     */
+    public void publishNetworkState(boolean offline) {
+        WritableMap params = new WritableNativeMap();
+        params.putBoolean("offline", offline);
+        params.putBoolean("isOnline", !offline);
+        emit(EVENT_NETWORK_CHANGED, params);
+    }
+
+    private void flush() {
+        ChangeSet changes;
+        List<Listener> snapshot;
+        synchronized (lock) {
+            changes = pending;
+            pending = new ChangeSet();
+            flushScheduled = false;
+            snapshot = new ArrayList<>(listeners);
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        for (Listener listener : snapshot) {
+            try {
+                listener.onTablesChanged(changes);
+            } catch (Exception e) {
+                Log.e(TAG, "Erro em listener de mudanças: " + e.getMessage());
+            }
+        }
+
+        emit(EVENT_DATABASE_CHANGED, changes.toWritableMap());
+    }
+
+    void emit(String eventName, WritableMap params) {
+        ReactApplicationContext context;
+        synchronized (lock) {
+            context = reactContext;
+        }
+        if (context == null || !context.hasActiveCatalystInstance()) {
+            return;
+        }
+        try {
+            context.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                    .emit(eventName, params);
+        } catch (Exception e) {
+            Log.e(TAG, "Erro ao emitir " + eventName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Conjunto de tabelas/IDs alterados. Uma tabela marcada como "inteira"
+     * (ex.: sync completo) invalida todas as linhas e descarta os IDs individuais.
+     */
+    public static class ChangeSet {
+        private final Map<String, Set<Integer>> rows = new HashMap<>();
+        private final Set<String> wholeTables = new LinkedHashSet<>();
+
+        public ChangeSet row(String table, int id) {
+            if (!wholeTables.contains(table)) {
+                Set<Integer> ids = rows.get(table);
+                if (ids == null) {
+                    ids = new HashSet<>();
+                    rows.put(table, ids);
+                }
+                ids.add(id);
+            }
+            return this;
+        }
+
+        public ChangeSet table(String table) {
+            wholeTables.add(table);
+            rows.remove(table);
+            return this;
+        }
+
+        public void merge(ChangeSet other) {
+            for (String table : other.wholeTables) {
+                table(table);
+            }
+            for (Map.Entry<String, Set<Integer>> entry : other.rows.entrySet()) {
+                for (Integer id : entry.getValue()) {
+                    row(entry.getKey(), id);
+                }
+            }
+        }
+
+        public boolean isEmpty() {
+            return rows.isEmpty() && wholeTables.isEmpty();
+        }
+
+        public boolean touches(String table) {
+            return wholeTables.contains(table) || rows.containsKey(table);
+        }
+
+        public boolean isWholeTable(String table) {
+            return wholeTables.contains(table);
+        }
+
+        public Set<Integer> getIds(String table) {
+            Set<Integer> ids = rows.get(table);
+            return ids != null ? ids : new HashSet<Integer>();
+        }
+
+        public Set<String> getTables() {
+            Set<String> tables = new LinkedHashSet<>(wholeTables);
+            tables.addAll(rows.keySet());
+            return tables;
+        }
+
+        WritableMap toWritableMap() {
+            WritableMap map = new WritableNativeMap();
+
+            WritableArray tables = new WritableNativeArray();
+            for (String table : getTables()) {
+                tables.pushString(table);
+            }
+            map.putArray("tables", tables);
+
+            WritableArray full = new WritableNativeArray();
+            for (String table : wholeTables) {
+                full.pushString(table);
+            }
+            map.putArray("fullTables", full);
+
+            WritableMap ids = new WritableNativeMap();
+            for (Map.Entry<String, Set<Integer>> entry : rows.entrySet()) {
+                WritableArray tableIds = new WritableNativeArray();
+                for (Integer id : entry.getValue()) {
+                    tableIds.pushInt(id);
+                }
+                ids.putArray(entry.getKey(), tableIds);
+            }
+            map.putMap("ids", ids);
+
+            return map;
+        }
+    }
+}
@@ -0,0 +1,378 @@
+// android/app/src/main/java/com/noiton2_frontend/sync/LiveQueryManager.java
+package com.noiton2_frontend.sync;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import com.noiton2_frontend.database.DatabaseContract;
+import com.noiton2_frontend.database.DatabaseHelper;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consultas "vivas": o JS assina uma consulta parametrizada e recebe o resultado
+ * inicial e depois apenas os diffs (inserted / updated / removed) quando as
+ * linhas de origem mudam.
+ *
+ * Quando a mudança traz só IDs da tabela principal, apenas essas linhas são
+ * reconsultadas; mudanças em tabelas inteiras ou em tabelas de relação fazem
+ * a consulta completa e o diff contra o cache da assinatura.
+ */
+public class LiveQueryManager implements DatabaseChangeNotifier.Listener {
+    private static final String TAG = "LiveQueryManager";
+
+    public static final String EVENT_LIVE_QUERY_DIFF = "LIVE_QUERY_DIFF";
+
+    // Acima disso é mais barato refazer a consulta inteira (e respeita o limite de variáveis do SQLite)
+    private static final int MAX_INCREMENTAL_IDS = 500;
+
+    private final DatabaseHelper databaseHelper;
+    private final DatabaseChangeNotifier changeNotifier;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Map<Integer, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    public interface Callback {
+        void onResult(WritableMap result);
+    }
+
+    public LiveQueryManager(DatabaseHelper databaseHelper, DatabaseChangeNotifier changeNotifier) {
+        this.databaseHelper = databaseHelper;
+        this.changeNotifier = changeNotifier;
+        changeNotifier.addListener(this);
+    }
+
+    /**
+     * Cria a assinatura e devolve o resultado inicial (em background)
+     */
+    public void subscribe(String queryName, String paramsJson, Callback callback) {
+        executor.execute(() -> {
+            WritableMap result = new WritableNativeMap();
+            try {
+                JSONObject params = paramsJson != null && !paramsJson.isEmpty() ? new JSONObject(paramsJson) : new JSONObject();
+                QueryDefinition definition = QueryDefinition.create(queryName, params);
+
+                Subscription subscription = new Subscription(nextId.getAndIncrement(), definition);
+                Map<Integer, Object[]> rows = runQuery(definition, null);
+                subscription.rows = rows;
+                subscriptions.put(subscription.id, subscription);
+
+                WritableArray data = new WritableNativeArray();
+                for (Object[] row : rows.values()) {
+                    data.pushMap(toWritableRow(subscription.definition.columns, row));
+                }
+
+                result.putBoolean("success", true);
+                result.putInt("subscriptionId", subscription.id);
+                result.putArray("data", data);
+                Log.i(TAG, "Live query " + queryName + " #" + subscription.id + " com " + rows.size() + " linhas");
+
+            } catch (Exception e) {
+                Log.e(TAG, "Erro ao assinar live query " + queryName + ": " + e.getMessage());
+                result.putBoolean("success", false);
+                result.putString("error", e.getMessage());
+            }
+            callback.onResult(result);
+        });
+    }
+
+    public boolean unsubscribe(int subscriptionId) {
+        return subscriptions.remove(subscriptionId) != null;
+    }
+
+    public void shutdown() {
+        changeNotifier.removeListener(this);
+        subscriptions.clear();
+        executor.shutdown();
+    }
+
+    @Override
+    public void onTablesChanged(DatabaseChangeNotifier.ChangeSet changes) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        executor.execute(() -> {
+            for (Subscription subscription : subscriptions.values()) {
+                try {
+                    refresh(subscription, changes);
+                } catch (Exception e) {
+                    Log.e(TAG, "Erro ao recalcular live query #" + subscription.id + ": " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    // =====================================================
+    // 🔁 RECÁLCULO INCREMENTAL
+    // =====================================================
+
+    private void refresh(Subscription subscription, DatabaseChangeNotifier.ChangeSet changes) {
+        QueryDefinition definition = subscription.definition;
+        if (!definition.dependsOn(changes)) {
+            return;
+        }
+
+        WritableArray inserted = new WritableNativeArray();
+        WritableArray updated = new WritableNativeArray();
+        WritableArray removed = new WritableNativeArray();
+
+        Set<Integer> changedIds = changes.getIds(definition.keyTable);
+        boolean incremental = definition.onlyKeyRowsChanged(changes)
+                && changedIds.size() <= MAX_INCREMENTAL_IDS;
+
+        if (incremental) {
+            Map<Integer, Object[]> fresh = runQuery(definition, changedIds);
+            for (Integer id : changedIds) {
+                Object[] newRow = fresh.get(id);
+                Object[] oldRow = subscription.rows.get(id);
+                if (newRow != null && oldRow == null) {
+                    subscription.rows.put(id, newRow);
+                    inserted.pushMap(toWritableRow(subscription.definition.columns, newRow));
+                } else if (newRow != null && !Arrays.equals(newRow, oldRow)) {
+                    subscription.rows.put(id, newRow);
+                    updated.pushMap(toWritableRow(subscription.definition.columns, newRow));
+                } else if (newRow == null && oldRow != null) {
+                    subscription.rows.remove(id);
+                    removed.pushInt(id);
+                }
+            }
+        } else {
+            Map<Integer, Object[]> fresh = runQuery(definition, null);
+            for (Map.Entry<Integer, Object[]> entry : fresh.entrySet()) {
+                Object[] oldRow = subscription.rows.get(entry.getKey());
+                if (oldRow == null) {
+                    inserted.pushMap(toWritableRow(subscription.definition.columns, entry.getValue()));
+                } else if (!Arrays.equals(entry.getValue(), oldRow)) {
+                    updated.pushMap(toWritableRow(subscription.definition.columns, entry.getValue()));
+                }
+            }
+            for (Integer id : subscription.rows.keySet()) {
+                if (!fresh.containsKey(id)) {
+                    removed.pushInt(id);
+                }
+            }
+            subscription.rows = fresh;
+        }
+
+        if (inserted.size() == 0 && updated.size() == 0 && removed.size() == 0) {
+            return;
+        }
+
+        WritableMap diff = new WritableNativeMap();
+        diff.putInt("subscriptionId", subscription.id);
+        diff.putString("query", definition.name);
+        diff.putString("key", definition.keyColumn);
+        diff.putArray("inserted", inserted);
+        diff.putArray("updated", updated);
+        diff.putArray("removed", removed);
+        changeNotifier.emit(EVENT_LIVE_QUERY_DIFF, diff);
+    }
+
+    /**
+     * Executa a consulta; com onlyIds != null restringe às chaves informadas
+     */
+    private Map<Integer, Object[]> runQuery(QueryDefinition definition, Set<Integer> onlyIds) {
+        Map<Integer, Object[]> rows = new LinkedHashMap<>();
+        SQLiteDatabase db = databaseHelper.getReadableDatabase();
+
+        String sql = definition.sql;
+        List<String> args = new ArrayList<>(definition.args);
+        if (onlyIds != null) {
+            if (onlyIds.isEmpty()) {
+                return rows;
+            }
+            StringBuilder in = new StringBuilder(" AND ").append(definition.keyExpression).append(" IN (");
+            int i = 0;
+            for (Integer id : onlyIds) {
+                in.append(i++ == 0 ? "?" : ",?");
+                args.add(String.valueOf(id));
+            }
+            in.append(")");
+            sql = sql + in;
+        }
+        sql = sql + " ORDER BY " + definition.keyExpression;
+
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery(sql, args.toArray(new String[0]));
+            int columnCount = cursor.getColumnCount();
+            int keyIndex = cursor.getColumnIndexOrThrow(definition.keyColumn);
+            while (cursor.moveToNext()) {
+                Object[] row = new Object[columnCount];
+                for (int c = 0; c < columnCount; c++) {
+                    switch (cursor.getType(c)) {
+                        case Cursor.FIELD_TYPE_NULL:
+                            row[c] = null;
+                            break;
+                        case Cursor.FIELD_TYPE_INTEGER:
+                            row[c] = cursor.getLong(c);
+                            break;
+                        case Cursor.FIELD_TYPE_FLOAT:
+                            row[c] = cursor.getDouble(c);
+                            break;
+                        default:
+                            row[c] = cursor.getString(c);
+                            break;
+                    }
+                }
+                rows.put(cursor.getInt(keyIndex), row);
+            }
+            if (definition.columns == null) {
+                definition.columns = cursor.getColumnNames();
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return rows;
+    }
+
+    private static WritableMap toWritableRow(String[] columns, Object[] row) {
+        WritableMap map = new WritableNativeMap();
+        for (int c = 0; c < columns.length; c++) {
+            Object value = row[c];
+            if (value == null) {
+                map.putNull(columns[c]);
+            } else if (value instanceof Long) {
+                map.putDouble(columns[c], ((Long) value).doubleValue());
+            } else if (value instanceof Double) {
+                map.putDouble(columns[c], (Double) value);
+            } else {
+                map.putString(columns[c], value.toString());
+            }
+        }
+        return map;
+    }
+
+    // =====================================================
+    // 📋 CONSULTAS SUPORTADAS
+    // =====================================================
+
+    private static class Subscription {
+        final int id;
+        final QueryDefinition definition;
+        Map<Integer, Object[]> rows = new LinkedHashMap<>();
+
+        Subscription(int id, QueryDefinition definition) {
+            this.id = id;
+            this.definition = definition;
+        }
+    }
+
+    static class QueryDefinition {
+        final String name;
+        final String sql;
+        final List<String> args;
+        final String keyTable;
+        final String keyColumn;
+        final String keyExpression;
+        final List<String> tables;
+        // Preenchido na primeira execução (nomes das colunas do cursor)
+        String[] columns;
+
+        private QueryDefinition(String name, String sql, List<String> args, String keyTable,
+                                String keyColumn, String keyExpression, String... tables) {
+            this.name = name;
+            this.sql = sql;
+            this.args = args;
+            this.keyTable = keyTable;
+            this.keyColumn = keyColumn;
+            this.keyExpression = keyExpression;
+            this.tables = Arrays.asList(tables);
+        }
+
+        boolean dependsOn(DatabaseChangeNotifier.ChangeSet changes) {
+            for (String table : tables) {
+                if (changes.touches(table)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * true se só há IDs da tabela principal (nenhuma tabela inteira ou de relação)
+         */
+        boolean onlyKeyRowsChanged(DatabaseChangeNotifier.ChangeSet changes) {
+            for (String table : tables) {
+                if (table.equals(keyTable)) {
+                    if (changes.isWholeTable(table)) {
+                        return false;
+                    }
+                } else if (changes.touches(table)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static QueryDefinition create(String name, JSONObject params) throws JSONException {
+            List<String> args = new ArrayList<>();
+            switch (name) {
+                case "tarefas_by_workspace": {
+                    // Lê a projeção tarefas_lista (já com workspace e categorias)
+                    String sql = "SELECT * FROM " + DatabaseContract.TaskListEntry.TABLE_NAME +
+                            " WHERE " + DatabaseContract.TaskListEntry.COLUMN_ID_WORKSPACE + " = ?";
+                    args.add(String.valueOf(params.getInt("workspaceId")));
+                    if (params.has("status") && !params.isNull("status")) {
+                        sql += " AND " + DatabaseContract.TaskListEntry.COLUMN_STATUS + " = ?";
+                        args.add(params.getString("status"));
+                    }
+                    if (params.has("concluida") && !params.isNull("concluida")) {
+                        sql += " AND " + DatabaseContract.TaskListEntry.COLUMN_CONCLUIDA + " = ?";
+                        args.add(params.getBoolean("concluida") ? "1" : "0");
+                    }
+                    return new QueryDefinition(name, sql, args,
+                            DatabaseContract.TarefaEntry.TABLE_NAME,
+                            DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA,
+                            DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA,
+                            DatabaseContract.TarefaEntry.TABLE_NAME,
+                            DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME,
+                            DatabaseContract.TarefaCategoriaEntry.TABLE_NAME,
+                            DatabaseContract.CategoriaEntry.TABLE_NAME);
+                }
+                case "comentarios_by_tarefa": {
+                    String sql = "SELECT * FROM " + DatabaseContract.ComentarioEntry.TABLE_NAME +
+                            " WHERE " + DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + " = ?";
+                    args.add(String.valueOf(params.getInt("tarefaId")));
+                    return new QueryDefinition(name, sql, args,
+                            DatabaseContract.ComentarioEntry.TABLE_NAME,
+                            DatabaseContract.ComentarioEntry.COLUMN_ID_COMENTARIO,
+                            DatabaseContract.ComentarioEntry.COLUMN_ID_COMENTARIO,
+                            DatabaseContract.ComentarioEntry.TABLE_NAME);
+                }
+                case "categorias_by_workspace": {
+                    String sql = "SELECT * FROM " + DatabaseContract.CategoriaEntry.TABLE_NAME +
+                            " WHERE " + DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE + " = ?";
+                    args.add(String.valueOf(params.getInt("workspaceId")));
+                    return new QueryDefinition(name, sql, args,
+                            DatabaseContract.CategoriaEntry.TABLE_NAME,
+                            DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA,
+                            DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA,
+                            DatabaseContract.CategoriaEntry.TABLE_NAME);
+                }
+                default:
+                    throw new IllegalArgumentException("Live query não suportada: " + name);
+            }
+        }
+    }
+}
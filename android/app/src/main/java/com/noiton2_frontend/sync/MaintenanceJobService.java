@@ -0,0 +1,121 @@
+// android/app/src/main/java/com/noiton2_frontend/sync/MaintenanceJobService.java
+package com.noiton2_frontend.sync;
+
+import android.app.job.JobInfo;
+import android.app.job.JobParameters;
+import android.app.job.JobScheduler;
+import android.app.job.JobService;
+import android.content.ComponentName;
+import android.content.Context;
+import android.util.Log;
+
+import com.noiton2_frontend.database.AndroidSqlDriver;
+import com.noiton2_frontend.database.DatabaseContract;
+import com.noiton2_frontend.database.DatabaseHelper;
+import com.noiton2_frontend.database.TaskArchiver;
+import com.noiton2_frontend.storage.SqliteSyncStateStore;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Manutenção do banco em janelas ociosas (aparelho parado e carregando):
+ * arquiva tarefas concluídas antigas, compacta exclusões já confirmadas
+ * e roda o incremental_vacuum.
+ */
+public class MaintenanceJobService extends JobService {
+    private static final String TAG = "MaintenanceJobService";
+
+    private static final int JOB_ID = 4201;
+    private static final long PERIOD_MS = 24L * 60 * 60 * 1000;
+
+    // Job e pedidos do JS na mesma fila: nunca dois VACUUM/arquivamentos ao mesmo tempo
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "noiton-maintenance"));
+
+    private Future<?> worker;
+
+    /**
+     * Agenda o job diário, se ainda não estiver agendado (reagendar zeraria o período)
+     */
+    public static void schedule(Context context) {
+        JobScheduler scheduler = (JobScheduler) context.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        if (scheduler == null) {
+            return;
+        }
+        for (JobInfo pending : scheduler.getAllPendingJobs()) {
+            if (pending.getId() == JOB_ID) {
+                return;
+            }
+        }
+
+        JobInfo job = new JobInfo.Builder(JOB_ID, new ComponentName(context, MaintenanceJobService.class))
+                .setRequiresDeviceIdle(true)
+                .setRequiresCharging(true)
+                .setPeriodic(PERIOD_MS)
+                .build();
+        int result = scheduler.schedule(job);
+        Log.i(TAG, result == JobScheduler.RESULT_SUCCESS
+                ? "🗓️ Manutenção do banco agendada"
+                : "⚠️ Falha ao agendar manutenção do banco");
+    }
+
+    /**
+     * Roda a manutenção na fila de fundo (fora da thread dos módulos nativos)
+     */
+    public static Future<?> submit(Runnable task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * Arquiva e libera espaço. Usado pelo job e por SyncService.runDatabaseMaintenance.
+     * Retorna {archived, freedPages}.
+     */
+    public static int[] runMaintenance(Context context, DatabaseHelper databaseHelper) {
+        SqliteSyncStateStore syncState = new SqliteSyncStateStore(new AndroidSqlDriver(databaseHelper));
+        int ageDays = TaskArchiver.getArchiveAgeDays(context);
+        int archived = syncState.archiveAndCompact(ageDays, System.currentTimeMillis());
+
+        if (archived > 0) {
+            Log.i(TAG, "📦 " + archived + " tarefas concluídas arquivadas (mais de " + ageDays + " dias)");
+            DatabaseChangeNotifier.getInstance().publish(new DatabaseChangeNotifier.ChangeSet()
+                    .table(DatabaseContract.TarefaEntry.TABLE_NAME)
+                    .table(DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME)
+                    .table(DatabaseContract.TarefaCategoriaEntry.TABLE_NAME)
+                    .table(DatabaseContract.ComentarioEntry.TABLE_NAME)
+                    .table(DatabaseContract.AnexoEntry.TABLE_NAME));
+        }
+
+        // Fora da transação: VACUUM/incremental_vacuum não rodam dentro de uma
+        int freedPages = syncState.reclaimSpace();
+        Log.i(TAG, "🧹 " + freedPages + " páginas liberadas");
+        return new int[]{archived, freedPages};
+    }
+
+    @Override
+    public boolean onStartJob(JobParameters params) {
+        final Context context = getApplicationContext();
+        worker = submit(() -> {
+            boolean reschedule = false;
+            try {
+                int[] result = runMaintenance(context, DatabaseHelper.getInstance(context));
+                Log.i(TAG, "✅ Manutenção concluída: " + result[0] + " tarefas arquivadas, " + result[1] + " páginas liberadas");
+            } catch (Exception e) {
+                Log.e(TAG, "❌ Erro na manutenção do banco: " + e.getMessage());
+                reschedule = true;
+            }
+            jobFinished(params, reschedule);
+        });
+        return true;
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        // Saiu da janela ociosa: o trabalho é transacional, basta tentar de novo depois
+        if (worker != null) {
+            worker.cancel(true);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,170 @@
+// android/app/src/main/java/com/noiton2_frontend/sync/RecurrenceEngine.java
+package com.noiton2_frontend.sync;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import com.noiton2_frontend.database.DatabaseContract;
+import com.noiton2_frontend.database.DatabaseHelper;
+import com.noiton2_frontend.storage.Recurrence;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ocorrências das tarefas de um workspace numa janela de datas, para as telas
+ * de calendário.
+ *
+ * As regras (id, tipo, dia da criação) de cada workspace são lidas do SQLite
+ * uma vez e as expansões das últimas janelas ficam em cache; qualquer mudança
+ * em tarefas/tarefa_workspace descarta os dois caches.
+ */
+public class RecurrenceEngine implements DatabaseChangeNotifier.Listener {
+    private static final String TAG = "RecurrenceEngine";
+
+    // Mês atual, vizinhos e algumas janelas de agenda
+    private static final int MAX_CACHED_WINDOWS = 12;
+
+    // Dia local da criação em dias desde 1970-01-01. Datas com fuso (ISO do servidor)
+    // vão para a hora local, como o new Date() do JS; sem fuso, a data é usada como está.
+    private static final String ANCHOR_DAY_SQL =
+            "CAST(julianday(CASE WHEN t." + DatabaseContract.TarefaEntry.COLUMN_DATA_CRIACAO + " GLOB '*[Zz]' " +
+                    "OR t." + DatabaseContract.TarefaEntry.COLUMN_DATA_CRIACAO + " GLOB '*[+-][0-9][0-9]:[0-9][0-9]' " +
+                    "THEN date(t." + DatabaseContract.TarefaEntry.COLUMN_DATA_CRIACAO + ", 'localtime') " +
+                    "ELSE date(t." + DatabaseContract.TarefaEntry.COLUMN_DATA_CRIACAO + ") END) - 2440587.5 AS INTEGER)";
+
+    private static final String RULES_SQL =
+            "SELECT t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ", " +
+                    "t." + DatabaseContract.TarefaEntry.COLUMN_RECORRENTE + ", " +
+                    "t." + DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA + ", " +
+                    ANCHOR_DAY_SQL + " AS dia " +
+                    "FROM " + DatabaseContract.TarefaEntry.TABLE_NAME + " t " +
+                    "INNER JOIN " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + " tw " +
+                    "ON tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + " = t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " " +
+                    "WHERE tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + " = ? " +
+                    "AND t." + DatabaseContract.TarefaEntry.COLUMN_DATA_CRIACAO + " IS NOT NULL";
+
+    private final DatabaseHelper databaseHelper;
+    private final DatabaseChangeNotifier changeNotifier;
+
+    private final Object lock = new Object();
+    private final Map<Integer, Recurrence.Rules> rulesByWorkspace = new HashMap<>();
+    private final Map<String, Recurrence.Occurrences> windows =
+            new LinkedHashMap<String, Recurrence.Occurrences>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Recurrence.Occurrences> eldest) {
+                    return size() > MAX_CACHED_WINDOWS;
+                }
+            };
+    // Incrementada a cada invalidação: uma leitura que começou antes não entra no cache
+    private long generation;
+
+    public RecurrenceEngine(DatabaseHelper databaseHelper, DatabaseChangeNotifier changeNotifier) {
+        this.databaseHelper = databaseHelper;
+        this.changeNotifier = changeNotifier;
+        changeNotifier.addListener(this);
+    }
+
+    public void shutdown() {
+        changeNotifier.removeListener(this);
+        invalidate();
+    }
+
+    @Override
+    public void onTablesChanged(DatabaseChangeNotifier.ChangeSet changes) {
+        if (changes.touches(DatabaseContract.TarefaEntry.TABLE_NAME)
+                || changes.touches(DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME)) {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        synchronized (lock) {
+            generation++;
+            rulesByWorkspace.clear();
+            windows.clear();
+        }
+    }
+
+    /**
+     * { success, inicio, fim, tarefas: [id...], dias: [deslocamento desde inicio...], total, cache }
+     *
+     * tarefas[i] ocorre em inicio + dias[i]; pares ordenados por dia e depois por tarefa.
+     * total: tarefas do workspace no banco local (o JS compara com a lista que tem).
+     */
+    public WritableMap expand(int idWorkspace, String inicio, String fim) {
+        int fromDay = Recurrence.parseDay(inicio);
+        int toDay = Recurrence.parseDay(fim);
+        String key = idWorkspace + ":" + fromDay + ":" + toDay;
+
+        Recurrence.Occurrences occurrences;
+        Recurrence.Rules rules;
+        long startGeneration;
+        synchronized (lock) {
+            occurrences = windows.get(key);
+            rules = rulesByWorkspace.get(idWorkspace);
+            startGeneration = generation;
+        }
+        boolean cached = occurrences != null;
+
+        if (rules == null) {
+            rules = loadRules(idWorkspace);
+        }
+        if (occurrences == null) {
+            occurrences = rules.expand(fromDay, toDay);
+            synchronized (lock) {
+                if (generation == startGeneration) {
+                    rulesByWorkspace.put(idWorkspace, rules);
+                    windows.put(key, occurrences);
+                }
+            }
+            Log.d(TAG, "Workspace " + idWorkspace + ": " + rules.size() + " tarefas, " +
+                    occurrences.size() + " ocorrências em " + inicio + ".." + fim);
+        }
+
+        WritableArray tarefas = new WritableNativeArray();
+        WritableArray dias = new WritableNativeArray();
+        for (int i = 0; i < occurrences.size(); i++) {
+            tarefas.pushInt(occurrences.tarefaAt(i));
+            dias.pushInt(occurrences.offsetAt(i));
+        }
+
+        WritableMap result = new WritableNativeMap();
+        result.putBoolean("success", true);
+        result.putString("inicio", Recurrence.formatDay(fromDay));
+        result.putString("fim", Recurrence.formatDay(toDay));
+        result.putArray("tarefas", tarefas);
+        result.putArray("dias", dias);
+        result.putInt("total", rules.size());
+        result.putBoolean("cache", cached);
+        return result;
+    }
+
+    private Recurrence.Rules loadRules(int idWorkspace) {
+        SQLiteDatabase db = databaseHelper.getReadableDatabase();
+        Recurrence.Rules rules = new Recurrence.Rules();
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery(RULES_SQL, new String[]{String.valueOf(idWorkspace)});
+            while (cursor.moveToNext()) {
+                if (cursor.isNull(3)) {
+                    continue; // data_criacao em formato que o SQLite não entende
+                }
+                byte kind = Recurrence.kindOf(cursor.getInt(1) == 1, cursor.isNull(2) ? null : cursor.getString(2));
+                rules.add(cursor.getInt(0), kind, cursor.getInt(3));
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return rules;
+    }
+}
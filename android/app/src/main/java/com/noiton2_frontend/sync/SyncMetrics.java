@@ -0,0 +1,239 @@
+// android/app/src/main/java/com/noiton2_frontend/sync/SyncMetrics.java
+package com.noiton2_frontend.sync;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Telemetria do pipeline de sincronização.
+ *
+ * Cada execução (sync completo, delta de exclusões ou workspace) registra a duração de cada fase,
+ * linhas e tempo por tabela, bytes processados e o tempo de commit. As últimas
+ * execuções ficam num buffer circular limitado, lido por getSyncMetrics.
+ */
+public class SyncMetrics {
+
+    public static final String RUN_FULL = "full";
+    public static final String RUN_DELTA = "delta";
+    public static final String RUN_WORKSPACE = "workspace";
+
+    private static final int MAX_RUNS = 20;
+
+    private static SyncMetrics instance;
+
+    private final ArrayDeque<Run> runs = new ArrayDeque<>(MAX_RUNS);
+    private final Map<String, Integer> failureCounts = new HashMap<>();
+    private final Map<String, Integer> runCounts = new HashMap<>();
+
+    // Tempo de rede medido no JS (fetch), anexado à próxima execução
+    private double pendingNetworkMs = -1;
+    private long pendingNetworkBytes = 0;
+
+    private SyncMetrics() {}
+
+    public static synchronized SyncMetrics getInstance() {
+        if (instance == null) {
+            instance = new SyncMetrics();
+        }
+        return instance;
+    }
+
+    public synchronized Run begin(String type, long bytes) {
+        Run run = new Run(type, bytes);
+        if (pendingNetworkMs >= 0) {
+            run.phases.put("network", pendingNetworkMs);
+            run.networkBytes = pendingNetworkBytes;
+            pendingNetworkMs = -1;
+            pendingNetworkBytes = 0;
+        }
+        return run;
+    }
+
+    public synchronized void reportNetworkTiming(double durationMs, long bytes) {
+        pendingNetworkMs = durationMs;
+        pendingNetworkBytes = bytes;
+    }
+
+    private synchronized void record(Run run) {
+        if (runs.size() == MAX_RUNS) {
+            runs.removeFirst();
+        }
+        runs.addLast(run);
+        increment(runCounts, run.type);
+        if (!run.success) {
+            increment(failureCounts, run.type);
+        }
+    }
+
+    private static void increment(Map<String, Integer> counts, String key) {
+        Integer current = counts.get(key);
+        counts.put(key, current == null ? 1 : current + 1);
+    }
+
+    public synchronized WritableMap toWritableMap() {
+        WritableMap result = new WritableNativeMap();
+
+        WritableArray list = new WritableNativeArray();
+        // Mais recente primeiro
+        Iterator<Run> it = runs.descendingIterator();
+        while (it.hasNext()) {
+            list.pushMap(it.next().toWritableMap());
+        }
+        result.putArray("runs", list);
+
+        WritableMap failures = new WritableNativeMap();
+        for (Map.Entry<String, Integer> entry : failureCounts.entrySet()) {
+            failures.putInt(entry.getKey(), entry.getValue());
+        }
+        result.putMap("failures", failures);
+
+        WritableMap totals = new WritableNativeMap();
+        for (Map.Entry<String, Integer> entry : runCounts.entrySet()) {
+            totals.putInt(entry.getKey(), entry.getValue());
+        }
+        result.putMap("totalRuns", totals);
+        result.putInt("capacity", MAX_RUNS);
+        return result;
+    }
+
+    /**
+     * Tamanho em UTF-8 sem alocar o array de bytes
+     */
+    public static long utf8Length(String s) {
+        if (s == null) {
+            return 0;
+        }
+        long bytes = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Uma execução de sincronização. Não é thread-safe: pertence à thread que sincroniza.
+     */
+    public class Run {
+        final String type;
+        final long startedAt = System.currentTimeMillis();
+        final long startNanos = System.nanoTime();
+        final long bytes;
+        long networkBytes;
+        final Map<String, Double> phases = new LinkedHashMap<>();
+        final Map<String, int[]> tableRows = new LinkedHashMap<>();
+        final Map<String, Double> tableMs = new LinkedHashMap<>();
+        double commitMs = -1;
+        double totalMs;
+        boolean success;
+        String error;
+        private long phaseStart = System.nanoTime();
+        private boolean finished = false;
+
+        Run(String type, long bytes) {
+            this.type = type;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Fecha a fase iniciada no fim da anterior (ou no begin)
+         */
+        public void phase(String name) {
+            long now = System.nanoTime();
+            Double previous = phases.get(name);
+            double ms = (now - phaseStart) / 1_000_000.0;
+            phases.put(name, previous == null ? ms : previous + ms);
+            phaseStart = now;
+        }
+
+        /**
+         * Fecha a escrita de uma tabela iniciada no fim da fase anterior
+         */
+        public void table(String table, int rows) {
+            long now = System.nanoTime();
+            double ms = (now - phaseStart) / 1_000_000.0;
+            int[] count = tableRows.get(table);
+            if (count == null) {
+                tableRows.put(table, new int[]{rows});
+                tableMs.put(table, ms);
+            } else {
+                count[0] += rows;
+                tableMs.put(table, tableMs.get(table) + ms);
+            }
+            Double writes = phases.get("write");
+            phases.put("write", writes == null ? ms : writes + ms);
+            phaseStart = now;
+        }
+
+        public void commit() {
+            commitMs = (System.nanoTime() - phaseStart) / 1_000_000.0;
+            phases.put("commit", commitMs);
+            phaseStart = System.nanoTime();
+        }
+
+        public void finish(boolean success, String error) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            this.success = success;
+            this.error = error;
+            this.totalMs = (System.nanoTime() - startNanos) / 1_000_000.0;
+            record(this);
+        }
+
+        WritableMap toWritableMap() {
+            WritableMap map = new WritableNativeMap();
+            map.putString("type", type);
+            map.putDouble("startedAt", startedAt);
+            map.putDouble("totalMs", totalMs);
+            map.putDouble("bytes", bytes);
+            if (networkBytes > 0) {
+                map.putDouble("networkBytes", networkBytes);
+            }
+            map.putBoolean("success", success);
+            if (error != null) {
+                map.putString("error", error);
+            }
+            if (commitMs >= 0) {
+                map.putDouble("commitMs", commitMs);
+            }
+
+            WritableMap phaseMap = new WritableNativeMap();
+            for (Map.Entry<String, Double> entry : phases.entrySet()) {
+                phaseMap.putDouble(entry.getKey(), entry.getValue());
+            }
+            map.putMap("phases", phaseMap);
+
+            WritableMap tables = new WritableNativeMap();
+            for (Map.Entry<String, int[]> entry : tableRows.entrySet()) {
+                int rows = entry.getValue()[0];
+                double ms = tableMs.get(entry.getKey());
+                WritableMap table = new WritableNativeMap();
+                table.putInt("rows", rows);
+                table.putDouble("ms", ms);
+                table.putDouble("rowsPerSec", ms > 0 ? rows * 1000.0 / ms : 0);
+                tables.putMap(entry.getKey(), table);
+            }
+            map.putMap("tables", tables);
+            return map;
+        }
+    }
+}
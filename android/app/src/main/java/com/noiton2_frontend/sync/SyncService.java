@@ -1,10 +1,7 @@
 // android/app/src/main/java/com/noiton2_frontend/sync/SyncService.java
 package com.noiton2_frontend.sync;
 
-import android.content.ContentValues;
 import android.content.Context;
-import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
 import android.net.ConnectivityManager;
 import android.net.Network;
 import android.net.NetworkCapabilities;
@@ -15,33 +12,59 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.Promise;
-import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeArray;
 import com.facebook.react.bridge.WritableNativeMap;
 import com.facebook.react.module.annotations.ReactModule;
 
+import com.noiton2_frontend.StartupTrace;
+import com.noiton2_frontend.database.AndroidSqlDriver;
 import com.noiton2_frontend.database.DatabaseHelper;
 import com.noiton2_frontend.database.DatabaseContract;
+import com.noiton2_frontend.database.TaskArchiver;
+import com.noiton2_frontend.storage.SqliteSyncStateStore;
+import com.noiton2_frontend.storage.SqliteTaskStore;
+import com.noiton2_frontend.storage.SyncStateStore;
+import com.noiton2_frontend.storage.TaskStore;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.List;
+import java.util.Map;
+
 @ReactModule(name = SyncService.NAME)
 public class SyncService extends ReactContextBaseJavaModule {
     public static final String NAME = "SyncService";
     private static final String TAG = "SyncService";
-    
+
+    public static final String EVENT_WORKSPACE_SYNC_REQUIRED = "WORKSPACE_SYNC_REQUIRED";
+    private static final String SYNC_MODE_PARTIAL = "partial";
+
     private final ReactApplicationContext reactContext;
     private DatabaseHelper databaseHelper;
+    private final TaskStore store;
+    private final SyncStateStore syncState;
     private ConnectivityManager connectivityManager;
     private ConnectivityManager.NetworkCallback networkCallback;
+    private final DatabaseChangeNotifier changeNotifier;
+    private final LiveQueryManager liveQueryManager;
+    private final RecurrenceEngine recurrenceEngine;
+    private final SyncMetrics syncMetrics = SyncMetrics.getInstance();
 
     public SyncService(ReactApplicationContext reactContext) {
         super(reactContext);
         this.reactContext = reactContext;
-        this.databaseHelper = new DatabaseHelper(reactContext);
+        this.databaseHelper = DatabaseHelper.getInstance(reactContext);
+        // Mesmo driver: os passos do syncState rodam dentro das transações do store
+        AndroidSqlDriver driver = new AndroidSqlDriver(databaseHelper);
+        this.store = new SqliteTaskStore(driver);
+        this.syncState = new SqliteSyncStateStore(driver);
+        this.changeNotifier = DatabaseChangeNotifier.getInstance();
+        this.changeNotifier.attach(reactContext);
+        this.liveQueryManager = new LiveQueryManager(databaseHelper, changeNotifier);
+        this.recurrenceEngine = new RecurrenceEngine(databaseHelper, changeNotifier);
         this.connectivityManager = (ConnectivityManager) reactContext.getSystemService(Context.CONNECTIVITY_SERVICE);
         setupNetworkMonitoring();
     }
@@ -65,6 +88,7 @@ public class SyncService extends ReactContextBaseJavaModule {
                 @Override
                 public void onAvailable(Network network) {
                     Log.i(TAG, "Rede disponível - WiFi ou Dados móveis");
+                    setOfflineMode(false);
                     syncPendingChanges();
                 }
 
@@ -130,131 +154,267 @@ public class SyncService extends ReactContextBaseJavaModule {
         }
     }
 
+    // =====================================================
+    // 📣 EVENTOS (NativeEventEmitter)
+    // =====================================================
+
+    /**
+     * Necessário para o NativeEventEmitter do JS (DATABASE_CHANGED, NETWORK_CHANGED)
+     */
+    @ReactMethod
+    public void addListener(String eventName) {
+        // Eventos são emitidos pelo DatabaseChangeNotifier
+    }
+
+    @ReactMethod
+    public void removeListeners(double count) {
+        // Nada a liberar no lado nativo
+    }
+
+    // =====================================================
+    // 📡 LIVE QUERIES
+    // =====================================================
+
+    /**
+     * Assina uma consulta parametrizada (tarefas_by_workspace, comentarios_by_tarefa,
+     * categorias_by_workspace). Resolve com o resultado inicial; os diffs chegam
+     * pelo evento LIVE_QUERY_DIFF.
+     */
+    @ReactMethod
+    public void subscribeLiveQuery(String queryName, String paramsJson, Promise promise) {
+        liveQueryManager.subscribe(queryName, paramsJson, promise::resolve);
+    }
+
+    @ReactMethod
+    public void unsubscribeLiveQuery(int subscriptionId, Promise promise) {
+        WritableMap result = new WritableNativeMap();
+        result.putBoolean("success", liveQueryManager.unsubscribe(subscriptionId));
+        promise.resolve(result);
+    }
+
+    // =====================================================
+    // 🔁 RECORRÊNCIAS (CALENDÁRIO)
+    // =====================================================
+
+    /**
+     * Ocorrências das tarefas do workspace entre inicio e fim (YYYY-MM-DD, inclusivo):
+     * { tarefas: [id...], dias: [deslocamento desde inicio...] }
+     */
+    @ReactMethod
+    public void expandRecurrences(int workspaceId, String inicio, String fim, Promise promise) {
+        try {
+            promise.resolve(recurrenceEngine.expand(workspaceId, inicio, fim));
+        } catch (Exception e) {
+            Log.e(TAG, "Erro ao expandir recorrências: " + e.getMessage());
+            WritableMap errorResult = new WritableNativeMap();
+            errorResult.putBoolean("success", false);
+            errorResult.putString("error", e.getMessage());
+            promise.resolve(errorResult);
+        }
+    }
+
     // =====================================================
     // 🗃️ MÉTODOS DO BANCO DE DADOS
     // =====================================================
 
     /**
      * Salva dados completos da sincronização (ALINHADO COM SEU BACKEND)
+     *
+     * Com "sync_mode": "partial" o payload traz só os metadados (workspaces/categorias),
+     * gravados direto nas tabelas reais sem tocar no conteúdo offline; o conteúdo de
+     * cada workspace é baixado sob demanda via saveWorkspaceSyncData.
+     *
+     * Os dados são gravados em tabelas sombra e trocados pelas reais na mesma transação,
+     * então leitores enxergam o snapshot anterior até a troca e escritas feitas durante
+     * o sync esperam por ela.
      */
     @ReactMethod
     public void saveFullSyncData(String dataJson, Promise promise) {
-        SQLiteDatabase db = null;
+        DatabaseChangeNotifier.ChangeSet changes = null;
+        SyncMetrics.Run run = syncMetrics.begin(SyncMetrics.RUN_FULL, SyncMetrics.utf8Length(dataJson));
+        boolean success = false;
+        String error = null;
         try {
-            db = databaseHelper.getWritableDatabase();
-            db.beginTransaction();
-
+            // Parse fora da transação para não segurar o lock de escrita
             JSONObject data = new JSONObject(dataJson);
-            
-            // Limpar dados antigos
-            clearAllData(db);
-
-            // 🟢 SALVAR WORKSPACES (do seu backend)
-            if (data.has("workspaces")) {
-                JSONArray workspaces = data.getJSONArray("workspaces");
-                Log.i(TAG, "Salvando " + workspaces.length() + " workspaces");
-                for (int i = 0; i < workspaces.length(); i++) {
-                    saveWorkspace(db, workspaces.getJSONObject(i));
-                }
+            boolean partial = SYNC_MODE_PARTIAL.equals(data.optString("sync_mode", "full"));
+            run.phase("parse");
+
+            if (partial) {
+                ingestMetadata(data, run);
+                changes = new DatabaseChangeNotifier.ChangeSet()
+                        .table(DatabaseContract.WorkspaceEntry.TABLE_NAME)
+                        .table(DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME)
+                        .table(DatabaseContract.CategoriaEntry.TABLE_NAME)
+                        .table(DatabaseContract.TarefaEntry.TABLE_NAME);
+            } else {
+                ingestFullSync(data, run);
+                changes = allTablesChanged();
             }
+            success = true;
+            
+            WritableMap result = new WritableNativeMap();
+            result.putBoolean("success", true);
+            result.putString("message", partial ? "Metadados sincronizados com sucesso" : "Dados sincronizados com sucesso");
+            
+            promise.resolve(result);
+            Log.i(TAG, partial ? "✅ Metadados do sync parcial salvos no SQLite" : "✅ Dados de sync salvos no SQLite - Alinhado com backend");
+            BootSnapshot.scheduleWrite(reactContext, databaseHelper);
 
-            // 🟢 CRIAR ASSOCIAÇÕES USUÁRIO-WORKSPACE
-            // Quando sincronizamos, todos os workspaces retornados são do usuário logado
-            if (data.has("workspaces") && data.has("user_email")) {
-                String userEmail = data.getString("user_email");
-                JSONArray workspaces = data.getJSONArray("workspaces");
-                Log.i(TAG, "Criando " + workspaces.length() + " associações usuário-workspace para " + userEmail);
-                for (int i = 0; i < workspaces.length(); i++) {
-                    JSONObject workspace = workspaces.getJSONObject(i);
-                    saveUsuarioWorkspace(db, userEmail, workspace.getInt("id_workspace"));
-                }
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Erro ao salvar dados sync: " + e.getMessage());
+            error = e.getMessage();
+            promise.reject("SAVE_SYNC_ERROR", e.getMessage());
+        } finally {
+            run.finish(success, error);
+            // Só notifica depois do commit
+            changeNotifier.publish(changes);
+        }
+    }
+
+    /**
+     * Sync parcial: só metadados nas tabelas reais; tarefas, comentários e anexos locais continuam valendo
+     */
+    private void ingestMetadata(JSONObject data, SyncMetrics.Run run) throws JSONException {
+        store.ingestMetadata(data, new MetricsListener(run) {
+            @Override
+            public void onRowsWritten(String suffix) throws JSONException {
+                recordRemoteDeletions(data.optJSONArray("exclusoes"));
+                syncState.applyDeletions(suffix);
+                run.phase("tombstones");
             }
 
-            // 🟢 SALVAR CATEGORIAS (do seu backend)
-            if (data.has("categorias")) {
-                JSONArray categorias = data.getJSONArray("categorias");
-                Log.i(TAG, "Salvando " + categorias.length() + " categorias");
-                for (int i = 0; i < categorias.length(); i++) {
-                    saveCategoria(db, categorias.getJSONObject(i));
-                }
+            @Override
+            public void beforeCommit() {
+                // 🕒 Conteúdo local pode estar velho: cada workspace é atualizado ao abrir
+                syncState.clearWorkspaceFreshness();
+                run.phase("metadata");
             }
+        });
+    }
 
-            // 🟢 SALVAR TAREFAS (do seu backend)
-            if (data.has("tarefas")) {
-                JSONArray tarefas = data.getJSONArray("tarefas");
-                Log.i(TAG, "📋 Iniciando sincronização de " + tarefas.length() + " tarefas");
-                
-                for (int i = 0; i < tarefas.length(); i++) {
-                    JSONObject tarefa = tarefas.getJSONObject(i);
-                    
-                    int idTarefa = tarefa.getInt("id_tarefa");
-                    String titulo = tarefa.getString("titulo");
-                    
-                    Log.i(TAG, "📋 [" + (i+1) + "/" + tarefas.length() + "] Copiando tarefa ID " + idTarefa + ": " + titulo);
-                    Log.i(TAG, "📋 Dados completos: " + tarefa.toString());
-                    
-                    // Salvar tarefa principal
-                    saveTarefa(db, tarefa);
-                    Log.i(TAG, "✅ Tarefa ID " + idTarefa + " salva no SQLite");
-                    
-                    // Criar associação tarefa-workspace se tiver id_workspace
-                    if (tarefa.has("id_workspace")) {
-                        int idWorkspace = tarefa.getInt("id_workspace");
-                        saveTarefaWorkspace(db, idTarefa, idWorkspace);
-                        Log.i(TAG, "🔗 Associação tarefa-workspace criada: tarefa " + idTarefa + " -> workspace " + idWorkspace);
-                    }
-                    
-                    // Criar associações tarefa-categoria se tiver categorias
-                    if (tarefa.has("categorias") && !tarefa.isNull("categorias")) {
-                        JSONArray categorias = tarefa.getJSONArray("categorias");
-                        Log.i(TAG, "🏷️ Associando " + categorias.length() + " categorias à tarefa " + idTarefa);
-                        for (int j = 0; j < categorias.length(); j++) {
-                            int idCategoria = categorias.getInt(j);
-                            saveTarefaCategoria(db, idTarefa, idCategoria);
-                            Log.i(TAG, "🏷️ Categoria " + idCategoria + " associada à tarefa " + idTarefa);
-                        }
-                    } else {
-                        Log.i(TAG, "ℹ️ Tarefa " + idTarefa + " sem categorias associadas");
+    /**
+     * Sync completo: ingestão nas tabelas sombra e troca atômica ficam no TaskStore;
+     * aqui só os passos que dependem das tabelas do app
+     */
+    private void ingestFullSync(JSONObject data, SyncMetrics.Run run) throws JSONException {
+        store.ingestFullSync(data, new MetricsListener(run) {
+            @Override
+            public void onRowsWritten(String suffix) throws JSONException {
+                // 🪦 EXCLUSÕES: as do servidor entram confirmadas; as locais ainda não enviadas
+                // também são reaplicadas, para o payload não ressuscitar o que foi excluído aqui
+                recordRemoteDeletions(data.optJSONArray("exclusoes"));
+                syncState.applyDeletions(suffix);
+                syncState.applyPendingEdits(suffix);
+                run.phase("tombstones");
+
+                // 📦 Concluídas antigas vão direto para o arquivo frio (não voltam às tabelas quentes)
+                int ageDays = TaskArchiver.getArchiveAgeDays(reactContext);
+                int archived = syncState.archive(suffix, ageDays, System.currentTimeMillis());
+                if (archived > 0) {
+                    Log.i(TAG, "📦 " + archived + " tarefas concluídas arquivadas (mais de " + ageDays + " dias)");
+                }
+                run.phase("archive");
+            }
+
+            @Override
+            public void beforeCommit() throws JSONException {
+                // 🕒 FRESCOR POR WORKSPACE: sync completo deixa todos frescos
+                syncState.clearWorkspaceFreshness();
+                if (data.has("workspaces")) {
+                    JSONArray workspaces = data.getJSONArray("workspaces");
+                    long now = System.currentTimeMillis();
+                    for (int i = 0; i < workspaces.length(); i++) {
+                        syncState.markWorkspaceFresh(workspaces.getJSONObject(i).getInt("id_workspace"), now);
                     }
                 }
-                
-                Log.i(TAG, "✅ Sincronização de tarefas concluída: " + tarefas.length() + " tarefas processadas");
+                run.phase("metadata");
             }
+        });
+    }
 
-            // 🟢 SALVAR COMENTÁRIOS (do seu backend)
-            if (data.has("comentarios")) {
-                JSONArray comentarios = data.getJSONArray("comentarios");
-                Log.i(TAG, "Salvando " + comentarios.length() + " comentarios");
-                for (int i = 0; i < comentarios.length(); i++) {
-                    saveComentario(db, comentarios.getJSONObject(i));
+    /**
+     * Snapshot da tela inicial lido por mmap, sem abrir o SQLite. Síncrono de propósito:
+     * o JS consegue montar a primeira tela no mesmo frame. null se não houver snapshot.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public WritableMap getBootSnapshot() {
+        return BootSnapshot.read(reactContext);
+    }
+
+    /**
+     * Salva o conteúdo de um workspace (sync parcial sob demanda).
+     * Aceita um array de tarefas (/tarefas/workspace/:id) ou um objeto com
+     * tarefas, categorias, comentarios, anexos e exclusoes. Substitui as tarefas
+     * locais do workspace e marca o frescor em sync_metadata.
+     */
+    @ReactMethod
+    public void saveWorkspaceSyncData(int workspaceId, String dataJson, Promise promise) {
+        DatabaseChangeNotifier.ChangeSet changes = null;
+        SyncMetrics.Run run = syncMetrics.begin(SyncMetrics.RUN_WORKSPACE, SyncMetrics.utf8Length(dataJson));
+        boolean success = false;
+        String error = null;
+        try {
+            String trimmed = dataJson.trim();
+            JSONObject data = trimmed.startsWith("[")
+                    ? new JSONObject().put("tarefas", new JSONArray(trimmed))
+                    : new JSONObject(trimmed);
+            run.phase("parse");
+
+            DatabaseChangeNotifier.ChangeSet workspaceChanges = new DatabaseChangeNotifier.ChangeSet()
+                    .table(DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME)
+                    .table(DatabaseContract.TarefaCategoriaEntry.TABLE_NAME);
+
+            List<Integer> tarefaIds = store.ingestWorkspace(workspaceId, data, new MetricsListener(run) {
+                @Override
+                public void onRowsWritten(String suffix) throws JSONException {
+                    // 🪦 Exclusões do servidor e locais pendentes valem também para o conteúdo recém-baixado
+                    workspaceChanges.merge(recordRemoteDeletions(data.optJSONArray("exclusoes")));
+                    syncState.applyDeletions(suffix);
+                    syncState.applyPendingEdits(suffix);
+                    run.phase("tombstones");
                 }
-            }
 
-            // 🟢 SALVAR ANEXOS (do seu backend)
-            if (data.has("anexos")) {
-                JSONArray anexos = data.getJSONArray("anexos");
-                Log.i(TAG, "Salvando " + anexos.length() + " anexos");
-                for (int i = 0; i < anexos.length(); i++) {
-                    saveAnexo(db, anexos.getJSONObject(i));
+                @Override
+                public void beforeCommit() {
+                    syncState.markWorkspaceFresh(workspaceId, System.currentTimeMillis());
+                    run.phase("metadata");
                 }
+            });
+
+            // Tarefas removidas do workspace e as recém-gravadas
+            for (int idTarefa : tarefaIds) {
+                workspaceChanges.row(DatabaseContract.TarefaEntry.TABLE_NAME, idTarefa);
             }
+            if (data.has("categorias")) {
+                workspaceChanges.table(DatabaseContract.CategoriaEntry.TABLE_NAME);
+            }
+            if (data.has("comentarios")) {
+                workspaceChanges.table(DatabaseContract.ComentarioEntry.TABLE_NAME);
+            }
+            if (data.has("anexos")) {
+                workspaceChanges.table(DatabaseContract.AnexoEntry.TABLE_NAME);
+            }
+            changes = workspaceChanges;
+            success = true;
 
-            db.setTransactionSuccessful();
-            
+            JSONArray tarefas = data.optJSONArray("tarefas");
             WritableMap result = new WritableNativeMap();
             result.putBoolean("success", true);
-            result.putString("message", "Dados sincronizados com sucesso");
-            
+            result.putInt("workspaceId", workspaceId);
+            result.putInt("tarefas", tarefas != null ? tarefas.length() : 0);
             promise.resolve(result);
-            Log.i(TAG, "✅ Dados de sync salvos no SQLite - Alinhado com backend");
+            Log.i(TAG, "✅ Workspace " + workspaceId + " sincronizado sob demanda");
+            BootSnapshot.scheduleWrite(reactContext, databaseHelper);
 
         } catch (Exception e) {
-            Log.e(TAG, "❌ Erro ao salvar dados sync: " + e.getMessage());
-            promise.reject("SAVE_SYNC_ERROR", e.getMessage());
+            Log.e(TAG, "❌ Erro ao salvar workspace " + workspaceId + ": " + e.getMessage());
+            error = e.getMessage();
+            changes = null;
+            promise.reject("SAVE_WORKSPACE_SYNC_ERROR", e.getMessage());
         } finally {
-            if (db != null) {
-                db.endTransaction();
-            }
+            run.finish(success, error);
+            changeNotifier.publish(changes);
         }
     }
 
@@ -264,65 +424,109 @@ public class SyncService extends ReactContextBaseJavaModule {
     @ReactMethod
     public void executeDbOperation(String operation, String dataJson, Promise promise) {
         try {
-            SQLiteDatabase db = databaseHelper.getWritableDatabase();
             JSONObject data = dataJson != null && !dataJson.isEmpty() ? new JSONObject(dataJson) : new JSONObject();
             WritableMap result = new WritableNativeMap();
 
             switch (operation) {
                 case "get_workspaces_by_user":
-                    result = getWorkspacesByUser(db, data.getString("email"));
+                    result = BridgeMaps.success(store.getWorkspacesByUser(data.getString("email")));
                     break;
                     
                 case "get_tarefas_by_workspace":
-                    result = getTarefasByWorkspace(db, data.getInt("workspaceId"));
+                    result = BridgeMaps.success(store.getTarefasByWorkspace(data.getInt("workspaceId")));
+                    checkWorkspaceFreshness(result, data.getInt("workspaceId"), data.optLong("maxAgeMs", 0));
                     break;
                     
                 case "get_tarefas_by_user":
-                    result = getTarefasByUser(db, data.getInt("userId"));
+                    result = BridgeMaps.success(store.getTarefasByUser(data.getInt("userId")));
                     break;
                     
                 case "get_tarefa_by_id":
-                    result = getTarefaById(db, data.getInt("id"));
+                    result = getTarefaById(data.getInt("id"));
                     break;
                     
                 case "get_categorias_by_workspace":
-                    result = getCategoriasByWorkspace(db, data.getInt("workspaceId"));
+                    result = BridgeMaps.success(store.getCategoriasByWorkspace(data.getInt("workspaceId")));
                     break;
                     
                 case "get_comentarios_by_tarefa":
-                    result = getComentariosByTarefa(db, data.getInt("tarefaId"));
+                    result = BridgeMaps.success(store.getComentariosByTarefa(data.getInt("tarefaId")));
                     break;
                     
                 case "get_anexos_by_tarefa":
-                    result = getAnexosByTarefa(db, data.getInt("tarefaId"));
+                    result = BridgeMaps.success(store.getAnexosByTarefa(data.getInt("tarefaId")));
                     break;
                     
                 case "save_tarefa":
-                    result = saveTarefaOperation(db, data);
+                    result = saveTarefaOperation(data);
                     break;
                     
                 case "update_tarefa":
-                    result = updateTarefaOperation(db, data);
+                    result = updateTarefaOperation(data);
                     break;
                     
                 case "save_comentario":
-                    result = saveComentarioOperation(db, data);
+                    result = saveComentarioOperation(data);
                     break;
                     
                 case "get_all_user_data":
-                    result = getAllUserData(db, data.getString("email"));
+                    result = getAllUserData(data.getString("email"));
                     break;
                     
                 case "get_database_stats":
-                    result = getDatabaseStatsOperation(db);
+                    result = getDatabaseStatsOperation();
                     break;
                     
                 case "list_all_tarefas":
-                    result = listAllTarefas(db);
+                    result = listAllTarefas();
                     break;
                     
                 case "save_usuario":
-                    result = saveUsuarioOperation(db, data);
+                    result = saveUsuarioOperation();
+                    break;
+
+                case "delete_tarefa":
+                    result = deleteOperation(DatabaseContract.TarefaEntry.TABLE_NAME, data.getInt("id"));
+                    break;
+
+                case "delete_comentario":
+                    result = deleteOperation(DatabaseContract.ComentarioEntry.TABLE_NAME, data.getInt("id"));
+                    break;
+
+                case "delete_categoria":
+                    result = deleteOperation(DatabaseContract.CategoriaEntry.TABLE_NAME, data.getInt("id"));
+                    break;
+
+                case "delete_anexo":
+                    result = deleteOperation(DatabaseContract.AnexoEntry.TABLE_NAME, data.getInt("id"));
+                    break;
+
+                case "get_pending_tombstones":
+                    result = BridgeMaps.success(syncState.getPendingTombstones(data.optInt("limit", 500)));
+                    break;
+
+                case "ack_tombstones":
+                    result = ackTombstonesOperation(data.getJSONArray("exclusoes"));
+                    break;
+
+                case "get_pending_edits":
+                    result = BridgeMaps.success(syncState.getPendingEdits(data.optInt("limit", 500)));
+                    break;
+
+                case "ack_pending_edits":
+                    result = ackPendingEditsOperation(data.getJSONArray("alteracoes"));
+                    break;
+
+                case "apply_remote_deletions":
+                    result = applyRemoteDeletionsOperation(data.getJSONArray("exclusoes"), SyncMetrics.utf8Length(dataJson));
+                    break;
+
+                case "get_archived_tarefas_by_workspace":
+                    result = BridgeMaps.success(syncState.getArchivedTarefasByWorkspace(data.getInt("workspaceId")));
+                    break;
+
+                case "get_archived_comentarios_by_tarefa":
+                    result = BridgeMaps.success(syncState.getArchivedComentariosByTarefa(data.getInt("tarefaId")));
                     break;
                     
                 default:
@@ -349,7 +553,9 @@ public class SyncService extends ReactContextBaseJavaModule {
     public void clearLocalDatabase(Promise promise) {
         try {
             databaseHelper.clearDatabase();
+            BootSnapshot.delete(reactContext);
             Log.i(TAG, "Banco local limpo com sucesso");
+            changeNotifier.publish(allTablesChanged());
             
             WritableMap result = new WritableNativeMap();
             result.putBoolean("success", true);
@@ -362,6 +568,74 @@ public class SyncService extends ReactContextBaseJavaModule {
         }
     }
 
+    /**
+     * Arquiva tarefas concluídas antigas e roda o incremental_vacuum agora
+     * (o MaintenanceJobService faz o mesmo nas janelas ociosas). Roda na fila de
+     * manutenção e resolve de lá: o arquivamento e o VACUUM podem levar segundos.
+     */
+    @ReactMethod
+    public void runDatabaseMaintenance(Promise promise) {
+        MaintenanceJobService.submit(() -> {
+            try {
+                int[] stats = MaintenanceJobService.runMaintenance(reactContext, databaseHelper);
+                WritableMap result = new WritableNativeMap();
+                result.putBoolean("success", true);
+                result.putInt("archived", stats[0]);
+                result.putInt("freedPages", stats[1]);
+                promise.resolve(result);
+            } catch (Exception e) {
+                Log.e(TAG, "❌ Erro na manutenção do banco: " + e.getMessage());
+                promise.reject("MAINTENANCE_ERROR", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Idade (em dias) a partir da qual tarefas concluídas vão para o arquivo; 0 desliga
+     */
+    @ReactMethod
+    public void setArchiveAgeDays(int days) {
+        TaskArchiver.setArchiveAgeDays(reactContext, days);
+    }
+
+    /**
+     * Últimas execuções de sync (buffer circular) com tempos por fase e por tabela
+     */
+    @ReactMethod
+    public void getSyncMetrics(Promise promise) {
+        try {
+            WritableMap metrics = syncMetrics.toWritableMap();
+            metrics.putBoolean("success", true);
+            promise.resolve(metrics);
+        } catch (Exception e) {
+            Log.e(TAG, "Erro ao buscar métricas de sync: " + e.getMessage());
+            promise.reject("SYNC_METRICS_ERROR", e.getMessage());
+        }
+    }
+
+    /**
+     * Tempo de rede medido no JS (download do payload), anexado à próxima execução de sync
+     */
+    @ReactMethod
+    public void reportSyncNetworkTiming(double durationMs, double bytes) {
+        syncMetrics.reportNetworkTiming(durationMs, (long) bytes);
+    }
+
+    /**
+     * Spans do cold start (onCreate, SoLoader, módulos, abertura do banco) e histórico por versão
+     */
+    @ReactMethod
+    public void getStartupReport(Promise promise) {
+        try {
+            WritableMap report = StartupTrace.report(reactContext);
+            report.putBoolean("success", true);
+            promise.resolve(report);
+        } catch (Exception e) {
+            Log.e(TAG, "Erro ao montar relatório de inicialização: " + e.getMessage());
+            promise.reject("STARTUP_REPORT_ERROR", e.getMessage());
+        }
+    }
+
     /**
      * Retorna informações do banco local
      */
@@ -383,732 +657,281 @@ public class SyncService extends ReactContextBaseJavaModule {
     // 🔧 MÉTODOS PRIVADOS - OPERAÇÕES DE BANCO
     // =====================================================
 
-    private void clearAllData(SQLiteDatabase db) {
-        db.delete(DatabaseContract.ComentarioEntry.TABLE_NAME, null, null);
-        db.delete(DatabaseContract.AnexoEntry.TABLE_NAME, null, null);
-        db.delete(DatabaseContract.TarefaCategoriaEntry.TABLE_NAME, null, null);
-        db.delete(DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME, null, null);
-        db.delete(DatabaseContract.TarefaEntry.TABLE_NAME, null, null);
-        db.delete(DatabaseContract.CategoriaEntry.TABLE_NAME, null, null);
-        db.delete(DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME, null, null);
-        db.delete(DatabaseContract.WorkspaceEntry.TABLE_NAME, null, null);
-        db.delete(DatabaseContract.UsuarioEntry.TABLE_NAME, null, null);
-    }
-
-    // 🟢 SALVAR WORKSPACE
-    private void saveWorkspace(SQLiteDatabase db, JSONObject workspace) throws JSONException {
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE, workspace.getInt("id_workspace"));
-        values.put(DatabaseContract.WorkspaceEntry.COLUMN_NOME, workspace.getString("nome"));
-        values.put(DatabaseContract.WorkspaceEntry.COLUMN_EQUIPE, workspace.getBoolean("equipe") ? 1 : 0);
-        values.put(DatabaseContract.WorkspaceEntry.COLUMN_CRIADOR, workspace.getString("criador"));
-        
-        db.insertWithOnConflict(DatabaseContract.WorkspaceEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
-    }
-
-    // 🟢 SALVAR CATEGORIA
-    private void saveCategoria(SQLiteDatabase db, JSONObject categoria) throws JSONException {
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA, categoria.getInt("id_categoria"));
-        values.put(DatabaseContract.CategoriaEntry.COLUMN_NOME, categoria.getString("nome"));
-        values.put(DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE, categoria.getInt("id_workspace"));
-        
-        db.insertWithOnConflict(DatabaseContract.CategoriaEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
-    }
-
-    // 🟢 SALVAR TAREFA
-    private void saveTarefa(SQLiteDatabase db, JSONObject tarefa) throws JSONException {
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA, tarefa.getInt("id_tarefa"));
-        values.put(DatabaseContract.TarefaEntry.COLUMN_TITULO, tarefa.getString("titulo"));
-        values.put(DatabaseContract.TarefaEntry.COLUMN_DESCRICAO, tarefa.optString("descricao"));
-        values.put(DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO, tarefa.getInt("id_usuario"));
-        
-        // Campos opcionais
-        if (tarefa.has("data_fim") && !tarefa.isNull("data_fim")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_DATA_FIM, tarefa.getString("data_fim"));
-        }
-        if (tarefa.has("prioridade") && !tarefa.isNull("prioridade")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE, tarefa.getString("prioridade"));
-        }
-        if (tarefa.has("status") && !tarefa.isNull("status")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_STATUS, tarefa.getString("status"));
-        }
-        if (tarefa.has("concluida")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA, tarefa.getBoolean("concluida") ? 1 : 0);
-        }
-        if (tarefa.has("recorrente")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_RECORRENTE, tarefa.getBoolean("recorrente") ? 1 : 0);
-        }
-        if (tarefa.has("recorrencia") && !tarefa.isNull("recorrencia")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA, tarefa.getString("recorrencia"));
-        }
-
-        db.insertWithOnConflict(DatabaseContract.TarefaEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
-    }
-
-    // 🟢 ATUALIZAR TAREFA POR ID
-    private void updateTarefa(SQLiteDatabase db, JSONObject data) throws JSONException {
-        int id = data.getInt("id");
-        ContentValues values = new ContentValues();
-        
-        // Atualizar apenas os campos fornecidos
-        if (data.has("titulo") && !data.isNull("titulo")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_TITULO, data.getString("titulo"));
-        }
-        if (data.has("descricao")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_DESCRICAO, data.optString("descricao"));
-        }
-        if (data.has("data_fim")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_DATA_FIM, data.optString("data_fim"));
-        }
-        if (data.has("prioridade")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE, data.optString("prioridade"));
-        }
-        if (data.has("status")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_STATUS, data.optString("status"));
-        }
-        if (data.has("concluida")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA, data.getBoolean("concluida") ? 1 : 0);
-        }
-        if (data.has("recorrente")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_RECORRENTE, data.getBoolean("recorrente") ? 1 : 0);
-        }
-        if (data.has("recorrencia")) {
-            values.put(DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA, data.optString("recorrencia"));
-        }
-
-        String whereClause = DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = ?";
-        String[] whereArgs = {String.valueOf(id)};
-        
-        int rowsAffected = db.update(DatabaseContract.TarefaEntry.TABLE_NAME, values, whereClause, whereArgs);
-        
-        if (rowsAffected == 0) {
-            throw new RuntimeException("Tarefa não encontrada para atualizar: ID " + id);
-        }
-    }
-
-    // 🟢 SALVAR COMENTÁRIO
-    private void saveComentario(SQLiteDatabase db, JSONObject comentario) throws JSONException {
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.ComentarioEntry.COLUMN_ID_COMENTARIO, comentario.getInt("id_comentario"));
-        values.put(DatabaseContract.ComentarioEntry.COLUMN_EMAIL, comentario.getString("email"));
-        values.put(DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA, comentario.getInt("id_tarefa"));
-        values.put(DatabaseContract.ComentarioEntry.COLUMN_DESCRICAO, comentario.getString("descricao"));
-        
-        // Campos opcionais
-        if (comentario.has("data_criacao") && !comentario.isNull("data_criacao")) {
-            values.put(DatabaseContract.ComentarioEntry.COLUMN_DATA_CRIACAO, comentario.getString("data_criacao"));
-        }
-        if (comentario.has("data_atualizacao") && !comentario.isNull("data_atualizacao")) {
-            values.put(DatabaseContract.ComentarioEntry.COLUMN_DATA_ATUALIZACAO, comentario.getString("data_atualizacao"));
-        }
-
-        db.insertWithOnConflict(DatabaseContract.ComentarioEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    private DatabaseChangeNotifier.ChangeSet allTablesChanged() {
+        return new DatabaseChangeNotifier.ChangeSet()
+                .table(DatabaseContract.UsuarioEntry.TABLE_NAME)
+                .table(DatabaseContract.WorkspaceEntry.TABLE_NAME)
+                .table(DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME)
+                .table(DatabaseContract.CategoriaEntry.TABLE_NAME)
+                .table(DatabaseContract.TarefaEntry.TABLE_NAME)
+                .table(DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME)
+                .table(DatabaseContract.TarefaCategoriaEntry.TABLE_NAME)
+                .table(DatabaseContract.ComentarioEntry.TABLE_NAME)
+                .table(DatabaseContract.AnexoEntry.TABLE_NAME);
     }
 
-    // 🟢 SALVAR ANEXO
-    private void saveAnexo(SQLiteDatabase db, JSONObject anexo) throws JSONException {
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.AnexoEntry.COLUMN_ID_ANEXO, anexo.getInt("id_anexo"));
-        values.put(DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA, anexo.getInt("id_tarefa"));
-        values.put(DatabaseContract.AnexoEntry.COLUMN_TIPO_ARQUIVO, anexo.getString("tipo_arquivo"));
-        values.put(DatabaseContract.AnexoEntry.COLUMN_NOME_ARQUIVO, anexo.getString("nome_arquivo"));
-        values.put(DatabaseContract.AnexoEntry.COLUMN_NOME_ORIGINAL, anexo.getString("nome_original"));
-        values.put(DatabaseContract.AnexoEntry.COLUMN_TAMANHO_ARQUIVO, anexo.getInt("tamanho_arquivo"));
-        values.put(DatabaseContract.AnexoEntry.COLUMN_CAMINHO_ARQUIVO, anexo.getString("caminho_arquivo"));
-        
-        // Campos opcionais
-        if (anexo.has("data_upload") && !anexo.isNull("data_upload")) {
-            values.put(DatabaseContract.AnexoEntry.COLUMN_DATA_UPLOAD, anexo.getString("data_upload"));
+    /**
+     * Marca needsSync no resultado e avisa o JS quando o workspace ainda não foi
+     * baixado (sync parcial) ou está mais velho que maxAgeMs
+     */
+    private void checkWorkspaceFreshness(WritableMap result, int idWorkspace, long maxAgeMs) {
+        long lastSync = syncState.getWorkspaceLastSync(idWorkspace);
+        boolean stale = lastSync < 0 || (maxAgeMs > 0 && System.currentTimeMillis() - lastSync > maxAgeMs);
+        result.putBoolean("needsSync", stale);
+        if (lastSync >= 0) {
+            result.putDouble("lastSync", lastSync);
         }
-        if (anexo.has("data_atualizacao") && !anexo.isNull("data_atualizacao")) {
-            values.put(DatabaseContract.AnexoEntry.COLUMN_DATA_ATUALIZACAO, anexo.getString("data_atualizacao"));
+        if (stale) {
+            Log.i(TAG, "🕒 Workspace " + idWorkspace + " precisa de sync sob demanda");
+            WritableMap params = new WritableNativeMap();
+            params.putInt("workspaceId", idWorkspace);
+            changeNotifier.emit(EVENT_WORKSPACE_SYNC_REQUIRED, params);
         }
-
-        db.insertWithOnConflict(DatabaseContract.AnexoEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
-    }
-
-    // 🟢 SALVAR ASSOCIAÇÃO USUÁRIO-WORKSPACE
-    private void saveUsuarioWorkspace(SQLiteDatabase db, String email, int idWorkspace) throws JSONException {
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.UsuarioWorkspaceEntry.COLUMN_EMAIL, email);
-        values.put(DatabaseContract.UsuarioWorkspaceEntry.COLUMN_ID_WORKSPACE, idWorkspace);
-        
-        db.insertWithOnConflict(DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
-    }
-
-    // 🟢 SALVAR ASSOCIAÇÃO TAREFA-WORKSPACE
-    private void saveTarefaWorkspace(SQLiteDatabase db, int idTarefa, int idWorkspace) throws JSONException {
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA, idTarefa);
-        values.put(DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE, idWorkspace);
-        
-        db.insertWithOnConflict(DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
-    }
-
-    // 🟢 SALVAR ASSOCIAÇÃO TAREFA-CATEGORIA
-    private void saveTarefaCategoria(SQLiteDatabase db, int idTarefa, int idCategoria) throws JSONException {
-        ContentValues values = new ContentValues();
-        values.put(DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA, idTarefa);
-        values.put(DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA, idCategoria);
-        
-        db.insertWithOnConflict(DatabaseContract.TarefaCategoriaEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
     }
 
     // =====================================================
-    // 🔍 MÉTODOS DE CONSULTA
+    // 🔍 CONSULTAS E ESCRITAS (TaskStore)
     // =====================================================
 
-    private WritableMap getWorkspacesByUser(SQLiteDatabase db, String email) {
-        WritableMap result = new WritableNativeMap();
-        Cursor cursor = null;
-        
-        try {
-            String query = "SELECT w.* FROM " + DatabaseContract.WorkspaceEntry.TABLE_NAME + " w " +
-                          "INNER JOIN " + DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME + " uw " +
-                          "ON w." + DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE + " = uw." + DatabaseContract.UsuarioWorkspaceEntry.COLUMN_ID_WORKSPACE + " " +
-                          "WHERE uw." + DatabaseContract.UsuarioWorkspaceEntry.COLUMN_EMAIL + " = ?";
-            
-            cursor = db.rawQuery(query, new String[]{email});
-            
-            WritableArray workspaces = new WritableNativeArray();
-            while (cursor.moveToNext()) {
-                WritableMap workspace = new WritableNativeMap();
-                workspace.putInt("id_workspace", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE)));
-                workspace.putString("nome", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.WorkspaceEntry.COLUMN_NOME)));
-                workspace.putBoolean("equipe", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.WorkspaceEntry.COLUMN_EQUIPE)) == 1);
-                workspace.putString("criador", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.WorkspaceEntry.COLUMN_CRIADOR)));
-                workspaces.pushMap(workspace);
-            }
-            
-            result.putBoolean("success", true);
-            result.putArray("data", workspaces);
-            
-        } catch (Exception e) {
-            Log.e(TAG, "Erro ao buscar workspaces: " + e.getMessage());
-            result.putBoolean("success", false);
-            result.putString("error", e.getMessage());
-        } finally {
-            if (cursor != null) {
-                cursor.close();
-            }
+    /**
+     * Repassa fases e tabelas do TaskStore para as métricas do sync
+     */
+    private static class MetricsListener implements TaskStore.IngestListener {
+        private final SyncMetrics.Run run;
+
+        MetricsListener(SyncMetrics.Run run) {
+            this.run = run;
         }
-        
-        return result;
-    }
 
-    private WritableMap getTarefasByWorkspace(SQLiteDatabase db, int workspaceId) {
-        WritableMap result = new WritableNativeMap();
-        Cursor cursor = null;
-        
-        try {
-            String query = "SELECT t.* FROM " + DatabaseContract.TarefaEntry.TABLE_NAME + " t " +
-                          "INNER JOIN " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + " tw " +
-                          "ON t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + " " +
-                          "WHERE tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + " = ?";
-            
-            cursor = db.rawQuery(query, new String[]{String.valueOf(workspaceId)});
-            
-            WritableArray tarefas = new WritableNativeArray();
-            while (cursor.moveToNext()) {
-                WritableMap tarefa = new WritableNativeMap();
-                tarefa.putInt("id_tarefa", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA)));
-                tarefa.putString("titulo", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_TITULO)));
-                tarefa.putString("descricao", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_DESCRICAO)));
-                tarefa.putInt("id_usuario", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO)));
-                tarefa.putInt("id_workspace", workspaceId); // ✅ Adicionar id_workspace ao resultado
-                
-                // Campos opcionais
-                int dataFimIndex = cursor.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_DATA_FIM);
-                if (dataFimIndex >= 0 && !cursor.isNull(dataFimIndex)) {
-                    tarefa.putString("data_fim", cursor.getString(dataFimIndex));
-                }
-                
-                int prioridadeIndex = cursor.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE);
-                if (prioridadeIndex >= 0 && !cursor.isNull(prioridadeIndex)) {
-                    tarefa.putString("prioridade", cursor.getString(prioridadeIndex));
-                }
-                
-                int statusIndex = cursor.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_STATUS);
-                if (statusIndex >= 0 && !cursor.isNull(statusIndex)) {
-                    tarefa.putString("status", cursor.getString(statusIndex));
-                }
-                
-                int concluidaIndex = cursor.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA);
-                if (concluidaIndex >= 0) {
-                    tarefa.putBoolean("concluida", cursor.getInt(concluidaIndex) == 1);
-                }
-                
-                tarefas.pushMap(tarefa);
-            }
-            
-            result.putBoolean("success", true);
-            result.putArray("data", tarefas);
-            
-        } catch (Exception e) {
-            Log.e(TAG, "Erro ao buscar tarefas: " + e.getMessage());
-            result.putBoolean("success", false);
-            result.putString("error", e.getMessage());
-        } finally {
-            if (cursor != null) {
-                cursor.close();
+        @Override
+        public void onPhase(String phase) {
+            if ("commit".equals(phase)) {
+                run.commit();
+            } else {
+                run.phase(phase);
             }
         }
-        
-        return result;
-    }
 
-    private WritableMap getTarefasByUser(SQLiteDatabase db, int userId) {
-        WritableMap result = new WritableNativeMap();
-        Cursor cursor = null;
-        
-        try {
-            String query = "SELECT * FROM " + DatabaseContract.TarefaEntry.TABLE_NAME + " WHERE " + 
-                          DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO + " = ?";
-            
-            cursor = db.rawQuery(query, new String[]{String.valueOf(userId)});
-            
-            WritableArray tarefas = new WritableNativeArray();
-            while (cursor.moveToNext()) {
-                WritableMap tarefa = new WritableNativeMap();
-                tarefa.putInt("id_tarefa", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA)));
-                tarefa.putString("titulo", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_TITULO)));
-                tarefa.putString("descricao", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_DESCRICAO)));
-                tarefa.putInt("id_usuario", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO)));
-                tarefas.pushMap(tarefa);
-            }
-            
-            result.putBoolean("success", true);
-            result.putArray("data", tarefas);
-            
-        } catch (Exception e) {
-            Log.e(TAG, "Erro ao buscar tarefas por usuário: " + e.getMessage());
-            result.putBoolean("success", false);
-            result.putString("error", e.getMessage());
-        } finally {
-            if (cursor != null) {
-                cursor.close();
-            }
+        @Override
+        public void onTable(String table, int rows) {
+            run.table(table, rows);
+            Log.i(TAG, "Salvos " + rows + " registros em " + table);
         }
-        
-        return result;
     }
-    
+
     /**
      * 🔍 BUSCAR TAREFA POR ID ESPECÍFICO
      * Método essencial para editTarefa e visualizaTarefa
      */
-    private WritableMap getTarefaById(SQLiteDatabase db, int tarefaId) {
+    private WritableMap getTarefaById(int tarefaId) {
         WritableMap result = new WritableNativeMap();
-        Cursor cursor = null;
-        
-        try {
-            Log.i(TAG, "🔍 Buscando tarefa por ID: " + tarefaId);
-            
-            // Query principal da tarefa com JOIN para pegar id_workspace
-            String query = "SELECT t.*, tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + " as id_workspace " +
-                          "FROM " + DatabaseContract.TarefaEntry.TABLE_NAME + " t " +
-                          "LEFT JOIN " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + " tw " +
-                          "ON t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + " " +
-                          "WHERE t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = ?";
-            
-            cursor = db.rawQuery(query, new String[]{String.valueOf(tarefaId)});
-            
-            if (cursor.moveToFirst()) {
-                WritableMap tarefa = new WritableNativeMap();
-                
-                // Campos obrigatórios
-                tarefa.putInt("id_tarefa", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA)));
-                tarefa.putString("titulo", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_TITULO)));
-                tarefa.putString("descricao", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_DESCRICAO)));
-                tarefa.putInt("id_usuario", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO)));
-                
-                // ID do workspace
-                int workspaceIndex = cursor.getColumnIndex("id_workspace");
-                if (workspaceIndex >= 0 && !cursor.isNull(workspaceIndex)) {
-                    tarefa.putInt("id_workspace", cursor.getInt(workspaceIndex));
-                }
-                
-                // Campos opcionais
-                int dataFimIndex = cursor.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_DATA_FIM);
-                if (dataFimIndex >= 0 && !cursor.isNull(dataFimIndex)) {
-                    tarefa.putString("data_fim", cursor.getString(dataFimIndex));
-                }
-                
-                int prioridadeIndex = cursor.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE);
-                if (prioridadeIndex >= 0 && !cursor.isNull(prioridadeIndex)) {
-                    tarefa.putString("prioridade", cursor.getString(prioridadeIndex));
-                } else {
-                    tarefa.putString("prioridade", "media"); // valor padrão
-                }
-                
-                int statusIndex = cursor.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_STATUS);
-                if (statusIndex >= 0 && !cursor.isNull(statusIndex)) {
-                    tarefa.putString("status", cursor.getString(statusIndex));
-                } else {
-                    tarefa.putString("status", "a_fazer"); // valor padrão
-                }
-                
-                int concluidaIndex = cursor.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA);
-                if (concluidaIndex >= 0) {
-                    tarefa.putBoolean("concluida", cursor.getInt(concluidaIndex) == 1);
-                } else {
-                    tarefa.putBoolean("concluida", false);
-                }
-                
-                int recorrenteIndex = cursor.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_RECORRENTE);
-                if (recorrenteIndex >= 0) {
-                    tarefa.putBoolean("recorrente", cursor.getInt(recorrenteIndex) == 1);
-                } else {
-                    tarefa.putBoolean("recorrente", false);
-                }
-                
-                int recorrenciaIndex = cursor.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA);
-                if (recorrenciaIndex >= 0 && !cursor.isNull(recorrenciaIndex)) {
-                    tarefa.putString("recorrencia", cursor.getString(recorrenciaIndex));
-                }
-                
-                // Buscar categorias associadas
-                WritableArray categorias = getCategoriasByTarefaId(db, tarefaId);
-                tarefa.putArray("categorias", categorias);
-                
-                // Permissões padrão para modo offline
-                tarefa.putBoolean("pode_editar", true);
-                tarefa.putBoolean("pode_apagar", true);
-                tarefa.putString("nivel_acesso", "full");
-                
-                Log.i(TAG, "✅ Tarefa " + tarefaId + " encontrada: " + cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_TITULO)));
-                
-                result.putBoolean("success", true);
-                result.putMap("data", tarefa);
-            } else {
-                Log.w(TAG, "❌ Tarefa " + tarefaId + " não encontrada no SQLite");
-                result.putBoolean("success", false);
-                result.putString("error", "Tarefa não encontrada");
-            }
-            
-        } catch (Exception e) {
-            Log.e(TAG, "❌ Erro ao buscar tarefa por ID " + tarefaId + ": " + e.getMessage());
+        Log.i(TAG, "🔍 Buscando tarefa por ID: " + tarefaId);
+
+        Map<String, Object> tarefa = store.getTarefaById(tarefaId);
+        if (tarefa != null) {
+            Log.i(TAG, "✅ Tarefa " + tarefaId + " encontrada: " + tarefa.get("titulo"));
+            result.putBoolean("success", true);
+            result.putMap("data", BridgeMaps.toWritableMap(tarefa));
+        } else {
+            Log.w(TAG, "❌ Tarefa " + tarefaId + " não encontrada no SQLite");
             result.putBoolean("success", false);
-            result.putString("error", e.getMessage());
-        } finally {
-            if (cursor != null) {
-                cursor.close();
-            }
+            result.putString("error", "Tarefa não encontrada");
         }
-        
         return result;
     }
-    
-    /**
-     * 🏷️ BUSCAR CATEGORIAS DE UMA TAREFA ESPECÍFICA
-     */
-    private WritableArray getCategoriasByTarefaId(SQLiteDatabase db, int tarefaId) {
-        WritableArray categorias = new WritableNativeArray();
-        Cursor cursor = null;
-        
-        try {
-            String query = "SELECT c.* FROM " + DatabaseContract.CategoriaEntry.TABLE_NAME + " c " +
-                          "INNER JOIN " + DatabaseContract.TarefaCategoriaEntry.TABLE_NAME + " tc " +
-                          "ON c." + DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA + " = tc." + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + " " +
-                          "WHERE tc." + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA + " = ?";
-            
-            cursor = db.rawQuery(query, new String[]{String.valueOf(tarefaId)});
-            
-            while (cursor.moveToNext()) {
-                WritableMap categoria = new WritableNativeMap();
-                categoria.putInt("id_categoria", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA)));
-                categoria.putString("nome", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CategoriaEntry.COLUMN_NOME)));
-                categoria.putInt("id_workspace", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE)));
-                categorias.pushMap(categoria);
-            }
-            
-            Log.i(TAG, "🏷️ Encontradas " + categorias.size() + " categorias para tarefa " + tarefaId);
-            
-        } catch (Exception e) {
-            Log.e(TAG, "Erro ao buscar categorias da tarefa " + tarefaId + ": " + e.getMessage());
-        } finally {
-            if (cursor != null) {
-                cursor.close();
-            }
-        }
-        
-        return categorias;
-    }
 
     /**
      * 🗃️ LISTAR TODAS AS TAREFAS PARA DEBUG
      * Usado para verificar quais tarefas estão no SQLite
      */
-    private WritableMap listAllTarefas(SQLiteDatabase db) {
-        WritableMap result = new WritableNativeMap();
-        Cursor cursor = null;
-        
-        try {
-            Log.i(TAG, "🗃️ Listando TODAS as tarefas no SQLite para debug...");
-            
-            // Query para listar todas as tarefas com informações de workspace
-            String query = "SELECT t.*, tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + " as id_workspace " +
-                          "FROM " + DatabaseContract.TarefaEntry.TABLE_NAME + " t " +
-                          "LEFT JOIN " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + " tw " +
-                          "ON t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA;
-            
-            cursor = db.rawQuery(query, null);
-            
-            WritableArray tarefas = new WritableNativeArray();
-            int count = 0;
-            
-            while (cursor.moveToNext()) {
-                count++;
-                WritableMap tarefa = new WritableNativeMap();
-                
-                int idTarefa = cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA));
-                String titulo = cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_TITULO));
-                
-                tarefa.putInt("id_tarefa", idTarefa);
-                tarefa.putString("titulo", titulo);
-                tarefa.putString("descricao", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_DESCRICAO)));
-                tarefa.putInt("id_usuario", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO)));
-                
-                // ID do workspace se existir
-                int workspaceIndex = cursor.getColumnIndex("id_workspace");
-                if (workspaceIndex >= 0 && !cursor.isNull(workspaceIndex)) {
-                    tarefa.putInt("id_workspace", cursor.getInt(workspaceIndex));
-                } else {
-                    tarefa.putString("id_workspace", "NULL");
-                }
-                
-                // Status e prioridade
-                int statusIndex = cursor.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_STATUS);
-                if (statusIndex >= 0 && !cursor.isNull(statusIndex)) {
-                    tarefa.putString("status", cursor.getString(statusIndex));
-                } else {
-                    tarefa.putString("status", "NULL");
+    private WritableMap listAllTarefas() {
+        Log.i(TAG, "🗃️ Listando TODAS as tarefas no SQLite para debug...");
+        List<Map<String, Object>> tarefas = store.listAllTarefas();
+        for (Map<String, Object> tarefa : tarefas) {
+            // Campos ausentes aparecem como "NULL" na tela de depuração
+            for (String key : new String[]{"id_workspace", "status", "prioridade"}) {
+                if (!tarefa.containsKey(key)) {
+                    tarefa.put(key, "NULL");
                 }
-                
-                int prioridadeIndex = cursor.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE);
-                if (prioridadeIndex >= 0 && !cursor.isNull(prioridadeIndex)) {
-                    tarefa.putString("prioridade", cursor.getString(prioridadeIndex));
-                } else {
-                    tarefa.putString("prioridade", "NULL");
-                }
-                
-                tarefas.pushMap(tarefa);
-                
-                Log.i(TAG, "📋 [" + count + "] Tarefa: ID=" + idTarefa + ", Título=" + titulo + 
-                          ", Workspace=" + (workspaceIndex >= 0 && !cursor.isNull(workspaceIndex) ? 
-                          cursor.getInt(workspaceIndex) : "NULL"));
-            }
-            
-            Log.i(TAG, "✅ Total de tarefas no SQLite: " + count);
-            
-            result.putBoolean("success", true);
-            result.putArray("data", tarefas);
-            result.putInt("total", count);
-            
-        } catch (Exception e) {
-            Log.e(TAG, "❌ Erro ao listar todas as tarefas: " + e.getMessage());
-            result.putBoolean("success", false);
-            result.putString("error", e.getMessage());
-        } finally {
-            if (cursor != null) {
-                cursor.close();
             }
         }
-        
+        Log.i(TAG, "✅ Total de tarefas no SQLite: " + tarefas.size());
+
+        WritableMap result = BridgeMaps.success(tarefas);
+        result.putInt("total", tarefas.size());
         return result;
     }
-    
-    private WritableMap getCategoriasByWorkspace(SQLiteDatabase db, int workspaceId) {
+
+    private WritableMap saveTarefaOperation(JSONObject data) {
         WritableMap result = new WritableNativeMap();
-        Cursor cursor = null;
-        
         try {
-            String query = "SELECT * FROM " + DatabaseContract.CategoriaEntry.TABLE_NAME + " WHERE " + 
-                          DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE + " = ?";
-            
-            cursor = db.rawQuery(query, new String[]{String.valueOf(workspaceId)});
-            
-            WritableArray categorias = new WritableNativeArray();
-            while (cursor.moveToNext()) {
-                WritableMap categoria = new WritableNativeMap();
-                categoria.putInt("id_categoria", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA)));
-                categoria.putString("nome", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CategoriaEntry.COLUMN_NOME)));
-                categoria.putInt("id_workspace", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE)));
-                categorias.pushMap(categoria);
-            }
-            
+            store.saveTarefa(data);
             result.putBoolean("success", true);
-            result.putArray("data", categorias);
-            
+            result.putString("message", "Tarefa salva com sucesso");
+            changeNotifier.publish(new DatabaseChangeNotifier.ChangeSet()
+                    .row(DatabaseContract.TarefaEntry.TABLE_NAME, data.getInt("id_tarefa")));
         } catch (Exception e) {
-            Log.e(TAG, "Erro ao buscar categorias: " + e.getMessage());
             result.putBoolean("success", false);
             result.putString("error", e.getMessage());
-        } finally {
-            if (cursor != null) {
-                cursor.close();
-            }
         }
-        
         return result;
     }
-    
-    private WritableMap getComentariosByTarefa(SQLiteDatabase db, int tarefaId) {
+
+    private WritableMap updateTarefaOperation(JSONObject data) {
         WritableMap result = new WritableNativeMap();
-        Cursor cursor = null;
-        
         try {
-            String query = "SELECT * FROM " + DatabaseContract.ComentarioEntry.TABLE_NAME + " WHERE " + 
-                          DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + " = ?";
-            
-            cursor = db.rawQuery(query, new String[]{String.valueOf(tarefaId)});
-            
-            WritableArray comentarios = new WritableNativeArray();
-            while (cursor.moveToNext()) {
-                WritableMap comentario = new WritableNativeMap();
-                comentario.putInt("id_comentario", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.ComentarioEntry.COLUMN_ID_COMENTARIO)));
-                comentario.putString("email", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.ComentarioEntry.COLUMN_EMAIL)));
-                comentario.putInt("id_tarefa", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA)));
-                comentario.putString("descricao", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.ComentarioEntry.COLUMN_DESCRICAO)));
-                comentarios.pushMap(comentario);
-            }
-            
+            store.updateTarefa(data);
             result.putBoolean("success", true);
-            result.putArray("data", comentarios);
-            
+            result.putString("message", "Tarefa atualizada com sucesso");
+            changeNotifier.publish(new DatabaseChangeNotifier.ChangeSet()
+                    .row(DatabaseContract.TarefaEntry.TABLE_NAME, data.getInt("id")));
         } catch (Exception e) {
-            Log.e(TAG, "Erro ao buscar comentários: " + e.getMessage());
             result.putBoolean("success", false);
             result.putString("error", e.getMessage());
-        } finally {
-            if (cursor != null) {
-                cursor.close();
-            }
         }
-        
         return result;
     }
-    
-    private WritableMap getAnexosByTarefa(SQLiteDatabase db, int tarefaId) {
+
+    private WritableMap saveComentarioOperation(JSONObject data) {
         WritableMap result = new WritableNativeMap();
-        Cursor cursor = null;
-        
         try {
-            String query = "SELECT * FROM " + DatabaseContract.AnexoEntry.TABLE_NAME + " WHERE " + 
-                          DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA + " = ?";
-            
-            cursor = db.rawQuery(query, new String[]{String.valueOf(tarefaId)});
-            
-            WritableArray anexos = new WritableNativeArray();
-            while (cursor.moveToNext()) {
-                WritableMap anexo = new WritableNativeMap();
-                anexo.putInt("id_anexo", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.AnexoEntry.COLUMN_ID_ANEXO)));
-                anexo.putInt("id_tarefa", cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA)));
-                anexo.putString("nome_arquivo", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.AnexoEntry.COLUMN_NOME_ARQUIVO)));
-                anexo.putString("caminho_arquivo", cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.AnexoEntry.COLUMN_CAMINHO_ARQUIVO)));
-                anexos.pushMap(anexo);
-            }
-            
+            store.saveComentario(data);
             result.putBoolean("success", true);
-            result.putArray("data", anexos);
-            
+            result.putString("message", "Comentário salvo com sucesso");
+            changeNotifier.publish(new DatabaseChangeNotifier.ChangeSet()
+                    .row(DatabaseContract.ComentarioEntry.TABLE_NAME, data.getInt("id_comentario"))
+                    .row(DatabaseContract.TarefaEntry.TABLE_NAME, data.getInt("id_tarefa")));
         } catch (Exception e) {
-            Log.e(TAG, "Erro ao buscar anexos: " + e.getMessage());
             result.putBoolean("success", false);
             result.putString("error", e.getMessage());
-        } finally {
-            if (cursor != null) {
-                cursor.close();
-            }
         }
-        
         return result;
     }
 
-    private WritableMap saveTarefaOperation(SQLiteDatabase db, JSONObject data) throws JSONException {
+    private WritableMap saveUsuarioOperation() {
+        // Por enquanto, apenas aceitar a operação sem salvar em tabela específica
+        // pois o usuário pode já estar associado via usuario_workspace
         WritableMap result = new WritableNativeMap();
-        try {
-            saveTarefa(db, data);
-            result.putBoolean("success", true);
-            result.putString("message", "Tarefa salva com sucesso");
-        } catch (Exception e) {
-            result.putBoolean("success", false);
-            result.putString("error", e.getMessage());
-        }
+        result.putBoolean("success", true);
+        result.putString("message", "Usuário processado com sucesso");
         return result;
     }
 
-    private WritableMap updateTarefaOperation(SQLiteDatabase db, JSONObject data) throws JSONException {
+    // =====================================================
+    // 🪦 EXCLUSÕES (TOMBSTONES)
+    // =====================================================
+
+    private WritableMap deleteOperation(String table, int id) {
         WritableMap result = new WritableNativeMap();
         try {
-            updateTarefa(db, data);
+            syncState.deleteLocal(table, id, System.currentTimeMillis());
             result.putBoolean("success", true);
-            result.putString("message", "Tarefa atualizada com sucesso");
+            result.putString("message", "Registro excluído localmente (pendente de envio)");
         } catch (Exception e) {
+            Log.e(TAG, "Erro ao excluir " + table + " " + id + ": " + e.getMessage());
             result.putBoolean("success", false);
             result.putString("error", e.getMessage());
+            return result;
         }
+        changeNotifier.publish(deletionChanges(table, id));
         return result;
     }
 
-    private WritableMap saveComentarioOperation(SQLiteDatabase db, JSONObject data) throws JSONException {
+    /**
+     * Servidor aceitou as exclusões: marca como confirmadas e compacta as antigas
+     */
+    private WritableMap ackTombstonesOperation(JSONArray exclusoes) throws JSONException {
+        int[] counts = syncState.acknowledgeTombstones(exclusoes, System.currentTimeMillis());
         WritableMap result = new WritableNativeMap();
-        try {
-            saveComentario(db, data);
-            result.putBoolean("success", true);
-            result.putString("message", "Comentário salvo com sucesso");
-        } catch (Exception e) {
-            result.putBoolean("success", false);
-            result.putString("error", e.getMessage());
-        }
+        result.putBoolean("success", true);
+        result.putInt("acknowledged", counts[0]);
+        result.putInt("compacted", counts[1]);
         return result;
     }
 
-    private WritableMap saveUsuarioOperation(SQLiteDatabase db, JSONObject data) throws JSONException {
+    // =====================================================
+    // ✏️ ALTERAÇÕES NATIVAS PENDENTES
+    // =====================================================
+
+    /**
+     * Servidor aceitou as alterações: remove as enviadas (as mais novas continuam pendentes)
+     */
+    private WritableMap ackPendingEditsOperation(JSONArray alteracoes) throws JSONException {
         WritableMap result = new WritableNativeMap();
-        try {
-            // Criar um usuário básico com os dados fornecidos
-            ContentValues values = new ContentValues();
-            
-            if (data.has("email")) {
-                values.put("email", data.getString("email"));
-            }
-            if (data.has("nome")) {
-                values.put("nome", data.getString("nome"));
-            } else if (data.has("email")) {
-                // Extrair nome do email como fallback
-                String email = data.getString("email");
-                String nome = email.split("@")[0];
-                values.put("nome", nome);
-            }
-            if (data.has("telefone")) {
-                values.put("telefone", data.getString("telefone"));
-            }
+        result.putBoolean("success", true);
+        result.putInt("acknowledged", syncState.acknowledgePendingEdits(alteracoes));
+        return result;
+    }
 
-            // Por enquanto, apenas aceitar a operação sem salvar em tabela específica
-            // pois o usuário pode já estar associado via usuario_workspace
-            result.putBoolean("success", true);
-            result.putString("message", "Usuário processado com sucesso");
-        } catch (Exception e) {
-            result.putBoolean("success", false);
-            result.putString("error", e.getMessage());
+    /**
+     * Delta de download só com exclusões: remove das tabelas reais sem baixar o resto
+     */
+    private WritableMap applyRemoteDeletionsOperation(JSONArray exclusoes, long bytes) throws JSONException {
+        WritableMap result = new WritableNativeMap();
+        List<SyncStateStore.Deletion> applied;
+        SyncMetrics.Run run = syncMetrics.begin(SyncMetrics.RUN_DELTA, bytes);
+        boolean success = false;
+        String error = null;
+        try {
+            applied = syncState.applyRemoteDeletions(exclusoes, System.currentTimeMillis(), new MetricsListener(run));
+            success = true;
+        } catch (JSONException | RuntimeException e) {
+            error = e.getMessage();
+            throw e;
+        } finally {
+            run.finish(success, error);
         }
+        changeNotifier.publish(deletionChanges(applied, exclusoes.length()));
+        result.putBoolean("success", true);
+        result.putInt("applied", exclusoes.length());
         return result;
     }
 
-    private WritableMap getAllUserData(SQLiteDatabase db, String email) {
+    /**
+     * Grava as exclusões recebidas do servidor e devolve o que elas invalidam
+     */
+    private DatabaseChangeNotifier.ChangeSet recordRemoteDeletions(JSONArray exclusoes) throws JSONException {
+        if (exclusoes == null) {
+            return new DatabaseChangeNotifier.ChangeSet();
+        }
+        List<SyncStateStore.Deletion> recorded = syncState.recordRemoteDeletions(exclusoes, System.currentTimeMillis());
+        return deletionChanges(recorded, exclusoes.length());
+    }
+
+    private DatabaseChangeNotifier.ChangeSet deletionChanges(List<SyncStateStore.Deletion> deletions, int received) {
+        if (deletions.size() < received) {
+            Log.w(TAG, "⚠️ " + (received - deletions.size()) + " exclusões ignoradas, tabela não suportada");
+        }
+        DatabaseChangeNotifier.ChangeSet changes = new DatabaseChangeNotifier.ChangeSet();
+        for (SyncStateStore.Deletion deletion : deletions) {
+            changes.merge(deletionChanges(deletion.table, deletion.id));
+        }
+        return changes;
+    }
+
+    private DatabaseChangeNotifier.ChangeSet deletionChanges(String table, int id) {
+        DatabaseChangeNotifier.ChangeSet changes = new DatabaseChangeNotifier.ChangeSet();
+        if (DatabaseContract.TarefaEntry.TABLE_NAME.equals(table)) {
+            changes.row(DatabaseContract.TarefaEntry.TABLE_NAME, id)
+                    .table(DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME)
+                    .table(DatabaseContract.TarefaCategoriaEntry.TABLE_NAME)
+                    .table(DatabaseContract.ComentarioEntry.TABLE_NAME)
+                    .table(DatabaseContract.AnexoEntry.TABLE_NAME);
+        } else if (DatabaseContract.CategoriaEntry.TABLE_NAME.equals(table)) {
+            changes.row(DatabaseContract.CategoriaEntry.TABLE_NAME, id)
+                    .table(DatabaseContract.TarefaCategoriaEntry.TABLE_NAME);
+        } else if (SyncStateStore.isDeletable(table)) {
+            changes.row(table, id);
+        }
+        return changes;
+    }
+
+    private WritableMap getAllUserData(String email) {
         WritableMap result = new WritableNativeMap();
         
         try {
             WritableMap data = new WritableNativeMap();
-            
-            // Buscar workspaces
-            WritableMap workspacesResult = getWorkspacesByUser(db, email);
-            if (workspacesResult.getBoolean("success")) {
-                data.putArray("workspaces", workspacesResult.getArray("data"));
-            }
+            data.putArray("workspaces", BridgeMaps.toWritableArray(store.getWorkspacesByUser(email)));
             
             // Buscar outras entidades...
             data.putArray("categorias", new WritableNativeArray());
@@ -1128,53 +951,18 @@ public class SyncService extends ReactContextBaseJavaModule {
         return result;
     }
 
-    private WritableMap getDatabaseStatsOperation(SQLiteDatabase db) {
+    private WritableMap getDatabaseStatsOperation() {
         WritableMap stats = new WritableNativeMap();
-        Cursor cursor = null;
-        
         try {
-            // Contar workspaces
-            cursor = db.rawQuery("SELECT COUNT(*) FROM " + DatabaseContract.WorkspaceEntry.TABLE_NAME, null);
-            cursor.moveToFirst();
-            stats.putInt("workspaces", cursor.getInt(0));
-            cursor.close();
-
-            // Contar categorias
-            cursor = db.rawQuery("SELECT COUNT(*) FROM " + DatabaseContract.CategoriaEntry.TABLE_NAME, null);
-            cursor.moveToFirst();
-            stats.putInt("categorias", cursor.getInt(0));
-            cursor.close();
-
-            // Contar tarefas
-            cursor = db.rawQuery("SELECT COUNT(*) FROM " + DatabaseContract.TarefaEntry.TABLE_NAME, null);
-            cursor.moveToFirst();
-            stats.putInt("tarefas", cursor.getInt(0));
-            cursor.close();
-
-            // Contar comentários
-            cursor = db.rawQuery("SELECT COUNT(*) FROM " + DatabaseContract.ComentarioEntry.TABLE_NAME, null);
-            cursor.moveToFirst();
-            stats.putInt("comentarios", cursor.getInt(0));
-            cursor.close();
-
-            // Contar anexos
-            cursor = db.rawQuery("SELECT COUNT(*) FROM " + DatabaseContract.AnexoEntry.TABLE_NAME, null);
-            cursor.moveToFirst();
-            stats.putInt("anexos", cursor.getInt(0));
-            cursor.close();
-
+            for (Map.Entry<String, Long> entry : store.getStats().entrySet()) {
+                stats.putInt(entry.getKey(), entry.getValue().intValue());
+            }
             stats.putBoolean("success", true);
-            
         } catch (Exception e) {
             Log.e(TAG, "Erro ao obter estatísticas: " + e.getMessage());
             stats.putBoolean("success", false);
             stats.putString("error", e.getMessage());
-        } finally {
-            if (cursor != null && !cursor.isClosed()) {
-                cursor.close();
-            }
         }
-        
         return stats;
     }
 
@@ -1189,7 +977,7 @@ public class SyncService extends ReactContextBaseJavaModule {
 
     private void setOfflineMode(boolean offline) {
         Log.i(TAG, "Modo offline: " + offline);
-        // TODO: Notificar React Native
+        changeNotifier.publishNetworkState(offline);
     }
 
     @Override
@@ -1198,5 +986,8 @@ public class SyncService extends ReactContextBaseJavaModule {
         if (connectivityManager != null && networkCallback != null) {
             connectivityManager.unregisterNetworkCallback(networkCallback);
         }
+        liveQueryManager.shutdown();
+        recurrenceEngine.shutdown();
+        changeNotifier.detach(reactContext);
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.noiton2_frontend.benchmarks;
+
+import com.noiton2_frontend.storage.InMemoryTaskStore;
+import com.noiton2_frontend.storage.JdbcSqlDriver;
+import com.noiton2_frontend.storage.SqliteTaskStore;
+import com.noiton2_frontend.storage.TaskStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Motor de armazenamento para um trial do JMH: "sqlite" num banco temporário em
+ * disco (com -wal/-shm) ou "memory" (InMemoryTaskStore)
+ */
+final class StorageFixture implements AutoCloseable {
+
+    static final String SQLITE = "sqlite";
+    static final String MEMORY = "memory";
+
+    final TaskStore store;
+    private final File directory;
+    private final JdbcSqlDriver driver;
+
+    StorageFixture(String engine) throws IOException {
+        if (MEMORY.equals(engine)) {
+            directory = null;
+            driver = null;
+            store = new InMemoryTaskStore();
+        } else if (SQLITE.equals(engine)) {
+            directory = Files.createTempDirectory("noiton-bench").toFile();
+            driver = new JdbcSqlDriver(new File(directory, "offline_cache.db"));
+            SqliteTaskStore sqlite = new SqliteTaskStore(driver);
+            sqlite.createSchema();
+            store = sqlite;
+        } else {
+            throw new IllegalArgumentException("Motor desconhecido: " + engine + " (sqlite ou memory)");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (driver == null) {
+            return;
+        }
+        driver.close();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+}
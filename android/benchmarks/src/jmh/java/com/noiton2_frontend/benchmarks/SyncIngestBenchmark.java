@@ -0,0 +1,64 @@
+package com.noiton2_frontend.benchmarks;
+
+import com.noiton2_frontend.storage.SyntheticDataset;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sync completo inteiro: sombras, inserts, projeção e troca. Cada chamada
+ * substitui os dados da anterior, como um sync repetido no aparelho.
+ * O payload já vem parseado (o parse do JSON não entra na medida).
+ * Escalas do SyntheticDataset: small, medium, large ou "workspaces:tarefas:comentarios".
+ * Motores: sqlite (SqliteTaskStore via JDBC) e memory (InMemoryTaskStore).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SyncIngestBenchmark {
+
+    @Param({StorageFixture.SQLITE, StorageFixture.MEMORY})
+    public String engine;
+
+    @Param({"small", "medium"})
+    public String scale;
+
+    @Param({"42"})
+    public long seed;
+
+    private JSONObject payload;
+    private StorageFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        payload = new SyntheticDataset(seed, SyntheticDataset.Scale.parse(scale)).toJson();
+        fixture = new StorageFixture(engine);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void ingestFullSync() throws Exception {
+        fixture.store.ingestFullSync(payload);
+    }
+}
@@ -0,0 +1,93 @@
+package com.noiton2_frontend.benchmarks;
+
+import com.noiton2_frontend.storage.SyntheticDataset;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leituras das telas: lista do workspace (projeção), detalhe da tarefa e estatísticas.
+ * Os IDs consultados percorrem uma sequência fixa para não ficar sempre na mesma página.
+ * Os workspaces têm tamanhos enviesados (Zipf): a média fica em getTarefasByWorkspace
+ * e o pior caso em getTarefasByLargestWorkspace.
+ * Motores: sqlite (SqliteTaskStore via JDBC) e memory (InMemoryTaskStore).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskQueryBenchmark {
+
+    // Passo primo: visita IDs espalhados pela tabela
+    private static final int STRIDE = 7919;
+
+    @Param({StorageFixture.SQLITE, StorageFixture.MEMORY})
+    public String engine;
+
+    @Param({"small", "medium"})
+    public String scale;
+
+    @Param({"42"})
+    public long seed;
+
+    private StorageFixture fixture;
+    private int workspaces;
+    private int tarefas;
+    private int largestWorkspace;
+    private int nextWorkspace;
+    private int nextTarefa;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = new StorageFixture(engine);
+        SyntheticDataset dataset = new SyntheticDataset(seed, SyntheticDataset.Scale.parse(scale));
+        fixture.store.ingestFullSync(dataset.toJson());
+        workspaces = dataset.getScale().workspaces;
+        tarefas = dataset.getScale().tarefas;
+        largestWorkspace = dataset.largestWorkspace();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> getTarefasByWorkspace() {
+        nextWorkspace = (nextWorkspace + STRIDE) % workspaces;
+        return fixture.store.getTarefasByWorkspace(nextWorkspace + 1);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> getTarefasByLargestWorkspace() {
+        return fixture.store.getTarefasByWorkspace(largestWorkspace);
+    }
+
+    @Benchmark
+    public Map<String, Object> getTarefaById() {
+        nextTarefa = (nextTarefa + STRIDE) % tarefas;
+        return fixture.store.getTarefaById(nextTarefa + 1);
+    }
+
+    @Benchmark
+    public Map<String, Long> getStats() {
+        return fixture.store.getStats();
+    }
+}
@@ -1,14 +1,12 @@
-// android/app/src/main/java/com/yourapp/database/DatabaseContract.java
+// android/storage/src/main/java/com/noiton2_frontend/database/DatabaseContract.java
 package com.noiton2_frontend.database;
 
-import android.provider.BaseColumns;
-
 public class DatabaseContract {
 
     private DatabaseContract() {}
 
     // Usuários
-    public static class UsuarioEntry implements BaseColumns {
+    public static class UsuarioEntry {
         public static final String TABLE_NAME = "usuarios";
         public static final String COLUMN_ID_USUARIO = "id_usuario";
         public static final String COLUMN_EMAIL = "email";
@@ -19,7 +17,7 @@ public class DatabaseContract {
     }
 
     // Workspace
-    public static class WorkspaceEntry implements BaseColumns {
+    public static class WorkspaceEntry {
         public static final String TABLE_NAME = "workspace";
         public static final String COLUMN_ID_WORKSPACE = "id_workspace";
         public static final String COLUMN_NOME = "nome";
@@ -28,7 +26,7 @@ public class DatabaseContract {
     }
 
     // Usuario-Workspace (relação)
-    public static class UsuarioWorkspaceEntry implements BaseColumns {
+    public static class UsuarioWorkspaceEntry {
         public static final String TABLE_NAME = "usuario_workspace";
         public static final String COLUMN_ID_USUARIO_WORKSPACE = "id_usuario_workspace";
         public static final String COLUMN_EMAIL = "email";
@@ -36,7 +34,7 @@ public class DatabaseContract {
     }
 
     // Categorias
-    public static class CategoriaEntry implements BaseColumns {
+    public static class CategoriaEntry {
         public static final String TABLE_NAME = "categorias";
         public static final String COLUMN_ID_CATEGORIA = "id_categoria";
         public static final String COLUMN_NOME = "nome";
@@ -44,7 +42,7 @@ public class DatabaseContract {
     }
 
     // Tarefas
-    public static class TarefaEntry implements BaseColumns {
+    public static class TarefaEntry {
         public static final String TABLE_NAME = "tarefas";
         public static final String COLUMN_ID_TAREFA = "id_tarefa";
         public static final String COLUMN_TITULO = "titulo";
@@ -60,7 +58,7 @@ public class DatabaseContract {
     }
 
     // Tarefa-Workspace (relação)
-    public static class TarefaWorkspaceEntry implements BaseColumns {
+    public static class TarefaWorkspaceEntry {
         public static final String TABLE_NAME = "tarefa_workspace";
         public static final String COLUMN_ID_TAREFA_WORKSPACE = "id_tarefa_workspace";
         public static final String COLUMN_ID_TAREFA = "id_tarefa";
@@ -68,7 +66,7 @@ public class DatabaseContract {
     }
 
     // Tarefa-Categoria (relação)
-    public static class TarefaCategoriaEntry implements BaseColumns {
+    public static class TarefaCategoriaEntry {
         public static final String TABLE_NAME = "tarefa_categoria";
         public static final String COLUMN_ID_TAREFA_CATEGORIA = "id_tarefa_categoria";
         public static final String COLUMN_ID_TAREFA = "id_tarefa";
@@ -76,7 +74,7 @@ public class DatabaseContract {
     }
 
     // Comentários
-    public static class ComentarioEntry implements BaseColumns {
+    public static class ComentarioEntry {
         public static final String TABLE_NAME = "comentarios";
         public static final String COLUMN_ID_COMENTARIO = "id_comentario";
         public static final String COLUMN_EMAIL = "email";
@@ -87,7 +85,7 @@ public class DatabaseContract {
     }
 
     // Anexos
-    public static class AnexoEntry implements BaseColumns {
+    public static class AnexoEntry {
         public static final String TABLE_NAME = "anexos_tarefa";
         public static final String COLUMN_ID_ANEXO = "id_anexo";
         public static final String COLUMN_ID_TAREFA = "id_tarefa";
@@ -100,11 +98,77 @@ public class DatabaseContract {
         public static final String COLUMN_DATA_ATUALIZACAO = "data_atualizacao";
     }
 
+    // Arquivo frio: tarefas concluídas antigas (ver SyncStateStore)
+    public static class TarefaArquivoEntry {
+        public static final String TABLE_NAME = "tarefas_arquivo";
+        public static final String COLUMN_ID_WORKSPACE = "id_workspace";
+        public static final String COLUMN_ARQUIVADA_EM = "arquivada_em";
+    }
+
+    // Arquivo frio: comentários das tarefas arquivadas
+    public static class ComentarioArquivoEntry {
+        public static final String TABLE_NAME = "comentarios_arquivo";
+        public static final String COLUMN_ARQUIVADO_EM = "arquivado_em";
+    }
+
+    // Exclusões (tombstones) para sync incremental (ver SyncStateStore)
+    public static class TombstoneEntry {
+        public static final String TABLE_NAME = "exclusoes";
+        public static final String COLUMN_TABELA = "tabela";
+        public static final String COLUMN_ID_REGISTRO = "id_registro";
+        public static final String COLUMN_EXCLUIDO_EM = "excluido_em";
+        public static final String COLUMN_CONFIRMADO_EM = "confirmado_em";
+    }
+
+    // Alterações locais pendentes de envio, por campo (ver SyncStateStore)
+    public static class PendingEditEntry {
+        public static final String TABLE_NAME = "alteracoes_pendentes";
+        public static final String COLUMN_TABELA = "tabela";
+        public static final String COLUMN_ID_REGISTRO = "id_registro";
+        public static final String COLUMN_CAMPO = "campo";
+        public static final String COLUMN_VALOR = "valor";
+        public static final String COLUMN_ALTERADO_EM = "alterado_em";
+    }
+
+    // Projeção desnormalizada para listas/kanban (ver TaskListProjection)
+    public static class TaskListEntry {
+        public static final String TABLE_NAME = "tarefas_lista";
+        public static final String COLUMN_ID_WORKSPACE = "id_workspace";
+        public static final String COLUMN_ID_TAREFA = "id_tarefa";
+        public static final String COLUMN_TITULO = "titulo";
+        public static final String COLUMN_DESCRICAO = "descricao";
+        public static final String COLUMN_ID_USUARIO = "id_usuario";
+        public static final String COLUMN_DATA_FIM = "data_fim";
+        public static final String COLUMN_PRIORIDADE = "prioridade";
+        public static final String COLUMN_STATUS = "status";
+        public static final String COLUMN_CONCLUIDA = "concluida";
+        public static final String COLUMN_CATEGORIAS_IDS = "categorias_ids";
+        public static final String COLUMN_CATEGORIAS_NOMES = "categorias_nomes";
+    }
+
     // Sync metadata
-    public static class SyncEntry implements BaseColumns {
+    public static class SyncEntry {
         public static final String TABLE_NAME = "sync_metadata";
         public static final String COLUMN_TABLE_NAME = "table_name";
         public static final String COLUMN_LAST_SYNC = "last_sync";
         public static final String COLUMN_PENDING_SYNC = "pending_sync";
+
+        // Frescor por workspace (sync parcial): table_name = "workspace:<id>", last_sync em ms
+        public static final String WORKSPACE_KEY_PREFIX = "workspace:";
+
+        public static String workspaceKey(int idWorkspace) {
+            return WORKSPACE_KEY_PREFIX + idWorkspace;
+        }
+    }
+
+    // Cache local de anexos (arquivo endereçado por hash do conteúdo)
+    public static class AttachmentCacheEntry {
+        public static final String TABLE_NAME = "anexos_cache";
+        public static final String COLUMN_ID_ANEXO = "id_anexo";
+        public static final String COLUMN_ID_TAREFA = "id_tarefa";
+        public static final String COLUMN_HASH = "hash";
+        public static final String COLUMN_EXTENSAO = "extensao";
+        public static final String COLUMN_TAMANHO = "tamanho";
+        public static final String COLUMN_ULTIMO_ACESSO = "ultimo_acesso";
     }
 }
@@ -0,0 +1,455 @@
+// android/storage/src/main/java/com/noiton2_frontend/database/StorageSchema.java
+package com.noiton2_frontend.database;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DDL e SQL das tabelas de dados, sem dependência do Android.
+ *
+ * O app executa estes comandos pelo SQLiteDatabase (DatabaseHelper, TaskListProjection)
+ * e os benchmarks pelo driver JDBC, então os dois medem exatamente o mesmo schema.
+ * As tabelas locais (sync_metadata, anexos_cache, arquivo frio, exclusoes e
+ * alteracoes_pendentes) ficam fora das sombras e sobrevivem ao sync completo.
+ */
+public final class StorageSchema {
+
+    // Tabelas sombra usadas no sync completo (ingestão + troca atômica)
+    public static final String SHADOW_SUFFIX = "_shadow";
+
+    // Separador das listas agregadas da projeção (unit separator: não aparece em nomes digitados)
+    public static final String LIST_SEPARATOR = "\u001F";
+
+    // Separa a lista de IDs da de nomes na subconsulta de categorias (record separator)
+    private static final String PAIR_SEPARATOR = "\u001E";
+
+    // Nome na projeção de uma categoria associada que não está em categorias
+    public static final String CATEGORIA_SEM_NOME = "";
+
+    // O índice acompanha a tabela no RENAME da troca: alternamos entre os dois nomes
+    public static final String TASK_LIST_INDEX = "idx_tarefas_lista_tarefa";
+    public static final String TASK_LIST_INDEX_ALT = TASK_LIST_INDEX + "_b";
+    public static final String INDEX_EXISTS = "SELECT 1 FROM sqlite_master WHERE type = 'index' AND name = ?";
+
+    // Prazo das tarefas abertas (OverdueSweeper no app); alterna de nome na troca como o da projeção
+    public static final String DEADLINE_INDEX = "idx_tarefas_prazo_aberto";
+    public static final String DEADLINE_INDEX_ALT = DEADLINE_INDEX + "_b";
+
+    // Tabelas de dados trocadas no sync completo, em ordem de criação
+    public static final String[] DATA_TABLES = {
+            DatabaseContract.UsuarioEntry.TABLE_NAME,
+            DatabaseContract.WorkspaceEntry.TABLE_NAME,
+            DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME,
+            DatabaseContract.CategoriaEntry.TABLE_NAME,
+            DatabaseContract.TarefaEntry.TABLE_NAME,
+            DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME,
+            DatabaseContract.TarefaCategoriaEntry.TABLE_NAME,
+            DatabaseContract.ComentarioEntry.TABLE_NAME,
+            DatabaseContract.AnexoEntry.TABLE_NAME,
+            DatabaseContract.TaskListEntry.TABLE_NAME
+    };
+
+    private StorageSchema() {}
+
+    /**
+     * CREATE TABLE das tabelas de dados com o sufixo informado ("" para as tabelas reais,
+     * SHADOW_SUFFIX para as sombras). As FKs sempre citam os nomes reais,
+     * então continuam corretas depois do RENAME da troca.
+     * O índice da projeção fica de fora (ver taskListIndex).
+     */
+    public static List<String> createDataTables(String suffix) {
+        List<String> statements = new ArrayList<>();
+
+        // 1. Tabela usuarios
+        statements.add("CREATE TABLE " + DatabaseContract.UsuarioEntry.TABLE_NAME + suffix + " (" +
+                DatabaseContract.UsuarioEntry.COLUMN_ID_USUARIO + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                DatabaseContract.UsuarioEntry.COLUMN_EMAIL + " TEXT UNIQUE NOT NULL," +
+                DatabaseContract.UsuarioEntry.COLUMN_SENHA + " TEXT NOT NULL," +
+                DatabaseContract.UsuarioEntry.COLUMN_TELEFONE + " TEXT UNIQUE," +
+                DatabaseContract.UsuarioEntry.COLUMN_NOME + " TEXT NOT NULL," +
+                DatabaseContract.UsuarioEntry.COLUMN_PONTOS + " REAL DEFAULT 0.0" +
+                ");");
+
+        // 2. Tabela workspace
+        statements.add("CREATE TABLE " + DatabaseContract.WorkspaceEntry.TABLE_NAME + suffix + " (" +
+                DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                DatabaseContract.WorkspaceEntry.COLUMN_NOME + " TEXT," +
+                DatabaseContract.WorkspaceEntry.COLUMN_EQUIPE + " INTEGER DEFAULT 0," + // SQLite não tem BOOLEAN, usa INTEGER
+                DatabaseContract.WorkspaceEntry.COLUMN_CRIADOR + " TEXT NOT NULL" +
+                ");");
+
+        // 3. Tabela usuario_workspace (relação)
+        statements.add("CREATE TABLE " + DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME + suffix + " (" +
+                DatabaseContract.UsuarioWorkspaceEntry.COLUMN_ID_USUARIO_WORKSPACE + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                DatabaseContract.UsuarioWorkspaceEntry.COLUMN_EMAIL + " TEXT NOT NULL," +
+                DatabaseContract.UsuarioWorkspaceEntry.COLUMN_ID_WORKSPACE + " INTEGER NOT NULL," +
+                "UNIQUE(" + DatabaseContract.UsuarioWorkspaceEntry.COLUMN_EMAIL + ", " +
+                DatabaseContract.UsuarioWorkspaceEntry.COLUMN_ID_WORKSPACE + ")," +
+                "FOREIGN KEY (" + DatabaseContract.UsuarioWorkspaceEntry.COLUMN_EMAIL + ") REFERENCES " +
+                DatabaseContract.UsuarioEntry.TABLE_NAME + "(" + DatabaseContract.UsuarioEntry.COLUMN_EMAIL + ")," +
+                "FOREIGN KEY (" + DatabaseContract.UsuarioWorkspaceEntry.COLUMN_ID_WORKSPACE + ") REFERENCES " +
+                DatabaseContract.WorkspaceEntry.TABLE_NAME + "(" + DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE + ")" +
+                ");");
+
+        // 4. Tabela categorias
+        statements.add("CREATE TABLE " + DatabaseContract.CategoriaEntry.TABLE_NAME + suffix + " (" +
+                DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                DatabaseContract.CategoriaEntry.COLUMN_NOME + " TEXT NOT NULL," +
+                DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE + " INTEGER NOT NULL," +
+                "UNIQUE(" + DatabaseContract.CategoriaEntry.COLUMN_NOME + ", " +
+                DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE + ")," +
+                "FOREIGN KEY (" + DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE + ") REFERENCES " +
+                DatabaseContract.WorkspaceEntry.TABLE_NAME + "(" + DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE + ") ON DELETE CASCADE" +
+                ");");
+
+        // 5. Tabela tarefas
+        statements.add("CREATE TABLE " + DatabaseContract.TarefaEntry.TABLE_NAME + suffix + " (" +
+                DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                DatabaseContract.TarefaEntry.COLUMN_TITULO + " TEXT NOT NULL," +
+                DatabaseContract.TarefaEntry.COLUMN_DESCRICAO + " TEXT," +
+                DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + " DATETIME," +
+                DatabaseContract.TarefaEntry.COLUMN_DATA_CRIACAO + " DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE + " TEXT CHECK(" + DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE + " IN ('alta', 'media', 'baixa', 'urgente')) DEFAULT 'media'," +
+                DatabaseContract.TarefaEntry.COLUMN_STATUS + " TEXT CHECK(" + DatabaseContract.TarefaEntry.COLUMN_STATUS + " IN ('a_fazer', 'em_andamento', 'concluido', 'atrasada')) DEFAULT 'a_fazer'," +
+                DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + " INTEGER DEFAULT 0," +
+                DatabaseContract.TarefaEntry.COLUMN_RECORRENTE + " INTEGER DEFAULT 0," +
+                DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA + " TEXT CHECK(" + DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA + " IN ('diaria', 'semanal', 'mensal'))," +
+                DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO + " INTEGER NOT NULL," +
+                "UNIQUE(" + DatabaseContract.TarefaEntry.COLUMN_TITULO + ", " + DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO + ")," +
+                "FOREIGN KEY (" + DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO + ") REFERENCES " +
+                DatabaseContract.UsuarioEntry.TABLE_NAME + "(" + DatabaseContract.UsuarioEntry.COLUMN_ID_USUARIO + ") ON DELETE CASCADE" +
+                ");");
+
+        // 6. Tabela tarefa_workspace (relação)
+        statements.add("CREATE TABLE " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + suffix + " (" +
+                DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA_WORKSPACE + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + " INTEGER NOT NULL," +
+                DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + " INTEGER NOT NULL," +
+                "UNIQUE(" + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + ", " +
+                DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + ")," +
+                "FOREIGN KEY (" + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + ") REFERENCES " +
+                DatabaseContract.TarefaEntry.TABLE_NAME + "(" + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ") ON DELETE CASCADE," +
+                "FOREIGN KEY (" + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + ") REFERENCES " +
+                DatabaseContract.WorkspaceEntry.TABLE_NAME + "(" + DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE + ") ON DELETE CASCADE" +
+                ");");
+
+        // 7. Tabela tarefa_categoria (relação)
+        statements.add("CREATE TABLE " + DatabaseContract.TarefaCategoriaEntry.TABLE_NAME + suffix + " (" +
+                DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA_CATEGORIA + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA + " INTEGER NOT NULL," +
+                DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + " INTEGER NOT NULL," +
+                "UNIQUE(" + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA + ", " +
+                DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + ")," +
+                "FOREIGN KEY (" + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA + ") REFERENCES " +
+                DatabaseContract.TarefaEntry.TABLE_NAME + "(" + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ") ON DELETE CASCADE," +
+                "FOREIGN KEY (" + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + ") REFERENCES " +
+                DatabaseContract.CategoriaEntry.TABLE_NAME + "(" + DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA + ") ON DELETE CASCADE" +
+                ");");
+
+        // 8. Tabela comentarios
+        statements.add("CREATE TABLE " + DatabaseContract.ComentarioEntry.TABLE_NAME + suffix + " (" +
+                DatabaseContract.ComentarioEntry.COLUMN_ID_COMENTARIO + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                DatabaseContract.ComentarioEntry.COLUMN_EMAIL + " TEXT NOT NULL," +
+                DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + " INTEGER NOT NULL," +
+                DatabaseContract.ComentarioEntry.COLUMN_DESCRICAO + " TEXT NOT NULL," +
+                DatabaseContract.ComentarioEntry.COLUMN_DATA_CRIACAO + " DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                DatabaseContract.ComentarioEntry.COLUMN_DATA_ATUALIZACAO + " DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                "FOREIGN KEY (" + DatabaseContract.ComentarioEntry.COLUMN_EMAIL + ") REFERENCES " +
+                DatabaseContract.UsuarioEntry.TABLE_NAME + "(" + DatabaseContract.UsuarioEntry.COLUMN_EMAIL + ")," +
+                "FOREIGN KEY (" + DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + ") REFERENCES " +
+                DatabaseContract.TarefaEntry.TABLE_NAME + "(" + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ")" +
+                ");");
+
+        // 9. Tabela anexos_tarefa
+        statements.add("CREATE TABLE " + DatabaseContract.AnexoEntry.TABLE_NAME + suffix + " (" +
+                DatabaseContract.AnexoEntry.COLUMN_ID_ANEXO + " INTEGER PRIMARY KEY AUTOINCREMENT," +
+                DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA + " INTEGER NOT NULL," +
+                DatabaseContract.AnexoEntry.COLUMN_TIPO_ARQUIVO + " TEXT CHECK(" + DatabaseContract.AnexoEntry.COLUMN_TIPO_ARQUIVO + " IN ('pdf', 'imagem')) NOT NULL," +
+                DatabaseContract.AnexoEntry.COLUMN_NOME_ARQUIVO + " TEXT NOT NULL," +
+                DatabaseContract.AnexoEntry.COLUMN_NOME_ORIGINAL + " TEXT NOT NULL," +
+                DatabaseContract.AnexoEntry.COLUMN_TAMANHO_ARQUIVO + " INTEGER NOT NULL," +
+                DatabaseContract.AnexoEntry.COLUMN_CAMINHO_ARQUIVO + " TEXT NOT NULL," +
+                DatabaseContract.AnexoEntry.COLUMN_DATA_UPLOAD + " DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                DatabaseContract.AnexoEntry.COLUMN_DATA_ATUALIZACAO + " DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                "UNIQUE(" + DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA + ", " + DatabaseContract.AnexoEntry.COLUMN_TIPO_ARQUIVO + ")," +
+                "FOREIGN KEY (" + DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA + ") REFERENCES " +
+                DatabaseContract.TarefaEntry.TABLE_NAME + "(" + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ") ON DELETE CASCADE" +
+                ");");
+
+        // 10. Projeção tarefas_lista (listas e kanban)
+        statements.add(taskListTable(suffix));
+
+        return statements;
+    }
+
+    /**
+     * DROP das tabelas sombra, na ordem inversa da criação
+     */
+    public static List<String> dropShadowTables() {
+        List<String> statements = new ArrayList<>();
+        for (int i = DATA_TABLES.length - 1; i >= 0; i--) {
+            statements.add("DROP TABLE IF EXISTS " + DATA_TABLES[i] + SHADOW_SUFFIX);
+        }
+        return statements;
+    }
+
+    /**
+     * Troca as tabelas reais pelas sombras. Só mexe no catálogo (DROP + RENAME),
+     * então leva milissegundos independente do volume. Deve rodar dentro de uma transação.
+     */
+    public static List<String> swapShadowTables() {
+        List<String> statements = new ArrayList<>();
+        for (int i = DATA_TABLES.length - 1; i >= 0; i--) {
+            statements.add("DROP TABLE IF EXISTS " + DATA_TABLES[i]);
+        }
+        for (String table : DATA_TABLES) {
+            statements.add("ALTER TABLE " + table + SHADOW_SUFFIX + " RENAME TO " + table);
+        }
+        return statements;
+    }
+
+    // =====================================================
+    // 🗄️ TABELAS LOCAIS (fora das sombras)
+    // =====================================================
+
+    /**
+     * Todas as tabelas locais, em ordem de criação (banco novo e clearDatabase)
+     */
+    public static List<String> createLocalTables() {
+        List<String> statements = new ArrayList<>();
+        statements.add(syncMetadataTable());
+        statements.addAll(attachmentCacheTables());
+        statements.addAll(archiveTables());
+        statements.addAll(tombstoneTables());
+        statements.addAll(pendingEditTables());
+        return statements;
+    }
+
+    public static List<String> dropLocalTables() {
+        List<String> statements = new ArrayList<>();
+        statements.add("DROP TABLE IF EXISTS " + DatabaseContract.PendingEditEntry.TABLE_NAME);
+        statements.add("DROP TABLE IF EXISTS " + DatabaseContract.TombstoneEntry.TABLE_NAME);
+        statements.add("DROP TABLE IF EXISTS " + DatabaseContract.ComentarioArquivoEntry.TABLE_NAME);
+        statements.add("DROP TABLE IF EXISTS " + DatabaseContract.TarefaArquivoEntry.TABLE_NAME);
+        statements.add("DROP TABLE IF EXISTS " + DatabaseContract.AttachmentCacheEntry.TABLE_NAME);
+        statements.add("DROP TABLE IF EXISTS " + DatabaseContract.SyncEntry.TABLE_NAME);
+        return statements;
+    }
+
+    public static String syncMetadataTable() {
+        return "CREATE TABLE " + DatabaseContract.SyncEntry.TABLE_NAME + " (" +
+                DatabaseContract.SyncEntry.COLUMN_TABLE_NAME + " TEXT PRIMARY KEY," +
+                DatabaseContract.SyncEntry.COLUMN_LAST_SYNC + " DATETIME," +
+                DatabaseContract.SyncEntry.COLUMN_PENDING_SYNC + " INTEGER DEFAULT 0" +
+                ");";
+    }
+
+    /**
+     * Cache de anexos baixados (v2)
+     */
+    public static List<String> attachmentCacheTables() {
+        List<String> statements = new ArrayList<>();
+        statements.add("CREATE TABLE " + DatabaseContract.AttachmentCacheEntry.TABLE_NAME + " (" +
+                DatabaseContract.AttachmentCacheEntry.COLUMN_ID_ANEXO + " INTEGER PRIMARY KEY," +
+                DatabaseContract.AttachmentCacheEntry.COLUMN_ID_TAREFA + " INTEGER," +
+                DatabaseContract.AttachmentCacheEntry.COLUMN_HASH + " TEXT NOT NULL," +
+                DatabaseContract.AttachmentCacheEntry.COLUMN_EXTENSAO + " TEXT," +
+                DatabaseContract.AttachmentCacheEntry.COLUMN_TAMANHO + " INTEGER NOT NULL," +
+                DatabaseContract.AttachmentCacheEntry.COLUMN_ULTIMO_ACESSO + " INTEGER NOT NULL" +
+                ");");
+        statements.add("CREATE INDEX idx_anexos_cache_hash ON " + DatabaseContract.AttachmentCacheEntry.TABLE_NAME +
+                "(" + DatabaseContract.AttachmentCacheEntry.COLUMN_HASH + ")");
+        return statements;
+    }
+
+    /**
+     * Arquivo frio: tarefas_arquivo e comentarios_arquivo (v4)
+     */
+    public static List<String> archiveTables() {
+        List<String> statements = new ArrayList<>();
+        statements.add("CREATE TABLE " + DatabaseContract.TarefaArquivoEntry.TABLE_NAME + " (" +
+                DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " INTEGER PRIMARY KEY," +
+                DatabaseContract.TarefaEntry.COLUMN_TITULO + " TEXT NOT NULL," +
+                DatabaseContract.TarefaEntry.COLUMN_DESCRICAO + " TEXT," +
+                DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + " DATETIME," +
+                DatabaseContract.TarefaEntry.COLUMN_DATA_CRIACAO + " DATETIME," +
+                DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE + " TEXT," +
+                DatabaseContract.TarefaEntry.COLUMN_STATUS + " TEXT," +
+                DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + " INTEGER," +
+                DatabaseContract.TarefaEntry.COLUMN_RECORRENTE + " INTEGER," +
+                DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA + " TEXT," +
+                DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO + " INTEGER," +
+                DatabaseContract.TarefaArquivoEntry.COLUMN_ID_WORKSPACE + " INTEGER," +
+                DatabaseContract.TarefaArquivoEntry.COLUMN_ARQUIVADA_EM + " INTEGER NOT NULL" +
+                ");");
+        statements.add("CREATE INDEX idx_tarefas_arquivo_workspace ON " + DatabaseContract.TarefaArquivoEntry.TABLE_NAME +
+                "(" + DatabaseContract.TarefaArquivoEntry.COLUMN_ID_WORKSPACE + ")");
+
+        statements.add("CREATE TABLE " + DatabaseContract.ComentarioArquivoEntry.TABLE_NAME + " (" +
+                DatabaseContract.ComentarioEntry.COLUMN_ID_COMENTARIO + " INTEGER PRIMARY KEY," +
+                DatabaseContract.ComentarioEntry.COLUMN_EMAIL + " TEXT," +
+                DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + " INTEGER NOT NULL," +
+                DatabaseContract.ComentarioEntry.COLUMN_DESCRICAO + " TEXT," +
+                DatabaseContract.ComentarioEntry.COLUMN_DATA_CRIACAO + " DATETIME," +
+                DatabaseContract.ComentarioEntry.COLUMN_DATA_ATUALIZACAO + " DATETIME," +
+                DatabaseContract.ComentarioArquivoEntry.COLUMN_ARQUIVADO_EM + " INTEGER NOT NULL" +
+                ");");
+        statements.add("CREATE INDEX idx_comentarios_arquivo_tarefa ON " + DatabaseContract.ComentarioArquivoEntry.TABLE_NAME +
+                "(" + DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + ")");
+        return statements;
+    }
+
+    /**
+     * Exclusões (tombstones) do sync incremental (v5)
+     */
+    public static List<String> tombstoneTables() {
+        List<String> statements = new ArrayList<>();
+        statements.add("CREATE TABLE " + DatabaseContract.TombstoneEntry.TABLE_NAME + " (" +
+                DatabaseContract.TombstoneEntry.COLUMN_TABELA + " TEXT NOT NULL," +
+                DatabaseContract.TombstoneEntry.COLUMN_ID_REGISTRO + " INTEGER NOT NULL," +
+                DatabaseContract.TombstoneEntry.COLUMN_EXCLUIDO_EM + " INTEGER NOT NULL," +
+                DatabaseContract.TombstoneEntry.COLUMN_CONFIRMADO_EM + " INTEGER," +
+                "PRIMARY KEY (" + DatabaseContract.TombstoneEntry.COLUMN_TABELA + ", " +
+                DatabaseContract.TombstoneEntry.COLUMN_ID_REGISTRO + ")" +
+                ") WITHOUT ROWID;");
+        // Pendentes (confirmado_em IS NULL) em ordem de exclusão e compactação por faixa de confirmado_em
+        statements.add("CREATE INDEX idx_exclusoes_confirmacao ON " + DatabaseContract.TombstoneEntry.TABLE_NAME +
+                "(" + DatabaseContract.TombstoneEntry.COLUMN_CONFIRMADO_EM + ", " +
+                DatabaseContract.TombstoneEntry.COLUMN_EXCLUIDO_EM + ")");
+        return statements;
+    }
+
+    /**
+     * Alterações locais pendentes de envio, uma linha por campo (v6)
+     */
+    public static List<String> pendingEditTables() {
+        List<String> statements = new ArrayList<>();
+        // valor sem tipo declarado: guarda INTEGER ou TEXT como foi gravado
+        statements.add("CREATE TABLE " + DatabaseContract.PendingEditEntry.TABLE_NAME + " (" +
+                DatabaseContract.PendingEditEntry.COLUMN_TABELA + " TEXT NOT NULL," +
+                DatabaseContract.PendingEditEntry.COLUMN_ID_REGISTRO + " INTEGER NOT NULL," +
+                DatabaseContract.PendingEditEntry.COLUMN_CAMPO + " TEXT NOT NULL," +
+                DatabaseContract.PendingEditEntry.COLUMN_VALOR + "," +
+                DatabaseContract.PendingEditEntry.COLUMN_ALTERADO_EM + " INTEGER NOT NULL," +
+                "PRIMARY KEY (" + DatabaseContract.PendingEditEntry.COLUMN_TABELA + ", " +
+                DatabaseContract.PendingEditEntry.COLUMN_ID_REGISTRO + ", " +
+                DatabaseContract.PendingEditEntry.COLUMN_CAMPO + ")" +
+                ") WITHOUT ROWID;");
+        return statements;
+    }
+
+    // =====================================================
+    // 📋 PROJEÇÃO tarefas_lista
+    // =====================================================
+
+    /**
+     * Chave primária (id_workspace, id_tarefa) numa tabela WITHOUT ROWID:
+     * listar um workspace vira uma única varredura de intervalo, sem JOINs
+     */
+    public static String taskListTable(String suffix) {
+        return "CREATE TABLE " + DatabaseContract.TaskListEntry.TABLE_NAME + suffix + " (" +
+                DatabaseContract.TaskListEntry.COLUMN_ID_WORKSPACE + " INTEGER NOT NULL," +
+                DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA + " INTEGER NOT NULL," +
+                DatabaseContract.TaskListEntry.COLUMN_TITULO + " TEXT NOT NULL," +
+                DatabaseContract.TaskListEntry.COLUMN_DESCRICAO + " TEXT," +
+                DatabaseContract.TaskListEntry.COLUMN_ID_USUARIO + " INTEGER," +
+                DatabaseContract.TaskListEntry.COLUMN_DATA_FIM + " DATETIME," +
+                DatabaseContract.TaskListEntry.COLUMN_PRIORIDADE + " TEXT," +
+                DatabaseContract.TaskListEntry.COLUMN_STATUS + " TEXT," +
+                DatabaseContract.TaskListEntry.COLUMN_CONCLUIDA + " INTEGER DEFAULT 0," +
+                DatabaseContract.TaskListEntry.COLUMN_CATEGORIAS_IDS + " TEXT," +
+                DatabaseContract.TaskListEntry.COLUMN_CATEGORIAS_NOMES + " TEXT," +
+                "PRIMARY KEY (" + DatabaseContract.TaskListEntry.COLUMN_ID_WORKSPACE + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA + ")" +
+                ") WITHOUT ROWID;";
+    }
+
+    /**
+     * Índice por id_tarefa (usado na atualização incremental). O nome vem de fora:
+     * TASK_LIST_INDEX, ou TASK_LIST_INDEX_ALT se o primeiro já existir.
+     */
+    public static String taskListIndex(String name, String suffix) {
+        return "CREATE INDEX " + name + " ON " + DatabaseContract.TaskListEntry.TABLE_NAME + suffix +
+                "(" + DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA + ")";
+    }
+
+    /**
+     * Índice parcial por data_fim só das tarefas abertas (concluida = 0): as consultas
+     * por faixa de prazo precisam repetir "concluida = 0" para usá-lo.
+     * O nome vem de fora: DEADLINE_INDEX, ou DEADLINE_INDEX_ALT se o primeiro já existir.
+     */
+    public static String deadlineIndex(String name, String suffix) {
+        return "CREATE INDEX " + name + " ON " + DatabaseContract.TarefaEntry.TABLE_NAME + suffix +
+                "(" + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + ") WHERE " +
+                DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + " = 0";
+    }
+
+    /**
+     * INSERT ... SELECT que monta as linhas da projeção a partir das tabelas com o sufixo
+     * informado. where (opcional) filtra sobre t (tarefas), ex.: "t.id_tarefa = ?".
+     *
+     * IDs e nomes das categorias saem de uma única subconsulta por tarefa, ordenada por
+     * id_categoria, então as duas listas ficam alinhadas posição a posição; categoria
+     * sem linha em categorias entra com o nome CATEGORIA_SEM_NOME.
+     */
+    public static String taskListSelectInto(String suffix, String where) {
+        String tarefas = DatabaseContract.TarefaEntry.TABLE_NAME + suffix;
+        String tarefaWorkspace = DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + suffix;
+        String tarefaCategoria = DatabaseContract.TarefaCategoriaEntry.TABLE_NAME + suffix;
+        String categorias = DatabaseContract.CategoriaEntry.TABLE_NAME + suffix;
+
+        // "ids<RS>nomes" numa string só, separada depois em duas colunas
+        String categoriasSql = "(SELECT group_concat(" + DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA + ", '" + LIST_SEPARATOR + "')" +
+                " || '" + PAIR_SEPARATOR + "' || " +
+                "group_concat(" + DatabaseContract.CategoriaEntry.COLUMN_NOME + ", '" + LIST_SEPARATOR + "') " +
+                "FROM (SELECT tc." + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + ", " +
+                "COALESCE(c." + DatabaseContract.CategoriaEntry.COLUMN_NOME + ", '" + CATEGORIA_SEM_NOME + "') AS " +
+                DatabaseContract.CategoriaEntry.COLUMN_NOME + " " +
+                "FROM " + tarefaCategoria + " tc " +
+                "LEFT JOIN " + categorias + " c ON c." + DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA +
+                " = tc." + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + " " +
+                "WHERE tc." + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA + " = t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " " +
+                "ORDER BY tc." + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + "))";
+        String pairAt = "instr(categorias, '" + PAIR_SEPARATOR + "')";
+
+        return "INSERT OR REPLACE INTO " + DatabaseContract.TaskListEntry.TABLE_NAME + suffix + " (" +
+                DatabaseContract.TaskListEntry.COLUMN_ID_WORKSPACE + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_TITULO + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_DESCRICAO + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_ID_USUARIO + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_DATA_FIM + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_PRIORIDADE + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_STATUS + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_CONCLUIDA + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_CATEGORIAS_IDS + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_CATEGORIAS_NOMES + ") " +
+                "SELECT " + DatabaseContract.TaskListEntry.COLUMN_ID_WORKSPACE + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_TITULO + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_DESCRICAO + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_ID_USUARIO + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_DATA_FIM + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_PRIORIDADE + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_STATUS + ", " +
+                DatabaseContract.TaskListEntry.COLUMN_CONCLUIDA + ", " +
+                "substr(categorias, 1, " + pairAt + " - 1), " +
+                "substr(categorias, " + pairAt + " + 1) " +
+                "FROM (SELECT tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_TITULO + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_DESCRICAO + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_STATUS + ", " +
+                "t." + DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + ", " +
+                categoriasSql + " AS categorias " +
+                "FROM " + tarefas + " t " +
+                "INNER JOIN " + tarefaWorkspace + " tw ON tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA +
+                " = t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA +
+                (where != null ? " WHERE " + where : "") +
+                // OFFSET impede o SQLite de achatar a subconsulta, o que repetiria a de categorias em cada substr
+                " LIMIT -1 OFFSET 0)";
+    }
+}
@@ -0,0 +1,293 @@
+// android/storage/src/main/java/com/noiton2_frontend/storage/InMemorySyncStateStore.java
+package com.noiton2_frontend.storage;
+
+import com.noiton2_frontend.database.DatabaseContract;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SyncStateStore em memória sobre um InMemoryTaskStore: frescor, exclusões e
+ * alterações pendentes com as mesmas regras (e a mesma ordem de leitura) do
+ * SqliteSyncStateStore. Sem tabelas sombra, o sufixo é ignorado: applyDeletions e
+ * applyPendingEdits valem para os dados atuais, então quem chama aplica depois da
+ * ingestão. Não há arquivo frio: archive não move nada e as consultas vêm vazias.
+ *
+ * Thread-safe: operações serializadas no próprio objeto.
+ */
+public class InMemorySyncStateStore implements SyncStateStore {
+
+    private static final class Tombstone {
+        final String table;
+        final int id;
+        final long excluidoEm;
+        // null: pendente de envio
+        Long confirmadoEm;
+
+        Tombstone(String table, int id, long excluidoEm, Long confirmadoEm) {
+            this.table = table;
+            this.id = id;
+            this.excluidoEm = excluidoEm;
+            this.confirmadoEm = confirmadoEm;
+        }
+    }
+
+    private static final class Edit {
+        final Object valor;
+        final long alteradoEm;
+
+        Edit(Object valor, long alteradoEm) {
+            this.valor = valor;
+            this.alteradoEm = alteradoEm;
+        }
+    }
+
+    private final InMemoryTaskStore tasks;
+    private final IntObjectMap<Long> lastSyncByWorkspace = new IntObjectMap<>();
+    // Chave "tabela:id", como a chave primária (tabela, id_registro)
+    private final Map<String, Tombstone> tombstones = new HashMap<>();
+    // tabela -> id -> campo -> alteração: mesma ordem da chave primária do SQLite
+    private final TreeMap<String, TreeMap<Integer, TreeMap<String, Edit>>> edits = new TreeMap<>();
+
+    public InMemorySyncStateStore(InMemoryTaskStore tasks) {
+        this.tasks = tasks;
+    }
+
+    // =====================================================
+    // 🕒 FRESCOR POR WORKSPACE
+    // =====================================================
+
+    @Override
+    public synchronized void markWorkspaceFresh(int idWorkspace, long timestamp) {
+        lastSyncByWorkspace.put(idWorkspace, timestamp);
+    }
+
+    @Override
+    public synchronized void clearWorkspaceFreshness() {
+        lastSyncByWorkspace.clear();
+    }
+
+    @Override
+    public synchronized long getWorkspaceLastSync(int idWorkspace) {
+        Long lastSync = lastSyncByWorkspace.get(idWorkspace);
+        return lastSync != null ? lastSync : -1;
+    }
+
+    // =====================================================
+    // 🪦 EXCLUSÕES (TOMBSTONES)
+    // =====================================================
+
+    @Override
+    public synchronized void deleteLocal(String table, int id, long now) {
+        tasks.delete(table, id);
+        tombstones.put(table + ":" + id, new Tombstone(table, id, now, null));
+    }
+
+    @Override
+    public synchronized List<Deletion> recordRemoteDeletions(JSONArray exclusoes, long now) throws JSONException {
+        List<Deletion> recorded = new ArrayList<>();
+        if (exclusoes == null) {
+            return recorded;
+        }
+        // Parse antes de gravar: um payload inválido não grava nada
+        for (int i = 0; i < exclusoes.length(); i++) {
+            JSONObject exclusao = exclusoes.getJSONObject(i);
+            String table = exclusao.getString("tabela");
+            if (SyncStateStore.isDeletable(table)) {
+                recorded.add(new Deletion(table, exclusao.getInt("id")));
+            }
+        }
+        for (Deletion deletion : recorded) {
+            tombstones.put(deletion.table + ":" + deletion.id, new Tombstone(deletion.table, deletion.id, now, now));
+        }
+        return recorded;
+    }
+
+    @Override
+    public synchronized void applyDeletions(String suffix) {
+        for (Tombstone tombstone : tombstones.values()) {
+            tasks.delete(tombstone.table, tombstone.id);
+        }
+    }
+
+    @Override
+    public synchronized List<Deletion> applyRemoteDeletions(JSONArray exclusoes, long now, TaskStore.IngestListener listener) throws JSONException {
+        List<Deletion> recorded = recordRemoteDeletions(exclusoes, now);
+        listener.onTable(DatabaseContract.TombstoneEntry.TABLE_NAME, exclusoes.length());
+        applyDeletions("");
+        listener.onPhase("tombstones");
+        listener.onPhase("commit");
+        return recorded;
+    }
+
+    @Override
+    public synchronized List<Map<String, Object>> getPendingTombstones(int limit) {
+        List<Tombstone> pending = new ArrayList<>();
+        for (Tombstone tombstone : tombstones.values()) {
+            if (tombstone.confirmadoEm == null) {
+                pending.add(tombstone);
+            }
+        }
+        // Ordem do índice (confirmado_em, excluido_em), desempate pela chave primária
+        Collections.sort(pending, (a, b) -> {
+            int order = Long.compare(a.excluidoEm, b.excluidoEm);
+            if (order == 0) {
+                order = a.table.compareTo(b.table);
+            }
+            return order != 0 ? order : Integer.compare(a.id, b.id);
+        });
+
+        List<Map<String, Object>> exclusoes = new ArrayList<>();
+        for (Tombstone tombstone : pending) {
+            if (exclusoes.size() == limit) {
+                break;
+            }
+            Map<String, Object> exclusao = new HashMap<>();
+            exclusao.put("tabela", tombstone.table);
+            exclusao.put("id", tombstone.id);
+            exclusao.put("excluido_em", tombstone.excluidoEm);
+            exclusoes.add(exclusao);
+        }
+        return exclusoes;
+    }
+
+    @Override
+    public synchronized int[] acknowledgeTombstones(JSONArray exclusoes, long now) throws JSONException {
+        List<Tombstone> acknowledged = new ArrayList<>();
+        for (int i = 0; i < exclusoes.length(); i++) {
+            JSONObject exclusao = exclusoes.getJSONObject(i);
+            Tombstone tombstone = tombstones.get(exclusao.getString("tabela") + ":" + exclusao.getInt("id"));
+            if (tombstone != null && tombstone.confirmadoEm == null && !acknowledged.contains(tombstone)) {
+                acknowledged.add(tombstone);
+            }
+        }
+        for (Tombstone tombstone : acknowledged) {
+            tombstone.confirmadoEm = now;
+        }
+
+        return new int[]{acknowledged.size(), compactTombstones(now)};
+    }
+
+    private int compactTombstones(long now) {
+        int compacted = 0;
+        for (Iterator<Tombstone> it = tombstones.values().iterator(); it.hasNext(); ) {
+            Tombstone tombstone = it.next();
+            if (tombstone.confirmadoEm != null && tombstone.confirmadoEm < now - TOMBSTONE_RETENTION_MS) {
+                it.remove();
+                compacted++;
+            }
+        }
+        return compacted;
+    }
+
+    // =====================================================
+    // ✏️ ALTERAÇÕES PENDENTES
+    // =====================================================
+
+    @Override
+    public synchronized void editTarefa(int idTarefa, String campo, Object valor, long now) {
+        if (!SyncStateStore.isEditable(campo)) {
+            throw new IllegalArgumentException("Campo não editável fora do JS: " + campo);
+        }
+        tasks.applyEdit(idTarefa, campo, valor);
+        // Inteiros voltam como Long, como a coluna INTEGER do SQLite
+        Object stored = valor instanceof Integer ? Long.valueOf((Integer) valor) : valor;
+        edits.computeIfAbsent(DatabaseContract.TarefaEntry.TABLE_NAME, table -> new TreeMap<>())
+                .computeIfAbsent(idTarefa, id -> new TreeMap<>())
+                .put(campo, new Edit(stored, now));
+    }
+
+    @Override
+    public synchronized List<Map<String, Object>> getPendingEdits(int limit) {
+        List<Map<String, Object>> alteracoes = new ArrayList<>();
+        for (Map.Entry<String, TreeMap<Integer, TreeMap<String, Edit>>> byTable : edits.entrySet()) {
+            for (Map.Entry<Integer, TreeMap<String, Edit>> byId : byTable.getValue().entrySet()) {
+                if (alteracoes.size() == limit) {
+                    return alteracoes;
+                }
+                Map<String, Object> campos = new LinkedHashMap<>();
+                long alteradoEm = 0;
+                for (Map.Entry<String, Edit> edit : byId.getValue().entrySet()) {
+                    campos.put(edit.getKey(), edit.getValue().valor);
+                    alteradoEm = Math.max(alteradoEm, edit.getValue().alteradoEm);
+                }
+                Map<String, Object> alteracao = new HashMap<>();
+                alteracao.put("tabela", byTable.getKey());
+                alteracao.put("id", byId.getKey());
+                alteracao.put("campos", campos);
+                alteracao.put("alterado_em", alteradoEm);
+                alteracoes.add(alteracao);
+            }
+        }
+        return alteracoes;
+    }
+
+    @Override
+    public synchronized int acknowledgePendingEdits(JSONArray alteracoes) throws JSONException {
+        int acknowledged = 0;
+        for (int i = 0; i < alteracoes.length(); i++) {
+            JSONObject alteracao = alteracoes.getJSONObject(i);
+            TreeMap<Integer, TreeMap<String, Edit>> byId = edits.get(alteracao.getString("tabela"));
+            TreeMap<String, Edit> campos = byId != null ? byId.get(alteracao.getInt("id")) : null;
+            if (campos == null) {
+                continue;
+            }
+            long alteradoEm = alteracao.getLong("alterado_em");
+            int before = campos.size();
+            campos.values().removeIf(edit -> edit.alteradoEm <= alteradoEm);
+            acknowledged += before - campos.size();
+            if (campos.isEmpty()) {
+                byId.remove(alteracao.getInt("id"));
+            }
+        }
+        return acknowledged;
+    }
+
+    @Override
+    public synchronized void applyPendingEdits(String suffix) {
+        TreeMap<Integer, TreeMap<String, Edit>> byId = edits.get(DatabaseContract.TarefaEntry.TABLE_NAME);
+        if (byId == null) {
+            return;
+        }
+        for (Map.Entry<Integer, TreeMap<String, Edit>> campos : byId.entrySet()) {
+            for (Map.Entry<String, Edit> edit : campos.getValue().entrySet()) {
+                tasks.applyEdit(campos.getKey(), edit.getKey(), edit.getValue().valor);
+            }
+        }
+    }
+
+    // =====================================================
+    // 📦 ARQUIVO FRIO
+    // =====================================================
+
+    @Override
+    public int archive(String suffix, int ageDays, long now) {
+        return 0;
+    }
+
+    @Override
+    public synchronized int archiveAndCompact(int ageDays, long now) {
+        compactTombstones(now);
+        return 0;
+    }
+
+    @Override
+    public List<Map<String, Object>> getArchivedTarefasByWorkspace(int idWorkspace) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<Map<String, Object>> getArchivedComentariosByTarefa(int idTarefa) {
+        return new ArrayList<>();
+    }
+}
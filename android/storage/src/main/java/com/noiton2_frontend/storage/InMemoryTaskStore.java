@@ -0,0 +1,847 @@
+// android/storage/src/main/java/com/noiton2_frontend/storage/InMemoryTaskStore.java
+package com.noiton2_frontend.storage;
+
+import com.noiton2_frontend.database.DatabaseContract;
+import com.noiton2_frontend.database.StorageSchema;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TaskStore inteiro em memória, sem persistência: registros em mapas com chave int
+ * (IntObjectMap) e índices secundários como listas de IDs ordenadas (IntList),
+ * então as leituras quentes (lista do workspace, detalhe) não fazem SQL nem boxing.
+ *
+ * Serve de camada rápida e de referência para comparar motores nos benchmarks.
+ * Mesmos campos e valores padrão do SqliteTaskStore; cada tarefa pertence a um
+ * único workspace. Os ganchos de SQL do IngestListener não são chamados.
+ *
+ * Thread-safe: operações serializadas no próprio objeto. O sync completo monta
+ * os mapas novos fora do lock e só troca a referência no fim.
+ */
+public class InMemoryTaskStore implements TaskStore {
+
+    private static final class Workspace {
+        final int id;
+        final String nome;
+        final boolean equipe;
+        final String criador;
+
+        Workspace(JSONObject json) throws JSONException {
+            id = json.getInt("id_workspace");
+            nome = json.getString("nome");
+            equipe = json.getBoolean("equipe");
+            criador = json.getString("criador");
+        }
+    }
+
+    private static final class Categoria {
+        final int id;
+        final String nome;
+        final int idWorkspace;
+
+        Categoria(JSONObject json) throws JSONException {
+            id = json.getInt("id_categoria");
+            nome = json.getString("nome");
+            idWorkspace = json.getInt("id_workspace");
+        }
+    }
+
+    private static final class Tarefa {
+        final int id;
+        String titulo;
+        String descricao;
+        int idUsuario;
+        String dataFim;
+        String prioridade;
+        String status;
+        boolean concluida;
+        boolean recorrente;
+        String recorrencia;
+        // -1: sem workspace
+        int idWorkspace = -1;
+        // null: manter as categorias já associadas (escrita avulsa)
+        IntList categorias;
+
+        Tarefa(JSONObject json) throws JSONException {
+            id = json.getInt("id_tarefa");
+            titulo = json.getString("titulo");
+            descricao = json.optString("descricao");
+            idUsuario = json.getInt("id_usuario");
+            // Mesmos DEFAULTs da tabela tarefa
+            dataFim = optionalString(json, "data_fim");
+            prioridade = json.isNull("prioridade") ? "media" : json.getString("prioridade");
+            status = json.isNull("status") ? "a_fazer" : json.getString("status");
+            concluida = json.has("concluida") && json.getBoolean("concluida");
+            recorrente = json.has("recorrente") && json.getBoolean("recorrente");
+            recorrencia = optionalString(json, "recorrencia");
+            if (json.has("id_workspace") && !json.isNull("id_workspace")) {
+                idWorkspace = json.getInt("id_workspace");
+            }
+            JSONArray ids = json.optJSONArray("categorias");
+            if (ids != null) {
+                // Ordem do índice (id_tarefa, id_categoria), a mesma que a projeção agrega
+                categorias = new IntList();
+                for (int i = 0; i < ids.length(); i++) {
+                    categorias.add(SqliteTaskStore.categoriaId(ids, i));
+                }
+                categorias.sortDistinct();
+            }
+        }
+    }
+
+    private static final class Comentario {
+        final int id;
+        final String email;
+        final int idTarefa;
+        final String descricao;
+        final String dataCriacao;
+        final String dataAtualizacao;
+
+        Comentario(JSONObject json) throws JSONException {
+            id = json.getInt("id_comentario");
+            email = json.getString("email");
+            idTarefa = json.getInt("id_tarefa");
+            descricao = json.getString("descricao");
+            dataCriacao = optionalString(json, "data_criacao");
+            dataAtualizacao = optionalString(json, "data_atualizacao");
+        }
+    }
+
+    private static final class Anexo {
+        final int id;
+        final int idTarefa;
+        final String tipoArquivo;
+        final String nomeArquivo;
+        final String nomeOriginal;
+        final int tamanhoArquivo;
+        final String caminhoArquivo;
+        final String dataUpload;
+        final String dataAtualizacao;
+
+        Anexo(JSONObject json) throws JSONException {
+            id = json.getInt("id_anexo");
+            idTarefa = json.getInt("id_tarefa");
+            tipoArquivo = json.getString("tipo_arquivo");
+            nomeArquivo = json.getString("nome_arquivo");
+            nomeOriginal = json.getString("nome_original");
+            tamanhoArquivo = json.getInt("tamanho_arquivo");
+            caminhoArquivo = json.getString("caminho_arquivo");
+            dataUpload = optionalString(json, "data_upload");
+            dataAtualizacao = optionalString(json, "data_atualizacao");
+        }
+    }
+
+    private static String optionalString(JSONObject json, String key) throws JSONException {
+        return json.has(key) && !json.isNull(key) ? json.getString(key) : null;
+    }
+
+    /**
+     * Todos os registros e índices. Em lote (sync completo) os índices são só
+     * acrescentados e ordenados uma vez no fim (finishBulk).
+     */
+    private static final class Data {
+        final IntObjectMap<Workspace> workspaces = new IntObjectMap<>();
+        final Map<String, IntList> workspacesByEmail = new HashMap<>();
+        final IntObjectMap<Categoria> categorias;
+        final IntObjectMap<IntList> categoriasByWorkspace = new IntObjectMap<>();
+        final IntObjectMap<Tarefa> tarefas;
+        final IntObjectMap<IntList> tarefasByWorkspace = new IntObjectMap<>();
+        final IntObjectMap<Comentario> comentarios;
+        final IntObjectMap<IntList> comentariosByTarefa;
+        final IntObjectMap<Anexo> anexos;
+        final IntObjectMap<IntList> anexosByTarefa;
+        boolean bulk;
+
+        Data(JSONObject payload) {
+            categorias = new IntObjectMap<>(length(payload, "categorias"));
+            tarefas = new IntObjectMap<>(length(payload, "tarefas"));
+            comentarios = new IntObjectMap<>(length(payload, "comentarios"));
+            comentariosByTarefa = new IntObjectMap<>(length(payload, "tarefas"));
+            anexos = new IntObjectMap<>(length(payload, "anexos"));
+            anexosByTarefa = new IntObjectMap<>(length(payload, "anexos"));
+        }
+
+        private static int length(JSONObject payload, String key) {
+            JSONArray array = payload != null ? payload.optJSONArray(key) : null;
+            return array != null ? array.length() : 0;
+        }
+
+        void putWorkspace(Workspace workspace) {
+            workspaces.put(workspace.id, workspace);
+        }
+
+        void addUsuarioWorkspace(String email, int idWorkspace) {
+            IntList ids = workspacesByEmail.get(email);
+            if (ids == null) {
+                ids = new IntList();
+                workspacesByEmail.put(email, ids);
+            }
+            if (!ids.contains(idWorkspace)) {
+                ids.add(idWorkspace);
+            }
+        }
+
+        void putCategoria(Categoria categoria) {
+            Categoria previous = categorias.put(categoria.id, categoria);
+            if (previous != null && previous.idWorkspace != categoria.idWorkspace) {
+                unindex(categoriasByWorkspace, previous.idWorkspace, previous.id);
+            }
+            if (previous == null || previous.idWorkspace != categoria.idWorkspace) {
+                index(categoriasByWorkspace, categoria.idWorkspace, categoria.id);
+            }
+        }
+
+        /**
+         * INSERT OR REPLACE da tarefa; workspace e categorias ausentes no JSON
+         * continuam os da versão anterior
+         */
+        void putTarefa(Tarefa tarefa) {
+            Tarefa previous = tarefas.put(tarefa.id, tarefa);
+            if (previous != null) {
+                if (tarefa.idWorkspace < 0) {
+                    tarefa.idWorkspace = previous.idWorkspace;
+                }
+                if (tarefa.categorias == null) {
+                    tarefa.categorias = previous.categorias;
+                }
+                if (previous.idWorkspace >= 0 && previous.idWorkspace != tarefa.idWorkspace) {
+                    unindex(tarefasByWorkspace, previous.idWorkspace, tarefa.id);
+                }
+            }
+            if (tarefa.idWorkspace >= 0 && (previous == null || previous.idWorkspace != tarefa.idWorkspace)) {
+                index(tarefasByWorkspace, tarefa.idWorkspace, tarefa.id);
+            }
+        }
+
+        /**
+         * Remove a tarefa com comentários e anexos (menos os que forem mantidos)
+         */
+        void removeTarefa(int idTarefa, boolean keepComentarios, boolean keepAnexos) {
+            Tarefa tarefa = tarefas.remove(idTarefa);
+            if (tarefa == null) {
+                return;
+            }
+            if (tarefa.idWorkspace >= 0) {
+                unindex(tarefasByWorkspace, tarefa.idWorkspace, idTarefa);
+            }
+            IntList ids = keepComentarios ? null : comentariosByTarefa.remove(idTarefa);
+            for (int i = 0; ids != null && i < ids.size(); i++) {
+                comentarios.remove(ids.get(i));
+            }
+            ids = keepAnexos ? null : anexosByTarefa.remove(idTarefa);
+            for (int i = 0; ids != null && i < ids.size(); i++) {
+                anexos.remove(ids.get(i));
+            }
+        }
+
+        void removeComentario(int idComentario) {
+            Comentario comentario = comentarios.remove(idComentario);
+            if (comentario != null) {
+                unindex(comentariosByTarefa, comentario.idTarefa, idComentario);
+            }
+        }
+
+        void removeAnexo(int idAnexo) {
+            Anexo anexo = anexos.remove(idAnexo);
+            if (anexo != null) {
+                unindex(anexosByTarefa, anexo.idTarefa, idAnexo);
+            }
+        }
+
+        /**
+         * Remove a categoria e a associação com as tarefas (como o DELETE em tarefa_categoria)
+         */
+        void removeCategoria(int idCategoria) {
+            Categoria categoria = categorias.remove(idCategoria);
+            if (categoria != null) {
+                unindex(categoriasByWorkspace, categoria.idWorkspace, idCategoria);
+            }
+            for (int i = 0; i < tarefas.capacity(); i++) {
+                Tarefa tarefa = tarefas.valueAt(i);
+                if (tarefa != null && tarefa.categorias != null) {
+                    tarefa.categorias.removeValue(idCategoria);
+                }
+            }
+        }
+
+        void putComentario(Comentario comentario) {
+            Comentario previous = comentarios.put(comentario.id, comentario);
+            if (previous != null && previous.idTarefa != comentario.idTarefa) {
+                unindex(comentariosByTarefa, previous.idTarefa, previous.id);
+            }
+            if (previous == null || previous.idTarefa != comentario.idTarefa) {
+                index(comentariosByTarefa, comentario.idTarefa, comentario.id);
+            }
+        }
+
+        void putAnexo(Anexo anexo) {
+            Anexo previous = anexos.put(anexo.id, anexo);
+            if (previous != null && previous.idTarefa != anexo.idTarefa) {
+                unindex(anexosByTarefa, previous.idTarefa, previous.id);
+            }
+            if (previous == null || previous.idTarefa != anexo.idTarefa) {
+                index(anexosByTarefa, anexo.idTarefa, anexo.id);
+            }
+        }
+
+        private void index(IntObjectMap<IntList> index, int key, int id) {
+            IntList ids = index.get(key);
+            if (ids == null) {
+                ids = new IntList();
+                index.put(key, ids);
+            }
+            if (bulk) {
+                ids.add(id);
+            } else {
+                ids.addSorted(id);
+            }
+        }
+
+        private static void unindex(IntObjectMap<IntList> index, int key, int id) {
+            IntList ids = index.get(key);
+            if (ids != null) {
+                ids.removeValue(id);
+                if (ids.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+
+        /**
+         * Índices na ordem dos IDs, como as varreduras por rowid do SQLite
+         */
+        void finishBulk() {
+            sortAll(categoriasByWorkspace);
+            sortAll(tarefasByWorkspace);
+            sortAll(comentariosByTarefa);
+            sortAll(anexosByTarefa);
+            bulk = false;
+        }
+
+        private static void sortAll(IntObjectMap<IntList> index) {
+            for (int i = 0; i < index.capacity(); i++) {
+                IntList ids = index.valueAt(i);
+                if (ids != null) {
+                    ids.sortDistinct();
+                }
+            }
+        }
+    }
+
+    private Data data = new Data(null);
+
+    // =====================================================
+    // 🔁 INGESTÃO
+    // =====================================================
+
+    @Override
+    public void ingestFullSync(JSONObject payload, IngestListener listener) throws JSONException {
+        // Montado fora do lock: leitores continuam no estado anterior até a troca
+        Data next = new Data(payload);
+        next.bulk = true;
+
+        JSONArray workspaces = payload.optJSONArray("workspaces");
+        if (workspaces != null) {
+            for (int i = 0; i < workspaces.length(); i++) {
+                next.putWorkspace(new Workspace(workspaces.getJSONObject(i)));
+            }
+            listener.onTable(DatabaseContract.WorkspaceEntry.TABLE_NAME, workspaces.length());
+
+            // Todos os workspaces retornados são do usuário logado
+            if (payload.has("user_email")) {
+                String userEmail = payload.getString("user_email");
+                for (int i = 0; i < workspaces.length(); i++) {
+                    next.addUsuarioWorkspace(userEmail, workspaces.getJSONObject(i).getInt("id_workspace"));
+                }
+                listener.onTable(DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME, workspaces.length());
+            }
+        }
+
+        ingestRows(next, payload, -1, listener);
+        next.finishBulk();
+        listener.onPhase("projection");
+
+        synchronized (this) {
+            data = next;
+        }
+        listener.onPhase("swap");
+    }
+
+    @Override
+    public void ingestMetadata(JSONObject payload, IngestListener listener) throws JSONException {
+        // Parse antes de mexer nos mapas: um payload inválido não grava nada
+        List<Workspace> workspaces = new ArrayList<>();
+        JSONArray workspacesJson = payload.optJSONArray("workspaces");
+        for (int i = 0; workspacesJson != null && i < workspacesJson.length(); i++) {
+            workspaces.add(new Workspace(workspacesJson.getJSONObject(i)));
+        }
+        List<Categoria> categorias = new ArrayList<>();
+        JSONArray categoriasJson = payload.optJSONArray("categorias");
+        for (int i = 0; categoriasJson != null && i < categoriasJson.length(); i++) {
+            categorias.add(new Categoria(categoriasJson.getJSONObject(i)));
+        }
+        String userEmail = payload.has("user_email") ? payload.getString("user_email") : null;
+
+        synchronized (this) {
+            for (Workspace workspace : workspaces) {
+                data.putWorkspace(workspace);
+            }
+            if (userEmail != null && workspacesJson != null) {
+                // A lista de workspaces do usuário vem inteira: vínculos que sumiram saem
+                data.workspacesByEmail.remove(userEmail);
+                for (Workspace workspace : workspaces) {
+                    data.addUsuarioWorkspace(userEmail, workspace.id);
+                }
+            }
+            // Nomes das categorias são resolvidos na leitura: renomear já vale para as tarefas
+            for (Categoria categoria : categorias) {
+                data.putCategoria(categoria);
+            }
+        }
+        if (workspacesJson != null) {
+            listener.onTable(DatabaseContract.WorkspaceEntry.TABLE_NAME, workspaces.size());
+        }
+        if (categoriasJson != null) {
+            listener.onTable(DatabaseContract.CategoriaEntry.TABLE_NAME, categorias.size());
+        }
+        listener.onPhase("commit");
+    }
+
+    @Override
+    public List<Integer> ingestWorkspace(int idWorkspace, JSONObject payload, IngestListener listener) throws JSONException {
+        // Parse antes de mexer nos mapas: um payload inválido não deixa o workspace pela metade
+        Data parsed = new Data(payload);
+        parsed.bulk = true;
+        ingestRows(parsed, payload, idWorkspace, listener);
+
+        List<Integer> touched = new ArrayList<>();
+        // Sem a chave no payload, comentários/anexos das tarefas que continuam são mantidos
+        boolean keepComentarios = !payload.has("comentarios");
+        boolean keepAnexos = !payload.has("anexos");
+        synchronized (this) {
+            IntList previous = data.tarefasByWorkspace.get(idWorkspace);
+            if (previous != null) {
+                int[] ids = new int[previous.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = previous.get(i);
+                }
+                for (int idTarefa : ids) {
+                    boolean stays = parsed.tarefas.get(idTarefa) != null;
+                    data.removeTarefa(idTarefa, stays && keepComentarios, stays && keepAnexos);
+                    touched.add(idTarefa);
+                }
+            }
+            listener.onPhase("clear");
+
+            for (int i = 0; i < parsed.categorias.capacity(); i++) {
+                Categoria categoria = parsed.categorias.valueAt(i);
+                if (categoria != null) {
+                    data.putCategoria(categoria);
+                }
+            }
+            for (int i = 0; i < parsed.tarefas.capacity(); i++) {
+                Tarefa tarefa = parsed.tarefas.valueAt(i);
+                if (tarefa != null) {
+                    data.putTarefa(tarefa);
+                    touched.add(tarefa.id);
+                }
+            }
+            for (int i = 0; i < parsed.comentarios.capacity(); i++) {
+                Comentario comentario = parsed.comentarios.valueAt(i);
+                if (comentario != null) {
+                    data.putComentario(comentario);
+                }
+            }
+            for (int i = 0; i < parsed.anexos.capacity(); i++) {
+                Anexo anexo = parsed.anexos.valueAt(i);
+                if (anexo != null) {
+                    data.putAnexo(anexo);
+                }
+            }
+        }
+        listener.onPhase("commit");
+        return touched;
+    }
+
+    /**
+     * idWorkspace >= 0 força o workspace de todas as tarefas (sync de um workspace)
+     */
+    private static void ingestRows(Data target, JSONObject payload, int idWorkspace, IngestListener listener) throws JSONException {
+        JSONArray categorias = payload.optJSONArray("categorias");
+        if (categorias != null) {
+            for (int i = 0; i < categorias.length(); i++) {
+                target.putCategoria(new Categoria(categorias.getJSONObject(i)));
+            }
+            listener.onTable(DatabaseContract.CategoriaEntry.TABLE_NAME, categorias.length());
+        }
+
+        JSONArray tarefas = payload.optJSONArray("tarefas");
+        if (tarefas != null) {
+            for (int i = 0; i < tarefas.length(); i++) {
+                Tarefa tarefa = new Tarefa(tarefas.getJSONObject(i));
+                if (idWorkspace >= 0) {
+                    tarefa.idWorkspace = idWorkspace;
+                }
+                if (tarefa.categorias == null) {
+                    tarefa.categorias = new IntList();
+                }
+                target.putTarefa(tarefa);
+            }
+            listener.onTable(DatabaseContract.TarefaEntry.TABLE_NAME, tarefas.length());
+        }
+
+        JSONArray comentarios = payload.optJSONArray("comentarios");
+        if (comentarios != null) {
+            for (int i = 0; i < comentarios.length(); i++) {
+                target.putComentario(new Comentario(comentarios.getJSONObject(i)));
+            }
+            listener.onTable(DatabaseContract.ComentarioEntry.TABLE_NAME, comentarios.length());
+        }
+
+        JSONArray anexos = payload.optJSONArray("anexos");
+        if (anexos != null) {
+            for (int i = 0; i < anexos.length(); i++) {
+                target.putAnexo(new Anexo(anexos.getJSONObject(i)));
+            }
+            listener.onTable(DatabaseContract.AnexoEntry.TABLE_NAME, anexos.length());
+        }
+    }
+
+    // =====================================================
+    // ✏️ ESCRITAS
+    // =====================================================
+
+    @Override
+    public void saveTarefa(JSONObject json) throws JSONException {
+        Tarefa tarefa = new Tarefa(json);
+        // Como no SQLite, a escrita avulsa não mexe nas categorias associadas
+        tarefa.categorias = null;
+        synchronized (this) {
+            data.putTarefa(tarefa);
+            if (tarefa.categorias == null) {
+                tarefa.categorias = new IntList();
+            }
+        }
+    }
+
+    @Override
+    public void updateTarefa(JSONObject json) throws JSONException {
+        int id = json.getInt("id");
+        synchronized (this) {
+            Tarefa tarefa = data.tarefas.get(id);
+            if (tarefa == null) {
+                throw new IllegalArgumentException("Tarefa não encontrada para atualizar: ID " + id);
+            }
+            // Valida os booleanos antes de alterar qualquer campo
+            boolean concluida = json.has("concluida") ? json.getBoolean("concluida") : tarefa.concluida;
+            boolean recorrente = json.has("recorrente") ? json.getBoolean("recorrente") : tarefa.recorrente;
+
+            // Atualizar apenas os campos fornecidos
+            if (json.has("titulo") && !json.isNull("titulo")) {
+                tarefa.titulo = json.getString("titulo");
+            }
+            if (json.has("descricao")) {
+                tarefa.descricao = json.optString("descricao");
+            }
+            if (json.has("data_fim")) {
+                tarefa.dataFim = json.optString("data_fim");
+            }
+            if (json.has("prioridade")) {
+                tarefa.prioridade = json.optString("prioridade");
+            }
+            if (json.has("status")) {
+                tarefa.status = json.optString("status");
+            }
+            if (json.has("recorrencia")) {
+                tarefa.recorrencia = json.optString("recorrencia");
+            }
+            tarefa.concluida = concluida;
+            tarefa.recorrente = recorrente;
+        }
+    }
+
+    @Override
+    public void saveComentario(JSONObject json) throws JSONException {
+        Comentario comentario = new Comentario(json);
+        synchronized (this) {
+            data.putComentario(comentario);
+        }
+    }
+
+    // =====================================================
+    // 🪦 EXCLUSÕES E ALTERAÇÕES (InMemorySyncStateStore)
+    // =====================================================
+
+    /**
+     * Remove o registro e o que depende dele, como a exclusão do SqliteSyncStateStore
+     */
+    synchronized void delete(String table, int id) {
+        if (DatabaseContract.TarefaEntry.TABLE_NAME.equals(table)) {
+            data.removeTarefa(id, false, false);
+        } else if (DatabaseContract.ComentarioEntry.TABLE_NAME.equals(table)) {
+            data.removeComentario(id);
+        } else if (DatabaseContract.AnexoEntry.TABLE_NAME.equals(table)) {
+            data.removeAnexo(id);
+        } else if (DatabaseContract.CategoriaEntry.TABLE_NAME.equals(table)) {
+            data.removeCategoria(id);
+        } else {
+            throw new IllegalArgumentException("Exclusão não suportada para a tabela: " + table);
+        }
+    }
+
+    /**
+     * Um campo de SyncStateStore.EDITABLE_FIELDS; tarefa ausente é ignorada (UPDATE sem linhas)
+     */
+    synchronized void applyEdit(int idTarefa, String campo, Object valor) {
+        Tarefa tarefa = data.tarefas.get(idTarefa);
+        if (tarefa == null) {
+            return;
+        }
+        if (DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA.equals(campo)) {
+            tarefa.concluida = valor != null && ((Number) valor).intValue() != 0;
+        } else if (DatabaseContract.TarefaEntry.COLUMN_STATUS.equals(campo)) {
+            tarefa.status = valor != null ? valor.toString() : null;
+        } else if (DatabaseContract.TarefaEntry.COLUMN_DATA_FIM.equals(campo)) {
+            tarefa.dataFim = valor != null ? valor.toString() : null;
+        } else {
+            throw new IllegalArgumentException("Campo não editável fora do JS: " + campo);
+        }
+    }
+
+    // =====================================================
+    // 🔍 CONSULTAS
+    // =====================================================
+
+    @Override
+    public synchronized List<Map<String, Object>> getWorkspacesByUser(String email) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        IntList ids = data.workspacesByEmail.get(email);
+        for (int i = 0; ids != null && i < ids.size(); i++) {
+            Workspace workspace = data.workspaces.get(ids.get(i));
+            if (workspace == null) {
+                continue;
+            }
+            Map<String, Object> map = new HashMap<>();
+            map.put("id_workspace", workspace.id);
+            map.put("nome", workspace.nome);
+            map.put("equipe", workspace.equipe);
+            map.put("criador", workspace.criador);
+            result.add(map);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized List<Map<String, Object>> getTarefasByWorkspace(int idWorkspace) {
+        IntList ids = data.tarefasByWorkspace.get(idWorkspace);
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        List<Map<String, Object>> result = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Tarefa tarefa = data.tarefas.get(ids.get(i));
+            Map<String, Object> map = new HashMap<>();
+            map.put("id_tarefa", tarefa.id);
+            map.put("titulo", tarefa.titulo);
+            map.put("descricao", tarefa.descricao);
+            map.put("id_usuario", tarefa.idUsuario);
+            map.put("id_workspace", idWorkspace);
+
+            // Campos opcionais
+            if (tarefa.dataFim != null) {
+                map.put("data_fim", tarefa.dataFim);
+            }
+            map.put("prioridade", tarefa.prioridade);
+            map.put("status", tarefa.status);
+            map.put("concluida", tarefa.concluida);
+
+            // IDs como associados; nome vazio para categoria ausente (mesmo LEFT JOIN da projeção)
+            List<Integer> categoriaIds = new ArrayList<>(tarefa.categorias.size());
+            List<String> categoriaNomes = new ArrayList<>(tarefa.categorias.size());
+            for (int j = 0; j < tarefa.categorias.size(); j++) {
+                int idCategoria = tarefa.categorias.get(j);
+                categoriaIds.add(idCategoria);
+                Categoria categoria = data.categorias.get(idCategoria);
+                categoriaNomes.add(categoria != null ? categoria.nome : StorageSchema.CATEGORIA_SEM_NOME);
+            }
+            map.put("categorias", categoriaIds);
+            map.put("categorias_nomes", categoriaNomes);
+            result.add(map);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized List<Map<String, Object>> getTarefasByUser(int idUsuario) {
+        IntList ids = new IntList();
+        for (int i = 0; i < data.tarefas.capacity(); i++) {
+            Tarefa tarefa = data.tarefas.valueAt(i);
+            if (tarefa != null && tarefa.idUsuario == idUsuario) {
+                ids.add(tarefa.id);
+            }
+        }
+        ids.sortDistinct();
+
+        List<Map<String, Object>> result = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Tarefa tarefa = data.tarefas.get(ids.get(i));
+            Map<String, Object> map = new HashMap<>();
+            map.put("id_tarefa", tarefa.id);
+            map.put("titulo", tarefa.titulo);
+            map.put("descricao", tarefa.descricao);
+            map.put("id_usuario", tarefa.idUsuario);
+            result.add(map);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized Map<String, Object> getTarefaById(int idTarefa) {
+        Tarefa tarefa = data.tarefas.get(idTarefa);
+        if (tarefa == null) {
+            return null;
+        }
+        Map<String, Object> map = new HashMap<>();
+        map.put("id_tarefa", tarefa.id);
+        map.put("titulo", tarefa.titulo);
+        map.put("descricao", tarefa.descricao);
+        map.put("id_usuario", tarefa.idUsuario);
+        if (tarefa.idWorkspace >= 0) {
+            map.put("id_workspace", tarefa.idWorkspace);
+        }
+        if (tarefa.dataFim != null) {
+            map.put("data_fim", tarefa.dataFim);
+        }
+        map.put("prioridade", tarefa.prioridade);
+        map.put("status", tarefa.status);
+        map.put("concluida", tarefa.concluida);
+        map.put("recorrente", tarefa.recorrente);
+        if (tarefa.recorrencia != null) {
+            map.put("recorrencia", tarefa.recorrencia);
+        }
+
+        List<Map<String, Object>> categorias = new ArrayList<>();
+        for (int i = 0; i < tarefa.categorias.size(); i++) {
+            Categoria categoria = data.categorias.get(tarefa.categorias.get(i));
+            if (categoria != null) {
+                categorias.add(toMap(categoria));
+            }
+        }
+        map.put("categorias", categorias);
+
+        // Permissões padrão para modo offline
+        map.put("pode_editar", true);
+        map.put("pode_apagar", true);
+        map.put("nivel_acesso", "full");
+        return map;
+    }
+
+    @Override
+    public synchronized List<Map<String, Object>> listAllTarefas() {
+        IntList ids = new IntList();
+        for (int i = 0; i < data.tarefas.capacity(); i++) {
+            if (data.tarefas.valueAt(i) != null) {
+                ids.add(data.tarefas.keyAt(i));
+            }
+        }
+        ids.sortDistinct();
+
+        List<Map<String, Object>> result = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Tarefa tarefa = data.tarefas.get(ids.get(i));
+            Map<String, Object> map = new HashMap<>();
+            map.put("id_tarefa", tarefa.id);
+            map.put("titulo", tarefa.titulo);
+            map.put("descricao", tarefa.descricao);
+            map.put("id_usuario", tarefa.idUsuario);
+            if (tarefa.idWorkspace >= 0) {
+                map.put("id_workspace", tarefa.idWorkspace);
+            }
+            map.put("status", tarefa.status);
+            map.put("prioridade", tarefa.prioridade);
+            result.add(map);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized List<Map<String, Object>> getCategoriasByWorkspace(int idWorkspace) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        IntList ids = data.categoriasByWorkspace.get(idWorkspace);
+        for (int i = 0; ids != null && i < ids.size(); i++) {
+            result.add(toMap(data.categorias.get(ids.get(i))));
+        }
+        return result;
+    }
+
+    private static Map<String, Object> toMap(Categoria categoria) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id_categoria", categoria.id);
+        map.put("nome", categoria.nome);
+        map.put("id_workspace", categoria.idWorkspace);
+        return map;
+    }
+
+    @Override
+    public synchronized List<Map<String, Object>> getComentariosByTarefa(int idTarefa) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        IntList ids = data.comentariosByTarefa.get(idTarefa);
+        for (int i = 0; ids != null && i < ids.size(); i++) {
+            Comentario comentario = data.comentarios.get(ids.get(i));
+            Map<String, Object> map = new HashMap<>();
+            map.put("id_comentario", comentario.id);
+            map.put("email", comentario.email);
+            map.put("id_tarefa", comentario.idTarefa);
+            map.put("descricao", comentario.descricao);
+            result.add(map);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized List<Map<String, Object>> getAnexosByTarefa(int idTarefa) {
+        IntList ids = data.anexosByTarefa.get(idTarefa);
+        List<Anexo> anexos = new ArrayList<>();
+        for (int i = 0; ids != null && i < ids.size(); i++) {
+            anexos.add(data.anexos.get(ids.get(i)));
+        }
+        // Mesma ordem do SQLite, que lê pelo índice UNIQUE(id_tarefa, tipo_arquivo)
+        Collections.sort(anexos, new Comparator<Anexo>() {
+            @Override
+            public int compare(Anexo a, Anexo b) {
+                return a.tipoArquivo.compareTo(b.tipoArquivo);
+            }
+        });
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Anexo anexo : anexos) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("id_anexo", anexo.id);
+            map.put("id_tarefa", anexo.idTarefa);
+            map.put("nome_arquivo", anexo.nomeArquivo);
+            map.put("caminho_arquivo", anexo.caminhoArquivo);
+            result.add(map);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("workspaces", (long) data.workspaces.size());
+        stats.put("categorias", (long) data.categorias.size());
+        stats.put("tarefas", (long) data.tarefas.size());
+        stats.put("comentarios", (long) data.comentarios.size());
+        stats.put("anexos", (long) data.anexos.size());
+        return stats;
+    }
+}
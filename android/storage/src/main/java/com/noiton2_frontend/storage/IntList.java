@@ -0,0 +1,91 @@
+// android/storage/src/main/java/com/noiton2_frontend/storage/IntList.java
+package com.noiton2_frontend.storage;
+
+import java.util.Arrays;
+
+/**
+ * Lista de int crescente sob demanda (IDs de índices secundários), sem boxing.
+ * Não é thread-safe.
+ */
+final class IntList {
+
+    private int[] items;
+    private int size;
+
+    IntList() {
+        items = new int[4];
+    }
+
+    void add(int value) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        items[size++] = value;
+    }
+
+    /**
+     * Insere mantendo a ordem crescente (lista já ordenada); ignora repetidos
+     */
+    void addSorted(int value) {
+        int index = Arrays.binarySearch(items, 0, size, value);
+        if (index >= 0) {
+            return;
+        }
+        index = -index - 1;
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        System.arraycopy(items, index, items, index + 1, size - index);
+        items[index] = value;
+        size++;
+    }
+
+    /**
+     * Remove a primeira ocorrência; false se não existir
+     */
+    boolean removeValue(int value) {
+        for (int i = 0; i < size; i++) {
+            if (items[i] == value) {
+                System.arraycopy(items, i + 1, items, i, size - i - 1);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean contains(int value) {
+        for (int i = 0; i < size; i++) {
+            if (items[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ordena e remove repetidos (fim da ingestão em lote)
+     */
+    void sortDistinct() {
+        Arrays.sort(items, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || items[i] != items[distinct - 1]) {
+                items[distinct++] = items[i];
+            }
+        }
+        size = distinct;
+    }
+
+    int get(int index) {
+        return items[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+}
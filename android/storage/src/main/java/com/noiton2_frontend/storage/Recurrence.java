@@ -0,0 +1,296 @@
+// android/storage/src/main/java/com/noiton2_frontend/storage/Recurrence.java
+package com.noiton2_frontend.storage;
+
+import java.util.Arrays;
+
+/**
+ * Expansão de tarefas recorrentes (diaria, semanal, mensal) numa janela de datas.
+ *
+ * Datas são dias desde 1970-01-01 (int), sem java.time (minSdk 21). Cada regra
+ * calcula direto a primeira ocorrência dentro da janela, então o custo depende do
+ * tamanho da janela e não da idade da tarefa. Mesmas regras do cardCalendario:
+ * sem recorrência, só no dia de criação; mensal pula meses sem aquele dia.
+ */
+public final class Recurrence {
+
+    public static final byte NENHUMA = 0;
+    public static final byte DIARIA = 1;
+    public static final byte SEMANAL = 2;
+    public static final byte MENSAL = 3;
+
+    // Dois anos: cobre agenda anual e limita o tamanho da resposta
+    public static final int MAX_WINDOW_DAYS = 731;
+
+    private Recurrence() {}
+
+    /**
+     * Tipo da regra a partir das colunas recorrente/recorrencia
+     */
+    public static byte kindOf(boolean recorrente, String recorrencia) {
+        if (!recorrente || recorrencia == null) {
+            return NENHUMA;
+        }
+        switch (recorrencia) {
+            case "diaria":
+                return DIARIA;
+            case "semanal":
+                return SEMANAL;
+            case "mensal":
+                return MENSAL;
+            default:
+                return NENHUMA;
+        }
+    }
+
+    // =====================================================
+    // 📅 DATAS (dias desde a época)
+    // =====================================================
+
+    /**
+     * "YYYY-MM-DD" (o que vier depois é ignorado) para dias desde 1970-01-01
+     */
+    public static int parseDay(String date) {
+        if (date == null || date.length() < 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            throw new IllegalArgumentException("Data inválida (esperado YYYY-MM-DD): " + date);
+        }
+        try {
+            int year = Integer.parseInt(date.substring(0, 4));
+            int month = Integer.parseInt(date.substring(5, 7));
+            int day = Integer.parseInt(date.substring(8, 10));
+            if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+                throw new IllegalArgumentException("Data inválida: " + date);
+            }
+            return daysFromCivil(year, month, day);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Data inválida (esperado YYYY-MM-DD): " + date);
+        }
+    }
+
+    public static String formatDay(int epochDay) {
+        int[] civil = civilFromDays(epochDay);
+        char[] out = new char[10];
+        write(out, 0, civil[0], 4);
+        out[4] = '-';
+        write(out, 5, civil[1], 2);
+        out[7] = '-';
+        write(out, 8, civil[2], 2);
+        return new String(out);
+    }
+
+    private static void write(char[] out, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Algoritmo de Howard Hinnant (calendário gregoriano proléptico)
+     */
+    static int daysFromCivil(int year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        int era = floorDiv(year, 400);
+        int yearOfEra = year - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * { ano, mês, dia }
+     */
+    static int[] civilFromDays(int epochDay) {
+        int z = epochDay + 719468;
+        int era = floorDiv(z, 146097);
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return new int[] { year, month, day };
+    }
+
+    static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    // Math.floorDiv/floorMod só existem a partir da API 24
+    private static int floorDiv(int a, int b) {
+        int q = a / b;
+        return (a % b != 0 && (a ^ b) < 0) ? q - 1 : q;
+    }
+
+    private static int floorMod(int a, int b) {
+        return a - floorDiv(a, b) * b;
+    }
+
+    // =====================================================
+    // 🔁 EXPANSÃO
+    // =====================================================
+
+    /**
+     * Regras de um conjunto de tarefas em arrays paralelos (sem objeto por tarefa)
+     */
+    public static final class Rules {
+        private int[] tarefaIds = new int[16];
+        private int[] anchors = new int[16];
+        private byte[] kinds = new byte[16];
+        private int size;
+
+        /**
+         * anchorDay: dia da criação da tarefa (primeira ocorrência)
+         */
+        public void add(int tarefaId, byte kind, int anchorDay) {
+            if (size == tarefaIds.length) {
+                tarefaIds = Arrays.copyOf(tarefaIds, size * 2);
+                anchors = Arrays.copyOf(anchors, size * 2);
+                kinds = Arrays.copyOf(kinds, size * 2);
+            }
+            tarefaIds[size] = tarefaId;
+            anchors[size] = anchorDay;
+            kinds[size] = kind;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Ocorrências em [fromDay, toDay], ordenadas por dia e depois por tarefa
+         */
+        public Occurrences expand(int fromDay, int toDay) {
+            if (toDay < fromDay) {
+                throw new IllegalArgumentException("Fim da janela antes do início");
+            }
+            if (toDay - fromDay + 1 > MAX_WINDOW_DAYS) {
+                throw new IllegalArgumentException("Janela maior que " + MAX_WINDOW_DAYS + " dias");
+            }
+            Occurrences out = new Occurrences(fromDay, toDay);
+            for (int i = 0; i < size; i++) {
+                expandRule(tarefaIds[i], kinds[i], anchors[i], fromDay, toDay, out);
+            }
+            out.sort();
+            return out;
+        }
+    }
+
+    static void expandRule(int tarefaId, byte kind, int anchor, int from, int to, Occurrences out) {
+        if (anchor > to) {
+            return;
+        }
+        int start = Math.max(anchor, from);
+        switch (kind) {
+            case DIARIA:
+                for (int day = start; day <= to; day++) {
+                    out.add(tarefaId, day);
+                }
+                break;
+
+            case SEMANAL:
+                // Primeiro dia >= start alinhado à semana da criação
+                for (int day = start + floorMod(anchor - start, 7); day <= to; day += 7) {
+                    out.add(tarefaId, day);
+                }
+                break;
+
+            case MENSAL: {
+                int dayOfMonth = civilFromDays(anchor)[2];
+                int[] civil = civilFromDays(start);
+                int year = civil[0];
+                int month = civil[1];
+                while (true) {
+                    if (dayOfMonth <= daysInMonth(year, month)) {
+                        int day = daysFromCivil(year, month, dayOfMonth);
+                        if (day > to) {
+                            break;
+                        }
+                        if (day >= start) {
+                            out.add(tarefaId, day);
+                        }
+                    } else if (daysFromCivil(year, month, 1) > to) {
+                        break;
+                    }
+                    if (++month > 12) {
+                        month = 1;
+                        year++;
+                    }
+                }
+                break;
+            }
+
+            default:
+                if (anchor >= from) {
+                    out.add(tarefaId, anchor);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Resultado compacto: pares (tarefa, dia) empacotados num long[] — dia nos
+     * 32 bits altos, então ordenar os longs ordena por dia e depois por tarefa.
+     */
+    public static final class Occurrences {
+        private final int fromDay;
+        private final int toDay;
+        private long[] packed = new long[64];
+        private int size;
+
+        Occurrences(int fromDay, int toDay) {
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+        }
+
+        void add(int tarefaId, int day) {
+            if (size == packed.length) {
+                packed = Arrays.copyOf(packed, size * 2);
+            }
+            packed[size++] = ((long) day << 32) | (tarefaId & 0xFFFFFFFFL);
+        }
+
+        void sort() {
+            Arrays.sort(packed, 0, size);
+        }
+
+        public int fromDay() {
+            return fromDay;
+        }
+
+        public int toDay() {
+            return toDay;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int tarefaAt(int index) {
+            return (int) packed[index];
+        }
+
+        public int dayAt(int index) {
+            return (int) (packed[index] >> 32);
+        }
+
+        /**
+         * Dias desde o início da janela (0 = fromDay)
+         */
+        public int offsetAt(int index) {
+            return dayAt(index) - fromDay;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+// android/storage/src/main/java/com/noiton2_frontend/storage/SqlDriver.java
+package com.noiton2_frontend.storage;
+
+/**
+ * O mínimo de SQLite que o armazenamento usa. No app é implementado sobre
+ * android.database.sqlite.SQLiteDatabase; na JVM (benchmarks) sobre JDBC.
+ *
+ * Transações seguem o modelo do Android: begin, setTransactionSuccessful e endTransaction
+ * (rollback se setTransactionSuccessful não foi chamado).
+ */
+public interface SqlDriver {
+
+    void execSQL(String sql, Object... args);
+
+    SqlRows query(String sql, Object... args);
+
+    /**
+     * Comando pré-compilado, reutilizado em laço na ingestão
+     */
+    SqlStatement compile(String sql);
+
+    void beginTransaction();
+
+    void setTransactionSuccessful();
+
+    void endTransaction();
+}
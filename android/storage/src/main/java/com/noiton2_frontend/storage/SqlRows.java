@@ -0,0 +1,27 @@
+// android/storage/src/main/java/com/noiton2_frontend/storage/SqlRows.java
+package com.noiton2_frontend.storage;
+
+/**
+ * Resultado de uma consulta, lido para frente (Cursor no Android, ResultSet no JDBC).
+ * Índices de coluna começam em 0, como no Cursor.
+ */
+public interface SqlRows extends AutoCloseable {
+
+    boolean moveToNext();
+
+    /**
+     * -1 se a coluna não existir
+     */
+    int getColumnIndex(String name);
+
+    boolean isNull(int column);
+
+    int getInt(int column);
+
+    long getLong(int column);
+
+    String getString(int column);
+
+    @Override
+    void close();
+}
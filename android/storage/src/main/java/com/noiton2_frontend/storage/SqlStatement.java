@@ -0,0 +1,27 @@
+// android/storage/src/main/java/com/noiton2_frontend/storage/SqlStatement.java
+package com.noiton2_frontend.storage;
+
+/**
+ * Comando pré-compilado (SQLiteStatement no Android, PreparedStatement no JDBC).
+ * Índices de bind começam em 1.
+ */
+public interface SqlStatement extends AutoCloseable {
+
+    void bindLong(int index, long value);
+
+    void bindString(int index, String value);
+
+    void bindNull(int index);
+
+    void execute();
+
+    /**
+     * UPDATE/DELETE: número de linhas afetadas
+     */
+    int executeUpdateDelete();
+
+    void clearBindings();
+
+    @Override
+    void close();
+}
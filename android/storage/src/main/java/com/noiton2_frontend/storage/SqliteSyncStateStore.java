@@ -0,0 +1,577 @@
+// android/storage/src/main/java/com/noiton2_frontend/storage/SqliteSyncStateStore.java
+package com.noiton2_frontend.storage;
+
+import com.noiton2_frontend.database.DatabaseContract;
+import com.noiton2_frontend.database.StorageSchema;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * SyncStateStore sobre SQLite. Usa o mesmo SqlDriver (e a mesma conexão) do
+ * SqliteTaskStore: chamado pelos ganchos do IngestListener, grava dentro da
+ * transação da ingestão.
+ *
+ * Exclusões: uma exclusão remove o registro (e seus dependentes) e grava
+ * (tabela, id_registro, excluido_em) em exclusoes. Enquanto confirmado_em é NULL
+ * está pendente de envio; confirmada, ainda fica TOMBSTONE_RETENTION_MS barrando
+ * payloads antigos e então é compactada.
+ *
+ * Alterações pendentes: uma linha por (tabela, id_registro, campo); alterar o mesmo
+ * campo de novo só troca o valor.
+ *
+ * Arquivo frio: tarefas concluídas antigas saem das tabelas quentes com seus
+ * comentários; os anexos saem junto (anexos_tarefa e anexos_cache) e os arquivos
+ * órfãos ficam para o AttachmentCache.
+ */
+public class SqliteSyncStateStore implements SyncStateStore {
+
+    // Páginas liberadas por rodada de incremental_vacuum (4KB cada → até ~8MB)
+    private static final int VACUUM_PAGES_PER_RUN = 2048;
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    private static final String IDS_BY_TABLE =
+            "SELECT " + DatabaseContract.TombstoneEntry.COLUMN_ID_REGISTRO +
+            " FROM " + DatabaseContract.TombstoneEntry.TABLE_NAME +
+            " WHERE " + DatabaseContract.TombstoneEntry.COLUMN_TABELA + " = ?";
+
+    private static final String INSERT_TOMBSTONE = "INSERT OR REPLACE INTO " + DatabaseContract.TombstoneEntry.TABLE_NAME + " (" +
+            DatabaseContract.TombstoneEntry.COLUMN_TABELA + ", " +
+            DatabaseContract.TombstoneEntry.COLUMN_ID_REGISTRO + ", " +
+            DatabaseContract.TombstoneEntry.COLUMN_EXCLUIDO_EM + ", " +
+            DatabaseContract.TombstoneEntry.COLUMN_CONFIRMADO_EM + ") VALUES (?, ?, ?, ?)";
+
+    private static final String ACK_TOMBSTONE = "UPDATE " + DatabaseContract.TombstoneEntry.TABLE_NAME +
+            " SET " + DatabaseContract.TombstoneEntry.COLUMN_CONFIRMADO_EM + " = ?" +
+            " WHERE " + DatabaseContract.TombstoneEntry.COLUMN_TABELA + " = ?" +
+            " AND " + DatabaseContract.TombstoneEntry.COLUMN_ID_REGISTRO + " = ?" +
+            " AND " + DatabaseContract.TombstoneEntry.COLUMN_CONFIRMADO_EM + " IS NULL";
+
+    // Faixa no índice de confirmado_em
+    private static final String COMPACT_TOMBSTONES = "DELETE FROM " + DatabaseContract.TombstoneEntry.TABLE_NAME +
+            " WHERE " + DatabaseContract.TombstoneEntry.COLUMN_CONFIRMADO_EM + " < ?";
+
+    private static final String SELECT_PENDING_TOMBSTONES = "SELECT " +
+            DatabaseContract.TombstoneEntry.COLUMN_TABELA + ", " +
+            DatabaseContract.TombstoneEntry.COLUMN_ID_REGISTRO + ", " +
+            DatabaseContract.TombstoneEntry.COLUMN_EXCLUIDO_EM +
+            " FROM " + DatabaseContract.TombstoneEntry.TABLE_NAME +
+            " WHERE " + DatabaseContract.TombstoneEntry.COLUMN_CONFIRMADO_EM + " IS NULL" +
+            " ORDER BY " + DatabaseContract.TombstoneEntry.COLUMN_EXCLUIDO_EM;
+
+    private static final String INSERT_PENDING_EDIT = "INSERT OR REPLACE INTO " + DatabaseContract.PendingEditEntry.TABLE_NAME + " (" +
+            DatabaseContract.PendingEditEntry.COLUMN_TABELA + ", " +
+            DatabaseContract.PendingEditEntry.COLUMN_ID_REGISTRO + ", " +
+            DatabaseContract.PendingEditEntry.COLUMN_CAMPO + ", " +
+            DatabaseContract.PendingEditEntry.COLUMN_VALOR + ", " +
+            DatabaseContract.PendingEditEntry.COLUMN_ALTERADO_EM + ") VALUES (?, ?, ?, ?, ?)";
+
+    private static final String ACK_PENDING_EDIT = "DELETE FROM " + DatabaseContract.PendingEditEntry.TABLE_NAME +
+            " WHERE " + DatabaseContract.PendingEditEntry.COLUMN_TABELA + " = ?" +
+            " AND " + DatabaseContract.PendingEditEntry.COLUMN_ID_REGISTRO + " = ?" +
+            " AND " + DatabaseContract.PendingEditEntry.COLUMN_ALTERADO_EM + " <= ?";
+
+    // typeof(valor): a coluna guarda INTEGER ou TEXT como foi gravado
+    private static final String SELECT_PENDING_EDITS = "SELECT " +
+            DatabaseContract.PendingEditEntry.COLUMN_TABELA + ", " +
+            DatabaseContract.PendingEditEntry.COLUMN_ID_REGISTRO + ", " +
+            DatabaseContract.PendingEditEntry.COLUMN_CAMPO + ", " +
+            DatabaseContract.PendingEditEntry.COLUMN_VALOR + ", " +
+            DatabaseContract.PendingEditEntry.COLUMN_ALTERADO_EM + ", " +
+            "typeof(" + DatabaseContract.PendingEditEntry.COLUMN_VALOR + ")" +
+            " FROM " + DatabaseContract.PendingEditEntry.TABLE_NAME +
+            " ORDER BY " + DatabaseContract.PendingEditEntry.COLUMN_TABELA + ", " +
+            DatabaseContract.PendingEditEntry.COLUMN_ID_REGISTRO;
+
+    private static final String SELECT_LAST_SYNC = "SELECT " + DatabaseContract.SyncEntry.COLUMN_LAST_SYNC +
+            " FROM " + DatabaseContract.SyncEntry.TABLE_NAME +
+            " WHERE " + DatabaseContract.SyncEntry.COLUMN_TABLE_NAME + " = ?";
+
+    private static final String TAREFA_COLUMNS =
+            DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ", " +
+            DatabaseContract.TarefaEntry.COLUMN_TITULO + ", " +
+            DatabaseContract.TarefaEntry.COLUMN_DESCRICAO + ", " +
+            DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + ", " +
+            DatabaseContract.TarefaEntry.COLUMN_DATA_CRIACAO + ", " +
+            DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE + ", " +
+            DatabaseContract.TarefaEntry.COLUMN_STATUS + ", " +
+            DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + ", " +
+            DatabaseContract.TarefaEntry.COLUMN_RECORRENTE + ", " +
+            DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA + ", " +
+            DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO;
+
+    private static final String COMENTARIO_COLUMNS =
+            DatabaseContract.ComentarioEntry.COLUMN_ID_COMENTARIO + ", " +
+            DatabaseContract.ComentarioEntry.COLUMN_EMAIL + ", " +
+            DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + ", " +
+            DatabaseContract.ComentarioEntry.COLUMN_DESCRICAO + ", " +
+            DatabaseContract.ComentarioEntry.COLUMN_DATA_CRIACAO + ", " +
+            DatabaseContract.ComentarioEntry.COLUMN_DATA_ATUALIZACAO;
+
+    // Colunas INTEGER do arquivo (as demais são texto)
+    private static final String[] ARCHIVE_INTEGER_COLUMNS = {
+            DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA,
+            DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA,
+            DatabaseContract.TarefaEntry.COLUMN_RECORRENTE,
+            DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO,
+            DatabaseContract.TarefaArquivoEntry.COLUMN_ID_WORKSPACE,
+            DatabaseContract.TarefaArquivoEntry.COLUMN_ARQUIVADA_EM,
+            DatabaseContract.ComentarioEntry.COLUMN_ID_COMENTARIO,
+            DatabaseContract.ComentarioArquivoEntry.COLUMN_ARQUIVADO_EM
+    };
+
+    private final SqlDriver driver;
+
+    public SqliteSyncStateStore(SqlDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Cria as tabelas locais num banco vazio (o app usa o DatabaseHelper)
+     */
+    public void createSchema() {
+        for (String sql : StorageSchema.createLocalTables()) {
+            driver.execSQL(sql);
+        }
+    }
+
+    // =====================================================
+    // 🕒 FRESCOR POR WORKSPACE (sync_metadata)
+    // =====================================================
+
+    @Override
+    public void markWorkspaceFresh(int idWorkspace, long timestamp) {
+        driver.execSQL("INSERT OR REPLACE INTO " + DatabaseContract.SyncEntry.TABLE_NAME + " (" +
+                        DatabaseContract.SyncEntry.COLUMN_TABLE_NAME + ", " +
+                        DatabaseContract.SyncEntry.COLUMN_LAST_SYNC + ", " +
+                        DatabaseContract.SyncEntry.COLUMN_PENDING_SYNC + ") VALUES (?, ?, 0)",
+                DatabaseContract.SyncEntry.workspaceKey(idWorkspace), timestamp);
+    }
+
+    @Override
+    public void clearWorkspaceFreshness() {
+        driver.execSQL("DELETE FROM " + DatabaseContract.SyncEntry.TABLE_NAME +
+                        " WHERE " + DatabaseContract.SyncEntry.COLUMN_TABLE_NAME + " LIKE ?",
+                DatabaseContract.SyncEntry.WORKSPACE_KEY_PREFIX + "%");
+    }
+
+    @Override
+    public long getWorkspaceLastSync(int idWorkspace) {
+        try (SqlRows rows = driver.query(SELECT_LAST_SYNC, DatabaseContract.SyncEntry.workspaceKey(idWorkspace))) {
+            if (rows.moveToNext() && !rows.isNull(0)) {
+                return rows.getLong(0);
+            }
+            return -1;
+        }
+    }
+
+    // =====================================================
+    // 🪦 EXCLUSÕES (TOMBSTONES)
+    // =====================================================
+
+    @Override
+    public void deleteLocal(String table, int id, long now) {
+        driver.beginTransaction();
+        try {
+            purge("", table, "?", id);
+            recordTombstone(table, id, now, null);
+            driver.setTransactionSuccessful();
+        } finally {
+            driver.endTransaction();
+        }
+    }
+
+    @Override
+    public List<Deletion> recordRemoteDeletions(JSONArray exclusoes, long now) throws JSONException {
+        List<Deletion> recorded = new ArrayList<>();
+        if (exclusoes == null) {
+            return recorded;
+        }
+        for (int i = 0; i < exclusoes.length(); i++) {
+            JSONObject exclusao = exclusoes.getJSONObject(i);
+            String table = exclusao.getString("tabela");
+            if (!SyncStateStore.isDeletable(table)) {
+                continue;
+            }
+            int id = exclusao.getInt("id");
+            recordTombstone(table, id, now, now);
+            recorded.add(new Deletion(table, id));
+        }
+        return recorded;
+    }
+
+    @Override
+    public void applyDeletions(String suffix) {
+        for (String table : TOMBSTONE_TABLES) {
+            purge(suffix, table, IDS_BY_TABLE, table);
+        }
+    }
+
+    @Override
+    public List<Deletion> applyRemoteDeletions(JSONArray exclusoes, long now, TaskStore.IngestListener listener) throws JSONException {
+        List<Deletion> recorded;
+        driver.beginTransaction();
+        try {
+            recorded = recordRemoteDeletions(exclusoes, now);
+            listener.onTable(DatabaseContract.TombstoneEntry.TABLE_NAME, exclusoes.length());
+            applyDeletions("");
+            listener.onPhase("tombstones");
+            driver.setTransactionSuccessful();
+        } finally {
+            driver.endTransaction();
+        }
+        listener.onPhase("commit");
+        return recorded;
+    }
+
+    @Override
+    public List<Map<String, Object>> getPendingTombstones(int limit) {
+        List<Map<String, Object>> exclusoes = new ArrayList<>();
+        try (SqlRows rows = driver.query(SELECT_PENDING_TOMBSTONES + " LIMIT " + limit)) {
+            while (rows.moveToNext()) {
+                Map<String, Object> exclusao = new HashMap<>();
+                exclusao.put("tabela", rows.getString(0));
+                exclusao.put("id", rows.getInt(1));
+                exclusao.put("excluido_em", rows.getLong(2));
+                exclusoes.add(exclusao);
+            }
+        }
+        return exclusoes;
+    }
+
+    @Override
+    public int[] acknowledgeTombstones(JSONArray exclusoes, long now) throws JSONException {
+        int acknowledged = 0;
+        int compacted;
+        driver.beginTransaction();
+        try {
+            try (SqlStatement ack = driver.compile(ACK_TOMBSTONE)) {
+                for (int i = 0; i < exclusoes.length(); i++) {
+                    JSONObject exclusao = exclusoes.getJSONObject(i);
+                    ack.bindLong(1, now);
+                    ack.bindString(2, exclusao.getString("tabela"));
+                    ack.bindLong(3, exclusao.getInt("id"));
+                    acknowledged += ack.executeUpdateDelete();
+                    ack.clearBindings();
+                }
+            }
+            compacted = compactTombstones(now);
+            driver.setTransactionSuccessful();
+        } finally {
+            driver.endTransaction();
+        }
+        return new int[]{acknowledged, compacted};
+    }
+
+    private int compactTombstones(long now) {
+        try (SqlStatement compact = driver.compile(COMPACT_TOMBSTONES)) {
+            compact.bindLong(1, now - TOMBSTONE_RETENTION_MS);
+            return compact.executeUpdateDelete();
+        }
+    }
+
+    private void recordTombstone(String table, int id, long excluidoEm, Long confirmadoEm) {
+        driver.execSQL(INSERT_TOMBSTONE, table, id, excluidoEm, confirmadoEm);
+    }
+
+    /**
+     * Remove os registros cujos IDs saem de idsSql (um "?" ou a subconsulta dos tombstones,
+     * ambos com um único argumento) junto com o que depende deles.
+     */
+    private void purge(String suffix, String table, String idsSql, Object arg) {
+        String in = " IN (" + idsSql + ")";
+
+        if (DatabaseContract.TarefaEntry.TABLE_NAME.equals(table)) {
+            delete(DatabaseContract.ComentarioEntry.TABLE_NAME + suffix, DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + in, arg);
+            delete(DatabaseContract.AnexoEntry.TABLE_NAME + suffix, DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA + in, arg);
+            delete(DatabaseContract.TarefaCategoriaEntry.TABLE_NAME + suffix, DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA + in, arg);
+            delete(DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + suffix, DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + in, arg);
+            delete(DatabaseContract.TaskListEntry.TABLE_NAME + suffix, DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA + in, arg);
+            delete(DatabaseContract.TarefaEntry.TABLE_NAME + suffix, DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + in, arg);
+
+        } else if (DatabaseContract.ComentarioEntry.TABLE_NAME.equals(table)) {
+            delete(DatabaseContract.ComentarioEntry.TABLE_NAME + suffix, DatabaseContract.ComentarioEntry.COLUMN_ID_COMENTARIO + in, arg);
+
+        } else if (DatabaseContract.AnexoEntry.TABLE_NAME.equals(table)) {
+            delete(DatabaseContract.AnexoEntry.TABLE_NAME + suffix, DatabaseContract.AnexoEntry.COLUMN_ID_ANEXO + in, arg);
+
+        } else if (DatabaseContract.CategoriaEntry.TABLE_NAME.equals(table)) {
+            // Nas tabelas reais a projeção das tarefas afetadas precisa perder a categoria;
+            // nas sombras ela é reconstruída inteira logo depois
+            List<Integer> affected = suffix.isEmpty() ? tarefasByCategorias(in, arg) : new ArrayList<>();
+            delete(DatabaseContract.TarefaCategoriaEntry.TABLE_NAME + suffix, DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + in, arg);
+            delete(DatabaseContract.CategoriaEntry.TABLE_NAME + suffix, DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA + in, arg);
+            for (int idTarefa : affected) {
+                SqliteTaskStore.refreshTaskList(driver, idTarefa);
+            }
+
+        } else {
+            throw new IllegalArgumentException("Exclusão não suportada para a tabela: " + table);
+        }
+    }
+
+    private void delete(String table, String where, Object arg) {
+        driver.execSQL("DELETE FROM " + table + " WHERE " + where, arg);
+    }
+
+    private List<Integer> tarefasByCategorias(String in, Object arg) {
+        List<Integer> ids = new ArrayList<>();
+        try (SqlRows rows = driver.query("SELECT DISTINCT " + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA +
+                " FROM " + DatabaseContract.TarefaCategoriaEntry.TABLE_NAME +
+                " WHERE " + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + in, arg)) {
+            while (rows.moveToNext()) {
+                ids.add(rows.getInt(0));
+            }
+        }
+        return ids;
+    }
+
+    // =====================================================
+    // ✏️ ALTERAÇÕES PENDENTES
+    // =====================================================
+
+    @Override
+    public void editTarefa(int idTarefa, String campo, Object valor, long now) {
+        if (!SyncStateStore.isEditable(campo)) {
+            throw new IllegalArgumentException("Campo não editável fora do JS: " + campo);
+        }
+        driver.execSQL("UPDATE " + DatabaseContract.TarefaEntry.TABLE_NAME + " SET " + campo + " = ?" +
+                " WHERE " + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = ?", valor, idTarefa);
+        driver.execSQL(INSERT_PENDING_EDIT, DatabaseContract.TarefaEntry.TABLE_NAME, idTarefa, campo, valor, now);
+    }
+
+    @Override
+    public List<Map<String, Object>> getPendingEdits(int limit) {
+        List<Map<String, Object>> alteracoes = new ArrayList<>();
+        try (SqlRows rows = driver.query(SELECT_PENDING_EDITS)) {
+            // O limite conta registros, não linhas: um registro vai sempre com todos os campos
+            // (a confirmação remove todos os campos até alterado_em)
+            Map<String, Object> alteracao = null;
+            Map<String, Object> campos = null;
+            while (rows.moveToNext()) {
+                String tabela = rows.getString(0);
+                int id = rows.getInt(1);
+                if (alteracao == null || !tabela.equals(alteracao.get("tabela")) || id != (Integer) alteracao.get("id")) {
+                    if (alteracoes.size() == limit) {
+                        break;
+                    }
+                    campos = new LinkedHashMap<>();
+                    alteracao = new HashMap<>();
+                    alteracao.put("tabela", tabela);
+                    alteracao.put("id", id);
+                    alteracao.put("campos", campos);
+                    alteracao.put("alterado_em", 0L);
+                    alteracoes.add(alteracao);
+                }
+                String tipo = rows.getString(5);
+                Object valor = "null".equals(tipo) ? null : "integer".equals(tipo) ? (Object) rows.getLong(3) : rows.getString(3);
+                campos.put(rows.getString(2), valor);
+                alteracao.put("alterado_em", Math.max((Long) alteracao.get("alterado_em"), rows.getLong(4)));
+            }
+        }
+        return alteracoes;
+    }
+
+    @Override
+    public int acknowledgePendingEdits(JSONArray alteracoes) throws JSONException {
+        int acknowledged = 0;
+        driver.beginTransaction();
+        try {
+            try (SqlStatement ack = driver.compile(ACK_PENDING_EDIT)) {
+                for (int i = 0; i < alteracoes.length(); i++) {
+                    JSONObject alteracao = alteracoes.getJSONObject(i);
+                    ack.bindString(1, alteracao.getString("tabela"));
+                    ack.bindLong(2, alteracao.getInt("id"));
+                    ack.bindLong(3, alteracao.getLong("alterado_em"));
+                    acknowledged += ack.executeUpdateDelete();
+                    ack.clearBindings();
+                }
+            }
+            driver.setTransactionSuccessful();
+        } finally {
+            driver.endTransaction();
+        }
+        return acknowledged;
+    }
+
+    @Override
+    public void applyPendingEdits(String suffix) {
+        // Um UPDATE por campo
+        String tarefas = DatabaseContract.TarefaEntry.TABLE_NAME + suffix;
+        String pending = " FROM " + DatabaseContract.PendingEditEntry.TABLE_NAME +
+                " WHERE " + DatabaseContract.PendingEditEntry.COLUMN_TABELA + " = ?" +
+                " AND " + DatabaseContract.PendingEditEntry.COLUMN_CAMPO + " = ?";
+        for (String campo : EDITABLE_FIELDS) {
+            driver.execSQL("UPDATE " + tarefas + " SET " + campo + " = (" +
+                            "SELECT " + DatabaseContract.PendingEditEntry.COLUMN_VALOR + pending +
+                            " AND " + DatabaseContract.PendingEditEntry.COLUMN_ID_REGISTRO + " = " +
+                            tarefas + "." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ")" +
+                            " WHERE " + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " IN (" +
+                            "SELECT " + DatabaseContract.PendingEditEntry.COLUMN_ID_REGISTRO + pending + ")",
+                    DatabaseContract.TarefaEntry.TABLE_NAME, campo,
+                    DatabaseContract.TarefaEntry.TABLE_NAME, campo);
+        }
+    }
+
+    // =====================================================
+    // 📦 ARQUIVO FRIO
+    // =====================================================
+
+    @Override
+    public int archive(String suffix, int ageDays, long now) {
+        if (ageDays <= 0) {
+            return 0;
+        }
+        String tarefas = DatabaseContract.TarefaEntry.TABLE_NAME + suffix;
+        String tarefaWorkspace = DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + suffix;
+
+        // Corte fixo calculado uma vez: todas as instruções abaixo veem o mesmo conjunto
+        String cutoff = formatUtc(now - ageDays * 24L * 60 * 60 * 1000);
+        String archivedIds = "SELECT " + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " FROM " + tarefas +
+                " WHERE " + DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + " = 1" +
+                " AND julianday(COALESCE(" + DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + ", " +
+                DatabaseContract.TarefaEntry.COLUMN_DATA_CRIACAO + ")) < julianday(?)";
+
+        int count = count("SELECT COUNT(*) FROM (" + archivedIds + ")", cutoff);
+        if (count == 0) {
+            return 0;
+        }
+
+        driver.execSQL("INSERT OR REPLACE INTO " + DatabaseContract.TarefaArquivoEntry.TABLE_NAME +
+                " (" + TAREFA_COLUMNS + ", " + DatabaseContract.TarefaArquivoEntry.COLUMN_ID_WORKSPACE + ", " +
+                DatabaseContract.TarefaArquivoEntry.COLUMN_ARQUIVADA_EM + ") " +
+                "SELECT " + TAREFA_COLUMNS + ", " +
+                "(SELECT MIN(tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + ") FROM " + tarefaWorkspace + " tw " +
+                "WHERE tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + " = " + tarefas + "." +
+                DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + "), " + now +
+                " FROM " + tarefas + " WHERE " + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " IN (" + archivedIds + ")",
+                cutoff);
+
+        driver.execSQL("INSERT OR REPLACE INTO " + DatabaseContract.ComentarioArquivoEntry.TABLE_NAME +
+                " (" + COMENTARIO_COLUMNS + ", " + DatabaseContract.ComentarioArquivoEntry.COLUMN_ARQUIVADO_EM + ") " +
+                "SELECT " + COMENTARIO_COLUMNS + ", " + now +
+                " FROM " + DatabaseContract.ComentarioEntry.TABLE_NAME + suffix +
+                " WHERE " + DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + " IN (" + archivedIds + ")",
+                cutoff);
+
+        String where = DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " IN (" + archivedIds + ")";
+        delete(DatabaseContract.ComentarioEntry.TABLE_NAME + suffix, where, cutoff);
+        delete(DatabaseContract.AnexoEntry.TABLE_NAME + suffix, where, cutoff);
+        // anexos_cache não tem sombra: vale para o sync completo e para a manutenção
+        delete(DatabaseContract.AttachmentCacheEntry.TABLE_NAME, where, cutoff);
+        delete(DatabaseContract.TarefaCategoriaEntry.TABLE_NAME + suffix, where, cutoff);
+        delete(tarefaWorkspace, where, cutoff);
+        delete(DatabaseContract.TaskListEntry.TABLE_NAME + suffix, where, cutoff);
+        delete(tarefas, where, cutoff);
+        return count;
+    }
+
+    @Override
+    public int archiveAndCompact(int ageDays, long now) {
+        int archived;
+        driver.beginTransaction();
+        try {
+            archived = archive("", ageDays, now);
+            compactTombstones(now);
+            driver.setTransactionSuccessful();
+        } finally {
+            driver.endTransaction();
+        }
+        return archived;
+    }
+
+    @Override
+    public List<Map<String, Object>> getArchivedTarefasByWorkspace(int idWorkspace) {
+        try (SqlRows rows = driver.query("SELECT * FROM " + DatabaseContract.TarefaArquivoEntry.TABLE_NAME +
+                " WHERE " + DatabaseContract.TarefaArquivoEntry.COLUMN_ID_WORKSPACE + " = ?", idWorkspace)) {
+            return readArchive(rows, TAREFA_COLUMNS + ", " + DatabaseContract.TarefaArquivoEntry.COLUMN_ID_WORKSPACE +
+                    ", " + DatabaseContract.TarefaArquivoEntry.COLUMN_ARQUIVADA_EM);
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> getArchivedComentariosByTarefa(int idTarefa) {
+        try (SqlRows rows = driver.query("SELECT * FROM " + DatabaseContract.ComentarioArquivoEntry.TABLE_NAME +
+                " WHERE " + DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + " = ?", idTarefa)) {
+            return readArchive(rows, COMENTARIO_COLUMNS + ", " + DatabaseContract.ComentarioArquivoEntry.COLUMN_ARQUIVADO_EM);
+        }
+    }
+
+    /**
+     * Linhas do arquivo como estão na tabela: INTEGER como Long, o resto como texto
+     */
+    private static List<Map<String, Object>> readArchive(SqlRows rows, String columns) {
+        String[] names = columns.split(", ");
+        int[] indexes = new int[names.length];
+        boolean[] integer = new boolean[names.length];
+        for (int c = 0; c < names.length; c++) {
+            indexes[c] = rows.getColumnIndex(names[c]);
+            for (String name : ARCHIVE_INTEGER_COLUMNS) {
+                integer[c] |= name.equals(names[c]);
+            }
+        }
+        List<Map<String, Object>> result = new ArrayList<>();
+        while (rows.moveToNext()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int c = 0; c < names.length; c++) {
+                if (rows.isNull(indexes[c])) {
+                    row.put(names[c], null);
+                } else {
+                    row.put(names[c], integer[c] ? (Object) rows.getLong(indexes[c]) : rows.getString(indexes[c]));
+                }
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    /**
+     * Devolve páginas livres ao sistema de arquivos. Na primeira vez converte o banco
+     * para auto_vacuum INCREMENTAL (exige um VACUUM completo). Não pode rodar em transação.
+     * Retorna o número de páginas liberadas.
+     */
+    public int reclaimSpace() {
+        if (count("PRAGMA auto_vacuum") != AUTO_VACUUM_INCREMENTAL) {
+            int before = count("PRAGMA page_count");
+            driver.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+            driver.execSQL("VACUUM");
+            return Math.max(before - count("PRAGMA page_count"), 0);
+        }
+
+        int free = count("PRAGMA freelist_count");
+        if (free == 0) {
+            return 0;
+        }
+        int pages = Math.min(free, VACUUM_PAGES_PER_RUN);
+        // incremental_vacuum avança um passo por linha lida
+        try (SqlRows rows = driver.query("PRAGMA incremental_vacuum(" + pages + ")")) {
+            while (rows.moveToNext()) {
+                // consumir
+            }
+        }
+        return pages;
+    }
+
+    private int count(String sql, Object... args) {
+        try (SqlRows rows = driver.query(sql, args)) {
+            return rows.moveToNext() ? rows.getInt(0) : 0;
+        }
+    }
+
+    private static String formatUtc(long timestamp) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(new Date(timestamp));
+    }
+}
@@ -0,0 +1,956 @@
+// android/storage/src/main/java/com/noiton2_frontend/storage/SqliteTaskStore.java
+package com.noiton2_frontend.storage;
+
+import com.noiton2_frontend.database.DatabaseContract;
+import com.noiton2_frontend.database.StorageSchema;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TaskStore sobre SQLite: o motor do app. Sync completo em tabelas sombra com
+ * projeção reconstruída e troca atômica, tudo numa transação (escritas concorrentes
+ * esperam a troca); escritas atualizam a projeção por tarefa.
+ *
+ * Exclusões (tombstones), arquivo frio e frescor ficam no SqliteSyncStateStore, sobre
+ * o mesmo driver: o SyncService roda esses passos pelos ganchos do IngestListener.
+ * O schema precisa existir (createSchema() ou DatabaseHelper).
+ */
+public class SqliteTaskStore implements TaskStore {
+
+    private static final String SHADOW = StorageSchema.SHADOW_SUFFIX;
+
+    /**
+     * INSERT OR REPLACE de cada tabela, nas reais ou nas sombras
+     */
+    private static final class Inserts {
+        final String workspace;
+        final String usuarioWorkspace;
+        final String categoria;
+        final String tarefa;
+        final String tarefaWorkspace;
+        final String tarefaCategoria;
+        final String comentario;
+        final String anexo;
+
+        Inserts(String suffix) {
+            workspace = "INSERT OR REPLACE INTO " + DatabaseContract.WorkspaceEntry.TABLE_NAME + suffix + " (" +
+                    DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE + ", " +
+                    DatabaseContract.WorkspaceEntry.COLUMN_NOME + ", " +
+                    DatabaseContract.WorkspaceEntry.COLUMN_EQUIPE + ", " +
+                    DatabaseContract.WorkspaceEntry.COLUMN_CRIADOR + ") VALUES (?, ?, ?, ?)";
+
+            usuarioWorkspace = "INSERT OR REPLACE INTO " + DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME + suffix + " (" +
+                    DatabaseContract.UsuarioWorkspaceEntry.COLUMN_EMAIL + ", " +
+                    DatabaseContract.UsuarioWorkspaceEntry.COLUMN_ID_WORKSPACE + ") VALUES (?, ?)";
+
+            categoria = "INSERT OR REPLACE INTO " + DatabaseContract.CategoriaEntry.TABLE_NAME + suffix + " (" +
+                    DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA + ", " +
+                    DatabaseContract.CategoriaEntry.COLUMN_NOME + ", " +
+                    DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE + ") VALUES (?, ?, ?)";
+
+            // COALESCE mantém os DEFAULTs da tabela quando o campo opcional não vem no payload
+            tarefa = "INSERT OR REPLACE INTO " + DatabaseContract.TarefaEntry.TABLE_NAME + suffix + " (" +
+                    DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + ", " +
+                    DatabaseContract.TarefaEntry.COLUMN_TITULO + ", " +
+                    DatabaseContract.TarefaEntry.COLUMN_DESCRICAO + ", " +
+                    DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO + ", " +
+                    DatabaseContract.TarefaEntry.COLUMN_DATA_FIM + ", " +
+                    DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE + ", " +
+                    DatabaseContract.TarefaEntry.COLUMN_STATUS + ", " +
+                    DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA + ", " +
+                    DatabaseContract.TarefaEntry.COLUMN_RECORRENTE + ", " +
+                    DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA + ") " +
+                    "VALUES (?, ?, ?, ?, ?, COALESCE(?, 'media'), COALESCE(?, 'a_fazer'), COALESCE(?, 0), COALESCE(?, 0), ?)";
+
+            tarefaWorkspace = "INSERT OR REPLACE INTO " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + suffix + " (" +
+                    DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + ", " +
+                    DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + ") VALUES (?, ?)";
+
+            tarefaCategoria = "INSERT OR REPLACE INTO " + DatabaseContract.TarefaCategoriaEntry.TABLE_NAME + suffix + " (" +
+                    DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA + ", " +
+                    DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + ") VALUES (?, ?)";
+
+            comentario = "INSERT OR REPLACE INTO " + DatabaseContract.ComentarioEntry.TABLE_NAME + suffix + " (" +
+                    DatabaseContract.ComentarioEntry.COLUMN_ID_COMENTARIO + ", " +
+                    DatabaseContract.ComentarioEntry.COLUMN_EMAIL + ", " +
+                    DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + ", " +
+                    DatabaseContract.ComentarioEntry.COLUMN_DESCRICAO + ", " +
+                    DatabaseContract.ComentarioEntry.COLUMN_DATA_CRIACAO + ", " +
+                    DatabaseContract.ComentarioEntry.COLUMN_DATA_ATUALIZACAO + ") " +
+                    "VALUES (?, ?, ?, ?, COALESCE(?, CURRENT_TIMESTAMP), COALESCE(?, CURRENT_TIMESTAMP))";
+
+            anexo = "INSERT OR REPLACE INTO " + DatabaseContract.AnexoEntry.TABLE_NAME + suffix + " (" +
+                    DatabaseContract.AnexoEntry.COLUMN_ID_ANEXO + ", " +
+                    DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA + ", " +
+                    DatabaseContract.AnexoEntry.COLUMN_TIPO_ARQUIVO + ", " +
+                    DatabaseContract.AnexoEntry.COLUMN_NOME_ARQUIVO + ", " +
+                    DatabaseContract.AnexoEntry.COLUMN_NOME_ORIGINAL + ", " +
+                    DatabaseContract.AnexoEntry.COLUMN_TAMANHO_ARQUIVO + ", " +
+                    DatabaseContract.AnexoEntry.COLUMN_CAMINHO_ARQUIVO + ", " +
+                    DatabaseContract.AnexoEntry.COLUMN_DATA_UPLOAD + ", " +
+                    DatabaseContract.AnexoEntry.COLUMN_DATA_ATUALIZACAO + ") " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, COALESCE(?, CURRENT_TIMESTAMP), COALESCE(?, CURRENT_TIMESTAMP))";
+        }
+    }
+
+    private static final Inserts SHADOW_INSERTS = new Inserts(SHADOW);
+    private static final Inserts LIVE_INSERTS = new Inserts("");
+
+    private static final String SELECT_TAREFA_BY_ID = "SELECT t.*, tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + " as id_workspace " +
+            "FROM " + DatabaseContract.TarefaEntry.TABLE_NAME + " t " +
+            "LEFT JOIN " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + " tw " +
+            "ON t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + " " +
+            "WHERE t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = ?";
+
+    private static final String SELECT_ALL_TAREFAS = "SELECT t.*, tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + " as id_workspace " +
+            "FROM " + DatabaseContract.TarefaEntry.TABLE_NAME + " t " +
+            "LEFT JOIN " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME + " tw " +
+            "ON t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = tw." + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA;
+
+    private static final String SELECT_CATEGORIAS_BY_TAREFA = "SELECT c.* FROM " + DatabaseContract.CategoriaEntry.TABLE_NAME + " c " +
+            "INNER JOIN " + DatabaseContract.TarefaCategoriaEntry.TABLE_NAME + " tc " +
+            "ON c." + DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA + " = tc." + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + " " +
+            "WHERE tc." + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA + " = ?";
+
+    private static final String SELECT_WORKSPACES_BY_USER = "SELECT w.* FROM " + DatabaseContract.WorkspaceEntry.TABLE_NAME + " w " +
+            "INNER JOIN " + DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME + " uw " +
+            "ON w." + DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE + " = uw." + DatabaseContract.UsuarioWorkspaceEntry.COLUMN_ID_WORKSPACE + " " +
+            "WHERE uw." + DatabaseContract.UsuarioWorkspaceEntry.COLUMN_EMAIL + " = ?";
+
+    private static final String SELECT_TASK_LIST = "SELECT * FROM " + DatabaseContract.TaskListEntry.TABLE_NAME +
+            " WHERE " + DatabaseContract.TaskListEntry.COLUMN_ID_WORKSPACE + " = ?";
+
+    private static final String SELECT_TAREFA_IDS_BY_WORKSPACE = "SELECT " + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA +
+            " FROM " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME +
+            " WHERE " + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_WORKSPACE + " = ?";
+
+    private static final String SELECT_CATEGORIA_NOMES = "SELECT " + DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA + ", " +
+            DatabaseContract.CategoriaEntry.COLUMN_NOME + " FROM " + DatabaseContract.CategoriaEntry.TABLE_NAME;
+
+    private static final String SELECT_TAREFA_IDS_BY_CATEGORIA = "SELECT " + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA +
+            " FROM " + DatabaseContract.TarefaCategoriaEntry.TABLE_NAME +
+            " WHERE " + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_CATEGORIA + " = ?";
+
+    private static final String REFRESH_TASK_LIST = StorageSchema.taskListSelectInto("",
+            "t." + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = ?");
+
+    // Chave no resultado de getStats -> tabela contada
+    private static final String[][] STATS_TABLES = {
+            {"workspaces", DatabaseContract.WorkspaceEntry.TABLE_NAME},
+            {"categorias", DatabaseContract.CategoriaEntry.TABLE_NAME},
+            {"tarefas", DatabaseContract.TarefaEntry.TABLE_NAME},
+            {"comentarios", DatabaseContract.ComentarioEntry.TABLE_NAME},
+            {"anexos", DatabaseContract.AnexoEntry.TABLE_NAME}
+    };
+
+    // Tabelas que referenciam a tarefa, limpas antes dela
+    private static final String[][] TAREFA_DEPENDENTS = {
+            {DatabaseContract.ComentarioEntry.TABLE_NAME, DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA},
+            {DatabaseContract.AnexoEntry.TABLE_NAME, DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA},
+            {DatabaseContract.TarefaCategoriaEntry.TABLE_NAME, DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA},
+            {DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME, DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA},
+            {DatabaseContract.TaskListEntry.TABLE_NAME, DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA},
+            {DatabaseContract.TarefaEntry.TABLE_NAME, DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA}
+    };
+
+    private final SqlDriver driver;
+
+    public SqliteTaskStore(SqlDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Cria as tabelas de dados reais num banco vazio (o app usa o DatabaseHelper)
+     */
+    public void createSchema() {
+        for (String sql : StorageSchema.createDataTables("")) {
+            driver.execSQL(sql);
+        }
+        createIndexes("");
+    }
+
+    // =====================================================
+    // 🔁 SYNC COMPLETO
+    // =====================================================
+
+    @Override
+    public void ingestFullSync(JSONObject data, IngestListener listener) throws JSONException {
+        boolean success = false;
+        // Uma única transação da criação das sombras até a troca: o lock de escrita do
+        // SQLite fica com o sync o tempo todo, então saveTarefa/updateTarefa/saveComentario
+        // (e as escritas do app) esperam e caem nas tabelas já trocadas, em vez de irem
+        // para as reais entre a ingestão e o DROP + RENAME e se perderem.
+        // Leitores (WAL) continuam vendo o snapshot anterior até o commit.
+        driver.beginTransaction();
+        try {
+            // 🔁 Ingestão nas tabelas sombra
+            for (String sql : StorageSchema.dropShadowTables()) {
+                driver.execSQL(sql);
+            }
+            for (String sql : StorageSchema.createDataTables(SHADOW)) {
+                driver.execSQL(sql);
+            }
+            createIndexes(SHADOW);
+
+            listener.onPhase("shadow");
+            insertWorkspaces(data, SHADOW_INSERTS, listener);
+            insertCategorias(data.optJSONArray("categorias"), SHADOW_INSERTS, listener);
+            insertTarefas(data.optJSONArray("tarefas"), -1, SHADOW_INSERTS, listener);
+            insertComentarios(data.optJSONArray("comentarios"), SHADOW_INSERTS, listener);
+            insertAnexos(data.optJSONArray("anexos"), SHADOW_INSERTS, listener);
+            listener.onRowsWritten(SHADOW);
+
+            // 📋 Projeção das listas montada de uma vez a partir das sombras
+            driver.execSQL("DELETE FROM " + DatabaseContract.TaskListEntry.TABLE_NAME + SHADOW);
+            driver.execSQL(StorageSchema.taskListSelectInto(SHADOW, null));
+            listener.onPhase("projection");
+
+            // 🔁 TROCA: só catálogo (DROP + RENAME), independente do volume
+            for (String sql : StorageSchema.swapShadowTables()) {
+                driver.execSQL(sql);
+            }
+            listener.onPhase("swap");
+            listener.beforeCommit();
+            driver.setTransactionSuccessful();
+            success = true;
+        } finally {
+            driver.endTransaction();
+            if (!success) {
+                // Sync abortado: o rollback manteve as tabelas reais, só descartar sombras que sobraram
+                for (String sql : StorageSchema.dropShadowTables()) {
+                    driver.execSQL(sql);
+                }
+            }
+        }
+        listener.onPhase("commit");
+    }
+
+    // =====================================================
+    // 🗂️ SYNC PARCIAL (METADADOS)
+    // =====================================================
+
+    @Override
+    public void ingestMetadata(JSONObject data, IngestListener listener) throws JSONException {
+        JSONArray categorias = data.optJSONArray("categorias");
+        driver.beginTransaction();
+        try {
+            // A lista de workspaces do usuário vem inteira: vínculos que sumiram saem
+            if (data.has("user_email") && data.optJSONArray("workspaces") != null) {
+                driver.execSQL("DELETE FROM " + DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME +
+                        " WHERE " + DatabaseContract.UsuarioWorkspaceEntry.COLUMN_EMAIL + " = ?", data.getString("user_email"));
+            }
+            insertWorkspaces(data, LIVE_INSERTS, listener);
+
+            // Categorias renomeadas mudam os nomes na projeção das tarefas que as usam
+            Set<Integer> renamed = renamedCategorias(categorias);
+            insertCategorias(categorias, LIVE_INSERTS, listener);
+            listener.onRowsWritten("");
+
+            Set<Integer> affected = new HashSet<>();
+            for (int idCategoria : renamed) {
+                try (SqlRows rows = driver.query(SELECT_TAREFA_IDS_BY_CATEGORIA, idCategoria)) {
+                    while (rows.moveToNext()) {
+                        affected.add(rows.getInt(0));
+                    }
+                }
+            }
+            for (int idTarefa : affected) {
+                refreshTaskList(driver, idTarefa);
+            }
+            listener.onPhase("projection");
+
+            listener.beforeCommit();
+            driver.setTransactionSuccessful();
+        } finally {
+            driver.endTransaction();
+        }
+        listener.onPhase("commit");
+    }
+
+    /**
+     * IDs das categorias do payload que já existem com outro nome
+     */
+    private Set<Integer> renamedCategorias(JSONArray categorias) throws JSONException {
+        Set<Integer> renamed = new HashSet<>();
+        if (categorias == null || categorias.length() == 0) {
+            return renamed;
+        }
+        Map<Integer, String> nomes = new HashMap<>();
+        try (SqlRows rows = driver.query(SELECT_CATEGORIA_NOMES)) {
+            while (rows.moveToNext()) {
+                nomes.put(rows.getInt(0), rows.getString(1));
+            }
+        }
+        for (int i = 0; i < categorias.length(); i++) {
+            JSONObject categoria = categorias.getJSONObject(i);
+            String atual = nomes.get(categoria.getInt("id_categoria"));
+            if (atual != null && !atual.equals(categoria.getString("nome"))) {
+                renamed.add(categoria.getInt("id_categoria"));
+            }
+        }
+        return renamed;
+    }
+
+    // =====================================================
+    // 🧩 SYNC DE UM WORKSPACE
+    // =====================================================
+
+    @Override
+    public List<Integer> ingestWorkspace(int idWorkspace, JSONObject data, IngestListener listener) throws JSONException {
+        List<Integer> touched = new ArrayList<>();
+        JSONArray tarefas = data.optJSONArray("tarefas");
+        // Sem a chave no payload, comentários/anexos das tarefas que continuam são mantidos
+        Set<Integer> returning = new HashSet<>();
+        for (int i = 0; tarefas != null && i < tarefas.length(); i++) {
+            returning.add(tarefas.getJSONObject(i).getInt("id_tarefa"));
+        }
+        boolean keepComentarios = !data.has("comentarios");
+        boolean keepAnexos = !data.has("anexos");
+        driver.beginTransaction();
+        try {
+            // Remover o conteúdo anterior do workspace
+            for (int idTarefa : getTarefaIdsByWorkspace(idWorkspace)) {
+                boolean stays = returning.remove(idTarefa);
+                deleteTarefa(idTarefa, stays && keepComentarios, stays && keepAnexos);
+                touched.add(idTarefa);
+            }
+            // Sobram as tarefas que chegam de outro workspace: desfazer o vínculo antigo
+            // (e as categorias, quando o payload traz as novas), como o InMemoryTaskStore
+            for (int i = 0; tarefas != null && i < tarefas.length(); i++) {
+                JSONObject tarefa = tarefas.getJSONObject(i);
+                int idTarefa = tarefa.getInt("id_tarefa");
+                if (!returning.contains(idTarefa)) {
+                    continue;
+                }
+                driver.execSQL("DELETE FROM " + DatabaseContract.TarefaWorkspaceEntry.TABLE_NAME +
+                        " WHERE " + DatabaseContract.TarefaWorkspaceEntry.COLUMN_ID_TAREFA + " = ?", idTarefa);
+                if (tarefa.optJSONArray("categorias") != null) {
+                    driver.execSQL("DELETE FROM " + DatabaseContract.TarefaCategoriaEntry.TABLE_NAME +
+                            " WHERE " + DatabaseContract.TarefaCategoriaEntry.COLUMN_ID_TAREFA + " = ?", idTarefa);
+                }
+            }
+            listener.onPhase("clear");
+
+            insertCategorias(data.optJSONArray("categorias"), LIVE_INSERTS, listener);
+            insertTarefas(tarefas, idWorkspace, LIVE_INSERTS, listener);
+            insertComentarios(data.optJSONArray("comentarios"), LIVE_INSERTS, listener);
+            insertAnexos(data.optJSONArray("anexos"), LIVE_INSERTS, listener);
+            listener.onRowsWritten("");
+
+            // Categorias já gravadas: atualizar a projeção das listas
+            if (tarefas != null) {
+                for (int i = 0; i < tarefas.length(); i++) {
+                    int idTarefa = tarefas.getJSONObject(i).getInt("id_tarefa");
+                    refreshTaskList(driver, idTarefa);
+                    touched.add(idTarefa);
+                }
+                listener.onPhase("projection");
+            }
+
+            listener.beforeCommit();
+            driver.setTransactionSuccessful();
+        } finally {
+            driver.endTransaction();
+        }
+        listener.onPhase("commit");
+        return touched;
+    }
+
+    private List<Integer> getTarefaIdsByWorkspace(int idWorkspace) {
+        List<Integer> ids = new ArrayList<>();
+        try (SqlRows rows = driver.query(SELECT_TAREFA_IDS_BY_WORKSPACE, idWorkspace)) {
+            while (rows.moveToNext()) {
+                ids.add(rows.getInt(0));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Remove uma tarefa e tudo que depende dela (inclusive a linha da projeção),
+     * menos comentários/anexos quando pedido
+     */
+    private void deleteTarefa(int idTarefa, boolean keepComentarios, boolean keepAnexos) {
+        for (String[] dependent : TAREFA_DEPENDENTS) {
+            if ((keepComentarios && dependent[0].equals(DatabaseContract.ComentarioEntry.TABLE_NAME))
+                    || (keepAnexos && dependent[0].equals(DatabaseContract.AnexoEntry.TABLE_NAME))) {
+                continue;
+            }
+            driver.execSQL("DELETE FROM " + dependent[0] + " WHERE " + dependent[1] + " = ?", idTarefa);
+        }
+    }
+
+    // =====================================================
+    // 🟢 INSERTS EM LOTE
+    // =====================================================
+
+    private void insertWorkspaces(JSONObject data, Inserts inserts, IngestListener listener) throws JSONException {
+        JSONArray workspaces = data.optJSONArray("workspaces");
+        if (workspaces == null) {
+            return;
+        }
+        try (SqlStatement insert = driver.compile(inserts.workspace)) {
+            for (int i = 0; i < workspaces.length(); i++) {
+                JSONObject workspace = workspaces.getJSONObject(i);
+                insert.bindLong(1, workspace.getInt("id_workspace"));
+                insert.bindString(2, workspace.getString("nome"));
+                insert.bindLong(3, workspace.getBoolean("equipe") ? 1 : 0);
+                insert.bindString(4, workspace.getString("criador"));
+                insert.execute();
+            }
+        }
+        listener.onTable(DatabaseContract.WorkspaceEntry.TABLE_NAME, workspaces.length());
+
+        // Todos os workspaces retornados são do usuário logado
+        if (data.has("user_email")) {
+            String userEmail = data.getString("user_email");
+            try (SqlStatement insert = driver.compile(inserts.usuarioWorkspace)) {
+                for (int i = 0; i < workspaces.length(); i++) {
+                    insert.bindString(1, userEmail);
+                    insert.bindLong(2, workspaces.getJSONObject(i).getInt("id_workspace"));
+                    insert.execute();
+                }
+            }
+            listener.onTable(DatabaseContract.UsuarioWorkspaceEntry.TABLE_NAME, workspaces.length());
+        }
+    }
+
+    private void insertCategorias(JSONArray categorias, Inserts inserts, IngestListener listener) throws JSONException {
+        if (categorias == null) {
+            return;
+        }
+        try (SqlStatement insert = driver.compile(inserts.categoria)) {
+            for (int i = 0; i < categorias.length(); i++) {
+                JSONObject categoria = categorias.getJSONObject(i);
+                insert.bindLong(1, categoria.getInt("id_categoria"));
+                insert.bindString(2, categoria.getString("nome"));
+                insert.bindLong(3, categoria.getInt("id_workspace"));
+                insert.execute();
+            }
+        }
+        listener.onTable(DatabaseContract.CategoriaEntry.TABLE_NAME, categorias.length());
+    }
+
+    /**
+     * idWorkspace >= 0 força o workspace de todas as tarefas (sync de um workspace);
+     * com -1 vale o id_workspace de cada tarefa, quando houver
+     */
+    private void insertTarefas(JSONArray tarefas, int idWorkspace, Inserts inserts, IngestListener listener) throws JSONException {
+        if (tarefas == null) {
+            return;
+        }
+        try (SqlStatement insertTarefa = driver.compile(inserts.tarefa);
+             SqlStatement insertWorkspace = driver.compile(inserts.tarefaWorkspace);
+             SqlStatement insertCategoria = driver.compile(inserts.tarefaCategoria)) {
+            for (int i = 0; i < tarefas.length(); i++) {
+                JSONObject tarefa = tarefas.getJSONObject(i);
+                int idTarefa = tarefa.getInt("id_tarefa");
+                bindTarefa(insertTarefa, tarefa);
+                insertTarefa.execute();
+
+                if (idWorkspace >= 0 || tarefa.has("id_workspace")) {
+                    insertWorkspace.bindLong(1, idTarefa);
+                    insertWorkspace.bindLong(2, idWorkspace >= 0 ? idWorkspace : tarefa.getInt("id_workspace"));
+                    insertWorkspace.execute();
+                }
+
+                JSONArray categorias = tarefa.optJSONArray("categorias");
+                if (categorias != null) {
+                    for (int j = 0; j < categorias.length(); j++) {
+                        insertCategoria.bindLong(1, idTarefa);
+                        insertCategoria.bindLong(2, categoriaId(categorias, j));
+                        insertCategoria.execute();
+                    }
+                }
+            }
+        }
+        listener.onTable(DatabaseContract.TarefaEntry.TABLE_NAME, tarefas.length());
+    }
+
+    /**
+     * Sync completo manda IDs; a API de tarefas manda objetos
+     */
+    static int categoriaId(JSONArray categorias, int index) throws JSONException {
+        JSONObject categoria = categorias.optJSONObject(index);
+        return categoria != null ? categoria.getInt("id_categoria") : categorias.getInt(index);
+    }
+
+    private static void bindTarefa(SqlStatement insert, JSONObject tarefa) throws JSONException {
+        insert.bindLong(1, tarefa.getInt("id_tarefa"));
+        insert.bindString(2, tarefa.getString("titulo"));
+        insert.bindString(3, tarefa.optString("descricao"));
+        insert.bindLong(4, tarefa.getInt("id_usuario"));
+        bindOptionalString(insert, 5, tarefa, "data_fim");
+        bindOptionalString(insert, 6, tarefa, "prioridade");
+        bindOptionalString(insert, 7, tarefa, "status");
+        bindOptionalBoolean(insert, 8, tarefa, "concluida");
+        bindOptionalBoolean(insert, 9, tarefa, "recorrente");
+        bindOptionalString(insert, 10, tarefa, "recorrencia");
+    }
+
+    private void insertComentarios(JSONArray comentarios, Inserts inserts, IngestListener listener) throws JSONException {
+        if (comentarios == null) {
+            return;
+        }
+        try (SqlStatement insert = driver.compile(inserts.comentario)) {
+            for (int i = 0; i < comentarios.length(); i++) {
+                bindComentario(insert, comentarios.getJSONObject(i));
+                insert.execute();
+            }
+        }
+        listener.onTable(DatabaseContract.ComentarioEntry.TABLE_NAME, comentarios.length());
+    }
+
+    private static void bindComentario(SqlStatement insert, JSONObject comentario) throws JSONException {
+        insert.bindLong(1, comentario.getInt("id_comentario"));
+        insert.bindString(2, comentario.getString("email"));
+        insert.bindLong(3, comentario.getInt("id_tarefa"));
+        insert.bindString(4, comentario.getString("descricao"));
+        bindOptionalString(insert, 5, comentario, "data_criacao");
+        bindOptionalString(insert, 6, comentario, "data_atualizacao");
+    }
+
+    private void insertAnexos(JSONArray anexos, Inserts inserts, IngestListener listener) throws JSONException {
+        if (anexos == null) {
+            return;
+        }
+        try (SqlStatement insert = driver.compile(inserts.anexo)) {
+            for (int i = 0; i < anexos.length(); i++) {
+                JSONObject anexo = anexos.getJSONObject(i);
+                insert.bindLong(1, anexo.getInt("id_anexo"));
+                insert.bindLong(2, anexo.getInt("id_tarefa"));
+                insert.bindString(3, anexo.getString("tipo_arquivo"));
+                insert.bindString(4, anexo.getString("nome_arquivo"));
+                insert.bindString(5, anexo.getString("nome_original"));
+                insert.bindLong(6, anexo.getInt("tamanho_arquivo"));
+                insert.bindString(7, anexo.getString("caminho_arquivo"));
+                bindOptionalString(insert, 8, anexo, "data_upload");
+                bindOptionalString(insert, 9, anexo, "data_atualizacao");
+                insert.execute();
+            }
+        }
+        listener.onTable(DatabaseContract.AnexoEntry.TABLE_NAME, anexos.length());
+    }
+
+    private static void bindOptionalString(SqlStatement statement, int index, JSONObject json, String key) throws JSONException {
+        if (json.has(key) && !json.isNull(key)) {
+            statement.bindString(index, json.getString(key));
+        } else {
+            statement.bindNull(index);
+        }
+    }
+
+    private static void bindOptionalBoolean(SqlStatement statement, int index, JSONObject json, String key) throws JSONException {
+        if (json.has(key)) {
+            statement.bindLong(index, json.getBoolean(key) ? 1 : 0);
+        } else {
+            statement.bindNull(index);
+        }
+    }
+
+    /**
+     * O nome do índice acompanha a tabela no RENAME da troca, então alternamos
+     * entre dois nomes para a sombra nunca colidir com o índice em uso
+     */
+    private void createIndexes(String suffix) {
+        driver.execSQL(StorageSchema.taskListIndex(
+                freeIndexName(StorageSchema.TASK_LIST_INDEX, StorageSchema.TASK_LIST_INDEX_ALT), suffix));
+        driver.execSQL(StorageSchema.deadlineIndex(
+                freeIndexName(StorageSchema.DEADLINE_INDEX, StorageSchema.DEADLINE_INDEX_ALT), suffix));
+    }
+
+    private String freeIndexName(String name, String alternative) {
+        try (SqlRows rows = driver.query(StorageSchema.INDEX_EXISTS, name)) {
+            return rows.moveToNext() ? alternative : name;
+        }
+    }
+
+    /**
+     * Atualiza as linhas de uma tarefa na projeção (uma por workspace) depois de uma escrita
+     */
+    static void refreshTaskList(SqlDriver driver, int idTarefa) {
+        driver.execSQL("DELETE FROM " + DatabaseContract.TaskListEntry.TABLE_NAME +
+                " WHERE " + DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA + " = ?", idTarefa);
+        driver.execSQL(REFRESH_TASK_LIST, idTarefa);
+    }
+
+    // =====================================================
+    // ✏️ ESCRITAS
+    // =====================================================
+
+    @Override
+    public void saveTarefa(JSONObject tarefa) throws JSONException {
+        int idTarefa = tarefa.getInt("id_tarefa");
+        driver.beginTransaction();
+        try {
+            try (SqlStatement insert = driver.compile(LIVE_INSERTS.tarefa)) {
+                bindTarefa(insert, tarefa);
+                insert.execute();
+            }
+            if (tarefa.has("id_workspace") && !tarefa.isNull("id_workspace")) {
+                driver.execSQL(LIVE_INSERTS.tarefaWorkspace, idTarefa, tarefa.getInt("id_workspace"));
+            }
+            refreshTaskList(driver, idTarefa);
+            driver.setTransactionSuccessful();
+        } finally {
+            driver.endTransaction();
+        }
+    }
+
+    @Override
+    public void updateTarefa(JSONObject data) throws JSONException {
+        int id = data.getInt("id");
+        List<String> columns = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+
+        // Atualizar apenas os campos fornecidos
+        if (data.has("titulo") && !data.isNull("titulo")) {
+            columns.add(DatabaseContract.TarefaEntry.COLUMN_TITULO);
+            values.add(data.getString("titulo"));
+        }
+        String[] textFields = {
+                DatabaseContract.TarefaEntry.COLUMN_DESCRICAO,
+                DatabaseContract.TarefaEntry.COLUMN_DATA_FIM,
+                DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE,
+                DatabaseContract.TarefaEntry.COLUMN_STATUS,
+                DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA
+        };
+        for (String field : textFields) {
+            if (data.has(field)) {
+                columns.add(field);
+                values.add(data.optString(field));
+            }
+        }
+        String[] booleanFields = {
+                DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA,
+                DatabaseContract.TarefaEntry.COLUMN_RECORRENTE
+        };
+        for (String field : booleanFields) {
+            if (data.has(field)) {
+                columns.add(field);
+                values.add(data.getBoolean(field) ? 1 : 0);
+            }
+        }
+
+        driver.beginTransaction();
+        try {
+            int rowsAffected;
+            if (columns.isEmpty()) {
+                try (SqlRows rows = driver.query("SELECT 1 FROM " + DatabaseContract.TarefaEntry.TABLE_NAME +
+                        " WHERE " + DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA + " = ?", id)) {
+                    rowsAffected = rows.moveToNext() ? 1 : 0;
+                }
+            } else {
+                StringBuilder sql = new StringBuilder("UPDATE ").append(DatabaseContract.TarefaEntry.TABLE_NAME).append(" SET ");
+                for (int i = 0; i < columns.size(); i++) {
+                    sql.append(i == 0 ? "" : ", ").append(columns.get(i)).append(" = ?");
+                }
+                sql.append(" WHERE ").append(DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA).append(" = ?");
+                try (SqlStatement update = driver.compile(sql.toString())) {
+                    for (int i = 0; i < values.size(); i++) {
+                        Object value = values.get(i);
+                        if (value instanceof Integer) {
+                            update.bindLong(i + 1, (Integer) value);
+                        } else {
+                            update.bindString(i + 1, (String) value);
+                        }
+                    }
+                    update.bindLong(values.size() + 1, id);
+                    rowsAffected = update.executeUpdateDelete();
+                }
+            }
+            if (rowsAffected == 0) {
+                throw new IllegalArgumentException("Tarefa não encontrada para atualizar: ID " + id);
+            }
+            refreshTaskList(driver, id);
+            driver.setTransactionSuccessful();
+        } finally {
+            driver.endTransaction();
+        }
+    }
+
+    @Override
+    public void saveComentario(JSONObject comentario) throws JSONException {
+        try (SqlStatement insert = driver.compile(LIVE_INSERTS.comentario)) {
+            bindComentario(insert, comentario);
+            insert.execute();
+        }
+    }
+
+    // =====================================================
+    // 🔍 CONSULTAS
+    // =====================================================
+
+    @Override
+    public List<Map<String, Object>> getWorkspacesByUser(String email) {
+        List<Map<String, Object>> workspaces = new ArrayList<>();
+        try (SqlRows rows = driver.query(SELECT_WORKSPACES_BY_USER, email)) {
+            int idIndex = rows.getColumnIndex(DatabaseContract.WorkspaceEntry.COLUMN_ID_WORKSPACE);
+            int nomeIndex = rows.getColumnIndex(DatabaseContract.WorkspaceEntry.COLUMN_NOME);
+            int equipeIndex = rows.getColumnIndex(DatabaseContract.WorkspaceEntry.COLUMN_EQUIPE);
+            int criadorIndex = rows.getColumnIndex(DatabaseContract.WorkspaceEntry.COLUMN_CRIADOR);
+            while (rows.moveToNext()) {
+                Map<String, Object> workspace = new HashMap<>();
+                workspace.put("id_workspace", rows.getInt(idIndex));
+                workspace.put("nome", rows.getString(nomeIndex));
+                workspace.put("equipe", rows.getInt(equipeIndex) == 1);
+                workspace.put("criador", rows.getString(criadorIndex));
+                workspaces.add(workspace);
+            }
+        }
+        return workspaces;
+    }
+
+    @Override
+    public List<Map<String, Object>> getTarefasByWorkspace(int idWorkspace) {
+        List<Map<String, Object>> tarefas = new ArrayList<>();
+        // 📋 Projeção desnormalizada: varredura de intervalo pela chave (id_workspace, id_tarefa)
+        try (SqlRows rows = driver.query(SELECT_TASK_LIST, idWorkspace)) {
+            int idIndex = rows.getColumnIndex(DatabaseContract.TaskListEntry.COLUMN_ID_TAREFA);
+            int tituloIndex = rows.getColumnIndex(DatabaseContract.TaskListEntry.COLUMN_TITULO);
+            int descricaoIndex = rows.getColumnIndex(DatabaseContract.TaskListEntry.COLUMN_DESCRICAO);
+            int usuarioIndex = rows.getColumnIndex(DatabaseContract.TaskListEntry.COLUMN_ID_USUARIO);
+            int dataFimIndex = rows.getColumnIndex(DatabaseContract.TaskListEntry.COLUMN_DATA_FIM);
+            int prioridadeIndex = rows.getColumnIndex(DatabaseContract.TaskListEntry.COLUMN_PRIORIDADE);
+            int statusIndex = rows.getColumnIndex(DatabaseContract.TaskListEntry.COLUMN_STATUS);
+            int concluidaIndex = rows.getColumnIndex(DatabaseContract.TaskListEntry.COLUMN_CONCLUIDA);
+            int idsIndex = rows.getColumnIndex(DatabaseContract.TaskListEntry.COLUMN_CATEGORIAS_IDS);
+            int nomesIndex = rows.getColumnIndex(DatabaseContract.TaskListEntry.COLUMN_CATEGORIAS_NOMES);
+
+            while (rows.moveToNext()) {
+                Map<String, Object> tarefa = new HashMap<>();
+                tarefa.put("id_tarefa", rows.getInt(idIndex));
+                tarefa.put("titulo", rows.getString(tituloIndex));
+                tarefa.put("descricao", rows.getString(descricaoIndex));
+                tarefa.put("id_usuario", rows.getInt(usuarioIndex));
+                tarefa.put("id_workspace", idWorkspace);
+
+                // Campos opcionais
+                if (!rows.isNull(dataFimIndex)) {
+                    tarefa.put("data_fim", rows.getString(dataFimIndex));
+                }
+                if (!rows.isNull(prioridadeIndex)) {
+                    tarefa.put("prioridade", rows.getString(prioridadeIndex));
+                }
+                if (!rows.isNull(statusIndex)) {
+                    tarefa.put("status", rows.getString(statusIndex));
+                }
+                tarefa.put("concluida", rows.getInt(concluidaIndex) == 1);
+
+                // Categorias pré-agregadas na projeção, nomes alinhados com os IDs
+                List<Integer> categoriaIds = new ArrayList<>();
+                String ids = rows.getString(idsIndex);
+                if (ids != null && !ids.isEmpty()) {
+                    for (String id : ids.split(StorageSchema.LIST_SEPARATOR)) {
+                        categoriaIds.add(Integer.parseInt(id));
+                    }
+                }
+                tarefa.put("categorias", categoriaIds);
+
+                List<String> categoriaNomes = new ArrayList<>();
+                String nomes = rows.getString(nomesIndex);
+                if (nomes != null) {
+                    // -1: nomes vazios (CATEGORIA_SEM_NOME) no fim também contam
+                    for (String nome : nomes.split(StorageSchema.LIST_SEPARATOR, -1)) {
+                        categoriaNomes.add(nome);
+                    }
+                }
+                tarefa.put("categorias_nomes", categoriaNomes);
+
+                tarefas.add(tarefa);
+            }
+        }
+        return tarefas;
+    }
+
+    @Override
+    public List<Map<String, Object>> getTarefasByUser(int idUsuario) {
+        List<Map<String, Object>> tarefas = new ArrayList<>();
+        try (SqlRows rows = driver.query("SELECT * FROM " + DatabaseContract.TarefaEntry.TABLE_NAME +
+                " WHERE " + DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO + " = ?", idUsuario)) {
+            int idIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA);
+            int tituloIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_TITULO);
+            int descricaoIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_DESCRICAO);
+            int usuarioIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO);
+            while (rows.moveToNext()) {
+                Map<String, Object> tarefa = new HashMap<>();
+                tarefa.put("id_tarefa", rows.getInt(idIndex));
+                tarefa.put("titulo", rows.getString(tituloIndex));
+                tarefa.put("descricao", rows.getString(descricaoIndex));
+                tarefa.put("id_usuario", rows.getInt(usuarioIndex));
+                tarefas.add(tarefa);
+            }
+        }
+        return tarefas;
+    }
+
+    @Override
+    public Map<String, Object> getTarefaById(int idTarefa) {
+        Map<String, Object> tarefa;
+        try (SqlRows rows = driver.query(SELECT_TAREFA_BY_ID, idTarefa)) {
+            if (!rows.moveToNext()) {
+                return null;
+            }
+            tarefa = new HashMap<>();
+
+            // Campos obrigatórios
+            tarefa.put("id_tarefa", rows.getInt(rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA)));
+            tarefa.put("titulo", rows.getString(rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_TITULO)));
+            tarefa.put("descricao", rows.getString(rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_DESCRICAO)));
+            tarefa.put("id_usuario", rows.getInt(rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO)));
+
+            int workspaceIndex = rows.getColumnIndex("id_workspace");
+            if (workspaceIndex >= 0 && !rows.isNull(workspaceIndex)) {
+                tarefa.put("id_workspace", rows.getInt(workspaceIndex));
+            }
+
+            // Campos opcionais, com os valores padrão do modo offline
+            int dataFimIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_DATA_FIM);
+            if (!rows.isNull(dataFimIndex)) {
+                tarefa.put("data_fim", rows.getString(dataFimIndex));
+            }
+            int prioridadeIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE);
+            tarefa.put("prioridade", rows.isNull(prioridadeIndex) ? "media" : rows.getString(prioridadeIndex));
+            int statusIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_STATUS);
+            tarefa.put("status", rows.isNull(statusIndex) ? "a_fazer" : rows.getString(statusIndex));
+            tarefa.put("concluida", rows.getInt(rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA)) == 1);
+            tarefa.put("recorrente", rows.getInt(rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_RECORRENTE)) == 1);
+            int recorrenciaIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_RECORRENCIA);
+            if (!rows.isNull(recorrenciaIndex)) {
+                tarefa.put("recorrencia", rows.getString(recorrenciaIndex));
+            }
+        }
+
+        tarefa.put("categorias", getCategoriasByTarefaId(idTarefa));
+
+        // Permissões padrão para modo offline
+        tarefa.put("pode_editar", true);
+        tarefa.put("pode_apagar", true);
+        tarefa.put("nivel_acesso", "full");
+        return tarefa;
+    }
+
+    private List<Map<String, Object>> getCategoriasByTarefaId(int idTarefa) {
+        try (SqlRows rows = driver.query(SELECT_CATEGORIAS_BY_TAREFA, idTarefa)) {
+            return readCategorias(rows);
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> listAllTarefas() {
+        List<Map<String, Object>> tarefas = new ArrayList<>();
+        try (SqlRows rows = driver.query(SELECT_ALL_TAREFAS)) {
+            int idIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_ID_TAREFA);
+            int tituloIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_TITULO);
+            int descricaoIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_DESCRICAO);
+            int usuarioIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_ID_USUARIO);
+            int workspaceIndex = rows.getColumnIndex("id_workspace");
+            int statusIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_STATUS);
+            int prioridadeIndex = rows.getColumnIndex(DatabaseContract.TarefaEntry.COLUMN_PRIORIDADE);
+            while (rows.moveToNext()) {
+                Map<String, Object> tarefa = new HashMap<>();
+                tarefa.put("id_tarefa", rows.getInt(idIndex));
+                tarefa.put("titulo", rows.getString(tituloIndex));
+                tarefa.put("descricao", rows.getString(descricaoIndex));
+                tarefa.put("id_usuario", rows.getInt(usuarioIndex));
+                if (!rows.isNull(workspaceIndex)) {
+                    tarefa.put("id_workspace", rows.getInt(workspaceIndex));
+                }
+                if (!rows.isNull(statusIndex)) {
+                    tarefa.put("status", rows.getString(statusIndex));
+                }
+                if (!rows.isNull(prioridadeIndex)) {
+                    tarefa.put("prioridade", rows.getString(prioridadeIndex));
+                }
+                tarefas.add(tarefa);
+            }
+        }
+        return tarefas;
+    }
+
+    @Override
+    public List<Map<String, Object>> getCategoriasByWorkspace(int idWorkspace) {
+        try (SqlRows rows = driver.query("SELECT * FROM " + DatabaseContract.CategoriaEntry.TABLE_NAME +
+                " WHERE " + DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE + " = ?", idWorkspace)) {
+            return readCategorias(rows);
+        }
+    }
+
+    private static List<Map<String, Object>> readCategorias(SqlRows rows) {
+        List<Map<String, Object>> categorias = new ArrayList<>();
+        int idIndex = rows.getColumnIndex(DatabaseContract.CategoriaEntry.COLUMN_ID_CATEGORIA);
+        int nomeIndex = rows.getColumnIndex(DatabaseContract.CategoriaEntry.COLUMN_NOME);
+        int workspaceIndex = rows.getColumnIndex(DatabaseContract.CategoriaEntry.COLUMN_ID_WORKSPACE);
+        while (rows.moveToNext()) {
+            Map<String, Object> categoria = new HashMap<>();
+            categoria.put("id_categoria", rows.getInt(idIndex));
+            categoria.put("nome", rows.getString(nomeIndex));
+            categoria.put("id_workspace", rows.getInt(workspaceIndex));
+            categorias.add(categoria);
+        }
+        return categorias;
+    }
+
+    @Override
+    public List<Map<String, Object>> getComentariosByTarefa(int idTarefa) {
+        List<Map<String, Object>> comentarios = new ArrayList<>();
+        try (SqlRows rows = driver.query("SELECT * FROM " + DatabaseContract.ComentarioEntry.TABLE_NAME +
+                " WHERE " + DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA + " = ?", idTarefa)) {
+            int idIndex = rows.getColumnIndex(DatabaseContract.ComentarioEntry.COLUMN_ID_COMENTARIO);
+            int emailIndex = rows.getColumnIndex(DatabaseContract.ComentarioEntry.COLUMN_EMAIL);
+            int tarefaIndex = rows.getColumnIndex(DatabaseContract.ComentarioEntry.COLUMN_ID_TAREFA);
+            int descricaoIndex = rows.getColumnIndex(DatabaseContract.ComentarioEntry.COLUMN_DESCRICAO);
+            while (rows.moveToNext()) {
+                Map<String, Object> comentario = new HashMap<>();
+                comentario.put("id_comentario", rows.getInt(idIndex));
+                comentario.put("email", rows.getString(emailIndex));
+                comentario.put("id_tarefa", rows.getInt(tarefaIndex));
+                comentario.put("descricao", rows.getString(descricaoIndex));
+                comentarios.add(comentario);
+            }
+        }
+        return comentarios;
+    }
+
+    @Override
+    public List<Map<String, Object>> getAnexosByTarefa(int idTarefa) {
+        List<Map<String, Object>> anexos = new ArrayList<>();
+        try (SqlRows rows = driver.query("SELECT * FROM " + DatabaseContract.AnexoEntry.TABLE_NAME +
+                " WHERE " + DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA + " = ?", idTarefa)) {
+            int idIndex = rows.getColumnIndex(DatabaseContract.AnexoEntry.COLUMN_ID_ANEXO);
+            int tarefaIndex = rows.getColumnIndex(DatabaseContract.AnexoEntry.COLUMN_ID_TAREFA);
+            int nomeIndex = rows.getColumnIndex(DatabaseContract.AnexoEntry.COLUMN_NOME_ARQUIVO);
+            int caminhoIndex = rows.getColumnIndex(DatabaseContract.AnexoEntry.COLUMN_CAMINHO_ARQUIVO);
+            while (rows.moveToNext()) {
+                Map<String, Object> anexo = new HashMap<>();
+                anexo.put("id_anexo", rows.getInt(idIndex));
+                anexo.put("id_tarefa", rows.getInt(tarefaIndex));
+                anexo.put("nome_arquivo", rows.getString(nomeIndex));
+                anexo.put("caminho_arquivo", rows.getString(caminhoIndex));
+                anexos.add(anexo);
+            }
+        }
+        return anexos;
+    }
+
+    @Override
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        for (String[] entry : STATS_TABLES) {
+            try (SqlRows rows = driver.query("SELECT COUNT(*) FROM " + entry[1])) {
+                stats.put(entry[0], rows.moveToNext() ? rows.getLong(0) : 0L);
+            }
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,181 @@
+// android/storage/src/main/java/com/noiton2_frontend/storage/SyncStateStore.java
+package com.noiton2_frontend.storage;
+
+import com.noiton2_frontend.database.DatabaseContract;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estado local do sync ao lado do TaskStore: frescor por workspace, exclusões
+ * (tombstones), alterações locais pendentes de envio e arquivo frio. São as tabelas
+ * fora das sombras, que sobrevivem ao sync completo e são reaplicadas nele.
+ *
+ * Implementações: SqliteSyncStateStore (mesmo SqlDriver do SqliteTaskStore, então os
+ * passos rodam dentro das transações da ingestão) e InMemorySyncStateStore (sobre um
+ * InMemoryTaskStore, para comparar motores).
+ *
+ * Métodos com sufixo não abrem transação: são chamados pelos ganchos do
+ * TaskStore.IngestListener. Os demais escrevem numa transação própria.
+ */
+public interface SyncStateStore {
+
+    // Confirmadas continuam barrando ressurreição por este tempo antes da compactação
+    long TOMBSTONE_RETENTION_MS = 7L * 24 * 60 * 60 * 1000;
+
+    // Tabelas que aceitam exclusão individual
+    String[] TOMBSTONE_TABLES = {
+            DatabaseContract.TarefaEntry.TABLE_NAME,
+            DatabaseContract.ComentarioEntry.TABLE_NAME,
+            DatabaseContract.CategoriaEntry.TABLE_NAME,
+            DatabaseContract.AnexoEntry.TABLE_NAME
+    };
+
+    // Campos de tarefas que podem ser alterados fora do JS
+    String[] EDITABLE_FIELDS = {
+            DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA,
+            DatabaseContract.TarefaEntry.COLUMN_STATUS,
+            DatabaseContract.TarefaEntry.COLUMN_DATA_FIM
+    };
+
+    static boolean isDeletable(String table) {
+        for (String supported : TOMBSTONE_TABLES) {
+            if (supported.equals(table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isEditable(String campo) {
+        for (String supported : EDITABLE_FIELDS) {
+            if (supported.equals(campo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registro removido por uma exclusão (tabela, ID)
+     */
+    final class Deletion {
+        public final String table;
+        public final int id;
+
+        public Deletion(String table, int id) {
+            this.table = table;
+            this.id = id;
+        }
+    }
+
+    // =====================================================
+    // 🕒 FRESCOR POR WORKSPACE
+    // =====================================================
+
+    void markWorkspaceFresh(int idWorkspace, long timestamp);
+
+    /**
+     * Todos os workspaces voltam a "nunca sincronizado" (precisam de sync sob demanda)
+     */
+    void clearWorkspaceFreshness();
+
+    /**
+     * last_sync (ms) do workspace, ou -1 se nunca foi sincronizado
+     */
+    long getWorkspaceLastSync(int idWorkspace);
+
+    // =====================================================
+    // 🪦 EXCLUSÕES (TOMBSTONES)
+    // =====================================================
+
+    /**
+     * Exclusão local: remove o registro (e dependentes) e grava o tombstone pendente de
+     * envio. IllegalArgumentException se a tabela não aceita exclusão.
+     */
+    void deleteLocal(String table, int id, long now);
+
+    /**
+     * Grava já confirmadas as exclusões recebidas do servidor ({ tabela, id }), sem
+     * remover nada: a remoção é o applyDeletions. Tabelas não suportadas são ignoradas.
+     * Retorna as gravadas.
+     */
+    List<Deletion> recordRemoteDeletions(JSONArray exclusoes, long now) throws JSONException;
+
+    /**
+     * Reaplica todos os tombstones sobre as tabelas com o sufixo informado
+     * (no sync completo: as sombras, antes da projeção). Evita que um payload
+     * montado antes do envio da exclusão ressuscite o registro.
+     */
+    void applyDeletions(String suffix);
+
+    /**
+     * Delta só com exclusões: grava e aplica nas tabelas reais numa transação.
+     * Informa a tabela exclusoes e as fases "tombstones" e "commit" ao listener.
+     */
+    List<Deletion> applyRemoteDeletions(JSONArray exclusoes, long now, TaskStore.IngestListener listener) throws JSONException;
+
+    /**
+     * Exclusões locais ainda não confirmadas, em ordem de exclusão:
+     * [{ tabela, id, excluido_em }]
+     */
+    List<Map<String, Object>> getPendingTombstones(int limit);
+
+    /**
+     * Servidor aceitou as exclusões ({ tabela, id }): marca como confirmadas e compacta
+     * as confirmadas há mais de TOMBSTONE_RETENTION_MS. Retorna {confirmadas, compactadas}.
+     */
+    int[] acknowledgeTombstones(JSONArray exclusoes, long now) throws JSONException;
+
+    // =====================================================
+    // ✏️ ALTERAÇÕES PENDENTES
+    // =====================================================
+
+    /**
+     * Altera um campo da tarefa (EDITABLE_FIELDS) e registra a alteração para envio.
+     * Sem transação própria: roda na mesma da escrita (e da projeção da lista).
+     */
+    void editTarefa(int idTarefa, String campo, Object valor, long now);
+
+    /**
+     * Alterações ainda não enviadas, agrupadas por registro (o limite conta registros):
+     * [{ tabela, id, campos: { campo: valor }, alterado_em }]
+     */
+    List<Map<String, Object>> getPendingEdits(int limit);
+
+    /**
+     * Servidor aceitou as alterações ({ tabela, id, alterado_em }): remove os campos
+     * alterados até alterado_em; os mais novos continuam pendentes. Retorna quantos saíram.
+     */
+    int acknowledgePendingEdits(JSONArray alteracoes) throws JSONException;
+
+    /**
+     * Reaplica as alterações pendentes sobre as tarefas com o sufixo informado,
+     * para o payload do servidor não desfazer o que ainda não foi enviado
+     */
+    void applyPendingEdits(String suffix);
+
+    // =====================================================
+    // 📦 ARQUIVO FRIO
+    // =====================================================
+
+    /**
+     * Move as tarefas concluídas há mais de ageDays (e seus comentários) das tabelas com
+     * o sufixo informado para o arquivo; 0 desliga. Retorna quantas tarefas saíram.
+     * No sync completo roda sobre as sombras, antes da troca.
+     */
+    int archive(String suffix, int ageDays, long now);
+
+    /**
+     * Manutenção: archive nas tabelas reais e compactação das exclusões numa transação.
+     * Retorna quantas tarefas foram arquivadas.
+     */
+    int archiveAndCompact(int ageDays, long now);
+
+    List<Map<String, Object>> getArchivedTarefasByWorkspace(int idWorkspace);
+
+    List<Map<String, Object>> getArchivedComentariosByTarefa(int idTarefa);
+}
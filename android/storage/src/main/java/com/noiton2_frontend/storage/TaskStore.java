@@ -0,0 +1,131 @@
+// android/storage/src/main/java/com/noiton2_frontend/storage/TaskStore.java
+package com.noiton2_frontend.storage;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Armazenamento de tarefas sem dependência do Android: o mesmo contrato que o
+ * SyncService expõe ao JS (mesmos nomes de campo), com mapas simples no lugar
+ * de WritableMap. Roda no app e na JVM (benchmarks).
+ *
+ * Implementações: SqliteTaskStore (persistente, usada pelo app) e
+ * InMemoryTaskStore (mapas com chave primitiva, para comparar motores).
+ */
+public interface TaskStore {
+
+    /**
+     * Acompanha uma ingestão: fases e tabelas para as métricas, e os pontos em que
+     * quem chama roda passos próprios dentro das transações do armazenamento.
+     * Os ganchos de SQL (onRowsWritten, beforeCommit) só são chamados pelo SqliteTaskStore.
+     */
+    interface IngestListener {
+
+        IngestListener NONE = new IngestListener() {};
+
+        /**
+         * Fase concluída (shadow, clear, projection, swap, commit)
+         */
+        default void onPhase(String phase) {}
+
+        /**
+         * Linhas gravadas numa tabela
+         */
+        default void onTable(String table, int rows) {}
+
+        /**
+         * Linhas gravadas, antes da projeção, na mesma transação. O sufixo indica
+         * as tabelas alvo (sombras no sync completo, reais nos demais).
+         */
+        default void onRowsWritten(String suffix) throws JSONException {}
+
+        /**
+         * Último passo da transação final (troca das sombras ou sync do workspace)
+         */
+        default void beforeCommit() throws JSONException {}
+    }
+
+    // =====================================================
+    // 🔁 INGESTÃO
+    // =====================================================
+
+    /**
+     * Sync completo: mesmo formato do payload de saveFullSyncData
+     * (workspaces, user_email, categorias, tarefas, comentarios, anexos).
+     * Substitui tudo; leitores veem o estado anterior até o fim.
+     */
+    void ingestFullSync(JSONObject data, IngestListener listener) throws JSONException;
+
+    default void ingestFullSync(JSONObject data) throws JSONException {
+        ingestFullSync(data, IngestListener.NONE);
+    }
+
+    /**
+     * Sync parcial (sync_mode "partial"): só os metadados — workspaces, vínculos do
+     * user_email e categorias — gravados direto nas tabelas reais, sem sombras.
+     * Tarefas, comentários e anexos locais ficam como estão; o conteúdo de cada
+     * workspace chega depois por ingestWorkspace.
+     */
+    void ingestMetadata(JSONObject data, IngestListener listener) throws JSONException;
+
+    /**
+     * Sync sob demanda de um workspace (tarefas, categorias, comentarios, anexos):
+     * troca as tarefas do workspace pelas do payload. Categorias da tarefa podem vir
+     * como IDs ou objetos. Retorna os IDs das tarefas removidas e gravadas.
+     */
+    List<Integer> ingestWorkspace(int idWorkspace, JSONObject data, IngestListener listener) throws JSONException;
+
+    // =====================================================
+    // ✏️ ESCRITAS
+    // =====================================================
+
+    /**
+     * Grava (ou substitui) uma tarefa e, se vier id_workspace, a associação
+     */
+    void saveTarefa(JSONObject tarefa) throws JSONException;
+
+    /**
+     * Atualiza só os campos presentes; "id" identifica a tarefa.
+     * IllegalArgumentException se a tarefa não existir.
+     */
+    void updateTarefa(JSONObject data) throws JSONException;
+
+    void saveComentario(JSONObject comentario) throws JSONException;
+
+    // =====================================================
+    // 🔍 CONSULTAS
+    // =====================================================
+
+    List<Map<String, Object>> getWorkspacesByUser(String email);
+
+    /**
+     * Tarefas de um workspace, com categorias (IDs e nomes) já agregadas
+     */
+    List<Map<String, Object>> getTarefasByWorkspace(int idWorkspace);
+
+    List<Map<String, Object>> getTarefasByUser(int idUsuario);
+
+    /**
+     * Detalhe da tarefa com workspace e categorias; null se não existir
+     */
+    Map<String, Object> getTarefaById(int idTarefa);
+
+    /**
+     * Todas as tarefas com workspace, status e prioridade (depuração)
+     */
+    List<Map<String, Object>> listAllTarefas();
+
+    List<Map<String, Object>> getCategoriasByWorkspace(int idWorkspace);
+
+    List<Map<String, Object>> getComentariosByTarefa(int idTarefa);
+
+    List<Map<String, Object>> getAnexosByTarefa(int idTarefa);
+
+    /**
+     * Contagem por tabela (workspaces, categorias, tarefas, comentarios, anexos)
+     */
+    Map<String, Long> getStats();
+}
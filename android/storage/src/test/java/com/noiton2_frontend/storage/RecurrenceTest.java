@@ -0,0 +1,153 @@
+package com.noiton2_frontend.storage;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Conversão de datas (dias desde 1970-01-01) e expansão das regras numa janela
+ */
+public class RecurrenceTest {
+
+    private static final int TAREFA = 7;
+
+    @Test
+    public void civilRoundTripAcrossEras() {
+        assertEquals(0, Recurrence.daysFromCivil(1970, 1, 1));
+        assertEquals(-1, Recurrence.daysFromCivil(1969, 12, 31));
+        // Passo ímpar para cair em todos os meses, dentro e fora de anos bissextos
+        for (int epochDay = -800000; epochDay <= 800000; epochDay += 37) {
+            int[] civil = Recurrence.civilFromDays(epochDay);
+            assertEquals(epochDay, Recurrence.daysFromCivil(civil[0], civil[1], civil[2]));
+        }
+    }
+
+    @Test
+    public void leapYears() {
+        assertEquals(29, Recurrence.daysInMonth(2024, 2));
+        assertEquals(28, Recurrence.daysInMonth(2023, 2));
+        assertEquals(28, Recurrence.daysInMonth(1900, 2));
+        assertEquals(29, Recurrence.daysInMonth(2000, 2));
+
+        assertArrayEquals(new int[]{2024, 2, 29}, Recurrence.civilFromDays(Recurrence.parseDay("2024-02-29")));
+        assertEquals(2, Recurrence.parseDay("2024-03-01") - Recurrence.parseDay("2024-02-28"));
+        assertEquals(1, Recurrence.parseDay("2023-03-01") - Recurrence.parseDay("2023-02-28"));
+        assertEquals(366, Recurrence.parseDay("2001-01-01") - Recurrence.parseDay("2000-01-01"));
+        assertEquals(365, Recurrence.parseDay("1901-01-01") - Recurrence.parseDay("1900-01-01"));
+        assertEquals("2000-02-29", Recurrence.formatDay(Recurrence.daysFromCivil(2000, 2, 29)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsFebruary29OutsideLeapYear() {
+        Recurrence.parseDay("2023-02-29");
+    }
+
+    @Test
+    public void monthlyOn31stSkipsShortMonths() {
+        assertEquals(Arrays.asList("2024-01-31", "2024-03-31", "2024-05-31", "2024-07-31"),
+                expand(Recurrence.MENSAL, "2024-01-31", "2024-01-01", "2024-07-31"));
+    }
+
+    @Test
+    public void monthlyOn29thOnlyInLeapFebruary() {
+        assertEquals(Arrays.asList("2023-01-29", "2023-03-29"),
+                expand(Recurrence.MENSAL, "2023-01-29", "2023-01-01", "2023-03-31"));
+        assertEquals(Arrays.asList("2024-01-29", "2024-02-29", "2024-03-29"),
+                expand(Recurrence.MENSAL, "2024-01-29", "2024-01-01", "2024-03-31"));
+    }
+
+    @Test
+    public void weeklyWithAnchorBeforeWindow() {
+        // 2024-01-03 é quarta-feira: a janela começa numa sexta
+        assertEquals(Arrays.asList("2024-03-06", "2024-03-13", "2024-03-20"),
+                expand(Recurrence.SEMANAL, "2024-01-03", "2024-03-01", "2024-03-21"));
+        // Início da janela no próprio dia da semana da criação
+        assertEquals(Arrays.asList("2024-03-06", "2024-03-13"),
+                expand(Recurrence.SEMANAL, "2024-01-03", "2024-03-06", "2024-03-19"));
+    }
+
+    @Test
+    public void weeklyWithAnchorInsideWindow() {
+        assertEquals(Arrays.asList("2024-03-10", "2024-03-17", "2024-03-24", "2024-03-31"),
+                expand(Recurrence.SEMANAL, "2024-03-10", "2024-03-01", "2024-03-31"));
+    }
+
+    @Test
+    public void weeklyWithAnchorBeforeEpoch() {
+        // Dias negativos: o alinhamento depende do floorMod
+        assertEquals(Arrays.asList("1970-01-07", "1970-01-14"),
+                expand(Recurrence.SEMANAL, "1969-12-31", "1970-01-01", "1970-01-14"));
+    }
+
+    @Test
+    public void windowBeforeAnchorIsEmpty() {
+        for (byte kind : new byte[]{Recurrence.NENHUMA, Recurrence.DIARIA, Recurrence.SEMANAL, Recurrence.MENSAL}) {
+            assertTrue(expand(kind, "2024-06-15", "2024-01-01", "2024-06-14").isEmpty());
+        }
+    }
+
+    @Test
+    public void windowIsClampedToAnchor() {
+        assertEquals(Arrays.asList("2024-01-30", "2024-01-31"),
+                expand(Recurrence.DIARIA, "2024-01-30", "2024-01-01", "2024-01-31"));
+        assertEquals(Arrays.asList("2024-01-30"),
+                expand(Recurrence.NENHUMA, "2024-01-30", "2024-01-01", "2024-01-31"));
+        assertTrue(expand(Recurrence.NENHUMA, "2023-12-31", "2024-01-01", "2024-01-31").isEmpty());
+    }
+
+    @Test
+    public void offsetsAreRelativeToWindowStart() {
+        Recurrence.Rules rules = new Recurrence.Rules();
+        rules.add(TAREFA, Recurrence.SEMANAL, Recurrence.parseDay("2024-01-03"));
+        Recurrence.Occurrences occurrences = rules.expand(Recurrence.parseDay("2024-03-01"), Recurrence.parseDay("2024-03-21"));
+        assertEquals(3, occurrences.size());
+        assertEquals(5, occurrences.offsetAt(0));
+        assertEquals(TAREFA, occurrences.tarefaAt(0));
+    }
+
+    @Test
+    public void acceptsWindowOfMaxDays() {
+        int from = Recurrence.parseDay("2024-01-01");
+        List<String> days = expand(Recurrence.DIARIA, "2024-01-01", from, from + Recurrence.MAX_WINDOW_DAYS - 1);
+        assertEquals(Recurrence.MAX_WINDOW_DAYS, days.size());
+    }
+
+    @Test
+    public void rejectsWindowAboveMaxDays() {
+        int from = Recurrence.parseDay("2024-01-01");
+        try {
+            new Recurrence.Rules().expand(from, from + Recurrence.MAX_WINDOW_DAYS);
+            fail("janela de " + (Recurrence.MAX_WINDOW_DAYS + 1) + " dias deveria ser rejeitada");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsWindowEndingBeforeStart() {
+        new Recurrence.Rules().expand(Recurrence.parseDay("2024-01-02"), Recurrence.parseDay("2024-01-01"));
+    }
+
+    private static List<String> expand(byte kind, String anchor, String from, String to) {
+        return expand(kind, anchor, Recurrence.parseDay(from), Recurrence.parseDay(to));
+    }
+
+    private static List<String> expand(byte kind, String anchor, int from, int to) {
+        Recurrence.Rules rules = new Recurrence.Rules();
+        rules.add(TAREFA, kind, Recurrence.parseDay(anchor));
+        Recurrence.Occurrences occurrences = rules.expand(from, to);
+        List<String> days = new ArrayList<>();
+        for (int i = 0; i < occurrences.size(); i++) {
+            assertEquals(TAREFA, occurrences.tarefaAt(i));
+            days.add(Recurrence.formatDay(occurrences.dayAt(i)));
+        }
+        return days;
+    }
+}
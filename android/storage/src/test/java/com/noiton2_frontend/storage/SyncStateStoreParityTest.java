@@ -0,0 +1,206 @@
+package com.noiton2_frontend.storage;
+
+import com.noiton2_frontend.database.DatabaseContract;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SqliteSyncStateStore e InMemorySyncStateStore devem devolver o mesmo frescor,
+ * as mesmas exclusões e alterações pendentes e deixar os mesmos dados visíveis
+ */
+public class SyncStateStoreParityTest {
+
+    private static final SyntheticDataset.Scale SCALE = new SyntheticDataset.Scale(3, 300, 0);
+    private static final long NOW = 1_700_000_000_000L;
+
+    private File directory;
+    private JdbcSqlDriver driver;
+    private SqliteTaskStore sqlite;
+    private SqliteSyncStateStore sqliteState;
+    private InMemoryTaskStore memory;
+    private InMemorySyncStateStore memoryState;
+    private JSONObject payload;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("noiton-sync-state").toFile();
+        driver = new JdbcSqlDriver(new File(directory, "offline_cache.db"));
+        sqlite = new SqliteTaskStore(driver);
+        sqlite.createSchema();
+        sqliteState = new SqliteSyncStateStore(driver);
+        sqliteState.createSchema();
+        memory = new InMemoryTaskStore();
+        memoryState = new InMemorySyncStateStore(memory);
+
+        payload = new SyntheticDataset(42, SCALE).toJson();
+        sqlite.ingestFullSync(payload);
+        memory.ingestFullSync(payload);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        driver.close();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Files.delete(file.toPath());
+            }
+        }
+        Files.delete(directory.toPath());
+    }
+
+    @Test
+    public void workspaceFreshnessMatches() {
+        for (SyncStateStore state : new SyncStateStore[]{sqliteState, memoryState}) {
+            assertEquals(-1, state.getWorkspaceLastSync(1));
+            state.markWorkspaceFresh(1, NOW);
+            state.markWorkspaceFresh(2, NOW + 1);
+            assertEquals(NOW, state.getWorkspaceLastSync(1));
+            assertEquals(NOW + 1, state.getWorkspaceLastSync(2));
+            state.clearWorkspaceFreshness();
+            assertEquals(-1, state.getWorkspaceLastSync(1));
+            assertEquals(-1, state.getWorkspaceLastSync(2));
+        }
+    }
+
+    @Test
+    public void localDeletionsMatch() throws Exception {
+        int idTarefa = firstTarefa(1);
+        int idCategoria = payload.getJSONArray("categorias").getJSONObject(0).getInt("id_categoria");
+        for (SyncStateStore state : new SyncStateStore[]{sqliteState, memoryState}) {
+            state.deleteLocal(DatabaseContract.TarefaEntry.TABLE_NAME, idTarefa, NOW);
+            state.deleteLocal(DatabaseContract.CategoriaEntry.TABLE_NAME, idCategoria, NOW + 1);
+        }
+
+        for (int idWorkspace = 1; idWorkspace <= SCALE.workspaces; idWorkspace++) {
+            assertEquals(visibleTarefas(memory, idWorkspace), visibleTarefas(sqlite, idWorkspace));
+        }
+        assertFalse(visibleTarefas(sqlite, 1).containsKey(idTarefa));
+        assertTrue(sqlite.getComentariosByTarefa(idTarefa).isEmpty());
+        assertTrue(memory.getComentariosByTarefa(idTarefa).isEmpty());
+
+        List<Map<String, Object>> pending = sqliteState.getPendingTombstones(500);
+        assertEquals(memoryState.getPendingTombstones(500), pending);
+        assertEquals(2, pending.size());
+        assertEquals(DatabaseContract.TarefaEntry.TABLE_NAME, pending.get(0).get("tabela"));
+        assertEquals(memoryState.getPendingTombstones(1), sqliteState.getPendingTombstones(1));
+
+        JSONArray ack = new JSONArray().put(new JSONObject()
+                .put("tabela", DatabaseContract.TarefaEntry.TABLE_NAME)
+                .put("id", idTarefa));
+        assertArrayEquals(new int[]{1, 0}, sqliteState.acknowledgeTombstones(ack, NOW + 2));
+        assertArrayEquals(new int[]{1, 0}, memoryState.acknowledgeTombstones(ack, NOW + 2));
+        assertEquals(memoryState.getPendingTombstones(500), sqliteState.getPendingTombstones(500));
+
+        // Passada a retenção, a confirmada é compactada
+        long later = NOW + SyncStateStore.TOMBSTONE_RETENTION_MS + 10;
+        assertArrayEquals(new int[]{0, 1}, sqliteState.acknowledgeTombstones(new JSONArray(), later));
+        assertArrayEquals(new int[]{0, 1}, memoryState.acknowledgeTombstones(new JSONArray(), later));
+    }
+
+    @Test
+    public void remoteDeletionsSurviveFullSync() throws Exception {
+        int idTarefa = firstTarefa(2);
+        JSONArray exclusoes = new JSONArray()
+                .put(new JSONObject().put("tabela", DatabaseContract.TarefaEntry.TABLE_NAME).put("id", idTarefa))
+                .put(new JSONObject().put("tabela", DatabaseContract.UsuarioEntry.TABLE_NAME).put("id", 1));
+        assertEquals(1, sqliteState.recordRemoteDeletions(exclusoes, NOW).size());
+        assertEquals(1, memoryState.recordRemoteDeletions(exclusoes, NOW).size());
+
+        // O payload montado antes da exclusão ainda traz a tarefa
+        sqlite.ingestFullSync(payload, new TaskStore.IngestListener() {
+            @Override
+            public void onRowsWritten(String suffix) {
+                sqliteState.applyDeletions(suffix);
+            }
+        });
+        memory.ingestFullSync(payload);
+        memoryState.applyDeletions("");
+
+        assertEquals(visibleTarefas(memory, 2), visibleTarefas(sqlite, 2));
+        assertFalse(visibleTarefas(sqlite, 2).containsKey(idTarefa));
+        // Remotas entram confirmadas: nada a enviar
+        assertTrue(sqliteState.getPendingTombstones(500).isEmpty());
+        assertTrue(memoryState.getPendingTombstones(500).isEmpty());
+    }
+
+    @Test
+    public void pendingEditsMatch() throws Exception {
+        int first = firstTarefa(1);
+        int second = firstTarefa(3);
+        for (SyncStateStore state : new SyncStateStore[]{sqliteState, memoryState}) {
+            state.editTarefa(first, DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA, 1, NOW);
+            state.editTarefa(first, DatabaseContract.TarefaEntry.COLUMN_STATUS, "concluido", NOW);
+            state.editTarefa(second, DatabaseContract.TarefaEntry.COLUMN_DATA_FIM, "2030-01-01T09:00:00.000Z", NOW + 5);
+        }
+
+        List<Map<String, Object>> pending = sqliteState.getPendingEdits(500);
+        assertEquals(memoryState.getPendingEdits(500), pending);
+        assertEquals(2, pending.size());
+        assertEquals(1L, ((Map<?, ?>) pending.get(pending.get(0).get("id").equals(first) ? 0 : 1).get("campos"))
+                .get(DatabaseContract.TarefaEntry.COLUMN_CONCLUIDA));
+        // O limite conta registros: o primeiro vai com todos os campos
+        assertEquals(memoryState.getPendingEdits(1), sqliteState.getPendingEdits(1));
+        assertEquals(1, sqliteState.getPendingEdits(1).size());
+
+        // O payload do servidor ainda não tem as alterações: elas são reaplicadas
+        sqlite.ingestFullSync(payload, new TaskStore.IngestListener() {
+            @Override
+            public void onRowsWritten(String suffix) {
+                sqliteState.applyPendingEdits(suffix);
+            }
+        });
+        memory.ingestFullSync(payload);
+        memoryState.applyPendingEdits("");
+        assertEquals("concluido", sqlite.getTarefaById(first).get(DatabaseContract.TarefaEntry.COLUMN_STATUS));
+        assertEquals("concluido", memory.getTarefaById(first).get(DatabaseContract.TarefaEntry.COLUMN_STATUS));
+
+        JSONArray ack = new JSONArray().put(new JSONObject()
+                .put("tabela", DatabaseContract.TarefaEntry.TABLE_NAME)
+                .put("id", first)
+                .put("alterado_em", NOW));
+        assertEquals(2, sqliteState.acknowledgePendingEdits(ack));
+        assertEquals(2, memoryState.acknowledgePendingEdits(ack));
+        assertEquals(memoryState.getPendingEdits(500), sqliteState.getPendingEdits(500));
+        assertEquals(1, sqliteState.getPendingEdits(500).size());
+    }
+
+    private int firstTarefa(int idWorkspace) throws JSONException {
+        JSONArray tarefas = payload.getJSONArray("tarefas");
+        for (int i = 0; i < tarefas.length(); i++) {
+            JSONObject tarefa = tarefas.getJSONObject(i);
+            if (tarefa.getInt("id_workspace") == idWorkspace) {
+                return tarefa.getInt("id_tarefa");
+            }
+        }
+        throw new AssertionError("o payload precisa de tarefas no workspace " + idWorkspace);
+    }
+
+    /**
+     * id_tarefa -> IDs das categorias das tarefas visíveis no workspace
+     */
+    private static Map<Integer, Object> visibleTarefas(TaskStore store, int idWorkspace) {
+        Map<Integer, Object> result = new TreeMap<>();
+        for (Map<String, Object> tarefa : store.getTarefasByWorkspace(idWorkspace)) {
+            result.put((Integer) tarefa.get("id_tarefa"), tarefa.get("categorias"));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,205 @@
+package com.noiton2_frontend.storage;
+
+import com.noiton2_frontend.database.StorageSchema;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * SqliteTaskStore e InMemoryTaskStore devem devolver o mesmo resultado para a
+ * mesma sequência de ingestões (mesmo payload sintético nos dois motores)
+ */
+public class TaskStoreParityTest {
+
+    private static final SyntheticDataset.Scale SCALE = new SyntheticDataset.Scale(3, 300, 0);
+
+    private File directory;
+    private JdbcSqlDriver driver;
+    private SqliteTaskStore sqlite;
+    private InMemoryTaskStore memory;
+    private JSONObject payload;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("noiton-parity").toFile();
+        driver = new JdbcSqlDriver(new File(directory, "offline_cache.db"));
+        sqlite = new SqliteTaskStore(driver);
+        sqlite.createSchema();
+        memory = new InMemoryTaskStore();
+
+        payload = new SyntheticDataset(42, SCALE).toJson();
+        sqlite.ingestFullSync(payload);
+        memory.ingestFullSync(payload);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        driver.close();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Files.delete(file.toPath());
+            }
+        }
+        Files.delete(directory.toPath());
+    }
+
+    @Test
+    public void fullSyncMatches() {
+        for (int idWorkspace = 1; idWorkspace <= SCALE.workspaces; idWorkspace++) {
+            assertEquals(categoriasById(memory, idWorkspace), categoriasById(sqlite, idWorkspace));
+        }
+    }
+
+    @Test
+    public void workspaceSyncMovesTaskFromAnotherWorkspace() throws Exception {
+        JSONArray tarefas = payload.getJSONArray("tarefas");
+        JSONArray workspace1 = new JSONArray();
+        JSONObject moved = null;
+        for (int i = 0; i < tarefas.length(); i++) {
+            JSONObject tarefa = tarefas.getJSONObject(i);
+            if (tarefa.getInt("id_workspace") == 1) {
+                workspace1.put(tarefa);
+            } else if (moved == null && tarefa.getInt("id_workspace") == 2) {
+                moved = new JSONObject(tarefa.toString());
+            }
+        }
+        assertTrue("o payload precisa de tarefas no workspace 2", moved != null);
+        int idMoved = moved.getInt("id_tarefa");
+        moved.put("id_workspace", 1);
+        workspace1.put(moved);
+
+        JSONObject data = new JSONObject();
+        data.put("tarefas", workspace1);
+        sqlite.ingestWorkspace(1, data, TaskStore.IngestListener.NONE);
+        memory.ingestWorkspace(1, data, TaskStore.IngestListener.NONE);
+
+        Map<Integer, List<Object>> sqlite1 = categoriasById(sqlite, 1);
+        assertEquals(categoriasById(memory, 1), sqlite1);
+        assertEquals(workspace1.length(), sqlite1.size());
+        assertTrue(sqlite1.containsKey(idMoved));
+
+        Map<Integer, List<Object>> sqlite2 = categoriasById(sqlite, 2);
+        assertEquals(categoriasById(memory, 2), sqlite2);
+        assertFalse(sqlite2.containsKey(idMoved));
+    }
+
+    @Test
+    public void missingCategoryKeepsNamesAligned() throws Exception {
+        JSONObject tarefa = new JSONObject(payload.getJSONArray("tarefas").getJSONObject(0).toString());
+        int idWorkspace = tarefa.getInt("id_workspace");
+        // Categorias que ainda não chegaram: ficam antes e depois das existentes na ordem por ID
+        JSONArray categorias = new JSONArray().put(0).put(SCALE.tarefas * 10);
+        JSONArray existentes = tarefa.getJSONArray("categorias");
+        for (int i = 0; i < existentes.length(); i++) {
+            categorias.put(existentes.getInt(i));
+        }
+        tarefa.put("categorias", categorias);
+
+        JSONObject data = new JSONObject();
+        data.put("tarefas", new JSONArray().put(tarefa));
+        sqlite.ingestWorkspace(idWorkspace, data, TaskStore.IngestListener.NONE);
+        memory.ingestWorkspace(idWorkspace, data, TaskStore.IngestListener.NONE);
+
+        int idTarefa = tarefa.getInt("id_tarefa");
+        List<Object> sqliteCategorias = categoriasById(sqlite, idWorkspace).get(idTarefa);
+        assertEquals(categoriasById(memory, idWorkspace).get(idTarefa), sqliteCategorias);
+        List<?> ids = (List<?>) sqliteCategorias.get(0);
+        List<?> nomes = (List<?>) sqliteCategorias.get(1);
+        assertEquals(categorias.length(), ids.size());
+        assertEquals(ids.size(), nomes.size());
+        assertEquals(0, ids.get(0));
+        assertEquals(StorageSchema.CATEGORIA_SEM_NOME, nomes.get(0));
+        assertEquals(StorageSchema.CATEGORIA_SEM_NOME, nomes.get(nomes.size() - 1));
+    }
+
+    @Test
+    public void metadataSyncKeepsContent() throws Exception {
+        Map<String, Long> before = sqlite.getStats();
+        JSONObject categoria = new JSONObject(payload.getJSONArray("categorias").getJSONObject(0).toString());
+        categoria.put("nome", "Renomeada");
+        JSONArray workspaces = new JSONArray();
+        // Só os dois primeiros workspaces continuam do usuário
+        for (int i = 0; i < 2; i++) {
+            workspaces.put(payload.getJSONArray("workspaces").getJSONObject(i));
+        }
+        JSONObject metadata = new JSONObject()
+                .put("workspaces", workspaces)
+                .put("categorias", new JSONArray().put(categoria))
+                .put("user_email", SyntheticDataset.OWNER_EMAIL)
+                .put("sync_mode", "partial");
+        sqlite.ingestMetadata(metadata, TaskStore.IngestListener.NONE);
+        memory.ingestMetadata(metadata, TaskStore.IngestListener.NONE);
+
+        assertEquals(before.get("tarefas"), sqlite.getStats().get("tarefas"));
+        assertEquals(before.get("comentarios"), sqlite.getStats().get("comentarios"));
+        assertEquals(before.get("anexos"), sqlite.getStats().get("anexos"));
+        assertEquals(2, sqlite.getWorkspacesByUser(SyntheticDataset.OWNER_EMAIL).size());
+        assertEquals(2, memory.getWorkspacesByUser(SyntheticDataset.OWNER_EMAIL).size());
+
+        int idWorkspace = categoria.getInt("id_workspace");
+        Map<Integer, List<Object>> sqliteCategorias = categoriasById(sqlite, idWorkspace);
+        assertEquals(categoriasById(memory, idWorkspace), sqliteCategorias);
+        boolean renamed = false;
+        for (List<Object> categorias : sqliteCategorias.values()) {
+            renamed |= ((List<?>) categorias.get(1)).contains("Renomeada");
+        }
+        assertTrue("a projeção precisa do nome novo", renamed);
+    }
+
+    @Test
+    public void failedFullSyncKeepsLiveTables() throws Exception {
+        Map<String, Long> before = sqlite.getStats();
+        JSONObject vazio = new JSONObject().put("workspaces", new JSONArray()).put("tarefas", new JSONArray());
+        try {
+            // Falha depois da troca, ainda dentro da transação: o rollback desfaz o DROP + RENAME
+            sqlite.ingestFullSync(vazio, new TaskStore.IngestListener() {
+                @Override
+                public void beforeCommit() throws JSONException {
+                    throw new JSONException("falha simulada");
+                }
+            });
+            fail("o sync deveria ter falhado");
+        } catch (JSONException expected) {
+            // ok
+        }
+
+        assertEquals(before, sqlite.getStats());
+        assertEquals(categoriasById(memory, 1), categoriasById(sqlite, 1));
+        try (SqlRows rows = driver.query("SELECT COUNT(*) FROM sqlite_master WHERE name LIKE ?",
+                "%" + StorageSchema.SHADOW_SUFFIX)) {
+            assertTrue(rows.moveToNext());
+            assertEquals(0, rows.getInt(0));
+        }
+    }
+
+    /**
+     * id_tarefa -> [IDs, nomes] das categorias das tarefas do workspace, na ordem devolvida
+     */
+    private static Map<Integer, List<Object>> categoriasById(TaskStore store, int idWorkspace) {
+        Map<Integer, List<Object>> result = new TreeMap<>();
+        for (Map<String, Object> tarefa : store.getTarefasByWorkspace(idWorkspace)) {
+            List<Object> categorias = Arrays.asList(tarefa.get("categorias"), tarefa.get("categorias_nomes"));
+            assertNull(result.put((Integer) tarefa.get("id_tarefa"), categorias));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,260 @@
+package com.noiton2_frontend.storage;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+/**
+ * SqlDriver sobre o sqlite-jdbc (xerial), configurado como o app abre o banco:
+ * arquivo em disco e journal WAL. Usado pelos testes e pelos benchmarks.
+ */
+public final class JdbcSqlDriver implements SqlDriver, AutoCloseable {
+
+    private final Connection connection;
+    private boolean transactionSuccessful = false;
+
+    public JdbcSqlDriver(File file) {
+        try {
+            connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode = WAL");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Erro ao abrir " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void execSQL(String sql, Object... args) {
+        try (PreparedStatement statement = prepare(sql, args)) {
+            statement.execute();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage() + " [" + sql + "]", e);
+        }
+    }
+
+    @Override
+    public SqlRows query(String sql, Object... args) {
+        try {
+            PreparedStatement statement = prepare(sql, args);
+            return new Rows(statement, statement.executeQuery());
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage() + " [" + sql + "]", e);
+        }
+    }
+
+    @Override
+    public SqlStatement compile(String sql) {
+        try {
+            return new CompiledStatement(connection.prepareStatement(sql));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage() + " [" + sql + "]", e);
+        }
+    }
+
+    @Override
+    public void beginTransaction() {
+        try {
+            connection.setAutoCommit(false);
+            transactionSuccessful = false;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void setTransactionSuccessful() {
+        transactionSuccessful = true;
+    }
+
+    @Override
+    public void endTransaction() {
+        try {
+            if (transactionSuccessful) {
+                connection.commit();
+            } else {
+                connection.rollback();
+            }
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            transactionSuccessful = false;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private PreparedStatement prepare(String sql, Object[] args) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < args.length; i++) {
+            statement.setObject(i + 1, args[i]);
+        }
+        return statement;
+    }
+
+    private static final class CompiledStatement implements SqlStatement {
+        private final PreparedStatement statement;
+
+        CompiledStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public void bindLong(int index, long value) {
+            try {
+                statement.setLong(index, value);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void bindString(int index, String value) {
+            try {
+                statement.setString(index, value);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void bindNull(int index) {
+            try {
+                statement.setNull(index, Types.NULL);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void execute() {
+            try {
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public int executeUpdateDelete() {
+            try {
+                return statement.executeUpdate();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void clearBindings() {
+            try {
+                statement.clearParameters();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+    }
+
+    private static final class Rows implements SqlRows {
+        private final PreparedStatement statement;
+        private final ResultSet resultSet;
+        private final ResultSetMetaData metaData;
+
+        Rows(PreparedStatement statement, ResultSet resultSet) throws SQLException {
+            this.statement = statement;
+            this.resultSet = resultSet;
+            this.metaData = resultSet.getMetaData();
+        }
+
+        @Override
+        public boolean moveToNext() {
+            try {
+                return resultSet.next();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public int getColumnIndex(String name) {
+            try {
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    if (name.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                        return i - 1;
+                    }
+                }
+                return -1;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public boolean isNull(int column) {
+            try {
+                return resultSet.getObject(column + 1) == null;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public int getInt(int column) {
+            try {
+                return resultSet.getInt(column + 1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public long getLong(int column) {
+            try {
+                return resultSet.getLong(column + 1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public String getString(int column) {
+            try {
+                return resultSet.getString(column + 1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                resultSet.close();
+                statement.close();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+    }
+}
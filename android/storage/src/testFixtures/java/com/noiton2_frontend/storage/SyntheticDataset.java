@@ -0,0 +1,495 @@
+// android/storage/src/testFixtures/java/com/noiton2_frontend/storage/SyntheticDataset.java
+package com.noiton2_frontend.storage;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.TimeZone;
+
+/**
+ * Gerador de contas grandes sintéticas no formato do payload de saveFullSyncData.
+ *
+ * Determinístico: a mesma semente e a mesma escala geram exatamente o mesmo payload,
+ * em qualquer máquina. Cada seção usa seu próprio gerador aleatório, então mudar o
+ * volume de comentários não altera as tarefas, por exemplo.
+ *
+ * Forma dos dados (o que importa para o SQLite):
+ * - tarefas por workspace seguem Zipf (workspace 1 é o maior, cauda longa de pequenos);
+ * - categorias por workspace crescem com o tamanho do workspace, e dentro dele
+ *   poucas categorias concentram a maioria das tarefas;
+ * - comentários por tarefa seguem Pareto: a maioria das tarefas tem poucos ou nenhum,
+ *   algumas viram threads longas.
+ *
+ * Para escalas grandes, writeTo grava o JSON em streaming sem montar a árvore em memória.
+ */
+public final class SyntheticDataset {
+
+    public static final String[] SECTIONS = {"workspaces", "categorias", "tarefas", "comentarios", "anexos"};
+
+    public static final String OWNER_EMAIL = "usuario1@noiton.dev";
+
+    // Expoentes de Zipf: tarefas entre workspaces e tarefas entre categorias do workspace
+    private static final double WORKSPACE_SKEW = 1.0;
+    private static final double CATEGORIA_SKEW = 1.2;
+
+    // Pareto dos comentários por tarefa; tarefas sem comentário e teto do peso (threads longas)
+    private static final double COMENTARIO_ALPHA = 1.2;
+    private static final double SEM_COMENTARIO = 0.35;
+    private static final double COMENTARIO_PESO_MAXIMO = 200;
+
+    // Quantidade de categorias por tarefa: 0, 1, 2, 3, 4 (probabilidades acumuladas)
+    private static final double[] CATEGORIAS_POR_TAREFA = {0.25, 0.65, 0.87, 0.96, 1.0};
+    private static final int CATEGORIAS_MAXIMO = 40;
+
+    private static final double ANEXO_PDF = 0.08;
+    private static final double ANEXO_IMAGEM = 0.05;
+
+    // Datas relativas a um instante fixo (2026-01-01T00:00:00Z), nunca ao relógio
+    private static final long BASE_MS = 1767225600000L;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private static final String[] PALAVRAS = {
+            "revisar", "contrato", "cliente", "relatório", "sprint", "entrega", "reunião", "orçamento",
+            "deploy", "layout", "pesquisa", "fornecedor", "auditoria", "campanha", "backlog", "proposta",
+            "treinamento", "migração", "inventário", "suporte", "financeiro", "roadmap", "protótipo", "testes"
+    };
+    private static final String[] CATEGORIAS = {
+            "Urgente", "Backend", "Frontend", "Design", "Financeiro", "Marketing", "Pessoal", "Estudos",
+            "Compras", "Jurídico", "Suporte", "Infra", "Vendas", "RH", "Operações", "Pesquisa"
+    };
+    private static final String[] PRIORIDADES = {"baixa", "media", "alta", "urgente"};
+    private static final double[] PRIORIDADES_ACUMULADAS = {0.25, 0.70, 0.92, 1.0};
+    private static final String[] RECORRENCIAS = {"diaria", "semanal", "mensal"};
+
+    private static final long SEED_WORKSPACES = 0x57L;
+    private static final long SEED_TAREFAS = 0x7AL;
+    private static final long SEED_COMENTARIOS = 0xC0L;
+    private static final long SEED_ANEXOS = 0xA7L;
+
+    /**
+     * Volume de cada tabela do payload
+     */
+    public static final class Scale {
+        public static final Scale SMALL = new Scale(10, 1_000, 4_000);
+        public static final Scale MEDIUM = new Scale(100, 50_000, 200_000);
+        public static final Scale LARGE = new Scale(1_000, 500_000, 2_000_000);
+
+        public final int workspaces;
+        public final int tarefas;
+        public final int comentarios;
+
+        public Scale(int workspaces, int tarefas, int comentarios) {
+            if (workspaces < 1 || tarefas < 0 || comentarios < 0 || (comentarios > 0 && tarefas == 0)) {
+                throw new IllegalArgumentException("Escala inválida: " + workspaces + ":" + tarefas + ":" + comentarios);
+            }
+            this.workspaces = workspaces;
+            this.tarefas = tarefas;
+            this.comentarios = comentarios;
+        }
+
+        /**
+         * "small", "medium", "large" ou "workspaces:tarefas:comentarios" (ex.: "1000:500000:2000000")
+         */
+        public static Scale parse(String value) {
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "small":
+                    return SMALL;
+                case "medium":
+                    return MEDIUM;
+                case "large":
+                    return LARGE;
+                default:
+                    String[] parts = value.split(":");
+                    if (parts.length != 3) {
+                        throw new IllegalArgumentException("Escala inválida: " + value);
+                    }
+                    return new Scale(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return workspaces + ":" + tarefas + ":" + comentarios;
+        }
+    }
+
+    /**
+     * Recebe os registros em ordem de seção (SECTIONS), um por vez
+     */
+    public interface Sink {
+        void accept(String section, JSONObject record) throws IOException;
+    }
+
+    private final long seed;
+    private final Scale scale;
+    private final int usuarios;
+
+    // Distribuição acumulada das tarefas entre workspaces (índice = id_workspace - 1)
+    private final double[] workspaceCdf;
+    // Primeiro id_categoria e quantidade de categorias de cada workspace
+    private final int[] categoriaInicio;
+    private final int[] categoriaQuantidade;
+    private final double[] categoriaCdf;
+
+    private final SimpleDateFormat dateFormat;
+
+    public SyntheticDataset(long seed, Scale scale) {
+        this.seed = seed;
+        this.scale = scale;
+        this.usuarios = Math.max(5, scale.workspaces / 5);
+
+        workspaceCdf = zipfCdf(scale.workspaces, WORKSPACE_SKEW);
+        categoriaCdf = zipfCdf(CATEGORIAS_MAXIMO, CATEGORIA_SKEW);
+
+        // Fan-out de categorias: cresce com o log do tamanho esperado do workspace
+        SplittableRandom random = new SplittableRandom(seed ^ SEED_WORKSPACES);
+        categoriaInicio = new int[scale.workspaces];
+        categoriaQuantidade = new int[scale.workspaces];
+        int proxima = 1;
+        for (int w = 0; w < scale.workspaces; w++) {
+            double share = workspaceCdf[w] - (w == 0 ? 0 : workspaceCdf[w - 1]);
+            double esperadas = share * scale.tarefas;
+            int quantidade = 2 + (int) Math.round(Math.log(1 + esperadas / 20) / Math.log(2)) + random.nextInt(3) - 1;
+            categoriaInicio[w] = proxima;
+            categoriaQuantidade[w] = Math.max(1, Math.min(CATEGORIAS_MAXIMO, quantidade));
+            proxima += categoriaQuantidade[w];
+        }
+
+        dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.ROOT);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
+    public Scale getScale() {
+        return scale;
+    }
+
+    /**
+     * Workspace com mais tarefas (pior caso da listagem)
+     */
+    public int largestWorkspace() {
+        return 1;
+    }
+
+    public int categoriaCount() {
+        return categoriaInicio[scale.workspaces - 1] + categoriaQuantidade[scale.workspaces - 1] - 1;
+    }
+
+    // =====================================================
+    // 📦 SAÍDAS
+    // =====================================================
+
+    /**
+     * Payload completo em memória (para escalas que cabem no heap)
+     */
+    public JSONObject toJson() {
+        final JSONObject payload = header();
+        for (String section : SECTIONS) {
+            payload.put(section, new JSONArray());
+        }
+        try {
+            generate((section, record) -> payload.getJSONArray(section).put(record));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return payload;
+    }
+
+    /**
+     * Grava o mesmo JSON de toJson em streaming (memória constante por registro)
+     */
+    public void writeTo(final Writer out) throws IOException {
+        String header = header().toString();
+        out.write(header, 0, header.length() - 1);
+
+        final int[] aberta = {-1};
+        final boolean[] primeiro = {true};
+        Sink sink = (section, record) -> {
+            int indice = indexOf(section);
+            while (aberta[0] < indice) {
+                if (aberta[0] >= 0) {
+                    out.write(']');
+                }
+                aberta[0]++;
+                out.write(",\"" + SECTIONS[aberta[0]] + "\":[");
+                primeiro[0] = true;
+            }
+            if (!primeiro[0]) {
+                out.write(',');
+            }
+            primeiro[0] = false;
+            out.write(record.toString());
+        };
+        generate(sink);
+
+        // Fecha a última seção e escreve as que ficaram vazias
+        while (aberta[0] < SECTIONS.length - 1) {
+            if (aberta[0] >= 0) {
+                out.write(']');
+            }
+            aberta[0]++;
+            out.write(",\"" + SECTIONS[aberta[0]] + "\":[");
+        }
+        out.write("]}");
+        out.flush();
+    }
+
+    private JSONObject header() {
+        return new JSONObject()
+                .put("user_email", OWNER_EMAIL)
+                .put("sync_mode", "full")
+                .put("synthetic_seed", seed)
+                .put("synthetic_scale", scale.toString());
+    }
+
+    private static int indexOf(String section) {
+        for (int i = 0; i < SECTIONS.length; i++) {
+            if (SECTIONS[i].equals(section)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Seção desconhecida: " + section);
+    }
+
+    // =====================================================
+    // 🎲 GERAÇÃO
+    // =====================================================
+
+    /**
+     * Emite todos os registros, seção por seção, na ordem de SECTIONS
+     */
+    public void generate(Sink sink) throws IOException {
+        generateWorkspaces(sink);
+        generateTarefas(sink);
+        generateComentarios(sink);
+        generateAnexos(sink);
+    }
+
+    private void generateWorkspaces(Sink sink) throws IOException {
+        SplittableRandom random = new SplittableRandom((seed ^ SEED_WORKSPACES) + 1);
+        for (int w = 0; w < scale.workspaces; w++) {
+            int id = w + 1;
+            sink.accept("workspaces", new JSONObject()
+                    .put("id_workspace", id)
+                    .put("nome", capitalize(word(random)) + " " + id)
+                    // Workspaces grandes tendem a ser de equipe
+                    .put("equipe", random.nextDouble() < (w < scale.workspaces / 10 ? 0.8 : 0.3))
+                    .put("criador", OWNER_EMAIL));
+        }
+        for (int w = 0; w < scale.workspaces; w++) {
+            for (int c = 0; c < categoriaQuantidade[w]; c++) {
+                // Nome único dentro do workspace: UNIQUE(nome, id_workspace)
+                String nome = CATEGORIAS[c % CATEGORIAS.length] + (c < CATEGORIAS.length ? "" : " " + (c / CATEGORIAS.length + 1));
+                sink.accept("categorias", new JSONObject()
+                        .put("id_categoria", categoriaInicio[w] + c)
+                        .put("nome", nome)
+                        .put("id_workspace", w + 1));
+            }
+        }
+    }
+
+    private void generateTarefas(Sink sink) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed ^ SEED_TAREFAS);
+        int[] escolhidas = new int[CATEGORIAS_POR_TAREFA.length - 1];
+
+        for (int t = 1; t <= scale.tarefas; t++) {
+            int w = sample(workspaceCdf, random.nextDouble());
+            boolean concluida = random.nextDouble() < 0.4;
+
+            JSONObject tarefa = new JSONObject()
+                    .put("id_tarefa", t)
+                    // UNIQUE(titulo, id_usuario): o id no título garante unicidade
+                    .put("titulo", capitalize(word(random)) + " " + word(random) + " #" + t)
+                    .put("descricao", random.nextDouble() < 0.2 ? "" : sentence(random, 6 + random.nextInt(30)))
+                    .put("id_usuario", random.nextDouble() < 0.6 ? 1 : 2 + random.nextInt(usuarios - 1))
+                    .put("id_workspace", w + 1)
+                    .put("prioridade", PRIORIDADES[sample(PRIORIDADES_ACUMULADAS, random.nextDouble())])
+                    .put("status", concluida ? "concluido" : status(random))
+                    .put("concluida", concluida);
+
+            if (random.nextDouble() < 0.7) {
+                // Concluídas ficam mais no passado; abertas espalhadas em volta da data base
+                long offset = concluida
+                        ? -(long) (random.nextDouble() * 365 * DAY_MS)
+                        : (long) ((random.nextDouble() * 270 - 180) * DAY_MS);
+                tarefa.put("data_fim", dateFormat.format(new Date(BASE_MS + offset)));
+            }
+
+            boolean recorrente = random.nextDouble() < 0.06;
+            tarefa.put("recorrente", recorrente);
+            if (recorrente) {
+                tarefa.put("recorrencia", RECORRENCIAS[random.nextInt(RECORRENCIAS.length)]);
+            }
+
+            // Categorias distintas do próprio workspace, concentradas nas primeiras (Zipf)
+            int quantidade = Math.min(sample(CATEGORIAS_POR_TAREFA, random.nextDouble()), categoriaQuantidade[w]);
+            JSONArray categorias = new JSONArray();
+            for (int i = 0; i < quantidade; i++) {
+                int categoria;
+                do {
+                    categoria = sampleBounded(categoriaCdf, categoriaQuantidade[w], random.nextDouble());
+                } while (contains(escolhidas, i, categoria));
+                escolhidas[i] = categoria;
+                categorias.put(categoriaInicio[w] + categoria);
+            }
+            tarefa.put("categorias", categorias);
+
+            sink.accept("tarefas", tarefa);
+        }
+    }
+
+    private void generateComentarios(Sink sink) throws IOException {
+        if (scale.comentarios == 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(seed ^ SEED_COMENTARIOS);
+
+        // Peso de cada tarefa (Pareto com teto; parte das tarefas sem comentário)
+        double[] cdf = new double[scale.tarefas];
+        double total = 0;
+        for (int t = 0; t < scale.tarefas; t++) {
+            if (random.nextDouble() >= SEM_COMENTARIO) {
+                total += Math.min(COMENTARIO_PESO_MAXIMO, Math.pow(1 - random.nextDouble(), -1 / COMENTARIO_ALPHA));
+            }
+            cdf[t] = total;
+        }
+        if (total == 0) {
+            // Escalas minúsculas: distribui uniformemente
+            for (int t = 0; t < scale.tarefas; t++) {
+                cdf[t] = t + 1;
+            }
+            total = scale.tarefas;
+        }
+        for (int t = 0; t < scale.tarefas; t++) {
+            cdf[t] /= total;
+        }
+
+        for (int c = 1; c <= scale.comentarios; c++) {
+            int tarefa = sample(cdf, random.nextDouble()) + 1;
+            String criacao = dateFormat.format(new Date(BASE_MS - (long) (random.nextDouble() * 365 * DAY_MS)));
+            sink.accept("comentarios", new JSONObject()
+                    .put("id_comentario", c)
+                    .put("email", "usuario" + (random.nextDouble() < 0.5 ? 1 : 1 + random.nextInt(usuarios)) + "@noiton.dev")
+                    .put("id_tarefa", tarefa)
+                    .put("descricao", sentence(random, 3 + random.nextInt(25)))
+                    .put("data_criacao", criacao)
+                    .put("data_atualizacao", criacao));
+        }
+    }
+
+    private void generateAnexos(Sink sink) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed ^ SEED_ANEXOS);
+        int id = 1;
+        for (int t = 1; t <= scale.tarefas; t++) {
+            // No máximo um de cada tipo por tarefa: UNIQUE(id_tarefa, tipo_arquivo)
+            if (random.nextDouble() < ANEXO_PDF) {
+                sink.accept("anexos", anexo(random, id++, t, "pdf", ".pdf"));
+            }
+            if (random.nextDouble() < ANEXO_IMAGEM) {
+                sink.accept("anexos", anexo(random, id++, t, "imagem", ".jpg"));
+            }
+        }
+    }
+
+    private JSONObject anexo(SplittableRandom random, int id, int idTarefa, String tipo, String extensao) {
+        String nome = "anexo_" + id + extensao;
+        return new JSONObject()
+                .put("id_anexo", id)
+                .put("id_tarefa", idTarefa)
+                .put("tipo_arquivo", tipo)
+                .put("nome_arquivo", nome)
+                .put("nome_original", capitalize(word(random)) + extensao)
+                .put("tamanho_arquivo", 10_000 + random.nextInt(5_000_000))
+                .put("caminho_arquivo", "uploads/" + nome);
+    }
+
+    // =====================================================
+    // 🔧 DISTRIBUIÇÕES
+    // =====================================================
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1 / Math.pow(i + 1, exponent);
+            cdf[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= total;
+        }
+        return cdf;
+    }
+
+    /**
+     * Índice i tal que cdf[i-1] <= u < cdf[i]
+     */
+    private static int sample(double[] cdf, double u) {
+        int index = Arrays.binarySearch(cdf, u);
+        index = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(index, cdf.length - 1);
+    }
+
+    /**
+     * Amostra só entre os primeiros n itens da distribuição
+     */
+    private static int sampleBounded(double[] cdf, int n, double u) {
+        return Math.min(sample(cdf, u * cdf[n - 1]), n - 1);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String status(SplittableRandom random) {
+        double u = random.nextDouble();
+        return u < 0.55 ? "a_fazer" : u < 0.85 ? "em_andamento" : "atrasada";
+    }
+
+    private static String word(SplittableRandom random) {
+        return PALAVRAS[random.nextInt(PALAVRAS.length)];
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder builder = new StringBuilder(capitalize(word(random)));
+        for (int i = 1; i < words; i++) {
+            builder.append(' ').append(word(random));
+        }
+        return builder.append('.').toString();
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    /**
+     * Grava um payload em arquivo: SyntheticDataset <escala> <semente> <arquivo>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Uso: SyntheticDataset <small|medium|large|W:T:C> <semente> <arquivo.json>");
+            System.exit(2);
+        }
+        SyntheticDataset dataset = new SyntheticDataset(Long.parseLong(args[1]), Scale.parse(args[0]));
+        long start = System.nanoTime();
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(args[2]), StandardCharsets.UTF_8), 1 << 16)) {
+            dataset.writeTo(out);
+        }
+        System.out.println("Payload " + dataset.getScale() + " (semente " + args[1] + ", " + dataset.categoriaCount() +
+                " categorias) gravado em " + args[2] + " em " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
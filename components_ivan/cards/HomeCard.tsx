@@ -47,6 +47,11 @@ const HomeCard: React.FC<HomeCardProps> = ({ navigation }) => {
       setWorkspaceId(id);
       setWorkspaceName(name || '');
 
+      if (id && aplicarSnapshot(id)) {
+        // Primeira pintura com o snapshot; os dados atuais chegam logo abaixo
+        setLoading(false);
+      }
+
       if (id) {
         // Carregar informações do workspace
         await carregarInfoWorkspace(id);
@@ -63,6 +68,60 @@ const HomeCard: React.FC<HomeCardProps> = ({ navigation }) => {
     }
   };
 
+  // Preenche a tela com o snapshot de boot (mmap no Java, sem esperar SQLite/API)
+  const aplicarSnapshot = (wsId: number): boolean => {
+    const snapshot = databaseService.getBootSnapshot();
+    const workspace = snapshot?.workspaces.find(ws => ws.id_workspace === wsId);
+    if (!snapshot || !workspace) {
+      return false;
+    }
+
+    const tarefas = snapshot.tarefas.filter(t => t.id_workspace === wsId) as unknown as TarefaMultiplaInterface[];
+    setWorkspaceIsTeam(workspace.equipe);
+    setTarefasRecentes(filtrarRecentes(tarefas));
+    setTarefasUrgentes(filtrarPertoDeVencer(tarefas));
+    return true;
+  };
+
+  const filtrarRecentes = (tarefas: TarefaMultiplaInterface[]) =>
+    tarefas
+      .filter((tarefa: TarefaMultiplaInterface) => tarefa.status !== 'concluido')
+      .sort((a: TarefaMultiplaInterface, b: TarefaMultiplaInterface) => {
+        const dataA = new Date(a.data_criacao || 0).getTime();
+        const dataB = new Date(b.data_criacao || 0).getTime();
+        return dataB - dataA;
+      })
+      .slice(0, 3);
+
+  const filtrarPertoDeVencer = (tarefas: TarefaMultiplaInterface[]) => {
+    const hoje = new Date();
+    hoje.setHours(0, 0, 0, 0); // Zerar horas para comparação apenas de data
+
+    // Data limite: 2 dias a partir de hoje
+    const limiteData = new Date(hoje);
+    limiteData.setDate(hoje.getDate() + 2);
+
+    return tarefas
+      .filter((tarefa: TarefaMultiplaInterface) => {
+        if (tarefa.status === 'concluido' || !tarefa.data_fim) {
+          return false;
+        }
+
+        const dataFim = new Date(tarefa.data_fim);
+        dataFim.setHours(0, 0, 0, 0); // Zerar horas para comparação apenas de data
+
+        // Verificar se a data fim é hoje, amanhã ou depois de amanhã
+        return dataFim >= hoje && dataFim <= limiteData;
+      })
+      .sort((a: TarefaMultiplaInterface, b: TarefaMultiplaInterface) => {
+        // Ordenar por data fim (mais próximas primeiro)
+        const dataA = new Date(a.data_fim!).getTime();
+        const dataB = new Date(b.data_fim!).getTime();
+        return dataA - dataB;
+      })
+      .slice(0, 3);
+  };
+
   // Carregar informações do workspace (se é de equipe ou individual) - com suporte offline
   const carregarInfoWorkspace = async (wsId: number) => {
     try {
@@ -119,16 +178,7 @@ const HomeCard: React.FC<HomeCardProps> = ({ navigation }) => {
   const carregarTarefasRecentes = async (wsId: number) => {
     try {
       const todasTarefas = await apiCall(`/tarefas/workspace/${wsId}`, 'GET');
-      const tarefasOrdenadas = todasTarefas
-        .filter((tarefa: TarefaMultiplaInterface) => tarefa.status !== 'concluido')
-        .sort((a: TarefaMultiplaInterface, b: TarefaMultiplaInterface) => {
-          const dataA = new Date(a.data_criacao || 0).getTime();
-          const dataB = new Date(b.data_criacao || 0).getTime();
-          return dataB - dataA;
-        })
-        .slice(0, 3);
-      
-      setTarefasRecentes(tarefasOrdenadas);
+      setTarefasRecentes(filtrarRecentes(todasTarefas));
     } catch (error) {
       console.error('Erro ao carregar tarefas recentes:', error);
     }
@@ -138,33 +188,7 @@ const HomeCard: React.FC<HomeCardProps> = ({ navigation }) => {
   const carregarTarefasUrgentes = async (wsId: number) => {
     try {
       const todasTarefas = await apiCall(`/tarefas/workspace/${wsId}`, 'GET');
-      const hoje = new Date();
-      hoje.setHours(0, 0, 0, 0); // Zerar horas para comparação apenas de data
-      
-      // Data limite: 2 dias a partir de hoje
-      const limiteData = new Date(hoje);
-      limiteData.setDate(hoje.getDate() + 2);
-      
-      const tarefasPertoDeVencer = todasTarefas
-        .filter((tarefa: TarefaMultiplaInterface) => {
-          if (tarefa.status === 'concluido' || !tarefa.data_fim) {
-            return false;
-          }
-          
-          const dataFim = new Date(tarefa.data_fim);
-          dataFim.setHours(0, 0, 0, 0); // Zerar horas para comparação apenas de data
-          
-          // Verificar se a data fim é hoje, amanhã ou depois de amanhã
-          return dataFim >= hoje && dataFim <= limiteData;
-        })
-        .sort((a: TarefaMultiplaInterface, b: TarefaMultiplaInterface) => {
-          // Ordenar por data fim (mais próximas primeiro)
-          const dataA = new Date(a.data_fim!).getTime();
-          const dataB = new Date(b.data_fim!).getTime();
-          return dataA - dataB;
-        })
-        .slice(0, 3);
-      
+      const tarefasPertoDeVencer = filtrarPertoDeVencer(todasTarefas);
       setTarefasUrgentes(tarefasPertoDeVencer);
 
       // Enviar notificações para tarefas próximas do vencimento
@@ -15,6 +15,7 @@ import {
   apiCall,
   getActiveWorkspaceId,
 } from '../../services/authService';
+import databaseService from '../../services/databaseService';
 import TarefaMultiplaInterface from '../tarefa/tarefaMultiplaInterface';
 
 interface CardCalendarioProps {
@@ -38,6 +39,7 @@ const CardCalendario: React.FC<CardCalendarioProps> = ({ navigation, refreshKey
   const [dataSelecionada, setDataSelecionada] = useState<Date | null>(null);
   const [loading, setLoading] = useState(true);
   const [todasTarefas, setTodasTarefas] = useState<TarefaMultiplaInterface[]>([]);
+  const [workspaceAtivo, setWorkspaceAtivo] = useState<number | null>(null);
   const [calendarioColapsado, setCalendarioColapsado] = useState(false);
 
   const diasSemana = ['Dom', 'Seg', 'Ter', 'Qua', 'Qui', 'Sex', 'Sáb'];
@@ -51,7 +53,18 @@ const CardCalendario: React.FC<CardCalendarioProps> = ({ navigation, refreshKey
   }, [refreshKey]);
 
   useEffect(() => {
-    gerarCalendario();
+    // Navegar de mês ou recarregar tarefas antes do fim descarta o resultado anterior
+    let atual = true;
+    gerarCalendario()
+      .then(dias => {
+        if (atual) {
+          setDiasCalendario(dias);
+        }
+      })
+      .catch(error => console.error('Erro ao gerar calendário:', error));
+    return () => {
+      atual = false;
+    };
   }, [mesAtual, todasTarefas]);
 
   const carregarTarefas = async () => {
@@ -66,6 +79,7 @@ const CardCalendario: React.FC<CardCalendarioProps> = ({ navigation, refreshKey
       const response = await apiCall(`/tarefas/workspace/${workspaceId}`, 'GET');
       const tarefas = response || [];
       
+      setWorkspaceAtivo(Number(workspaceId));
       setTodasTarefas(tarefas);
       
     } catch (error) {
@@ -120,7 +134,34 @@ const CardCalendario: React.FC<CardCalendarioProps> = ({ navigation, refreshKey
     }
   };
 
-  const gerarCalendario = () => {
+  // Ocorrências das 6 semanas calculadas no Java (SQLite + cache); null se indisponível
+  const ocorrenciasNativas = async (inicio: Date, totalDias: number): Promise<TarefaMultiplaInterface[][] | null> => {
+    if (workspaceAtivo === null) {
+      return null;
+    }
+    const fim = new Date(inicio);
+    fim.setDate(inicio.getDate() + totalDias - 1);
+
+    const janela = await databaseService.expandRecurrences(workspaceAtivo, inicio, fim);
+    // Banco local atrás da API (sync pendente): o cálculo em JS cobre todas as tarefas
+    if (!janela || janela.total < todasTarefas.length) {
+      return null;
+    }
+
+    const porId = new Map<number, TarefaMultiplaInterface>();
+    todasTarefas.forEach(tarefa => porId.set(tarefa.id_tarefa, tarefa));
+
+    const porDia: TarefaMultiplaInterface[][] = Array.from({ length: totalDias }, () => []);
+    for (let i = 0; i < janela.tarefas.length; i++) {
+      const tarefa = porId.get(janela.tarefas[i]);
+      if (tarefa) {
+        porDia[janela.dias[i]].push(tarefa);
+      }
+    }
+    return porDia;
+  };
+
+  const gerarCalendario = async (): Promise<DiaCalendario[]> => {
     const hoje = new Date();
     const primeiroDiaMes = new Date(mesAtual.getFullYear(), mesAtual.getMonth(), 1);
     const ultimoDiaMes = new Date(mesAtual.getFullYear(), mesAtual.getMonth() + 1, 0);
@@ -130,13 +171,15 @@ const CardCalendario: React.FC<CardCalendarioProps> = ({ navigation, refreshKey
     primeiroDiaCalendario.setDate(primeiroDiaCalendario.getDate() - primeiroDiaMes.getDay());
 
     const dias: DiaCalendario[] = [];
+    const porDia = await ocorrenciasNativas(primeiroDiaCalendario, 42);
 
     // Gerar 42 dias (6 semanas)
     for (let i = 0; i < 42; i++) {
       const data = new Date(primeiroDiaCalendario);
       data.setDate(primeiroDiaCalendario.getDate() + i);
 
-      const tarefasDoDia = todasTarefas.filter(tarefa => {
+      // Fallback em JS quando o módulo nativo não responde
+      const tarefasDoDia = porDia ? porDia[i] : todasTarefas.filter(tarefa => {
         return tarefaEstaAtivaNaData(tarefa, data);
       });
 
@@ -153,7 +196,7 @@ const CardCalendario: React.FC<CardCalendarioProps> = ({ navigation, refreshKey
       });
     }
 
-    setDiasCalendario(dias);
+    return dias;
   };
 
   const navegarMes = (direcao: number) => {
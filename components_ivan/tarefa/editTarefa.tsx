@@ -414,7 +414,7 @@ const EditTarefa: React.FC<EditTarefaProps> = ({navigation, route}) => {
 
   // Função para baixar anexo
   const baixarAnexo = async (anexo: AnexoTarefa) => {
-    await AnexoService.baixarAnexo(anexo.id_anexo);
+    await AnexoService.baixarAnexo(anexo.id_anexo, anexo.tipo_arquivo);
   };
 
   // Função para validar formulário
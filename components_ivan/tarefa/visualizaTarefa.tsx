@@ -328,6 +328,7 @@ const VisualizaTarefa: React.FC<VisualizaTarefaProps> = ({ navigation, route })
 
   const carregarAnexos = async (idTarefa: number) => {
     setLoadingAnexos(true);
+    AnexoService.fixarAnexosDaTarefa(idTarefa);
     try {
       const isOnline = networkinManager.checkOnlineStatus();
       
@@ -355,7 +356,7 @@ const VisualizaTarefa: React.FC<VisualizaTarefaProps> = ({ navigation, route })
   };
 
   const baixarAnexo = async (anexo: AnexoTarefa) => {
-    await AnexoService.baixarAnexo(anexo.id_anexo);
+    await AnexoService.baixarAnexo(anexo.id_anexo, anexo.tipo_arquivo);
   };
 
   const editarComentario = (comentario: any) => {
@@ -1,5 +1,5 @@
 import { PermissionsAndroid, Platform, Alert, Linking, NativeModules } from 'react-native';
-import { apiCall } from './authService';
+import { apiCall, getToken } from './authService';
 
 const { FilePickerModule } = NativeModules;
 
@@ -419,10 +419,60 @@ class AnexoService {
     }
   }
 
+  /** Protege do despejo do cache os anexos da tarefa aberta */
+  fixarAnexosDaTarefa(idTarefa: number): void {
+    if (FilePickerModule && FilePickerModule.pinTaskAttachments) {
+      FilePickerModule.pinTaskAttachments(idTarefa);
+    }
+  }
+
+  /** Abre o anexo pelo cache local; só vai à rede na primeira visualização */
+  private async abrirAnexoEmCache(idAnexo: number, tipoArquivo?: string): Promise<boolean> {
+    if (!FilePickerModule || !FilePickerModule.fetchAttachment) {
+      return false;
+    }
+
+    const mimeType = (tipo?: string) => (tipo === 'imagem' ? 'image/*' : 'application/pdf');
+
+    const emCache = await FilePickerModule.getCachedAttachment(idAnexo);
+    if (emCache.cached) {
+      console.log('📎 Anexo aberto do cache local:', emCache.path);
+      await FilePickerModule.openCachedAttachment(idAnexo, mimeType(tipoArquivo));
+      return true;
+    }
+
+    const anexoInfo = await apiCall(`/anexo/${idAnexo}`, 'GET');
+    if (!anexoInfo) {
+      return false;
+    }
+
+    const token = await getToken();
+    const resultado = await FilePickerModule.fetchAttachment(
+      idAnexo,
+      anexoInfo.id_tarefa || 0,
+      `http://192.168.15.14:3000/anexo/${idAnexo}/download`,
+      anexoInfo.nome_original,
+      token || ''
+    );
+    console.log('📥 Anexo salvo no cache local:', resultado.path);
+
+    await FilePickerModule.openCachedAttachment(idAnexo, mimeType(anexoInfo.tipo_arquivo || tipoArquivo));
+    return true;
+  }
+
   /** Baixar anexo */
-  async baixarAnexo(idAnexo: number): Promise<boolean> {
+  async baixarAnexo(idAnexo: number, tipoArquivo?: string): Promise<boolean> {
     try {
       console.log('📥 Iniciando download do anexo:', idAnexo);
+
+      // 📎 Visualizações repetidas saem do cache local
+      try {
+        if (await this.abrirAnexoEmCache(idAnexo, tipoArquivo)) {
+          return true;
+        }
+      } catch (cacheError) {
+        console.log('⚠️ Cache de anexos indisponível, usando DownloadManager:', cacheError);
+      }
       
       // Verificar se o módulo nativo está disponível
       if (!FilePickerModule || !FilePickerModule.downloadFile) {
@@ -93,6 +93,167 @@ const syncPostgreSQLToSQLite = async (email: string, token: string): Promise<boo
   }
 };
 
+/**
+ * Sync parcial do login: baixa só os workspaces do usuário. O nativo grava
+ * workspaces, vínculos e categorias direto nas tabelas reais e não toca em
+ * tarefas, comentários e anexos, então serve tanto para o banco vazio quanto
+ * para o cache offline já preenchido. O conteúdo de cada workspace é baixado
+ * na primeira vez que a tela pede get_tarefas_by_workspace depois do login,
+ * então o login não cresce com o tamanho da conta.
+ */
+const syncWorkspaceMetadata = async (email: string, token: string): Promise<boolean> => {
+  try {
+    console.log('🔄 Iniciando sincronização parcial (apenas workspaces)...');
+
+    const response = await fetch(`${API_BASE}/workspaces/email/${encodeURIComponent(email)}`, {
+      method: 'GET',
+      headers: {
+        'Authorization': `Bearer ${token}`,
+        'Content-Type': 'application/json',
+        'X-User-Email': email
+      }
+    });
+
+    if (!response.ok) {
+      throw new Error(`Erro HTTP: ${response.status}`);
+    }
+
+    const workspaces = await response.json();
+
+    // No modo parcial as listas de conteúdo são ignoradas pelo nativo
+    const syncResult = await databaseService.saveFullSyncData({
+      workspaces: Array.isArray(workspaces) ? workspaces : [],
+      categorias: [],
+      tarefas: [],
+      comentarios: [],
+      anexos: [],
+      user_email: email,
+      sync_mode: 'partial'
+    });
+
+    if (!syncResult.success) {
+      throw new Error(syncResult.error || 'Falha ao salvar workspaces no SQLite');
+    }
+
+    await AsyncStorage.setItem(LAST_SYNC_KEY, new Date().toISOString());
+
+    console.log('✅ Sincronização parcial concluída');
+    return true;
+
+  } catch (error) {
+    console.error('❌ Erro na sincronização parcial:', error);
+    return false;
+  }
+};
+
+/**
+ * Categorias (id + nome) embutidas nas tarefas, sem repetição
+ */
+const categoriasDasTarefas = (tarefas: any[], workspaceId: number) => {
+  const porId = new Map<number, { id_categoria: number; nome: string; id_workspace: number }>();
+  for (const tarefa of tarefas) {
+    for (const categoria of Array.isArray(tarefa.categorias) ? tarefa.categorias : []) {
+      if (categoria && typeof categoria === 'object' && categoria.id_categoria != null && categoria.nome) {
+        porId.set(categoria.id_categoria, {
+          id_categoria: categoria.id_categoria,
+          nome: categoria.nome,
+          id_workspace: categoria.id_workspace ?? workspaceId
+        });
+      }
+    }
+  }
+  return Array.from(porId.values());
+};
+
+// Comentários e anexos não têm rota por workspace: busca por tarefa, poucas de cada vez
+const CONTEUDO_CONCORRENCIA = 4;
+
+/**
+ * Comentários e anexos das tarefas do workspace. Se alguma requisição de um tipo
+ * falhar, aquele tipo volta undefined: sem a chave no payload o nativo mantém os
+ * já salvos, em vez de apagar os da tarefa que não veio.
+ */
+const conteudoDasTarefas = async (tarefas: any[]) => {
+  const comentarios: any[] = [];
+  const anexos: any[] = [];
+  let comentariosOk = true;
+  let anexosOk = true;
+
+  for (let i = 0; i < tarefas.length; i += CONTEUDO_CONCORRENCIA) {
+    await Promise.all(tarefas.slice(i, i + CONTEUDO_CONCORRENCIA).map(async (tarefa) => {
+      const [doComentario, doAnexo] = await Promise.all([
+        apiCall(`/comentarios/tarefa/${tarefa.id_tarefa}`, 'GET').catch(() => null),
+        apiCall(`/tarefa/${tarefa.id_tarefa}/anexos`, 'GET').catch(() => null)
+      ]);
+      if (Array.isArray(doComentario)) {
+        comentarios.push(...doComentario);
+      } else {
+        comentariosOk = false;
+      }
+      if (Array.isArray(doAnexo)) {
+        anexos.push(...doAnexo);
+      } else {
+        anexosOk = false;
+      }
+    }));
+  }
+
+  return {
+    comentarios: comentariosOk ? comentarios : undefined,
+    anexos: anexosOk ? anexos : undefined
+  };
+};
+
+// Downloads de workspace em andamento, para não baixar o mesmo workspace duas vezes
+const workspaceSyncsInFlight = new Map<number, Promise<boolean>>();
+
+/**
+ * Baixa o conteúdo de um workspace sob demanda e grava no SQLite
+ */
+export const syncWorkspaceContents = (workspaceId: number): Promise<boolean> => {
+  const inFlight = workspaceSyncsInFlight.get(workspaceId);
+  if (inFlight) {
+    return inFlight;
+  }
+
+  const task = (async () => {
+    try {
+      if (!(await checkConnection())) {
+        console.log(`📴 Sem conexão - workspace ${workspaceId} fica com dados locais`);
+        return false;
+      }
+
+      console.log(`🔄 Sincronizando workspace ${workspaceId} sob demanda...`);
+      const networkStart = Date.now();
+      const tarefas = await apiCall(`/tarefas/workspace/${workspaceId}`, 'GET');
+      const lista = Array.isArray(tarefas) ? tarefas : [];
+      const { comentarios, anexos } = await conteudoDasTarefas(lista);
+      databaseService.reportSyncNetworkTiming(Date.now() - networkStart, 0);
+
+      // A API de tarefas traz as categorias como objetos: gravar também os nomes.
+      // Comentários/anexos que não puderam ser baixados ficam fora do payload (os salvos são mantidos).
+      const result = await databaseService.saveWorkspaceSyncData(workspaceId, {
+        tarefas: lista,
+        categorias: categoriasDasTarefas(lista, workspaceId),
+        ...(comentarios ? { comentarios } : {}),
+        ...(anexos ? { anexos } : {})
+      });
+
+      return result.success;
+    } catch (error) {
+      console.error(`❌ Erro ao sincronizar workspace ${workspaceId}:`, error);
+      return false;
+    } finally {
+      workspaceSyncsInFlight.delete(workspaceId);
+    }
+  })();
+
+  workspaceSyncsInFlight.set(workspaceId, task);
+  return task;
+};
+
+databaseService.setWorkspaceSyncHandler(syncWorkspaceContents);
+
 /**
  * Lógica principal de sincronização baseada nas regras definidas (AGORA REAL)
  */
@@ -103,28 +264,21 @@ const handleSyncLogic = async (email: string, token: string): Promise<void> => {
   console.log(`🔍 Status sync - Conectado: ${isConnected}, Tem dados locais: ${hasData}`);
 
   if (isConnected) {
-    // 📱 COM INTERNET
-    if (!hasData) {
-      // 🔄 Primeiro login - cria cópia do PostgreSQL
-      console.log('🆕 Primeiro login - Criando cópia do PostgreSQL para SQLite (REAL)');
-      const syncSuccess = await syncPostgreSQLToSQLite(email, token);
-      
-      if (!syncSuccess) {
+    // 📱 COM INTERNET: sempre o sync parcial (só metadados). O cache offline de
+    // tarefas, comentários e anexos continua valendo e cada workspace é atualizado
+    // sob demanda quando a tela o abre
+    const lastSync = await AsyncStorage.getItem(LAST_SYNC_KEY);
+    console.log(`📅 Última sincronização: ${lastSync || 'Nunca'}`);
+    console.log(hasData
+      ? '🔄 Atualizando workspaces (conteúdo sob demanda)'
+      : '🆕 Primeiro login - Sincronizando workspaces (conteúdo sob demanda)');
+    const syncSuccess = await syncWorkspaceMetadata(email, token);
+
+    if (!syncSuccess) {
+      if (!hasData) {
         throw new Error('Falha na sincronização inicial');
       }
-    } else {
-      // 📊 Já tem dados locais - verificar se precisa atualizar
-      const lastSync = await AsyncStorage.getItem(LAST_SYNC_KEY);
-      console.log(`📅 Última sincronização: ${lastSync || 'Nunca'}`);
-      
-      // Por enquanto sempre sincroniza quando online
-      // Futuramente podemos implementar verificação de mudanças
-      console.log('🔄 Sincronizando dados atualizados...');
-      const syncSuccess = await syncPostgreSQLToSQLite(email, token);
-      
-      if (!syncSuccess) {
-        console.warn('⚠️  Sincronização falhou, mas continuando com dados locais');
-      }
+      console.warn('⚠️  Sincronização falhou, mas continuando com dados locais');
     }
   } else {
     // 📴 SEM INTERNET
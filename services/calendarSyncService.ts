@@ -77,13 +77,17 @@ class CalendarSyncService {
     }
   }
 
-  private async saveRegisteredEvent(tarefaId: number, eventId: string): Promise<void> {
+  // Uma leitura e uma escrita no AsyncStorage para o lote inteiro
+  private async saveRegisteredEvents(novos: {[key: number]: string}): Promise<void> {
+    if (Object.keys(novos).length === 0) {
+      return;
+    }
     try {
       const events = await this.getRegisteredEvents();
-      events[tarefaId] = eventId;
+      Object.assign(events, novos);
       await AsyncStorage.setItem(this.eventsKey, JSON.stringify(events));
     } catch (error) {
-      console.error('Erro ao salvar evento registrado:', error);
+      console.error('Erro ao salvar eventos registrados:', error);
     }
   }
 
@@ -189,29 +193,28 @@ class CalendarSyncService {
 
       console.log(`📝 Encontradas ${tarefas.length} tarefas com prazo definido`);
 
+      // Todas as tarefas novas num único createEvents (applyBatch no nativo)
+      const novas = tarefas.filter(tarefa => !registeredEvents[tarefa.id_tarefa]);
+      if (novas.length > 0) {
+        console.log(`📅 Registrando ${novas.length} tarefa(s) no calendário`);
+
+        const exportResult = await GoogleCalendarService.exportTasks(novas);
+        const registrados: {[key: number]: string} = {};
+        for (const tarefa of novas) {
+          const eventId = exportResult.eventIds[tarefa.id_tarefa];
+          if (eventId) {
+            registrados[tarefa.id_tarefa] = eventId;
+            result.eventosRegistrados++;
+          } else {
+            result.errors.push(`Erro ao registrar tarefa: ${tarefa.titulo}`);
+          }
+        }
+        await this.saveRegisteredEvents(registrados);
+      }
+
       for (const tarefa of tarefas) {
         try {
 
-          const isAlreadyRegistered = registeredEvents[tarefa.id_tarefa];
-
-          if (!isAlreadyRegistered) {
-
-            console.log(`📅 Registrando tarefa no calendário: ${tarefa.titulo}`);
-
-            const success = await GoogleCalendarService.onTaskCreated(
-              tarefa.titulo,
-              `Prazo: ${new Date(tarefa.data_fim).toLocaleDateString('pt-BR')}`
-            );
-
-            if (success) {
-              await this.saveRegisteredEvent(tarefa.id_tarefa, `task_${tarefa.id_tarefa}_${Date.now()}`);
-              result.eventosRegistrados++;
-              console.log(`✅ Tarefa registrada: ${tarefa.titulo}`);
-            } else {
-              result.errors.push(`Erro ao registrar tarefa: ${tarefa.titulo}`);
-            }
-          }
-
           if (this.isTaskNearDeadline(tarefa.data_fim)) {
             const notificationSent = await this.createDeadlineNotification(tarefa);
             if (notificationSent) {
@@ -335,7 +338,7 @@ class CalendarSyncService {
       const success = await GoogleCalendarService.onTaskCreated(tarefa.titulo, tarefa.descricao, tarefa.data_fim);
 
       if (success) {
-        await this.saveRegisteredEvent(tarefa.id, `event_${tarefa.id}_${Date.now()}`);
+        await this.saveRegisteredEvents({ [tarefa.id]: `event_${tarefa.id}_${Date.now()}` });
         console.log(`✅ Tarefa ${tarefa.id} sincronizada com Google Calendar`);
         return true;
       } else {
@@ -1,9 +1,14 @@
 // src/services/databaseService.ts
-import { NativeModules } from 'react-native';
+import { NativeModules, NativeEventEmitter, EmitterSubscription } from 'react-native';
 import AsyncStorage from '@react-native-async-storage/async-storage';
 
 const { SyncService } = NativeModules;
 
+// Emitter para eventos nativos do SyncService (DATABASE_CHANGED, NETWORK_CHANGED)
+const syncServiceEmitter = (SyncService && SyncService.addListener && SyncService.removeListeners)
+  ? new NativeEventEmitter(SyncService)
+  : null;
+
 // Chaves para AsyncStorage
 const DB_OPERATION_KEY = 'db_operation';
 const HAS_LOCAL_DATA_KEY = 'has_local_data';
@@ -13,8 +18,36 @@ export interface DatabaseResult {
   success: boolean;
   data?: any;
   error?: string;
+  needsSync?: boolean;
+  lastSync?: number;
+}
+
+/**
+ * Invalidação emitida pelo Java após cada escrita confirmada.
+ * fullTables: tabelas inteiras invalidadas (ex.: sync completo)
+ * ids: IDs alterados por tabela
+ */
+export interface DatabaseChange {
+  tables: string[];
+  fullTables: string[];
+  ids: { [table: string]: number[] };
+}
+
+/**
+ * Diff de uma live query (LIVE_QUERY_DIFF): linhas completas em inserted/updated
+ * e apenas as chaves em removed
+ */
+export interface LiveQueryDiff {
+  subscriptionId: number;
+  query: string;
+  key: string;
+  inserted: any[];
+  updated: any[];
+  removed: number[];
 }
 
+export type LiveQueryName = 'tarefas_by_workspace' | 'comentarios_by_tarefa' | 'categorias_by_workspace';
+
 export interface Usuario {
   id_usuario?: number;
   email: string;
@@ -55,6 +88,9 @@ export interface Tarefa {
   recorrente?: boolean;
   recorrencia?: 'diaria' | 'semanal' | 'mensal';
   id_usuario: number;
+  id_workspace?: number;
+  categorias?: number[];         // IDs (pré-agregados na projeção tarefas_lista)
+  categorias_nomes?: string[];
 }
 
 export interface TarefaWorkspace {
@@ -90,7 +126,67 @@ export interface Anexo {
   data_atualizacao?: string;
 }
 
+/**
+ * Exclusão (tombstone) trocada no sync incremental.
+ * tabela: tarefas | comentarios | categorias | anexos_tarefa
+ */
+export interface Exclusao {
+  tabela: string;
+  id: number;
+  excluido_em?: number;
+}
+
+/**
+ * Alteração feita no nativo (ações das notificações) pendente de envio
+ */
+export interface AlteracaoPendente {
+  tabela: string;
+  id: number;
+  campos: { [campo: string]: string | number | null };
+  alterado_em: number;
+}
+
+/**
+ * Snapshot da tela inicial gravado pelo Java depois de cada sync (lido por mmap)
+ */
+export interface BootSnapshot {
+  createdAt: number;
+  workspaces: Array<{ id_workspace: number; nome: string; equipe: boolean }>;
+  tarefas: Array<{
+    id_tarefa: number;
+    id_workspace: number;
+    titulo: string;
+    status: string;
+    prioridade: string;
+    data_fim: string | null;
+    data_criacao: string | null;
+    concluida: boolean;
+  }>;
+}
+
+/**
+ * Ocorrências de tarefas numa janela do calendário, em arrays paralelos:
+ * tarefas[i] acontece no dia inicio + dias[i]
+ */
+export interface RecurrenceWindow {
+  inicio: string;
+  fim: string;
+  tarefas: number[];
+  dias: number[];
+  total: number; // tarefas do workspace no banco local
+}
+
+// YYYY-MM-DD no fuso local (toISOString converteria para UTC)
+const formatarDiaLocal = (data: Date): string => {
+  const mes = String(data.getMonth() + 1).padStart(2, '0');
+  const dia = String(data.getDate()).padStart(2, '0');
+  return `${data.getFullYear()}-${mes}-${dia}`;
+};
+
 class DatabaseService {
+  // Baixa o conteúdo de um workspace sob demanda (registrado pelo authService)
+  private workspaceSyncHandler: ((workspaceId: number) => Promise<boolean>) | null = null;
+
   /**
    * Executa operação genérica no banco SQLite via Java
    */
@@ -195,6 +291,7 @@ class DatabaseService {
     comentarios: Comentario[];
     anexos: Anexo[];
     user_email: string;
+    sync_mode?: 'full' | 'partial';
   }): Promise<DatabaseResult> {
     try {
       console.log('💾 Salvando dados completos no SQLite (REAL):', {
@@ -226,6 +323,34 @@ class DatabaseService {
     }
   }
 
+  /**
+   * Salva o conteúdo de um único workspace (sync parcial sob demanda)
+   */
+  async saveWorkspaceSyncData(workspaceId: number, data: {
+    tarefas: Tarefa[];
+    categorias?: Categoria[];
+    comentarios?: Comentario[];
+    anexos?: Anexo[];
+  }): Promise<DatabaseResult> {
+    try {
+      console.log(`💾 Salvando workspace ${workspaceId} no SQLite:`, { tarefas: data.tarefas.length });
+      return await SyncService.saveWorkspaceSyncData(workspaceId, JSON.stringify(data));
+    } catch (error: any) {
+      console.error(`❌ Erro ao salvar workspace ${workspaceId} no SQLite:`, error);
+      return {
+        success: false,
+        error: error.message
+      };
+    }
+  }
+
+  /**
+   * Define quem baixa o conteúdo de um workspace quando o SQLite ainda não o tem
+   */
+  setWorkspaceSyncHandler(handler: (workspaceId: number) => Promise<boolean>): void {
+    this.workspaceSyncHandler = handler;
+  }
+
   /**
    * Limpa todos os dados do SQLite (REAL)
    */
@@ -321,7 +446,7 @@ class DatabaseService {
   }
 
   /**
-   * Deleta categoria (REAL)
+   * Deleta categoria (REAL) - grava exclusão pendente de envio
    */
   async deleteCategoria(id: number): Promise<DatabaseResult> {
     return await this.executeOperation('delete_categoria', { id });
@@ -333,9 +458,19 @@ class DatabaseService {
 
   /**
    * Busca tarefas por workspace (REAL)
+   * No sync parcial, a primeira consulta de um workspace baixa o conteúdo antes de responder
    */
-  async getTarefasByWorkspace(workspaceId: number): Promise<DatabaseResult> {
-    return await this.executeOperation('get_tarefas_by_workspace', { workspaceId });
+  async getTarefasByWorkspace(workspaceId: number, maxAgeMs?: number): Promise<DatabaseResult> {
+    const result = await this.executeOperation('get_tarefas_by_workspace', { workspaceId, maxAgeMs });
+
+    if (result.success && result.needsSync && this.workspaceSyncHandler) {
+      const synced = await this.workspaceSyncHandler(workspaceId);
+      if (synced) {
+        return await this.executeOperation('get_tarefas_by_workspace', { workspaceId });
+      }
+    }
+
+    return result;
   }
 
   /**
@@ -391,7 +526,7 @@ class DatabaseService {
   }
 
   /**
-   * Deleta tarefa (REAL)
+   * Deleta tarefa (REAL) - grava exclusão pendente de envio
    */
   async deleteTarefa(id: number): Promise<DatabaseResult> {
     return await this.executeOperation('delete_tarefa', { id });
@@ -416,7 +551,7 @@ class DatabaseService {
   }
 
   /**
-   * Deleta comentário (REAL)
+   * Deleta comentário (REAL) - grava exclusão pendente de envio
    */
   async deleteComentario(id: number): Promise<DatabaseResult> {
     return await this.executeOperation('delete_comentario', { id });
@@ -441,12 +576,86 @@ class DatabaseService {
   }
 
   /**
-   * Deleta anexo (REAL)
+   * Deleta anexo (REAL) - grava exclusão pendente de envio
    */
   async deleteAnexo(id: number): Promise<DatabaseResult> {
     return await this.executeOperation('delete_anexo', { id });
   }
 
+  // =====================================================
+  // ⏱️ RELATÓRIO DE INICIALIZAÇÃO
+  // =====================================================
+
+  /**
+   * Spans do cold start medidos no Java + histórico das últimas inicializações por versão
+   */
+  async getStartupReport(): Promise<DatabaseResult> {
+    try {
+      const report = await SyncService.getStartupReport();
+      return { success: true, data: report };
+    } catch (error: any) {
+      return { success: false, error: error.message };
+    }
+  }
+
+  // =====================================================
+  // 📸 SNAPSHOT DE BOOT
+  // =====================================================
+
+  /**
+   * Dados da tela inicial sem abrir o SQLite (chamada síncrona).
+   * null quando ainda não houve sync ou após logout.
+   */
+  getBootSnapshot(): BootSnapshot | null {
+    try {
+      if (SyncService && SyncService.getBootSnapshot) {
+        return SyncService.getBootSnapshot() || null;
+      }
+    } catch (error) {
+      console.warn('⚠️ Snapshot de boot indisponível:', error);
+    }
+    return null;
+  }
+
+  // =====================================================
+  // 🪦 EXCLUSÕES (TOMBSTONES) - SYNC INCREMENTAL
+  // =====================================================
+
+  /**
+   * Exclusões locais ainda não confirmadas pelo servidor, em ordem de exclusão
+   */
+  async getPendingTombstones(limit?: number): Promise<DatabaseResult> {
+    return await this.executeOperation('get_pending_tombstones', { limit });
+  }
+
+  /**
+   * Marca exclusões como confirmadas pelo servidor (compactadas depois da retenção)
+   */
+  async ackTombstones(exclusoes: Exclusao[]): Promise<DatabaseResult> {
+    return await this.executeOperation('ack_tombstones', { exclusoes });
+  }
+
+  /**
+   * Alterações feitas no nativo (Concluir/Adiar nas notificações) ainda não enviadas
+   */
+  async getPendingEdits(limit?: number): Promise<DatabaseResult> {
+    return await this.executeOperation('get_pending_edits', { limit });
+  }
+
+  /**
+   * Confirma alterações enviadas (as feitas depois de alterado_em continuam pendentes)
+   */
+  async ackPendingEdits(alteracoes: AlteracaoPendente[]): Promise<DatabaseResult> {
+    return await this.executeOperation('ack_pending_edits', { alteracoes });
+  }
+
+  /**
+   * Aplica exclusões vindas do servidor sem baixar o resto dos dados
+   */
+  async applyRemoteDeletions(exclusoes: Exclusao[]): Promise<DatabaseResult> {
+    return await this.executeOperation('apply_remote_deletions', { exclusoes });
+  }
+
   // =====================================================
   // 🔍 OPERAÇÕES GERAIS - AGORA REAIS
   // =====================================================
@@ -519,6 +728,93 @@ class DatabaseService {
     }
   }
 
+  /**
+   * Telemetria das últimas execuções de sync (fases, linhas/s por tabela, commit, falhas)
+   */
+  async getSyncMetrics(): Promise<DatabaseResult> {
+    try {
+      const metrics = await SyncService.getSyncMetrics();
+      return {
+        success: true,
+        data: metrics
+      };
+    } catch (error: any) {
+      return {
+        success: false,
+        error: error.message
+      };
+    }
+  }
+
+  // =====================================================
+  // 🔁 RECORRÊNCIAS (CALENDÁRIO)
+  // =====================================================
+
+  /**
+   * Expande no Java as tarefas (recorrentes ou não) do workspace entre inicio e fim,
+   * datas locais inclusivas. Resultado em cache até a próxima mudança em tarefas.
+   */
+  async expandRecurrences(workspaceId: number, inicio: Date, fim: Date): Promise<RecurrenceWindow | null> {
+    try {
+      if (!SyncService || !SyncService.expandRecurrences) {
+        return null;
+      }
+      const result = await SyncService.expandRecurrences(workspaceId, formatarDiaLocal(inicio), formatarDiaLocal(fim));
+      if (!result.success) {
+        console.error('❌ Erro ao expandir recorrências:', result.error);
+        return null;
+      }
+      return result;
+    } catch (error) {
+      console.error('❌ Erro ao expandir recorrências:', error);
+      return null;
+    }
+  }
+
+  /**
+   * Busca tarefas arquivadas (concluídas antigas) de um workspace
+   */
+  async getArchivedTarefasByWorkspace(workspaceId: number): Promise<DatabaseResult> {
+    return await this.executeOperation('get_archived_tarefas_by_workspace', { workspaceId });
+  }
+
+  /**
+   * Busca comentários de uma tarefa arquivada
+   */
+  async getArchivedComentariosByTarefa(tarefaId: number): Promise<DatabaseResult> {
+    return await this.executeOperation('get_archived_comentarios_by_tarefa', { tarefaId });
+  }
+
+  /**
+   * Define a idade (dias) para arquivar tarefas concluídas; 0 desliga o arquivamento
+   */
+  setArchiveAgeDays(days: number): void {
+    if (SyncService && SyncService.setArchiveAgeDays) {
+      SyncService.setArchiveAgeDays(days);
+    }
+  }
+
+  /**
+   * Roda arquivamento + incremental_vacuum imediatamente
+   */
+  async runDatabaseMaintenance(): Promise<DatabaseResult> {
+    try {
+      const result = await SyncService.runDatabaseMaintenance();
+      return { success: true, data: result };
+    } catch (error: any) {
+      return { success: false, error: error.message };
+    }
+  }
+
+  /**
+   * Informa ao Java o tempo de rede do download, anexado à próxima execução de sync
+   */
+  reportSyncNetworkTiming(durationMs: number, bytes: number): void {
+    if (SyncService && SyncService.reportSyncNetworkTiming) {
+      SyncService.reportSyncNetworkTiming(durationMs, bytes);
+    }
+  }
+
   /**
    * Método público para executar operações diretas no banco
    */
@@ -526,6 +822,57 @@ class DatabaseService {
     return this.executeOperation(operation, dataJson ? JSON.parse(dataJson) : undefined);
   }
 
+  /**
+   * Escuta as invalidações do SQLite (agrupadas por frame no Java)
+   * para que a tela recarregue apenas o que mudou
+   */
+  onDatabaseChanged(listener: (change: DatabaseChange) => void): EmitterSubscription | null {
+    if (!syncServiceEmitter) {
+      console.log('⚠️ SyncService não suporta eventos');
+      return null;
+    }
+    return syncServiceEmitter.addListener('DATABASE_CHANGED', listener);
+  }
+
+  /**
+   * Assina uma consulta viva no Java: recebe o resultado inicial e depois só os diffs.
+   * Retorna a função para cancelar a assinatura.
+   */
+  async subscribeLiveQuery(
+    query: LiveQueryName,
+    params: any,
+    onInitial: (rows: any[]) => void,
+    onDiff: (diff: LiveQueryDiff) => void
+  ): Promise<() => void> {
+    if (!syncServiceEmitter) {
+      console.log('⚠️ SyncService não suporta live queries');
+      return () => {};
+    }
+
+    // Registrar antes de assinar para não perder diffs que cheguem logo após o resultado inicial
+    let subscriptionId: number | null = null;
+    const subscription = syncServiceEmitter.addListener('LIVE_QUERY_DIFF', (diff: LiveQueryDiff) => {
+      if (diff.subscriptionId === subscriptionId) {
+        onDiff(diff);
+      }
+    });
+
+    const result = await SyncService.subscribeLiveQuery(query, JSON.stringify(params || {}));
+    if (!result.success) {
+      subscription.remove();
+      console.error(`❌ Erro ao assinar live query ${query}:`, result.error);
+      return () => {};
+    }
+
+    subscriptionId = result.subscriptionId;
+    onInitial(result.data);
+
+    return () => {
+      subscription.remove();
+      SyncService.unsubscribeLiveQuery(result.subscriptionId);
+    };
+  }
+
 
 }
 
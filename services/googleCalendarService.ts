@@ -12,6 +12,20 @@ interface TarefaCalendar {
   prioridade?: string;
 }
 
+export interface CalendarExportItem {
+  id_tarefa: number;
+  titulo: string;
+  descricao?: string;
+  data_fim?: string;
+}
+
+export interface CalendarExportResult {
+  success: boolean;
+  created: number;
+  failed: number;
+  eventIds: { [id_tarefa: number]: string | null };
+}
+
 class GoogleCalendarService {
   async requestCalendarPermissions(): Promise<boolean> {
     if (Platform.OS !== 'android') {
@@ -100,31 +114,8 @@ class GoogleCalendarService {
 
       console.log('📅 Criando evento no Google Calendar para tarefa:', titulo);
 
-      // Se tem data_fim, criar evento na data da tarefa
-      let startTime: number;
-      let endTime: number;
-
-      if (dataFim) {
-        const dataFimDate = new Date(dataFim);
-        // Criar evento no dia da tarefa às 9:00
-        dataFimDate.setHours(9, 0, 0, 0);
-        startTime = dataFimDate.getTime();
-        endTime = dataFimDate.getTime() + (60 * 60 * 1000); // 1 hora de duração
-        
-        console.log('📅 Evento será criado para:', dataFimDate.toLocaleString('pt-BR'));
-      } else {
-        // Sem data_fim, criar evento para agora (notificação)
-        const now = new Date();
-        startTime = now.getTime();
-        endTime = now.getTime() + (15 * 60 * 1000);
-        
-        console.log('📅 Evento será criado para agora (notificação)');
-      }
-
-      const eventTitle = dataFim ? `📋 ${titulo}` : `✨ Nova Tarefa: ${titulo}`;
-      const eventDescription = dataFim 
-        ? `Prazo da tarefa: ${new Date(dataFim).toLocaleDateString('pt-BR')}\n\n${descricao || 'Sem descrição'}\n\n📱 Criado no Noiton`
-        : `Tarefa criada no Noiton: ${titulo}\n${descricao || ''}`;
+      const { title: eventTitle, description: eventDescription, startTime, endTime } =
+        this.buildTaskEvent(titulo, descricao, dataFim);
 
       console.log('🔍 DEBUG: CalendarModule disponível:', !!CalendarModule);
       console.log('🔍 DEBUG: createEvent disponível:', !!(CalendarModule && CalendarModule.createEvent));
@@ -169,6 +160,75 @@ class GoogleCalendarService {
     }
   }
 
+  // Evento de uma tarefa: no dia do prazo às 9:00 (1 hora), ou agora (15 min) sem prazo
+  private buildTaskEvent(titulo: string, descricao?: string, dataFim?: string) {
+    let startTime: number;
+    let endTime: number;
+
+    if (dataFim) {
+      const dataFimDate = new Date(dataFim);
+      dataFimDate.setHours(9, 0, 0, 0);
+      startTime = dataFimDate.getTime();
+      endTime = dataFimDate.getTime() + (60 * 60 * 1000);
+    } else {
+      const now = new Date();
+      startTime = now.getTime();
+      endTime = now.getTime() + (15 * 60 * 1000);
+    }
+
+    const title = dataFim ? `📋 ${titulo}` : `✨ Nova Tarefa: ${titulo}`;
+    const description = dataFim
+      ? `Prazo da tarefa: ${new Date(dataFim).toLocaleDateString('pt-BR')}\n\n${descricao || 'Sem descrição'}\n\n📱 Criado no Noiton`
+      : `Tarefa criada no Noiton: ${titulo}\n${descricao || ''}`;
+
+    return { title, description, startTime, endTime };
+  }
+
+  /**
+   * Exporta várias tarefas numa chamada só (CalendarModule.createEvents: um applyBatch
+   * por lote, com o lembrete de cada evento). Mesmo evento do onTaskCreated.
+   * eventIds: id_tarefa -> ID do evento no calendário, ou null se falhou.
+   */
+  async exportTasks(tarefas: CalendarExportItem[]): Promise<CalendarExportResult> {
+    const result: CalendarExportResult = { success: false, created: 0, failed: 0, eventIds: {} };
+    if (tarefas.length === 0) {
+      result.success = true;
+      return result;
+    }
+
+    try {
+      const calendarEnabled = await AsyncStorage.getItem('calendar_enabled');
+      if (calendarEnabled !== 'true' || !(await this.hasCalendarPermissions())) {
+        console.log('❌ Google Calendar não está habilitado ou sem permissões');
+        return result;
+      }
+
+      if (!CalendarModule || !CalendarModule.createEvents) {
+        console.log('❌ CalendarModule.createEvents não disponível');
+        return result;
+      }
+
+      const events = tarefas.map(tarefa => ({
+        taskId: tarefa.id_tarefa,
+        ...this.buildTaskEvent(tarefa.titulo, tarefa.descricao, tarefa.data_fim),
+      }));
+
+      const response = await CalendarModule.createEvents(events);
+      result.success = !!response?.success;
+      result.created = response?.created ?? 0;
+      result.failed = response?.failed ?? 0;
+      for (const item of response?.events || []) {
+        result.eventIds[item.taskId] = item.eventId != null ? String(item.eventId) : null;
+      }
+
+      console.log(`📅 Exportação para o calendário: ${result.created} criados, ${result.failed} com erro`);
+      return result;
+    } catch (error) {
+      console.error('❌ Erro ao exportar tarefas para o calendário:', error);
+      return result;
+    }
+  }
+
   async onTaskEdited(titulo: string, descricao?: string, dataFim?: string): Promise<boolean> {
     try {
       const calendarEnabled = await AsyncStorage.getItem('calendar_enabled');
@@ -16,6 +16,7 @@ interface TaskData {
   data_fim?: string;
   status?: string;
   prioridade?: string;
+  id_workspace?: number; // agrupa os lembretes por workspace na bandeja
 }
 
 interface NotificationResult {
@@ -26,6 +27,14 @@ interface NotificationResult {
   taskId?: string;
 }
 
+interface ActiveNotification {
+  tag: string;
+  id: number;
+  idTarefa: number | null;
+  group: string;
+  postedAt: number;
+}
+
 interface PermissionResult {
   enabled: boolean;
   status: 'granted' | 'denied';
@@ -138,6 +147,57 @@ class NotificationService {
     }
   }
 
+  /**
+   * Minutos antes de data_fim para os lembretes nativos (agendados no Java a partir
+   * do banco local, sem depender do JS estar rodando)
+   */
+  setReminderLeadMinutes(minutes: number): void {
+    if (NotificationModule && NotificationModule.setReminderLeadMinutes) {
+      NotificationModule.setReminderLeadMinutes(minutes);
+    }
+  }
+
+  /**
+   * Duração padrão do "Adiar" das notificações (minutos)
+   */
+  setSnoozeMinutes(minutes: number): void {
+    if (NotificationModule && NotificationModule.setSnoozeMinutes) {
+      NotificationModule.setSnoozeMinutes(minutes);
+    }
+  }
+
+  /**
+   * Adia a tarefa pelo app: move o prazo no SQLite e o lembrete nativo volta
+   * daqui a `minutes` (sobrevive ao app fechado e a reinícios)
+   */
+  async snoozeTask(idTarefa: number, minutes: number): Promise<number | null> {
+    try {
+      if (!NotificationModule || !NotificationModule.snoozeTask) {
+        return null;
+      }
+      const result = await NotificationModule.snoozeTask(idTarefa, minutes);
+      return result.success ? result.remindAt : null;
+    } catch (error) {
+      console.error('Erro ao adiar tarefa:', error);
+      return null;
+    }
+  }
+
+  /**
+   * Lembretes pendentes no agendador nativo e horário (epoch ms) do próximo disparo
+   */
+  async getScheduledReminders(): Promise<{ pending: number; nextTriggerAt: number | null; leadMinutes: number; snoozeMinutes: number } | null> {
+    try {
+      if (!NotificationModule || !NotificationModule.getScheduledReminders) {
+        return null;
+      }
+      return await NotificationModule.getScheduledReminders();
+    } catch (error) {
+      console.error('Erro ao consultar lembretes agendados:', error);
+      return null;
+    }
+  }
+
   /**
    * Cancelar notificação específica
    */
@@ -153,6 +213,38 @@ class NotificationService {
     }
   }
 
+  /**
+   * Cancelar as notificações de uma tarefa (o ID da notificação é o id_tarefa)
+   */
+  async cancelTaskNotifications(idTarefa: number): Promise<number> {
+    try {
+      if (!NotificationModule || !NotificationModule.cancelTaskNotifications) {
+        return 0;
+      }
+      const result = await NotificationModule.cancelTaskNotifications(idTarefa);
+      return result.cancelled;
+    } catch (error) {
+      console.error('Erro ao cancelar notificações da tarefa:', error);
+      return 0;
+    }
+  }
+
+  /**
+   * Notificações do app que estão na bandeja
+   */
+  async getActiveNotifications(): Promise<ActiveNotification[]> {
+    try {
+      if (!NotificationModule || !NotificationModule.getActiveNotifications) {
+        return [];
+      }
+      const result = await NotificationModule.getActiveNotifications();
+      return result.notifications;
+    } catch (error) {
+      console.error('Erro ao listar notificações ativas:', error);
+      return [];
+    }
+  }
+
   /**
    * Cancelar todas as notificações
    */
@@ -239,46 +331,20 @@ class NotificationService {
   }
 
   /**
-   * Handler para quando tarefa é concluída via notificação
+   * Handler para quando tarefa é concluída via notificação.
+   * O NotificationActionReceiver já gravou no SQLite e deixou a alteração
+   * pendente de envio (syncManager); aqui só chega o aviso com o app aberto.
    */
   private async handleTaskCompleteFromNotification(taskId: number) {
-    try {
-      // Aqui você pode implementar a lógica para marcar a tarefa como concluída
-      // Por exemplo, chamar uma API ou atualizar o estado local
-      console.log(`🎉 Processando conclusão da tarefa ${taskId}`);
-      
-      // Exemplo de como você poderia integrar com seu serviço de tarefas
-      // await TarefaService.marcarComoConcluida(taskId);
-      
-      // Mostrar notificação de confirmação
-      await this.showNotification(
-        '✅ Tarefa Concluída',
-        'A tarefa foi marcada como concluída com sucesso!'
-      );
-    } catch (error) {
-      console.error('Erro ao processar conclusão da tarefa:', error);
-    }
+    console.log(`🎉 Tarefa ${taskId} concluída no banco local pela notificação`);
   }
 
   /**
-   * Handler para quando tarefa é adiada via notificação
+   * Handler para quando tarefa é adiada via notificação (data_fim já foi
+   * movido no SQLite e o ReminderScheduler já armou o novo lembrete)
    */
   private async handleTaskSnoozeFromNotification(taskId: number) {
-    try {
-      console.log(`⏰ Processando adiamento da tarefa ${taskId}`);
-      
-      // Reagendar notificação para 1 hora depois
-      setTimeout(async () => {
-        // Aqui você poderia buscar os dados atualizados da tarefa
-        await this.showNotification(
-          '🔔 Lembrete',
-          'Sua tarefa adiada está pronta para ser revisada!'
-        );
-      }, 60 * 60 * 1000); // 1 hora
-      
-    } catch (error) {
-      console.error('Erro ao processar adiamento da tarefa:', error);
-    }
+    console.log(`⏰ Tarefa ${taskId} adiada no banco local pela notificação`);
   }
 
   /**
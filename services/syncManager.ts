@@ -1,7 +1,7 @@
 // src/services/syncManager.ts
 import { NativeModules } from 'react-native';
 import AsyncStorage from '@react-native-async-storage/async-storage';
-import { databaseService } from './databaseService';
+import { databaseService, Exclusao, AlteracaoPendente } from './databaseService';
 import { loginOfflineService } from './loginOffline';
 import { getToken, getUserEmail } from './authService';
 import networkinManager from './networkinManager';
@@ -192,7 +192,13 @@ class SyncManager {
    * Processa a fila de sincronização
    */
   private async processSyncQueue() {
-    if (this.isSyncing || !this.isOnline || this.syncQueue.length === 0) {
+    if (this.isSyncing || !this.isOnline) {
+      return;
+    }
+
+    if (this.syncQueue.length === 0) {
+      await this.pushPendingEdits();
+      await this.pushTombstones();
       return;
     }
 
@@ -238,6 +244,12 @@ class SyncManager {
     this.syncQueue = this.syncQueue.filter(op => op.status !== 'completed');
     await this.saveSyncQueue();
 
+    // Exclusões locais vão depois das operações (um DELETE pode depender de um CREATE anterior)
+    if (this.isOnline) {
+      await this.pushPendingEdits();
+      await this.pushTombstones();
+    }
+
     this.isSyncing = false;
     this.notifyStatusChange();
 
@@ -318,6 +330,131 @@ class SyncManager {
     }
   }
 
+  /**
+   * Envia as alterações feitas no nativo (Concluir/Adiar nas notificações, com o
+   * app fechado) num único POST e confirma no SQLite as que o servidor aceitou
+   */
+  private async pushPendingEdits(): Promise<void> {
+    try {
+      const pending = await databaseService.getPendingEdits();
+      const alteracoes: AlteracaoPendente[] = pending.success ? pending.data || [] : [];
+      if (alteracoes.length === 0) {
+        return;
+      }
+
+      const token = await getToken();
+      const email = await getUserEmail();
+      if (!token || !email) {
+        return;
+      }
+
+      console.log(`✏️ Enviando ${alteracoes.length} alterações nativas pendentes`);
+
+      // op_id por versão da alteração: reenvio da mesma versão é idempotente no servidor
+      const opId = (alteracao: AlteracaoPendente) =>
+        `upd_${alteracao.tabela}_${alteracao.id}_${alteracao.alterado_em}`;
+
+      const response = await fetch('http://192.168.15.14:3000/sync/offline', {
+        method: 'POST',
+        headers: {
+          'Authorization': `Bearer ${token}`,
+          'Content-Type': 'application/json',
+          'X-User-Email': email
+        },
+        body: JSON.stringify({
+          operacoes: alteracoes.map(alteracao => ({
+            op_id: opId(alteracao),
+            op_type: 'UPDATE',
+            entity: alteracao.tabela,
+            payload: { id: alteracao.id, ...alteracao.campos },
+            timestamp: new Date(alteracao.alterado_em).toISOString()
+          })),
+          user_email: email
+        })
+      });
+
+      if (!response.ok) {
+        const errorText = await response.text();
+        throw new Error(`HTTP ${response.status}: ${errorText}`);
+      }
+
+      const result = await response.json();
+      const aceitas = alteracoes.filter(alteracao =>
+        result.resultados?.some((r: any) => r.op_id === opId(alteracao) && r.success)
+      );
+
+      if (aceitas.length > 0) {
+        await databaseService.ackPendingEdits(aceitas);
+      }
+      console.log(`✅ Alterações confirmadas: ${aceitas.length}/${alteracoes.length}`);
+    } catch (error: any) {
+      // Continuam pendentes no SQLite: a próxima rodada tenta de novo
+      console.error('❌ Erro ao enviar alterações nativas:', error.message);
+    }
+  }
+
+  /**
+   * Envia as exclusões locais pendentes (tombstones do SQLite) num único POST
+   * e confirma no SQLite as que o servidor aceitou
+   */
+  private async pushTombstones(): Promise<void> {
+    try {
+      const pending = await databaseService.getPendingTombstones();
+      const exclusoes: Exclusao[] = pending.success ? pending.data || [] : [];
+      if (exclusoes.length === 0) {
+        return;
+      }
+
+      const token = await getToken();
+      const email = await getUserEmail();
+      if (!token || !email) {
+        return;
+      }
+
+      console.log(`🪦 Enviando ${exclusoes.length} exclusões pendentes`);
+
+      // op_id estável por registro: reenvios são idempotentes no servidor
+      const opId = (exclusao: Exclusao) => `del_${exclusao.tabela}_${exclusao.id}`;
+
+      const response = await fetch('http://192.168.15.14:3000/sync/offline', {
+        method: 'POST',
+        headers: {
+          'Authorization': `Bearer ${token}`,
+          'Content-Type': 'application/json',
+          'X-User-Email': email
+        },
+        body: JSON.stringify({
+          operacoes: exclusoes.map(exclusao => ({
+            op_id: opId(exclusao),
+            op_type: 'DELETE',
+            entity: exclusao.tabela,
+            payload: { id: exclusao.id },
+            timestamp: new Date(exclusao.excluido_em || Date.now()).toISOString()
+          })),
+          user_email: email
+        })
+      });
+
+      if (!response.ok) {
+        const errorText = await response.text();
+        throw new Error(`HTTP ${response.status}: ${errorText}`);
+      }
+
+      const result = await response.json();
+      const aceitas = exclusoes.filter(exclusao =>
+        result.resultados?.some((r: any) => r.op_id === opId(exclusao) && r.success)
+      );
+
+      if (aceitas.length > 0) {
+        await databaseService.ackTombstones(aceitas);
+      }
+      console.log(`✅ Exclusões confirmadas: ${aceitas.length}/${exclusoes.length}`);
+    } catch (error: any) {
+      // Continuam pendentes no SQLite: a próxima rodada tenta de novo
+      console.error('❌ Erro ao enviar exclusões:', error.message);
+    }
+  }
+
   /**
    * Verifica se um erro é recuperável
    */
@@ -347,6 +484,8 @@ class SyncManager {
     }
 
     if (this.syncQueue.length === 0) {
+      await this.pushPendingEdits();
+      await this.pushTombstones();
       return {
         success: true,
         message: 'Nenhuma operação pendente para sincronizar'
@@ -396,6 +535,7 @@ class SyncManager {
       console.log('🔄 Iniciando sincronização completa do PostgreSQL para SQLite...');
 
       // Buscar dados completos do backend
+      const networkStart = Date.now();
       const response = await fetch(`http://192.168.15.14:3000/sync/initial-data/${encodeURIComponent(email)}`, {
         method: 'GET',
         headers: {
@@ -411,6 +551,10 @@ class SyncManager {
       }
 
       const data = await response.json();
+      databaseService.reportSyncNetworkTiming(
+        Date.now() - networkStart,
+        Number(response.headers.get('content-length')) || 0
+      );
       console.log('📊 Dados recebidos do backend:', {
         workspaces: data.workspaces?.length || 0,
         categorias: data.categorias?.length || 0,